@@ -120,10 +120,60 @@ interface Operation<D : Operation.Data, T, V : Operation.Variables> {
    */
   open class Variables {
 
+    /**
+     * Returns the values of the defined variables by name.
+     *
+     * Generated variables build this map on demand, prefer the index based accessors such as [variableValue] to
+     * resolve a variable.
+     */
     open fun valueMap(): Map<String, Any?> {
       return emptyMap()
     }
 
+    /**
+     * Returns the number of variables of the operation, including the optional ones that are not defined.
+     */
+    open fun variableCount(): Int {
+      return valueMap().size
+    }
+
+    /**
+     * Returns the name of the variable at [index], variables being indexed in declaration order.
+     */
+    open fun variableName(index: Int): String {
+      return valueMap().keys.elementAt(index)
+    }
+
+    /**
+     * Returns the index of the variable named [name], or -1 if the operation has no such variable.
+     */
+    open fun variableIndex(name: String): Int {
+      return valueMap().keys.indexOf(name)
+    }
+
+    /**
+     * Returns false if the optional variable at [index] is not defined, in which case it is not sent to the server.
+     */
+    open fun isVariableDefined(index: Int): Boolean {
+      return true
+    }
+
+    /**
+     * Returns the value of the variable at [index], null if it is not defined.
+     */
+    open fun variableValue(index: Int): Any? {
+      return valueMap()[variableName(index)]
+    }
+
+    /**
+     * Returns the value of the variable named [name], null if it is not defined or if the operation has no such
+     * variable.
+     */
+    fun variableValue(name: String): Any? {
+      val index = variableIndex(name)
+      return if (index >= 0 && isVariableDefined(index)) variableValue(index) else null
+    }
+
     open fun marshaller(): InputFieldMarshaller {
       return object : InputFieldMarshaller {
         override fun marshal(writer: InputFieldWriter) {
@@ -60,13 +60,12 @@ open class ResponseField internal constructor(
       name: String,
       variables: Operation.Variables
   ): Any? {
-    val variableValues = variables.valueMap()
     val argumentValue = arguments[name]
     return if (argumentValue is Map<*, *>) {
       val argumentValueMap = argumentValue as Map<String, Any?>
       if (isArgumentValueVariableType(argumentValueMap)) {
         val variableName = argumentValueMap[VARIABLE_NAME_KEY].toString()
-        variableValues[variableName]
+        variables.variableValue(variableName)
       } else {
         null
       }
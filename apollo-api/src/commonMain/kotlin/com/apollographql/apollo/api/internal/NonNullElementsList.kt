@@ -0,0 +1,17 @@
+package com.apollographql.apollo.api.internal
+
+/**
+ * Returns a view of this list that throws when one of its elements is null. Unlike `map { it!! }` the elements are
+ * only checked when they are accessed, so lists read with [ResponseReader.readLazyList] stay lazy.
+ */
+fun <T : Any> List<T?>.withNonNullElements(): List<T> = NonNullElementsList(this)
+
+private class NonNullElementsList<T : Any>(private val elements: List<T?>) : AbstractList<T>(), RandomAccess {
+
+  override val size: Int
+    get() = elements.size
+
+  override fun get(index: Int): T {
+    return elements[index] ?: throw NullPointerException("null element at index $index")
+  }
+}
@@ -48,6 +48,25 @@ interface ResponseReader {
     })
   }
 
+  /**
+   * Reads a list field whose elements may be read lazily, the first time they are accessed, instead of all at once.
+   * Readers that can't defer the elements read them like [readList].
+   *
+   * An element of a deferred list that fails to read throws an [IllegalStateException] when it is accessed, instead of
+   * failing the read of the response.
+   */
+  fun <T : Any> readLazyList(field: ResponseField, listReader: ListReader<T>): List<T?>? {
+    return readList(field, listReader)
+  }
+
+  fun <T : Any> readLazyList(field: ResponseField, block: (ListItemReader) -> T): List<T?>? {
+    return readLazyList(field, object : ListReader<T> {
+      override fun read(reader: ListItemReader): T {
+        return block(reader)
+      }
+    })
+  }
+
   fun <T : Any> readCustomType(field: ResponseField.CustomTypeField): T?
 
   interface ObjectReader<T : Any> {
@@ -2,18 +2,12 @@ package com.apollographql.apollo.api.internal
 
 import com.apollographql.apollo.api.*
 
-class SimpleResponseReader private constructor(
+class SimpleResponseReader(
     private val recordSet: Map<String, Any?>,
-    private val variableValues: Map<String, Any?>,
+    private val variables: Operation.Variables,
     private val scalarTypeAdapters: ScalarTypeAdapters
 ) : ResponseReader {
 
-  constructor(
-      recordSet: Map<String, Any?>,
-      variables: Operation.Variables,
-      scalarTypeAdapters: ScalarTypeAdapters
-  ) : this(recordSet, variables.valueMap(), scalarTypeAdapters)
-
   override fun readString(field: ResponseField): String? {
     if (shouldSkip(field)) {
       return null
@@ -71,7 +65,7 @@ class SimpleResponseReader private constructor(
     checkValue(field, value)
 
     return value?.let {
-      objectReader.read(SimpleResponseReader(it, variableValues, scalarTypeAdapters))
+      objectReader.read(SimpleResponseReader(it, variables, scalarTypeAdapters))
     }
   }
 
@@ -124,7 +118,7 @@ class SimpleResponseReader private constructor(
   private fun shouldSkip(field: ResponseField): Boolean {
     for (condition in field.conditions) {
       if (condition is ResponseField.BooleanCondition) {
-        val conditionValue = variableValues[condition.variableName] as Boolean
+        val conditionValue = variables.variableValue(condition.variableName) as Boolean
         if (condition.inverted) {
           // means it's a skip directive
           if (conditionValue) {
@@ -182,7 +176,7 @@ class SimpleResponseReader private constructor(
     @Suppress("UNCHECKED_CAST")
     override fun <T : Any> readObject(objectReader: ResponseReader.ObjectReader<T>): T {
       val value = this.value as Map<String, Any>
-      return objectReader.read(SimpleResponseReader(value, variableValues, scalarTypeAdapters))
+      return objectReader.read(SimpleResponseReader(value, variables, scalarTypeAdapters))
     }
 
     @Suppress("UNCHECKED_CAST")
@@ -26,7 +26,8 @@ class GraphQLCompiler {
         generateModelBuilder = args.generateModelBuilder,
         useJavaBeansSemanticNaming = args.useJavaBeansSemanticNaming,
         suppressRawTypesWarning = args.suppressRawTypesWarning,
-        generateVisitorForPolymorphicDatatypes = args.generateVisitorForPolymorphicDatatypes
+        generateVisitorForPolymorphicDatatypes = args.generateVisitorForPolymorphicDatatypes,
+        omitQueryDocuments = args.omitQueryDocuments
     )
 
     if (args.generateKotlinModels) {
@@ -36,7 +37,8 @@ class GraphQLCompiler {
           operationIdGenerator = args.operationIdGenerator,
           useSemanticNaming = args.useSemanticNaming,
           packageNameProvider = args.packageNameProvider,
-          generateAsInternal = args.generateAsInternal
+          generateAsInternal = args.generateAsInternal,
+          omitQueryDocuments = args.omitQueryDocuments
       ).write(args.outputDir)
     } else {
       ir.writeJavaFiles(
@@ -124,6 +126,8 @@ class GraphQLCompiler {
       val generateKotlinModels: Boolean = false,
       val operationOutputFile: File? = null,
       val generateAsInternal: Boolean = false,
+      // the query documents are only written in operationOutputFile, operations are sent with their id only
+      val omitQueryDocuments: Boolean = false,
 
       // only if generateKotlinModels = false
       val nullableValueType: NullableValueType,
@@ -29,7 +29,7 @@ class OperationTypeSpecBuilder(
         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
         .addSuperinterface(operationSuperInterface(context))
         .addOperationId(operation, newContext)
-        .addQueryDocumentDefinition()
+        .addQueryDocumentDefinition(newContext)
         .addConstructor(context)
         .addMethod(wrapDataMethod(context))
         .addVariablesDefinition(operation.variables, newContext)
@@ -88,18 +88,12 @@ class OperationTypeSpecBuilder(
     return this
   }
 
-  private fun TypeSpec.Builder.addQueryDocumentDefinition(): TypeSpec.Builder {
+  private fun TypeSpec.Builder.addQueryDocumentDefinition(context: CodeGenerationContext): TypeSpec.Builder {
+    // Minified at compile time so that loading the class does not run the minifier
+    val queryDocument = if (context.omitQueryDocuments) "" else QueryDocumentMinifier.minify(operation.sourceWithFragments)
     addField(FieldSpec.builder(ClassNames.STRING, QUERY_DOCUMENT_FIELD_NAME)
         .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-        .initializer(
-            CodeBlock.builder()
-                .add("\$T.minify(\n", QueryDocumentMinifier::class.java)
-                .indent()
-                .add("\$S\n", operation.sourceWithFragments)
-                .unindent()
-                .add(")")
-                .build()
-        )
+        .initializer("\$S", queryDocument)
         .build()
     )
 
@@ -230,8 +230,9 @@ class ResponseFieldSpec(
             .addCode(readListItemStatement(rawFieldType))
             .build())
         .build()
+    val readMethod = if (irField.isLazy) "readLazyList" else READ_METHODS[responseFieldType]
     return CodeBlock.of("final \$T \$L = \$L.\$L(\$L, \$L);\n", normalizedFieldSpec.type, fieldSpec.name, readerParam,
-        READ_METHODS[responseFieldType], fieldParam, readerTypeSpec)
+        readMethod, fieldParam, readerTypeSpec)
   }
 
   private fun readFragmentsCode(): CodeBlock {
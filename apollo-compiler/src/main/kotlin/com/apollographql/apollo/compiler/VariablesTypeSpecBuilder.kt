@@ -22,6 +22,15 @@ class VariablesTypeSpecBuilder(
         .addMethod(constructor())
         .addMethods(variableAccessorMethodSpecs())
         .addMethod(valueMapAccessorMethodSpec())
+        .addMethod(variableCountMethodSpec())
+        .addMethod(variableNameMethodSpec())
+        .addMethod(variableIndexMethodSpec())
+        .apply {
+          if (variables.any { it.javaTypeName(context).isOptional() }) {
+            addMethod(isVariableDefinedMethodSpec())
+          }
+        }
+        .addMethod(variableValueMethodSpec())
         .addMethod(marshallerMethodSpec())
         .build()
   }
@@ -37,8 +46,7 @@ class VariablesTypeSpecBuilder(
   private fun valueMapFieldSpec(): FieldSpec {
     return FieldSpec.builder(ClassNames.parameterizedMapOf(java.lang.String::class.java, Object::class.java),
         VALUE_MAP_FIELD_NAME)
-        .addModifiers(Modifier.PRIVATE, Modifier.FINAL, Modifier.TRANSIENT)
-        .initializer("new \$T<>()", LinkedHashMap::class.java)
+        .addModifiers(Modifier.PRIVATE, Modifier.TRANSIENT, Modifier.VOLATILE)
         .build()
   }
 
@@ -47,27 +55,11 @@ class VariablesTypeSpecBuilder(
       CodeBlock.of("this.\$L = \$L;\n", it.name.decapitalize(), it.name.decapitalize())
     }.fold(CodeBlock.builder(), CodeBlock.Builder::add)
 
-    val fieldMapInitializeCode = variables.map { variable ->
-      val javaType = variable.javaTypeName(context)
-      CodeBlock.builder()
-          .apply {
-            if (javaType.isOptional()) {
-              beginControlFlow("if (\$L.defined)", variable.name.decapitalize())
-                  .addStatement("this.valueMap.put(\$S, \$L.value)", variable.name, variable.name.decapitalize())
-                  .endControlFlow()
-            } else {
-              addStatement("this.valueMap.put(\$S, \$L)", variable.name, variable.name.decapitalize())
-            }
-          }
-          .build()
-    }.fold(CodeBlock.builder(), CodeBlock.Builder::add)
-
     return MethodSpec.constructorBuilder()
         .addParameters(variables.map {
           ParameterSpec.builder(it.javaTypeName(context), it.name.decapitalize()).build()
         })
         .addCode(fieldInitializeCode.build())
-        .addCode(fieldMapInitializeCode.build())
         .build()
   }
 
@@ -83,11 +75,112 @@ class VariablesTypeSpecBuilder(
   }
 
   private fun valueMapAccessorMethodSpec(): MethodSpec {
+    val mapType = ClassNames.parameterizedMapOf(java.lang.String::class.java, Object::class.java)
+    val putValuesCode = variables.map { variable ->
+      val javaType = variable.javaTypeName(context)
+      CodeBlock.builder()
+          .apply {
+            if (javaType.isOptional()) {
+              beginControlFlow("if (this.\$L.defined)", variable.name.decapitalize())
+                  .addStatement("map.put(\$S, this.\$L.value)", variable.name, variable.name.decapitalize())
+                  .endControlFlow()
+            } else {
+              addStatement("map.put(\$S, this.\$L)", variable.name, variable.name.decapitalize())
+            }
+          }
+          .build()
+    }.fold(CodeBlock.builder(), CodeBlock.Builder::add)
+
+    // Only built for the callers that still need a map, the runtime resolves variables by index
     return MethodSpec.methodBuilder(VALUE_MAP_FIELD_NAME)
         .addModifiers(Modifier.PUBLIC)
         .addAnnotation(Override::class.java)
-        .returns(ClassNames.parameterizedMapOf(java.lang.String::class.java, Object::class.java))
-        .addStatement("return \$T.unmodifiableMap(\$L)", Collections::class.java, VALUE_MAP_FIELD_NAME)
+        .returns(mapType)
+        .beginControlFlow("if (\$L == null)", VALUE_MAP_FIELD_NAME)
+        .addStatement("\$T map = new \$T<>()", mapType, LinkedHashMap::class.java)
+        .addCode(putValuesCode.build())
+        .addStatement("\$L = \$T.unmodifiableMap(map)", VALUE_MAP_FIELD_NAME, Collections::class.java)
+        .endControlFlow()
+        .addStatement("return \$L", VALUE_MAP_FIELD_NAME)
+        .build()
+  }
+
+  private fun variableCountMethodSpec(): MethodSpec {
+    return MethodSpec.methodBuilder("variableCount")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(Override::class.java)
+        .returns(TypeName.INT)
+        .addStatement("return \$L", variables.size)
+        .build()
+  }
+
+  private fun variableNameMethodSpec(): MethodSpec {
+    return MethodSpec.methodBuilder("variableName")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(Override::class.java)
+        .returns(java.lang.String::class.java)
+        .addParameter(TypeName.INT, "index")
+        .beginControlFlow("switch (index)")
+        .apply {
+          variables.forEachIndexed { index, variable -> addStatement("case \$L: return \$S", index, variable.name) }
+        }
+        .addStatement("default: throw new \$T(\$S + index)", IndexOutOfBoundsException::class.java, "index: ")
+        .endControlFlow()
+        .build()
+  }
+
+  private fun variableIndexMethodSpec(): MethodSpec {
+    return MethodSpec.methodBuilder("variableIndex")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(Override::class.java)
+        .returns(TypeName.INT)
+        .addParameter(java.lang.String::class.java, "name")
+        .beginControlFlow("switch (name)")
+        .apply {
+          variables.forEachIndexed { index, variable -> addStatement("case \$S: return \$L", variable.name, index) }
+        }
+        .addStatement("default: return -1")
+        .endControlFlow()
+        .build()
+  }
+
+  private fun isVariableDefinedMethodSpec(): MethodSpec {
+    return MethodSpec.methodBuilder("isVariableDefined")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(Override::class.java)
+        .returns(TypeName.BOOLEAN)
+        .addParameter(TypeName.INT, "index")
+        .beginControlFlow("switch (index)")
+        .apply {
+          variables.forEachIndexed { index, variable ->
+            if (variable.javaTypeName(context).isOptional()) {
+              addStatement("case \$L: return this.\$L.defined", index, variable.name.decapitalize())
+            }
+          }
+        }
+        .addStatement("default: return true")
+        .endControlFlow()
+        .build()
+  }
+
+  private fun variableValueMethodSpec(): MethodSpec {
+    return MethodSpec.methodBuilder("variableValue")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(Override::class.java)
+        .returns(Object::class.java)
+        .addParameter(TypeName.INT, "index")
+        .beginControlFlow("switch (index)")
+        .apply {
+          variables.forEachIndexed { index, variable ->
+            if (variable.javaTypeName(context).isOptional()) {
+              addStatement("case \$L: return this.\$L.value", index, variable.name.decapitalize())
+            } else {
+              addStatement("case \$L: return this.\$L", index, variable.name.decapitalize())
+            }
+          }
+        }
+        .addStatement("default: throw new \$T(\$S + index)", IndexOutOfBoundsException::class.java, "index: ")
+        .endControlFlow()
         .build()
   }
 
@@ -32,7 +32,7 @@ internal sealed class FieldType {
 
   data class Fragment(val typeRef: TypeRef) : FieldType()
 
-  data class Array(val rawType: FieldType, val isOptional: Boolean) : FieldType()
+  data class Array(val rawType: FieldType, val isOptional: Boolean, val isLazy: Boolean = false) : FieldType()
 }
 
 internal data class OperationType(
@@ -67,7 +67,7 @@ private fun Field.array(context: Context): ObjectType.Field {
       name = responseName.decapitalize().escapeKotlinReservedWord(),
       responseName = responseName,
       schemaName = fieldName,
-      type = fieldType,
+      type = if (isLazy && fieldType is FieldType.Array) fieldType.copy(isLazy = true) else fieldType,
       description = description,
       isOptional = !type.endsWith("!") || isConditional,
       isDeprecated = isDeprecated,
@@ -11,7 +11,8 @@ import com.apollographql.apollo.compiler.ir.Operation
 internal fun Operation.ast(
     operationClassName: String,
     context: Context,
-    operationIdGenerator: OperationIdGenerator
+    operationIdGenerator: OperationIdGenerator,
+    omitQueryDocuments: Boolean
 ): OperationType {
   val dataTypeRef = context.registerObjectType(
       name = "Data",
@@ -29,14 +30,15 @@ internal fun Operation.ast(
     else -> throw IllegalArgumentException("Unsupported GraphQL operation type: $operationType")
   }
 
-  val operationId = operationIdGenerator.apply(QueryDocumentMinifier.minify(sourceWithFragments), filePath)
+  val minifiedQueryDocument = QueryDocumentMinifier.minify(sourceWithFragments)
+  val operationId = operationIdGenerator.apply(minifiedQueryDocument, filePath)
 
   return OperationType(
       name = operationClassName,
       type = operationType,
       operationName = operationName,
       operationId = operationId,
-      queryDocument = sourceWithFragments,
+      queryDocument = if (omitQueryDocuments) "" else minifiedQueryDocument,
       variables = InputType(
           name = "Variables",
           description = "",
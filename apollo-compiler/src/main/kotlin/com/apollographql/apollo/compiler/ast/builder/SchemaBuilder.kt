@@ -12,7 +12,8 @@ internal fun CodeGenerationIR.ast(
     typesPackageName: String,
     fragmentsPackage: String,
     useSemanticNaming: Boolean,
-    operationIdGenerator: OperationIdGenerator
+    operationIdGenerator: OperationIdGenerator,
+    omitQueryDocuments: Boolean = false
 ): Schema {
   val enums = typesUsed.filter { it.kind == TypeDeclaration.KIND_ENUM }.map { it.ast() }
   val inputTypes = typesUsed.filter { it.kind == TypeDeclaration.KIND_INPUT_OBJECT_TYPE }.map {
@@ -44,7 +45,8 @@ internal fun CodeGenerationIR.ast(
             fragmentsPackage = fragmentsPackage,
             fragments = irFragments
         ),
-        operationIdGenerator = operationIdGenerator
+        operationIdGenerator = operationIdGenerator,
+        omitQueryDocuments = omitQueryDocuments
     )
   }
   return Schema(
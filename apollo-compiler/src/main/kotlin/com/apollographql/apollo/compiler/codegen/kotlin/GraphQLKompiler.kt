@@ -16,7 +16,8 @@ class GraphQLKompiler(
     private val packageNameProvider: PackageNameProvider,
     private val useSemanticNaming: Boolean,
     private val generateAsInternal: Boolean = false,
-    private val operationIdGenerator: OperationIdGenerator
+    private val operationIdGenerator: OperationIdGenerator,
+    private val omitQueryDocuments: Boolean = false
 ) {
   fun write(outputDir: File) {
     val customTypeMap = customTypeMap.supportedCustomTypes(ir.typesUsed)
@@ -25,7 +26,8 @@ class GraphQLKompiler(
         typesPackageName = packageNameProvider.typesPackageName,
         fragmentsPackage = packageNameProvider.fragmentsPackageName,
         useSemanticNaming = useSemanticNaming,
-        operationIdGenerator = operationIdGenerator
+        operationIdGenerator = operationIdGenerator,
+        omitQueryDocuments = omitQueryDocuments
     )
 
     val schemaCodegen = SchemaCodegen(
@@ -15,6 +15,9 @@ import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
 
 internal object KotlinCodeGen {
 
+  private val WITH_NON_NULL_ELEMENTS = MemberName(ResponseReader::class.asClassName().packageName,
+      "withNonNullElements")
+
   val suppressWarningsAnnotation = AnnotationSpec
       .builder(Suppress::class)
       .addMember("%S, %S, %S, %S, %S", "NAME_SHADOWING", "UNUSED_ANONYMOUS_PARAMETER", "LocalVariableName",
@@ -206,16 +209,23 @@ internal object KotlinCodeGen {
       }
       is FieldType.Array -> {
         CodeBlock.builder()
-            .addStatement("readList<%T>(%L) { reader ->", rawType.asTypeName(), field)
+            .addStatement("%L<%T>(%L) { reader ->", if (isLazy) "readLazyList" else "readList", rawType.asTypeName(),
+                field)
             .indent()
             .add(rawType.readListItemCode(optional = isOptional))
             .unindent()
             .add("\n}%L", notNullOperator)
             .applyIf(!isOptional) {
+              // Lazy lists are checked as their elements are accessed rather than read all at once by map
+              val nonNullElements = if (isLazy) {
+                CodeBlock.of("%M()", WITH_NON_NULL_ELEMENTS)
+              } else {
+                CodeBlock.of("map { it!! }")
+              }
               if (optional) {
-                add("?.map { it!! }")
+                add("?.%L", nonNullElements)
               } else {
-                add(".map { it!! }")
+                add(".%L", nonNullElements)
               }
             }
             .build()
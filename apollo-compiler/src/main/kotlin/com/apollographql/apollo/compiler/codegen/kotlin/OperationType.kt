@@ -10,7 +10,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.Subscription
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.SimpleOperationResponseParser
 import com.apollographql.apollo.compiler.applyIf
@@ -141,15 +140,7 @@ internal fun OperationType.typeSpec(targetPackage: String, generateAsInternal: B
             .build()
         )
         .addProperty(PropertySpec.builder("QUERY_DOCUMENT", String::class)
-            .initializer(
-                CodeBlock.builder()
-                    .add("%T.minify(\n", QueryDocumentMinifier::class.java)
-                    .indent()
-                    .add("%S\n", queryDocument)
-                    .unindent()
-                    .add(")")
-                    .build()
-            )
+            .initializer("%S", queryDocument)
             .build()
         )
         .addProperty(PropertySpec
@@ -206,6 +197,7 @@ private val OperationType.variablePropertySpec: PropertySpec
         .initializer("%L", TypeSpec.anonymousClassBuilder()
             .superclass(Operation.Variables::class)
             .addFunction(variables.variablesValueMapSpec(this))
+            .addFunctions(variables.variableAccessorSpecs(this))
             .addFunction(variables.variablesMarshallerSpec(name))
             .build()
         )
@@ -237,6 +229,99 @@ private fun InputType.variablesValueMapSpec(operationType: OperationType): FunSp
       .build()
 }
 
+private fun InputType.variableAccessorSpecs(operationType: OperationType): List<FunSpec> {
+  return listOfNotNull(
+      variableCountSpec(),
+      variableNameSpec(),
+      variableIndexSpec(),
+      if (fields.any { it.isOptional }) isVariableDefinedSpec(operationType) else null,
+      variableValueSpec(operationType)
+  )
+}
+
+private fun InputType.variableCountSpec(): FunSpec {
+  return FunSpec
+      .builder("variableCount")
+      .addModifiers(KModifier.OVERRIDE)
+      .returns(Int::class)
+      .addStatement("return %L", fields.size)
+      .build()
+}
+
+private fun InputType.variableNameSpec(): FunSpec {
+  return FunSpec
+      .builder("variableName")
+      .addModifiers(KModifier.OVERRIDE)
+      .addParameter("index", Int::class)
+      .returns(String::class)
+      .beginControlFlow("return when (index)")
+      .addCode(
+          fields.mapIndexed { index, field -> CodeBlock.of("%L·->·%S\n", index, field.schemaName) }.joinToCode(separator = "")
+      )
+      .addStatement("else·->·throw·%T(%S·+·index)", INDEX_OUT_OF_BOUNDS_EXCEPTION, "index: ")
+      .endControlFlow()
+      .build()
+}
+
+private fun InputType.variableIndexSpec(): FunSpec {
+  return FunSpec
+      .builder("variableIndex")
+      .addModifiers(KModifier.OVERRIDE)
+      .addParameter("name", String::class)
+      .returns(Int::class)
+      .beginControlFlow("return when (name)")
+      .addCode(
+          fields.mapIndexed { index, field -> CodeBlock.of("%S·->·%L\n", field.schemaName, index) }.joinToCode(separator = "")
+      )
+      .addStatement("else·->·-1")
+      .endControlFlow()
+      .build()
+}
+
+private fun InputType.isVariableDefinedSpec(operationType: OperationType): FunSpec {
+  return FunSpec
+      .builder("isVariableDefined")
+      .addModifiers(KModifier.OVERRIDE)
+      .addParameter("index", Int::class)
+      .returns(Boolean::class)
+      .beginControlFlow("return when (index)")
+      .addCode(
+          fields.mapIndexedNotNull { index, field ->
+            if (field.isOptional) {
+              CodeBlock.of("%L·->·this@%L.%L.defined\n", index, operationType.name, field.name)
+            } else {
+              null
+            }
+          }.joinToCode(separator = "")
+      )
+      .addStatement("else·->·true")
+      .endControlFlow()
+      .build()
+}
+
+private fun InputType.variableValueSpec(operationType: OperationType): FunSpec {
+  return FunSpec
+      .builder("variableValue")
+      .addModifiers(KModifier.OVERRIDE)
+      .addParameter("index", Int::class)
+      .returns(Any::class.asClassName().copy(nullable = true))
+      .beginControlFlow("return when (index)")
+      .addCode(
+          fields.mapIndexed { index, field ->
+            if (field.isOptional) {
+              CodeBlock.of("%L·->·this@%L.%L.value\n", index, operationType.name, field.name)
+            } else {
+              CodeBlock.of("%L·->·this@%L.%L\n", index, operationType.name, field.name)
+            }
+          }.joinToCode(separator = "")
+      )
+      .addStatement("else·->·throw·%T(%S·+·index)", INDEX_OUT_OF_BOUNDS_EXCEPTION, "index: ")
+      .endControlFlow()
+      .build()
+}
+
+private val INDEX_OUT_OF_BOUNDS_EXCEPTION = ClassName("kotlin", "IndexOutOfBoundsException")
+
 private fun InputType.variablesMarshallerSpec(thisRef: String): FunSpec {
   return FunSpec
       .builder("marshaller")
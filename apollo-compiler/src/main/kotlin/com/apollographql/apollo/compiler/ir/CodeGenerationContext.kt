@@ -16,5 +16,6 @@ data class CodeGenerationContext(
     val useJavaBeansSemanticNaming: Boolean,
     val suppressRawTypesWarning: Boolean,
     val generateVisitorForPolymorphicDatatypes: Boolean,
-    val packageNameProvider: PackageNameProvider
+    val packageNameProvider: PackageNameProvider,
+    val omitQueryDocuments: Boolean = false
 )
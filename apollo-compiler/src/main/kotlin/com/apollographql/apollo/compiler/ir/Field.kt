@@ -17,6 +17,7 @@ data class Field(
     val isDeprecated: Boolean = false,
     val deprecationReason: String = "",
     val conditions: List<Condition> = emptyList(),
+    val isLazy: Boolean = false,
     val sourceLocation: SourceLocation
 ) : CodeGenerator {
 
@@ -170,5 +171,10 @@ data class Field(
         fragmentRefs = emptyList(),
         sourceLocation = SourceLocation.UNKNOWN
     )
+
+    /**
+     * Client directive of the list fields whose elements are read into models the first time they are accessed.
+     */
+    const val LAZY_DIRECTIVE = "lazy"
   }
 }
@@ -294,6 +294,13 @@ class GraphQLDocumentParser(val schema: Schema, private val packageNameProvider:
     val mergedFields = fields.result.mergeFields(others = inlineFragmentFieldsToMerge)
 
     val conditions = directives().parse()
+    val lazyDirective = directives()?.directive()?.firstOrNull { it.NAME().text == Field.LAZY_DIRECTIVE }
+    if (lazyDirective != null && !schemaField.type.asGraphQLType().removeSuffix("!").startsWith("[")) {
+      throw ParseException(
+          message = "`@${Field.LAZY_DIRECTIVE}` directive can only be used on list fields",
+          token = lazyDirective.NAME().symbol
+      )
+    }
     return ParseResult(
         result = Field(
             responseName = responseName,
@@ -312,6 +319,7 @@ class GraphQLDocumentParser(val schema: Schema, private val packageNameProvider:
             isDeprecated = schemaField.isDeprecated,
             deprecationReason = schemaField.deprecationReason ?: "",
             conditions = conditions,
+            isLazy = lazyDirective != null,
             sourceLocation = SourceLocation(start)
         ),
         usedTypes = setOf(schemaField.type.rawType.name!!)
@@ -1,5 +1,6 @@
 package com.apollographql.apollo.compiler.parser
 
+import com.apollographql.apollo.compiler.ir.Field
 import com.apollographql.apollo.compiler.parser.antlr.GraphQLParser
 import org.antlr.v4.runtime.ParserRuleContext
 import org.antlr.v4.runtime.misc.Interval
@@ -51,11 +52,25 @@ object GraphQLDocumentSourceBuilder {
     get() {
       val fieldName = fieldName().source
       val arguments = arguments()?.source ?: ""
-      val directives = directives()?.source?.let { " $it" } ?: ""
+      val directives = directives()?.withoutClientDirectives?.let { " $it" } ?: ""
       val selectionSet = selectionSet()?.format()?.let { " {\n$it\n}" } ?: ""
       return "$fieldName$arguments$directives$selectionSet"
     }
 
+  /**
+   * The directives of a field without the `@lazy` client directive, which is not sent to the server.
+   */
+  private val GraphQLParser.DirectivesContext.withoutClientDirectives: String?
+    get() {
+      if (directive().none { it.NAME().text == Field.LAZY_DIRECTIVE }) {
+        return source
+      }
+      return directive()
+          .filter { it.NAME().text != Field.LAZY_DIRECTIVE }
+          .takeIf { it.isNotEmpty() }
+          ?.joinToString(separator = " ") { it.source }
+    }
+
   private val GraphQLParser.ArgumentsContext.source: String
     get() = argument().joinToString(separator = ", ", prefix = "(", postfix = ")") { it.source }
 
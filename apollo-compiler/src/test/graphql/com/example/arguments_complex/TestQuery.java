@@ -16,7 +16,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -42,15 +41,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "ea0219363b8af60b029b30af551861cbae30648978be2060651eacc0e34a79d0";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery($episode: Episode, $stars: Int!, $greenValue: Float!) {\n"
-        + "  heroWithReview(episode: $episode, review: {stars: $stars, favoriteColor: {red: 0, green: $greenValue, blue: 0}, listOfStringNonOptional: []}, listOfInts: [$stars, $stars]) {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    height(unit: FOOT)\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery($episode: Episode, $stars: Int!, $greenValue: Float!) { heroWithReview(episode: $episode, review: {stars: $stars, favoriteColor: {red: 0, green: $greenValue, blue: 0}, listOfStringNonOptional: []}, listOfInts: [$stars, $stars]) { __typename name height(unit: FOOT) } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -175,17 +166,12 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     private final double greenValue;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(Input<Episode> episode, int stars, double greenValue) {
       this.episode = episode;
       this.stars = stars;
       this.greenValue = greenValue;
-      if (episode.defined) {
-        this.valueMap.put("episode", episode.value);
-      }
-      this.valueMap.put("stars", stars);
-      this.valueMap.put("greenValue", greenValue);
     }
 
     public Input<Episode> episode() {
@@ -202,7 +188,59 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (this.episode.defined) {
+          map.put("episode", this.episode.value);
+        }
+        map.put("stars", this.stars);
+        map.put("greenValue", this.greenValue);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 3;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "episode";
+        case 1: return "stars";
+        case 2: return "greenValue";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "episode": return 0;
+        case "stars": return 1;
+        case "greenValue": return 2;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public boolean isVariableDefined(int index) {
+      switch (index) {
+        case 0: return this.episode.defined;
+        default: return true;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.episode.value;
+        case 1: return this.stars;
+        case 2: return this.greenValue;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
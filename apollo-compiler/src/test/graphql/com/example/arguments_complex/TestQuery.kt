@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -52,6 +51,34 @@ data class TestQuery(
       this["greenValue"] = this@TestQuery.greenValue
     }
 
+    override fun variableCount(): Int = 3
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "episode"
+      1 -> "stars"
+      2 -> "greenValue"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "episode" -> 0
+      "stars" -> 1
+      "greenValue" -> 2
+      else -> -1
+    }
+
+    override fun isVariableDefined(index: Int): Boolean = when (index) {
+      0 -> this@TestQuery.episode.defined
+      else -> true
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestQuery.episode.value
+      1 -> this@TestQuery.stars
+      2 -> this@TestQuery.greenValue
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       if (this@TestQuery.episode.defined) {
         writer.writeString("episode", this@TestQuery.episode.value?.rawValue)
@@ -191,17 +218,8 @@ data class TestQuery(
     const val OPERATION_ID: String =
         "ea0219363b8af60b029b30af551861cbae30648978be2060651eacc0e34a79d0"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery(${'$'}episode: Episode, ${'$'}stars: Int!, ${'$'}greenValue: Float!) {
-          |  heroWithReview(episode: ${'$'}episode, review: {stars: ${'$'}stars, favoriteColor: {red: 0, green: ${'$'}greenValue, blue: 0}, listOfStringNonOptional: []}, listOfInts: [${'$'}stars, ${'$'}stars]) {
-          |    __typename
-          |    name
-          |    height(unit: FOOT)
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery(${'$'}episode: Episode, ${'$'}stars: Int!, ${'$'}greenValue: Float!) { heroWithReview(episode: ${'$'}episode, review: {stars: ${'$'}stars, favoriteColor: {red: 0, green: ${'$'}greenValue, blue: 0}, listOfStringNonOptional: []}, listOfInts: [${'$'}stars, ${'$'}stars]) { __typename name height(unit: FOOT) } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
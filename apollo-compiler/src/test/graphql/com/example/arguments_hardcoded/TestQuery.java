@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -36,15 +35,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "2dd4a7ef066f8606c7b9bb628452d3fc7ff17956e42a2a5f62191b9121cb2705";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  reviews(episode: JEDI, starsInt: 10, starsFloat: 9.9) {\n"
-        + "    __typename\n"
-        + "    stars\n"
-        + "    commentary\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { reviews(episode: JEDI, starsInt: 10, starsFloat: 9.9) { __typename stars commentary } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
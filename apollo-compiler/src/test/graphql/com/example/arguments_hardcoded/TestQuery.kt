@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -152,17 +151,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "2dd4a7ef066f8606c7b9bb628452d3fc7ff17956e42a2a5f62191b9121cb2705"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  reviews(episode: JEDI, starsInt: 10, starsFloat: 9.9) {
-          |    __typename
-          |    stars
-          |    commentary
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { reviews(episode: JEDI, starsInt: 10, starsFloat: 9.9) { __typename stars commentary } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
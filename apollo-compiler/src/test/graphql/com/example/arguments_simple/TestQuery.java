@@ -16,7 +16,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -44,33 +43,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "89afe30dd0fa5ddce3d0b743d3adf68e55a48d0c11d10e495c0ec095949e6d04";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery($episode: Episode, $IncludeName: Boolean!, $friendsCount: Int!, $listOfListOfStringArgs: [[String]!]!) {\n"
-        + "  hero(episode: $episode, listOfListOfStringArgs: $listOfListOfStringArgs) {\n"
-        + "    __typename\n"
-        + "    name @include(if: $IncludeName)\n"
-        + "    ...HeroDetails\n"
-        + "  }\n"
-        + "  heroWithReview(episode: $episode, review: {}) {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HeroDetails on Character {\n"
-        + "  __typename\n"
-        + "  friendsConnection(first: $friendsCount) {\n"
-        + "    __typename\n"
-        + "    totalCount\n"
-        + "    edges {\n"
-        + "      __typename\n"
-        + "      node {\n"
-        + "        __typename\n"
-        + "        name @include(if: $IncludeName)\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery($episode: Episode, $IncludeName: Boolean!, $friendsCount: Int!, $listOfListOfStringArgs: [[String]!]!) { hero(episode: $episode, listOfListOfStringArgs: $listOfListOfStringArgs) { __typename name @include(if: $IncludeName) ...HeroDetails } heroWithReview(episode: $episode, review: {}) { __typename name } } fragment HeroDetails on Character { __typename friendsConnection(first: $friendsCount) { __typename totalCount edges { __typename node { __typename name @include(if: $IncludeName) } } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -207,7 +180,7 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     private final @NotNull List<List<String>> listOfListOfStringArgs;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(Input<Episode> episode, boolean includeName, int friendsCount,
         @NotNull List<List<String>> listOfListOfStringArgs) {
@@ -215,12 +188,6 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
       this.includeName = includeName;
       this.friendsCount = friendsCount;
       this.listOfListOfStringArgs = listOfListOfStringArgs;
-      if (episode.defined) {
-        this.valueMap.put("episode", episode.value);
-      }
-      this.valueMap.put("IncludeName", includeName);
-      this.valueMap.put("friendsCount", friendsCount);
-      this.valueMap.put("listOfListOfStringArgs", listOfListOfStringArgs);
     }
 
     public Input<Episode> episode() {
@@ -241,7 +208,63 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (this.episode.defined) {
+          map.put("episode", this.episode.value);
+        }
+        map.put("IncludeName", this.includeName);
+        map.put("friendsCount", this.friendsCount);
+        map.put("listOfListOfStringArgs", this.listOfListOfStringArgs);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 4;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "episode";
+        case 1: return "IncludeName";
+        case 2: return "friendsCount";
+        case 3: return "listOfListOfStringArgs";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "episode": return 0;
+        case "IncludeName": return 1;
+        case "friendsCount": return 2;
+        case "listOfListOfStringArgs": return 3;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public boolean isVariableDefined(int index) {
+      switch (index) {
+        case 0: return this.episode.defined;
+        default: return true;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.episode.value;
+        case 1: return this.includeName;
+        case 2: return this.friendsCount;
+        case 3: return this.listOfListOfStringArgs;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -55,6 +54,37 @@ data class TestQuery(
       this["listOfListOfStringArgs"] = this@TestQuery.listOfListOfStringArgs
     }
 
+    override fun variableCount(): Int = 4
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "episode"
+      1 -> "IncludeName"
+      2 -> "friendsCount"
+      3 -> "listOfListOfStringArgs"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "episode" -> 0
+      "IncludeName" -> 1
+      "friendsCount" -> 2
+      "listOfListOfStringArgs" -> 3
+      else -> -1
+    }
+
+    override fun isVariableDefined(index: Int): Boolean = when (index) {
+      0 -> this@TestQuery.episode.defined
+      else -> true
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestQuery.episode.value
+      1 -> this@TestQuery.includeName
+      2 -> this@TestQuery.friendsCount
+      3 -> this@TestQuery.listOfListOfStringArgs
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       if (this@TestQuery.episode.defined) {
         writer.writeString("episode", this@TestQuery.episode.value?.rawValue)
@@ -259,35 +289,8 @@ data class TestQuery(
     const val OPERATION_ID: String =
         "89afe30dd0fa5ddce3d0b743d3adf68e55a48d0c11d10e495c0ec095949e6d04"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery(${'$'}episode: Episode, ${'$'}IncludeName: Boolean!, ${'$'}friendsCount: Int!, ${'$'}listOfListOfStringArgs: [[String]!]!) {
-          |  hero(episode: ${'$'}episode, listOfListOfStringArgs: ${'$'}listOfListOfStringArgs) {
-          |    __typename
-          |    name @include(if: ${'$'}IncludeName)
-          |    ...HeroDetails
-          |  }
-          |  heroWithReview(episode: ${'$'}episode, review: {}) {
-          |    __typename
-          |    name
-          |  }
-          |}
-          |fragment HeroDetails on Character {
-          |  __typename
-          |  friendsConnection(first: ${'$'}friendsCount) {
-          |    __typename
-          |    totalCount
-          |    edges {
-          |      __typename
-          |      node {
-          |        __typename
-          |        name @include(if: ${'$'}IncludeName)
-          |      }
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery(${'$'}episode: Episode, ${'$'}IncludeName: Boolean!, ${'$'}friendsCount: Int!, ${'$'}listOfListOfStringArgs: [[String]!]!) { hero(episode: ${'$'}episode, listOfListOfStringArgs: ${'$'}listOfListOfStringArgs) { __typename name @include(if: ${'$'}IncludeName) ...HeroDetails } heroWithReview(episode: ${'$'}episode, review: {}) { __typename name } } fragment HeroDetails on Character { __typename friendsConnection(first: ${'$'}friendsCount) { __typename totalCount edges { __typename node { __typename name @include(if: ${'$'}IncludeName) } } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
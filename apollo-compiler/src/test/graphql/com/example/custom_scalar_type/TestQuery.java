@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -37,19 +36,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "5b1986dc0a04871a5bcbfdb1d7a5b9f935fd9b2d68da8990744106c4b253f177";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    birthDate\n"
-        + "    appearanceDates\n"
-        + "    fieldWithUnsupportedType\n"
-        + "    profileLink\n"
-        + "    links\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { hero { __typename name birthDate appearanceDates fieldWithUnsupportedType profileLink links } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -193,21 +192,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "5b1986dc0a04871a5bcbfdb1d7a5b9f935fd9b2d68da8990744106c4b253f177"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  hero {
-          |    __typename
-          |    name
-          |    birthDate
-          |    appearanceDates
-          |    fieldWithUnsupportedType
-          |    profileLink
-          |    links
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { hero { __typename name birthDate appearanceDates fieldWithUnsupportedType profileLink links } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
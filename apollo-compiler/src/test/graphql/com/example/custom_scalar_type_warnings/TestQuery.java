@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -36,14 +35,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "1a019419389595f8e5269db271bc43dae6cf9733959296ceff6a3270faa91c62";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    links\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { hero { __typename links } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
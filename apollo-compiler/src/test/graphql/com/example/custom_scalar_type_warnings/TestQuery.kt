@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -142,16 +141,7 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "1a019419389595f8e5269db271bc43dae6cf9733959296ceff6a3270faa91c62"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  hero {
-          |    __typename
-          |    links
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String = "query TestQuery { hero { __typename links } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
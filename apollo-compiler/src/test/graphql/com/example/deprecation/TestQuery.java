@@ -16,7 +16,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -42,16 +41,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "8f4a8c01b4bf0eb76356829f8062621ff66c3b53b6bf92753661cca41ef3ade4";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery($episode: Episode) {\n"
-        + "  hero(episode: $episode) {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    deprecated\n"
-        + "    deprecatedBool\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery($episode: Episode) { hero(episode: $episode) { __typename name deprecated deprecatedBool } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -158,13 +148,10 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
   public static final class Variables extends Operation.Variables {
     private final Input<Episode> episode;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(Input<Episode> episode) {
       this.episode = episode;
-      if (episode.defined) {
-        this.valueMap.put("episode", episode.value);
-      }
     }
 
     public Input<Episode> episode() {
@@ -173,7 +160,51 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (this.episode.defined) {
+          map.put("episode", this.episode.value);
+        }
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 1;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "episode";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "episode": return 0;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public boolean isVariableDefined(int index) {
+      switch (index) {
+        case 0: return this.episode.defined;
+        default: return true;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.episode.value;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -47,6 +46,28 @@ data class TestQuery(
       }
     }
 
+    override fun variableCount(): Int = 1
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "episode"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "episode" -> 0
+      else -> -1
+    }
+
+    override fun isVariableDefined(index: Int): Boolean = when (index) {
+      0 -> this@TestQuery.episode.defined
+      else -> true
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestQuery.episode.value
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       if (this@TestQuery.episode.defined) {
         writer.writeString("episode", this@TestQuery.episode.value?.rawValue)
@@ -179,18 +200,8 @@ data class TestQuery(
     const val OPERATION_ID: String =
         "8f4a8c01b4bf0eb76356829f8062621ff66c3b53b6bf92753661cca41ef3ade4"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery(${'$'}episode: Episode) {
-          |  hero(episode: ${'$'}episode) {
-          |    __typename
-          |    name
-          |    deprecated
-          |    deprecatedBool
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery(${'$'}episode: Episode) { hero(episode: ${'$'}episode) { __typename name deprecated deprecatedBool } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -42,24 +41,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "e7ae0709b15d61fbba95a5c2e74b439fbed8ccf8d68fd389f4dd8250b55efeaf";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery($withDetails: Boolean!, $skipHumanDetails: Boolean!) {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    id\n"
-        + "    ... HeroDetails @include(if: $withDetails) @skip(if: $skipHumanDetails)\n"
-        + "    ... HumanDetails @include(if: $withDetails)\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HeroDetails on Character {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "}\n"
-        + "fragment HumanDetails on Human {\n"
-        + "  __typename\n"
-        + "  homePlanet\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery($withDetails: Boolean!, $skipHumanDetails: Boolean!) { hero { __typename id ... HeroDetails @include(if: $withDetails) @skip(if: $skipHumanDetails) ... HumanDetails @include(if: $withDetails) } } fragment HeroDetails on Character { __typename name } fragment HumanDetails on Human { __typename homePlanet }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -169,13 +151,11 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     private final boolean skipHumanDetails;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(boolean withDetails, boolean skipHumanDetails) {
       this.withDetails = withDetails;
       this.skipHumanDetails = skipHumanDetails;
-      this.valueMap.put("withDetails", withDetails);
-      this.valueMap.put("skipHumanDetails", skipHumanDetails);
     }
 
     public boolean withDetails() {
@@ -188,7 +168,45 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("withDetails", this.withDetails);
+        map.put("skipHumanDetails", this.skipHumanDetails);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 2;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "withDetails";
+        case 1: return "skipHumanDetails";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "withDetails": return 0;
+        case "skipHumanDetails": return 1;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.withDetails;
+        case 1: return this.skipHumanDetails;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -14,7 +14,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -47,6 +46,26 @@ data class TestQuery(
       this["skipHumanDetails"] = this@TestQuery.skipHumanDetails
     }
 
+    override fun variableCount(): Int = 2
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "withDetails"
+      1 -> "skipHumanDetails"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "withDetails" -> 0
+      "skipHumanDetails" -> 1
+      else -> -1
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestQuery.withDetails
+      1 -> this@TestQuery.skipHumanDetails
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       writer.writeBoolean("withDetails", this@TestQuery.withDetails)
       writer.writeBoolean("skipHumanDetails", this@TestQuery.skipHumanDetails)
@@ -201,26 +220,8 @@ data class TestQuery(
     const val OPERATION_ID: String =
         "e7ae0709b15d61fbba95a5c2e74b439fbed8ccf8d68fd389f4dd8250b55efeaf"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery(${'$'}withDetails: Boolean!, ${'$'}skipHumanDetails: Boolean!) {
-          |  hero {
-          |    __typename
-          |    id
-          |    ... HeroDetails @include(if: ${'$'}withDetails) @skip(if: ${'$'}skipHumanDetails)
-          |    ... HumanDetails @include(if: ${'$'}withDetails)
-          |  }
-          |}
-          |fragment HeroDetails on Character {
-          |  __typename
-          |  name
-          |}
-          |fragment HumanDetails on Human {
-          |  __typename
-          |  homePlanet
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery(${'$'}withDetails: Boolean!, ${'$'}skipHumanDetails: Boolean!) { hero { __typename id ... HeroDetails @include(if: ${'$'}withDetails) @skip(if: ${'$'}skipHumanDetails) ... HumanDetails @include(if: ${'$'}withDetails) } } fragment HeroDetails on Character { __typename name } fragment HumanDetails on Human { __typename homePlanet }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -40,22 +39,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "97c562c4c8d4263171676515bc09d09030313dd3598ad8a061586c899a1cca97";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery($withDetails: Boolean!, $skipHumanDetails: Boolean!) {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    id\n"
-        + "    ... on Human @include(if: $withDetails) @skip(if: $skipHumanDetails) {\n"
-        + "      name\n"
-        + "      homePlanet\n"
-        + "    }\n"
-        + "    ... on Droid @include(if: $withDetails) {\n"
-        + "      name\n"
-        + "      primaryFunction\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery($withDetails: Boolean!, $skipHumanDetails: Boolean!) { hero { __typename id ... on Human @include(if: $withDetails) @skip(if: $skipHumanDetails) { name homePlanet } ... on Droid @include(if: $withDetails) { name primaryFunction } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -165,13 +149,11 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     private final boolean skipHumanDetails;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(boolean withDetails, boolean skipHumanDetails) {
       this.withDetails = withDetails;
       this.skipHumanDetails = skipHumanDetails;
-      this.valueMap.put("withDetails", withDetails);
-      this.valueMap.put("skipHumanDetails", skipHumanDetails);
     }
 
     public boolean withDetails() {
@@ -184,7 +166,45 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("withDetails", this.withDetails);
+        map.put("skipHumanDetails", this.skipHumanDetails);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 2;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "withDetails";
+        case 1: return "skipHumanDetails";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "withDetails": return 0;
+        case "skipHumanDetails": return 1;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.withDetails;
+        case 1: return this.skipHumanDetails;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -14,7 +14,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -45,6 +44,26 @@ data class TestQuery(
       this["skipHumanDetails"] = this@TestQuery.skipHumanDetails
     }
 
+    override fun variableCount(): Int = 2
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "withDetails"
+      1 -> "skipHumanDetails"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "withDetails" -> 0
+      "skipHumanDetails" -> 1
+      else -> -1
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestQuery.withDetails
+      1 -> this@TestQuery.skipHumanDetails
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       writer.writeBoolean("withDetails", this@TestQuery.withDetails)
       writer.writeBoolean("skipHumanDetails", this@TestQuery.skipHumanDetails)
@@ -276,24 +295,8 @@ data class TestQuery(
     const val OPERATION_ID: String =
         "97c562c4c8d4263171676515bc09d09030313dd3598ad8a061586c899a1cca97"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery(${'$'}withDetails: Boolean!, ${'$'}skipHumanDetails: Boolean!) {
-          |  hero {
-          |    __typename
-          |    id
-          |    ... on Human @include(if: ${'$'}withDetails) @skip(if: ${'$'}skipHumanDetails) {
-          |      name
-          |      homePlanet
-          |    }
-          |    ... on Droid @include(if: ${'$'}withDetails) {
-          |      name
-          |      primaryFunction
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery(${'$'}withDetails: Boolean!, ${'$'}skipHumanDetails: Boolean!) { hero { __typename id ... on Human @include(if: ${'$'}withDetails) @skip(if: ${'$'}skipHumanDetails) { name homePlanet } ... on Droid @include(if: ${'$'}withDetails) { name primaryFunction } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
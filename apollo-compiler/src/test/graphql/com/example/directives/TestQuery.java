@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -40,18 +39,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "c2c4bbf6368fd611eb19628164b0ef04ccad73f4c96b0416c254b8375b5d04f8";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery($includeName: Boolean!, $skipFriends: Boolean!) @operationDirective(dummy: \"hello\") {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    name @include(if: $includeName)\n"
-        + "    friendsConnection @skip(if: $skipFriends) {\n"
-        + "      __typename\n"
-        + "      totalCount\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery($includeName: Boolean!, $skipFriends: Boolean!) @operationDirective(dummy: \"hello\") { hero { __typename name @include(if: $includeName) friendsConnection @skip(if: $skipFriends) { __typename totalCount } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -161,13 +149,11 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     private final boolean skipFriends;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(boolean includeName, boolean skipFriends) {
       this.includeName = includeName;
       this.skipFriends = skipFriends;
-      this.valueMap.put("includeName", includeName);
-      this.valueMap.put("skipFriends", skipFriends);
     }
 
     public boolean includeName() {
@@ -180,7 +166,45 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("includeName", this.includeName);
+        map.put("skipFriends", this.skipFriends);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 2;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "includeName";
+        case 1: return "skipFriends";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "includeName": return 0;
+        case "skipFriends": return 1;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.includeName;
+        case 1: return this.skipFriends;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
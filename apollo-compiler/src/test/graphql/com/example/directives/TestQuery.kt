@@ -14,7 +14,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -45,6 +44,26 @@ data class TestQuery(
       this["skipFriends"] = this@TestQuery.skipFriends
     }
 
+    override fun variableCount(): Int = 2
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "includeName"
+      1 -> "skipFriends"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "includeName" -> 0
+      "skipFriends" -> 1
+      else -> -1
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestQuery.includeName
+      1 -> this@TestQuery.skipFriends
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       writer.writeBoolean("includeName", this@TestQuery.includeName)
       writer.writeBoolean("skipFriends", this@TestQuery.skipFriends)
@@ -201,20 +220,8 @@ data class TestQuery(
     const val OPERATION_ID: String =
         "c2c4bbf6368fd611eb19628164b0ef04ccad73f4c96b0416c254b8375b5d04f8"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery(${'$'}includeName: Boolean!, ${'$'}skipFriends: Boolean!) @operationDirective(dummy: "hello") {
-          |  hero {
-          |    __typename
-          |    name @include(if: ${'$'}includeName)
-          |    friendsConnection @skip(if: ${'$'}skipFriends) {
-          |      __typename
-          |      totalCount
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery(${'$'}includeName: Boolean!, ${'$'}skipFriends: Boolean!) @operationDirective(dummy: \"hello\") { hero { __typename name @include(if: ${'$'}includeName) friendsConnection @skip(if: ${'$'}skipFriends) { __typename totalCount } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
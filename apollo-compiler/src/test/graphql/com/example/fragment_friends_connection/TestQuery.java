@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -35,29 +34,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "bf3304288b337985db99d4a206f0c91e2e4db84bc882cf7cf404da3df053f5e9";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    ...HeroDetails\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HeroDetails on Character {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  friendsConnection {\n"
-        + "    __typename\n"
-        + "    totalCount\n"
-        + "    edges {\n"
-        + "      __typename\n"
-        + "      node {\n"
-        + "        __typename\n"
-        + "        name\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { hero { __typename ...HeroDetails } } fragment HeroDetails on Character { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -158,31 +157,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "bf3304288b337985db99d4a206f0c91e2e4db84bc882cf7cf404da3df053f5e9"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  hero {
-          |    __typename
-          |    ...HeroDetails
-          |  }
-          |}
-          |fragment HeroDetails on Character {
-          |  __typename
-          |  name
-          |  friendsConnection {
-          |    __typename
-          |    totalCount
-          |    edges {
-          |      __typename
-          |      node {
-          |        __typename
-          |        name
-          |      }
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { hero { __typename ...HeroDetails } } fragment HeroDetails on Character { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
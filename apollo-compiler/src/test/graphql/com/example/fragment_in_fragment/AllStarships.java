@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -37,47 +36,7 @@ import org.jetbrains.annotations.Nullable;
 public final class AllStarships implements Query<AllStarships.Data, Optional<AllStarships.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "1296a4041eb330b2810e426f9347f76c6df3a969ab7f7e56f250bf9c6a07982e";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query AllStarships {\n"
-        + "  allStarships(first: 7) {\n"
-        + "    __typename\n"
-        + "    edges {\n"
-        + "      __typename\n"
-        + "      node {\n"
-        + "        __typename\n"
-        + "        ...starshipFragment\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment starshipFragment on Starship {\n"
-        + "  __typename\n"
-        + "  id\n"
-        + "  name\n"
-        + "  pilotConnection {\n"
-        + "    __typename\n"
-        + "    edges {\n"
-        + "      __typename\n"
-        + "      node {\n"
-        + "        __typename\n"
-        + "        ...pilotFragment\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment pilotFragment on Person {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  homeworld {\n"
-        + "    __typename\n"
-        + "    ...planetFragment\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment planetFragment on Planet {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query AllStarships { allStarships(first: 7) { __typename edges { __typename node { __typename ...starshipFragment } } } } fragment starshipFragment on Starship { __typename id name pilotConnection { __typename edges { __typename node { __typename ...pilotFragment } } } } fragment pilotFragment on Person { __typename name homeworld { __typename ...planetFragment } } fragment planetFragment on Planet { __typename name }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -233,49 +232,8 @@ class AllStarships : Query<AllStarships.Data, AllStarships.Data, Operation.Varia
     const val OPERATION_ID: String =
         "1296a4041eb330b2810e426f9347f76c6df3a969ab7f7e56f250bf9c6a07982e"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query AllStarships {
-          |  allStarships(first: 7) {
-          |    __typename
-          |    edges {
-          |      __typename
-          |      node {
-          |        __typename
-          |        ...starshipFragment
-          |      }
-          |    }
-          |  }
-          |}
-          |fragment starshipFragment on Starship {
-          |  __typename
-          |  id
-          |  name
-          |  pilotConnection {
-          |    __typename
-          |    edges {
-          |      __typename
-          |      node {
-          |        __typename
-          |        ...pilotFragment
-          |      }
-          |    }
-          |  }
-          |}
-          |fragment pilotFragment on Person {
-          |  __typename
-          |  name
-          |  homeworld {
-          |    __typename
-          |    ...planetFragment
-          |  }
-          |}
-          |fragment planetFragment on Planet {
-          |  __typename
-          |  name
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query AllStarships { allStarships(first: 7) { __typename edges { __typename node { __typename ...starshipFragment } } } } fragment starshipFragment on Starship { __typename id name pilotConnection { __typename edges { __typename node { __typename ...pilotFragment } } } } fragment pilotFragment on Person { __typename name homeworld { __typename ...planetFragment } } fragment planetFragment on Planet { __typename name }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "AllStarships"
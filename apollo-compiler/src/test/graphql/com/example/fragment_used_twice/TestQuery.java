@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -37,30 +36,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "0717d3202204df80ffc6546a0b8dd179f40c29c183ebbea21e7c16ae27e0d056";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    ...HeroDetails\n"
-        + "    ...HumanDetails\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HeroDetails on Character {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  ...CharacterDetails\n"
-        + "}\n"
-        + "fragment HumanDetails on Human {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  ...CharacterDetails\n"
-        + "}\n"
-        + "fragment CharacterDetails on Character {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  birthDate\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { hero { __typename ...HeroDetails ...HumanDetails } } fragment HeroDetails on Character { __typename name ...CharacterDetails } fragment HumanDetails on Human { __typename name ...CharacterDetails } fragment CharacterDetails on Character { __typename name birthDate }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
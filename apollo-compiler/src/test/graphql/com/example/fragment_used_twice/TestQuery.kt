@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -168,32 +167,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "0717d3202204df80ffc6546a0b8dd179f40c29c183ebbea21e7c16ae27e0d056"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  hero {
-          |    __typename
-          |    ...HeroDetails
-          |    ...HumanDetails
-          |  }
-          |}
-          |fragment HeroDetails on Character {
-          |  __typename
-          |  name
-          |  ...CharacterDetails
-          |}
-          |fragment HumanDetails on Human {
-          |  __typename
-          |  name
-          |  ...CharacterDetails
-          |}
-          |fragment CharacterDetails on Character {
-          |  __typename
-          |  name
-          |  birthDate
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { hero { __typename ...HeroDetails ...HumanDetails } } fragment HeroDetails on Character { __typename name ...CharacterDetails } fragment HumanDetails on Human { __typename name ...CharacterDetails } fragment CharacterDetails on Character { __typename name birthDate }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
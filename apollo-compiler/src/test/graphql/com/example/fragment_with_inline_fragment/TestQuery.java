@@ -14,7 +14,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.Mutator;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -38,44 +37,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "cf2801bb0424f62ecf3504cedcf40d0fc0f5b5b75bdaf1a9febb5e63bea91306";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    ...HeroDetails\n"
-        + "    appearsIn\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HeroDetails on Character {\n"
-        + "  __typename\n"
-        + "  ... HumanDetails\n"
-        + "  ... on Droid {\n"
-        + "    ...DroidDetails\n"
-        + "  }\n"
-        + "  name\n"
-        + "  friendsConnection {\n"
-        + "    __typename\n"
-        + "    totalCount\n"
-        + "    edges {\n"
-        + "      __typename\n"
-        + "      node {\n"
-        + "        __typename\n"
-        + "        name\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HumanDetails on Human {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "}\n"
-        + "fragment DroidDetails on Droid {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  primaryFunction\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { hero { __typename name ...HeroDetails appearsIn } } fragment HeroDetails on Character { __typename ... HumanDetails ... on Droid { ...DroidDetails } name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } fragment HumanDetails on Human { __typename name } fragment DroidDetails on Droid { __typename name primaryFunction }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
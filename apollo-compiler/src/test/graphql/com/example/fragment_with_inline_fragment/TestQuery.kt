@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -181,46 +180,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "cf2801bb0424f62ecf3504cedcf40d0fc0f5b5b75bdaf1a9febb5e63bea91306"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  hero {
-          |    __typename
-          |    name
-          |    ...HeroDetails
-          |    appearsIn
-          |  }
-          |}
-          |fragment HeroDetails on Character {
-          |  __typename
-          |  ... HumanDetails
-          |  ... on Droid {
-          |    ...DroidDetails
-          |  }
-          |  name
-          |  friendsConnection {
-          |    __typename
-          |    totalCount
-          |    edges {
-          |      __typename
-          |      node {
-          |        __typename
-          |        name
-          |      }
-          |    }
-          |  }
-          |}
-          |fragment HumanDetails on Human {
-          |  __typename
-          |  name
-          |}
-          |fragment DroidDetails on Droid {
-          |  __typename
-          |  name
-          |  primaryFunction
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { hero { __typename name ...HeroDetails appearsIn } } fragment HeroDetails on Character { __typename ... HumanDetails ... on Droid { ...DroidDetails } name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } fragment HumanDetails on Human { __typename name } fragment DroidDetails on Droid { __typename name primaryFunction }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
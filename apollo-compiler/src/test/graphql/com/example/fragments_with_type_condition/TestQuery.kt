@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -243,32 +242,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "919cec7210259fa24fc6026fe680b96f357c14ebf3c8a734979dcfb819685d6a"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  r2: hero {
-          |    __typename
-          |    ...HumanDetails
-          |    ...DroidDetails
-          |  }
-          |  luke: hero {
-          |    __typename
-          |    ...HumanDetails
-          |    ...DroidDetails
-          |  }
-          |}
-          |fragment HumanDetails on Human {
-          |  __typename
-          |  name
-          |  height
-          |}
-          |fragment DroidDetails on Droid {
-          |  __typename
-          |  name
-          |  primaryFunction
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { r2: hero { __typename ...HumanDetails ...DroidDetails } luke: hero { __typename ...HumanDetails ...DroidDetails } } fragment HumanDetails on Human { __typename name height } fragment DroidDetails on Droid { __typename name primaryFunction }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
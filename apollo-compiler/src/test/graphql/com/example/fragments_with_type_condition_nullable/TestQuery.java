@@ -12,7 +12,6 @@ import com.apollographql.apollo.api.Response;
 import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -36,30 +35,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
   public static final String OPERATION_ID = "919cec7210259fa24fc6026fe680b96f357c14ebf3c8a734979dcfb819685d6a";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  r2: hero {\n"
-        + "    __typename\n"
-        + "    ...HumanDetails\n"
-        + "    ...DroidDetails\n"
-        + "  }\n"
-        + "  luke: hero {\n"
-        + "    __typename\n"
-        + "    ...HumanDetails\n"
-        + "    ...DroidDetails\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HumanDetails on Human {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  height\n"
-        + "}\n"
-        + "fragment DroidDetails on Droid {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  primaryFunction\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { r2: hero { __typename ...HumanDetails ...DroidDetails } luke: hero { __typename ...HumanDetails ...DroidDetails } } fragment HumanDetails on Human { __typename name height } fragment DroidDetails on Droid { __typename name primaryFunction }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -37,26 +36,7 @@ import org.jetbrains.annotations.Nullable;
 public final class HeroDetails implements Query<HeroDetails.Data, Optional<HeroDetails.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "e9e881883e577da3a4dc0ea9eedbdbc8a05f65fe08bd6f1ae6c1e993b75dfbe4";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query HeroDetails {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    type\n"
-        + "    name\n"
-        + "    friendsConnection {\n"
-        + "      __typename\n"
-        + "      totalCount\n"
-        + "      edges {\n"
-        + "        __typename\n"
-        + "        node {\n"
-        + "          __typename\n"
-        + "          name\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query HeroDetails { hero { __typename type name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -268,28 +267,8 @@ class HeroDetails : Query<HeroDetails.Data, HeroDetails.Data, Operation.Variable
     const val OPERATION_ID: String =
         "e9e881883e577da3a4dc0ea9eedbdbc8a05f65fe08bd6f1ae6c1e993b75dfbe4"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query HeroDetails {
-          |  hero {
-          |    __typename
-          |    type
-          |    name
-          |    friendsConnection {
-          |      __typename
-          |      totalCount
-          |      edges {
-          |        __typename
-          |        node {
-          |          __typename
-          |          name
-          |        }
-          |      }
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query HeroDetails { hero { __typename type name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "HeroDetails"
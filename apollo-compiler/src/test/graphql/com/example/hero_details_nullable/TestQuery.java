@@ -12,7 +12,6 @@ import com.apollographql.apollo.api.Response;
 import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -35,25 +34,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
   public static final String OPERATION_ID = "6298efc5535c4a084ea32f95e9be418d8539c852ce96af37110175be4ceed09b";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    friendsConnection {\n"
-        + "      __typename\n"
-        + "      totalCount\n"
-        + "      edges {\n"
-        + "        __typename\n"
-        + "        node {\n"
-        + "          __typename\n"
-        + "          name\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { hero { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
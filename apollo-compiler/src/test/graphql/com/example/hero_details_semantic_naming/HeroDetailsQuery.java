@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -36,25 +35,7 @@ import org.jetbrains.annotations.Nullable;
 public final class HeroDetailsQuery implements Query<HeroDetailsQuery.Data, Optional<HeroDetailsQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "257332d822c9bcd5dabeff3f3dda46875a47846f6eeae88f9042c94e3effeee7";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query HeroDetails {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    friendsConnection {\n"
-        + "      __typename\n"
-        + "      totalCount\n"
-        + "      edges {\n"
-        + "        __typename\n"
-        + "        node {\n"
-        + "          __typename\n"
-        + "          name\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query HeroDetails { hero { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -259,27 +258,8 @@ class HeroDetailsQuery : Query<HeroDetailsQuery.Data, HeroDetailsQuery.Data, Ope
     const val OPERATION_ID: String =
         "257332d822c9bcd5dabeff3f3dda46875a47846f6eeae88f9042c94e3effeee7"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query HeroDetails {
-          |  hero {
-          |    __typename
-          |    name
-          |    friendsConnection {
-          |      __typename
-          |      totalCount
-          |      edges {
-          |        __typename
-          |        node {
-          |          __typename
-          |          name
-          |        }
-          |      }
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query HeroDetails { hero { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "HeroDetails"
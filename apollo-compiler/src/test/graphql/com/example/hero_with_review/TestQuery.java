@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -40,15 +39,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Mutation<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "df7f6bf82724eedee5118f165075b5de1a2b3a06d0390126bf7932dc8df3f082";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "mutation TestQuery($ep: Episode!) {\n"
-        + "  createReview(episode: $ep, review: {stars: 5, listOfEnums: [JEDI, EMPIRE, NEWHOPE], listOfStringNonOptional: [\"1\", \"2\", \"3\"], favoriteColor: {red: 1, blue: 1}}) {\n"
-        + "    __typename\n"
-        + "    stars\n"
-        + "    commentary\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "mutation TestQuery($ep: Episode!) { createReview(episode: $ep, review: {stars: 5, listOfEnums: [JEDI, EMPIRE, NEWHOPE], listOfStringNonOptional: [\"1\", \"2\", \"3\"], favoriteColor: {red: 1, blue: 1}}) { __typename stars commentary } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -144,11 +135,10 @@ public final class TestQuery implements Mutation<TestQuery.Data, Optional<TestQu
   public static final class Variables extends Operation.Variables {
     private final @NotNull Episode ep;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(@NotNull Episode ep) {
       this.ep = ep;
-      this.valueMap.put("ep", ep);
     }
 
     public @NotNull Episode ep() {
@@ -157,7 +147,41 @@ public final class TestQuery implements Mutation<TestQuery.Data, Optional<TestQu
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("ep", this.ep);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 1;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "ep";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "ep": return 0;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.ep;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -36,38 +35,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "5ff8c88e5dfec4301ed7c0603bae2088ecdd096a8336ed0c2e5d386b08ebe5c5";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    friendsConnection {\n"
-        + "      __typename\n"
-        + "      edges {\n"
-        + "        __typename\n"
-        + "        node {\n"
-        + "          __typename\n"
-        + "          name\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "    ... on Character {\n"
-        + "      name\n"
-        + "      profileLink\n"
-        + "      friendsConnection {\n"
-        + "        __typename\n"
-        + "        edges {\n"
-        + "          __typename\n"
-        + "          node {\n"
-        + "            __typename\n"
-        + "            name\n"
-        + "          }\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { hero { __typename name friendsConnection { __typename edges { __typename node { __typename name } } } ... on Character { name profileLink friendsConnection { __typename edges { __typename node { __typename name } } } } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -41,15 +40,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Mutation<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "9850c60bd20e2361afd7a41d51b709fcba9637809e387afe5c7a1cb738fc254b";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "mutation TestQuery($ep: Episode!, $review: ReviewInput!) {\n"
-        + "  createReview(episode: $ep, review: $review) {\n"
-        + "    __typename\n"
-        + "    stars\n"
-        + "    commentary\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "mutation TestQuery($ep: Episode!, $review: ReviewInput!) { createReview(episode: $ep, review: $review) { __typename stars commentary } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -156,13 +147,11 @@ public final class TestQuery implements Mutation<TestQuery.Data, Optional<TestQu
 
     private final @NotNull ReviewInput review;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(@NotNull Episode ep, @NotNull ReviewInput review) {
       this.ep = ep;
       this.review = review;
-      this.valueMap.put("ep", ep);
-      this.valueMap.put("review", review);
     }
 
     public @NotNull Episode ep() {
@@ -175,7 +164,45 @@ public final class TestQuery implements Mutation<TestQuery.Data, Optional<TestQu
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("ep", this.ep);
+        map.put("review", this.review);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 2;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "ep";
+        case 1: return "review";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "ep": return 0;
+        case "review": return 1;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.ep;
+        case 1: return this.review;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -14,7 +14,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -46,6 +45,26 @@ data class TestQuery(
       this["review"] = this@TestQuery.review
     }
 
+    override fun variableCount(): Int = 2
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "ep"
+      1 -> "review"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "ep" -> 0
+      "review" -> 1
+      else -> -1
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestQuery.ep
+      1 -> this@TestQuery.review
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       writer.writeString("ep", this@TestQuery.ep.rawValue)
       writer.writeObject("review", this@TestQuery.review.marshaller())
@@ -159,17 +178,8 @@ data class TestQuery(
     const val OPERATION_ID: String =
         "9850c60bd20e2361afd7a41d51b709fcba9637809e387afe5c7a1cb738fc254b"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |mutation TestQuery(${'$'}ep: Episode!, ${'$'}review: ReviewInput!) {
-          |  createReview(episode: ${'$'}ep, review: ${'$'}review) {
-          |    __typename
-          |    stars
-          |    commentary
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "mutation TestQuery(${'$'}ep: Episode!, ${'$'}review: ReviewInput!) { createReview(episode: ${'$'}ep, review: ${'$'}review) { __typename stars commentary } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -36,25 +35,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "08518fde8892d59c699c4d48f384d7199d933a5846e6936d910cb492b8f84684";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  __schema {\n"
-        + "    __typename\n"
-        + "    queryType {\n"
-        + "      __typename\n"
-        + "      name\n"
-        + "    }\n"
-        + "    types {\n"
-        + "      __typename\n"
-        + "      name\n"
-        + "    }\n"
-        + "  }\n"
-        + "  __type(name: \"Vehicle\") {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { __schema { __typename queryType { __typename name } types { __typename name } } __type(name: \"Vehicle\") { __typename name } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
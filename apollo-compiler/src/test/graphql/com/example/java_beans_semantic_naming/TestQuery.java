@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -37,40 +36,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "a2bc6502baa27d33261b6be530fcaecea248e26e4522c359e8dc6c62c10cafdc";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  hero {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    ...HeroDetails\n"
-        + "    appearsIn\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HeroDetails on Character {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  friendsConnection {\n"
-        + "    __typename\n"
-        + "    totalCount\n"
-        + "    edges {\n"
-        + "      __typename\n"
-        + "      node {\n"
-        + "        __typename\n"
-        + "        name\n"
-        + "      }\n"
-        + "    }\n"
-        + "    pageInfo {\n"
-        + "      __typename\n"
-        + "      hasNextPage\n"
-        + "    }\n"
-        + "    isEmpty\n"
-        + "  }\n"
-        + "  ... on Droid {\n"
-        + "    name\n"
-        + "    primaryFunction\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { hero { __typename name ...HeroDetails appearsIn } } fragment HeroDetails on Character { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } pageInfo { __typename hasNextPage } isEmpty } ... on Droid { name primaryFunction } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
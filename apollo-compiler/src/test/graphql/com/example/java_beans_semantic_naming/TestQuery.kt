@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -181,42 +180,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "a2bc6502baa27d33261b6be530fcaecea248e26e4522c359e8dc6c62c10cafdc"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  hero {
-          |    __typename
-          |    name
-          |    ...HeroDetails
-          |    appearsIn
-          |  }
-          |}
-          |fragment HeroDetails on Character {
-          |  __typename
-          |  name
-          |  friendsConnection {
-          |    __typename
-          |    totalCount
-          |    edges {
-          |      __typename
-          |      node {
-          |        __typename
-          |        name
-          |      }
-          |    }
-          |    pageInfo {
-          |      __typename
-          |      hasNextPage
-          |    }
-          |    isEmpty
-          |  }
-          |  ... on Droid {
-          |    name
-          |    primaryFunction
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { hero { __typename name ...HeroDetails appearsIn } } fragment HeroDetails on Character { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } pageInfo { __typename hasNextPage } isEmpty } ... on Droid { name primaryFunction } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
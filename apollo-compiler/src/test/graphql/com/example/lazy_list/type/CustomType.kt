@@ -0,0 +1,17 @@
+// AUTO-GENERATED FILE. DO NOT MODIFY.
+//
+// This class was automatically generated by Apollo GraphQL plugin from the GraphQL queries it found.
+// It should not be modified by hand.
+//
+package com.example.lazy_list.type
+
+import com.apollographql.apollo.api.ScalarType
+import kotlin.String
+
+enum class CustomType : ScalarType {
+  ID {
+    override fun typeName(): String = "ID"
+
+    override fun className(): String = "kotlin.String"
+  }
+}
@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -44,22 +43,7 @@ import org.jetbrains.annotations.Nullable;
 public final class CreateReviewForEpisode implements Mutation<CreateReviewForEpisode.Data, Optional<CreateReviewForEpisode.Data>, CreateReviewForEpisode.Variables> {
   public static final String OPERATION_ID = "c07e5abc4b4070cd773623194c07f546e609af467a1d34f7bf01c37272245296";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "mutation CreateReviewForEpisode($ep: Episode!, $review: ReviewInput!) {\n"
-        + "  createReview(episode: $ep, review: $review) {\n"
-        + "    __typename\n"
-        + "    stars\n"
-        + "    commentary\n"
-        + "    listOfListOfString\n"
-        + "    listOfListOfEnum\n"
-        + "    listOfListOfCustom\n"
-        + "    listOfListOfObject {\n"
-        + "      __typename\n"
-        + "      name\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "mutation CreateReviewForEpisode($ep: Episode!, $review: ReviewInput!) { createReview(episode: $ep, review: $review) { __typename stars commentary listOfListOfString listOfListOfEnum listOfListOfCustom listOfListOfObject { __typename name } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -166,13 +150,11 @@ public final class CreateReviewForEpisode implements Mutation<CreateReviewForEpi
 
     private final @NotNull ReviewInput review;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(@NotNull Episode ep, @NotNull ReviewInput review) {
       this.ep = ep;
       this.review = review;
-      this.valueMap.put("ep", ep);
-      this.valueMap.put("review", review);
     }
 
     public @NotNull Episode ep() {
@@ -185,7 +167,45 @@ public final class CreateReviewForEpisode implements Mutation<CreateReviewForEpi
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("ep", this.ep);
+        map.put("review", this.review);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 2;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "ep";
+        case 1: return "review";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "ep": return 0;
+        case "review": return 1;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.ep;
+        case 1: return this.review;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -14,7 +14,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -49,6 +48,26 @@ internal data class CreateReviewForEpisode(
       this["review"] = this@CreateReviewForEpisode.review
     }
 
+    override fun variableCount(): Int = 2
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "ep"
+      1 -> "review"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "ep" -> 0
+      "review" -> 1
+      else -> -1
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@CreateReviewForEpisode.ep
+      1 -> this@CreateReviewForEpisode.review
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       writer.writeString("ep", this@CreateReviewForEpisode.ep.rawValue)
       writer.writeObject("review", this@CreateReviewForEpisode.review.marshaller())
@@ -276,24 +295,8 @@ internal data class CreateReviewForEpisode(
     const val OPERATION_ID: String =
         "c07e5abc4b4070cd773623194c07f546e609af467a1d34f7bf01c37272245296"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |mutation CreateReviewForEpisode(${'$'}ep: Episode!, ${'$'}review: ReviewInput!) {
-          |  createReview(episode: ${'$'}ep, review: ${'$'}review) {
-          |    __typename
-          |    stars
-          |    commentary
-          |    listOfListOfString
-          |    listOfListOfEnum
-          |    listOfListOfCustom
-          |    listOfListOfObject {
-          |      __typename
-          |      name
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "mutation CreateReviewForEpisode(${'$'}ep: Episode!, ${'$'}review: ReviewInput!) { createReview(episode: ${'$'}ep, review: ${'$'}review) { __typename stars commentary listOfListOfString listOfListOfEnum listOfListOfCustom listOfListOfObject { __typename name } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "CreateReviewForEpisode"
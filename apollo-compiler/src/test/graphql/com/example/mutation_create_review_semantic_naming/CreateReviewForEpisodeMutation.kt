@@ -14,7 +14,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -47,6 +46,26 @@ data class CreateReviewForEpisodeMutation(
       this["review"] = this@CreateReviewForEpisodeMutation.review
     }
 
+    override fun variableCount(): Int = 2
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "ep"
+      1 -> "review"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "ep" -> 0
+      "review" -> 1
+      else -> -1
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@CreateReviewForEpisodeMutation.ep
+      1 -> this@CreateReviewForEpisodeMutation.review
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       writer.writeString("ep", this@CreateReviewForEpisodeMutation.ep.rawValue)
       writer.writeObject("review", this@CreateReviewForEpisodeMutation.review.marshaller())
@@ -160,17 +179,8 @@ data class CreateReviewForEpisodeMutation(
     const val OPERATION_ID: String =
         "0cd4b32f15788d426344f5f8d2ee1a3cebb72c167005cb147d2a47761c120a41"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |mutation CreateReviewForEpisode(${'$'}ep: Episode!, ${'$'}review: ReviewInput!) {
-          |  createReview(episode: ${'$'}ep, review: ${'$'}review) {
-          |    __typename
-          |    stars
-          |    commentary
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "mutation CreateReviewForEpisode(${'$'}ep: Episode!, ${'$'}review: ReviewInput!) { createReview(episode: ${'$'}ep, review: ${'$'}review) { __typename stars commentary } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "CreateReviewForEpisode"
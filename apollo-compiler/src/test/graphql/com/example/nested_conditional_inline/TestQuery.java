@@ -16,7 +16,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -44,32 +43,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, TestQuery.Variables> {
   public static final String OPERATION_ID = "a9f066a7d1092096ab154f16f32114a4bd71e959b789f37879249cdf6309ea86";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery($episode: Episode) {\n"
-        + "  hero(episode: $episode) {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    ... on Human {\n"
-        + "      friends {\n"
-        + "        __typename\n"
-        + "        name\n"
-        + "        ... on Human {\n"
-        + "          height(unit: FOOT)\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "    ... on Droid {\n"
-        + "      friends {\n"
-        + "        __typename\n"
-        + "        name\n"
-        + "        ... on Human {\n"
-        + "          height(unit: METER)\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery($episode: Episode) { hero(episode: $episode) { __typename name ... on Human { friends { __typename name ... on Human { height(unit: FOOT) } } } ... on Droid { friends { __typename name ... on Human { height(unit: METER) } } } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -176,13 +150,10 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
   public static final class Variables extends Operation.Variables {
     private final Input<Episode> episode;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(Input<Episode> episode) {
       this.episode = episode;
-      if (episode.defined) {
-        this.valueMap.put("episode", episode.value);
-      }
     }
 
     public Input<Episode> episode() {
@@ -191,7 +162,51 @@ public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (this.episode.defined) {
+          map.put("episode", this.episode.value);
+        }
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 1;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "episode";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "episode": return 0;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public boolean isVariableDefined(int index) {
+      switch (index) {
+        case 0: return this.episode.defined;
+        default: return true;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.episode.value;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -48,6 +47,28 @@ data class TestQuery(
       }
     }
 
+    override fun variableCount(): Int = 1
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "episode"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "episode" -> 0
+      else -> -1
+    }
+
+    override fun isVariableDefined(index: Int): Boolean = when (index) {
+      0 -> this@TestQuery.episode.defined
+      else -> true
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestQuery.episode.value
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       if (this@TestQuery.episode.defined) {
         writer.writeString("episode", this@TestQuery.episode.value?.rawValue)
@@ -450,34 +471,8 @@ data class TestQuery(
     const val OPERATION_ID: String =
         "a9f066a7d1092096ab154f16f32114a4bd71e959b789f37879249cdf6309ea86"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery(${'$'}episode: Episode) {
-          |  hero(episode: ${'$'}episode) {
-          |    __typename
-          |    name
-          |    ... on Human {
-          |      friends {
-          |        __typename
-          |        name
-          |        ... on Human {
-          |          height(unit: FOOT)
-          |        }
-          |      }
-          |    }
-          |    ... on Droid {
-          |      friends {
-          |        __typename
-          |        name
-          |        ... on Human {
-          |          height(unit: METER)
-          |        }
-          |      }
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery(${'$'}episode: Episode) { hero(episode: ${'$'}episode) { __typename name ... on Human { friends { __typename name ... on Human { height(unit: FOOT) } } } ... on Droid { friends { __typename name ... on Human { height(unit: METER) } } } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
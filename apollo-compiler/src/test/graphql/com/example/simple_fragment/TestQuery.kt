@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -168,26 +167,8 @@ internal class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Varia
     const val OPERATION_ID: String =
         "11b6156b253df199195798f2de386724580e3882c9888f7e5d1685c42b64e0cf"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  hero {
-          |    __typename
-          |    ...HeroDetails
-          |    ...HumanDetails
-          |  }
-          |}
-          |fragment HeroDetails on Character {
-          |  __typename
-          |  name
-          |  ... HumanDetails
-          |}
-          |fragment HumanDetails on Human {
-          |  __typename
-          |  name
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { hero { __typename ...HeroDetails ...HumanDetails } } fragment HeroDetails on Character { __typename name ... HumanDetails } fragment HumanDetails on Human { __typename name }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
@@ -15,7 +15,6 @@ import com.apollographql.apollo.api.internal.InputFieldMarshaller;
 import com.apollographql.apollo.api.internal.InputFieldWriter;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -39,15 +38,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestSubscription implements Subscription<TestSubscription.Data, Optional<TestSubscription.Data>, TestSubscription.Variables> {
   public static final String OPERATION_ID = "55460a650cce0aa4bb131446ec3e56225710e36940223934bee09e1723e41190";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "subscription TestSubscription($repo: String!) {\n"
-        + "  commentAdded(repoFullName: $repo) {\n"
-        + "    __typename\n"
-        + "    id\n"
-        + "    content\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "subscription TestSubscription($repo: String!) { commentAdded(repoFullName: $repo) { __typename id content } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -143,11 +134,10 @@ public final class TestSubscription implements Subscription<TestSubscription.Dat
   public static final class Variables extends Operation.Variables {
     private final @NotNull String repo;
 
-    private final transient Map<String, Object> valueMap = new LinkedHashMap<>();
+    private transient volatile Map<String, Object> valueMap;
 
     Variables(@NotNull String repo) {
       this.repo = repo;
-      this.valueMap.put("repo", repo);
     }
 
     public @NotNull String repo() {
@@ -156,7 +146,41 @@ public final class TestSubscription implements Subscription<TestSubscription.Dat
 
     @Override
     public Map<String, Object> valueMap() {
-      return Collections.unmodifiableMap(valueMap);
+      if (valueMap == null) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("repo", this.repo);
+        valueMap = Collections.unmodifiableMap(map);
+      }
+      return valueMap;
+    }
+
+    @Override
+    public int variableCount() {
+      return 1;
+    }
+
+    @Override
+    public String variableName(int index) {
+      switch (index) {
+        case 0: return "repo";
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public int variableIndex(String name) {
+      switch (name) {
+        case "repo": return 0;
+        default: return -1;
+      }
+    }
+
+    @Override
+    public Object variableValue(int index) {
+      switch (index) {
+        case 0: return this.repo;
+        default: throw new IndexOutOfBoundsException("index: " + index);
+      }
     }
 
     @Override
@@ -14,7 +14,6 @@ import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.Subscription
 import com.apollographql.apollo.api.internal.InputFieldMarshaller
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -42,6 +41,23 @@ data class TestSubscription(
       this["repo"] = this@TestSubscription.repo
     }
 
+    override fun variableCount(): Int = 1
+
+    override fun variableName(index: Int): String = when (index) {
+      0 -> "repo"
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
+    override fun variableIndex(name: String): Int = when (name) {
+      "repo" -> 0
+      else -> -1
+    }
+
+    override fun variableValue(index: Int): Any? = when (index) {
+      0 -> this@TestSubscription.repo
+      else -> throw IndexOutOfBoundsException("index: " + index)
+    }
+
     override fun marshaller(): InputFieldMarshaller = InputFieldMarshaller.invoke { writer ->
       writer.writeString("repo", this@TestSubscription.repo)
     }
@@ -154,17 +170,8 @@ data class TestSubscription(
     const val OPERATION_ID: String =
         "55460a650cce0aa4bb131446ec3e56225710e36940223934bee09e1723e41190"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |subscription TestSubscription(${'$'}repo: String!) {
-          |  commentAdded(repoFullName: ${'$'}repo) {
-          |    __typename
-          |    id
-          |    content
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "subscription TestSubscription(${'$'}repo: String!) { commentAdded(repoFullName: ${'$'}repo) { __typename id content } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestSubscription"
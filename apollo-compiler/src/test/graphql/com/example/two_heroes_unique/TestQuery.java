@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -36,19 +35,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "266f79f66749232e217afd9b47a628fd7096d4c48345bc245a7f63105be9e75d";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  r2: hero {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "  }\n"
-        + "  luke: hero(episode: EMPIRE) {\n"
-        + "    __typename\n"
-        + "    id\n"
-        + "    name\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { r2: hero { __typename name } luke: hero(episode: EMPIRE) { __typename id name } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -431,43 +430,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "21133941aec3d5db7db82cc2688faa410a90b34e7cb283efa038fe67526b6b4b"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  r2: hero {
-          |    __typename
-          |    name
-          |    friendsConnection {
-          |      __typename
-          |      totalCount
-          |      edges {
-          |        __typename
-          |        node {
-          |          __typename
-          |          name
-          |        }
-          |      }
-          |    }
-          |  }
-          |  luke: hero(episode: EMPIRE) {
-          |    __typename
-          |    id
-          |    name
-          |    friendsConnection {
-          |      __typename
-          |      totalCount
-          |      edges {
-          |        __typename
-          |        node {
-          |          __typename
-          |          name
-          |        }
-          |      }
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { r2: hero { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } luke: hero(episode: EMPIRE) { __typename id name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
@@ -12,7 +12,6 @@ import com.apollographql.apollo.api.Response;
 import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -38,24 +37,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
   public static final String OPERATION_ID = "de57eb41c200d48c0f6c508ebf5b4d23b8edd06c6cea371db90ac8160f911b1f";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  search(text: \"test\") {\n"
-        + "    __typename\n"
-        + "    ...Character\n"
-        + "    ...Starship\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment Character on Character {\n"
-        + "  __typename\n"
-        + "  id\n"
-        + "  name\n"
-        + "}\n"
-        + "fragment Starship on Starship {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { search(text: \"test\") { __typename ...Character ...Starship } } fragment Character on Character { __typename id name } fragment Starship on Starship { __typename name }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
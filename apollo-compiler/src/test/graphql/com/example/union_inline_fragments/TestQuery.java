@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -40,43 +39,7 @@ import org.jetbrains.annotations.Nullable;
 public final class TestQuery implements Query<TestQuery.Data, Optional<TestQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "d917122adce28477721dc274dd7fce307cb1b714452af1df8bb26087b8ec33d0";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query TestQuery {\n"
-        + "  search(text: \"test\") {\n"
-        + "    __typename\n"
-        + "    ... on Character {\n"
-        + "      id\n"
-        + "      name\n"
-        + "      friends {\n"
-        + "        __typename\n"
-        + "        ... on Character {\n"
-        + "          name\n"
-        + "        }\n"
-        + "        ... on Human {\n"
-        + "          homePlanet\n"
-        + "          friends {\n"
-        + "            __typename\n"
-        + "            ... on Character {\n"
-        + "              firstAppearsIn\n"
-        + "            }\n"
-        + "          }\n"
-        + "        }\n"
-        + "        ... on Droid {\n"
-        + "          primaryFunction\n"
-        + "          friends {\n"
-        + "            __typename\n"
-        + "            id\n"
-        + "            deprecated\n"
-        + "          }\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "    ... on Starship {\n"
-        + "      name\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query TestQuery { search(text: \"test\") { __typename ... on Character { id name friends { __typename ... on Character { name } ... on Human { homePlanet friends { __typename ... on Character { firstAppearsIn } } } ... on Droid { primaryFunction friends { __typename id deprecated } } } } ... on Starship { name } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
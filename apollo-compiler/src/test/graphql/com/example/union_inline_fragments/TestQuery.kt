@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -482,45 +481,8 @@ class TestQuery : Query<TestQuery.Data, TestQuery.Data, Operation.Variables> {
     const val OPERATION_ID: String =
         "d917122adce28477721dc274dd7fce307cb1b714452af1df8bb26087b8ec33d0"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query TestQuery {
-          |  search(text: "test") {
-          |    __typename
-          |    ... on Character {
-          |      id
-          |      name
-          |      friends {
-          |        __typename
-          |        ... on Character {
-          |          name
-          |        }
-          |        ... on Human {
-          |          homePlanet
-          |          friends {
-          |            __typename
-          |            ... on Character {
-          |              firstAppearsIn
-          |            }
-          |          }
-          |        }
-          |        ... on Droid {
-          |          primaryFunction
-          |          friends {
-          |            __typename
-          |            id
-          |            deprecated
-          |          }
-          |        }
-          |      }
-          |    }
-          |    ... on Starship {
-          |      name
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query TestQuery { search(text: \"test\") { __typename ... on Character { id name friends { __typename ... on Character { name } ... on Human { homePlanet friends { __typename ... on Character { firstAppearsIn } } } ... on Droid { primaryFunction friends { __typename id deprecated } } } } ... on Starship { name } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "TestQuery"
@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer;
 import com.apollographql.apollo.api.internal.Optional;
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier;
 import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.api.internal.ResponseReader;
@@ -39,44 +38,7 @@ import org.jetbrains.annotations.Nullable;
 public final class HeroDetailQuery implements Query<HeroDetailQuery.Data, Optional<HeroDetailQuery.Data>, Operation.Variables> {
   public static final String OPERATION_ID = "11473383397766137d7923128dd8cd6f27fcab32df9d9c091f08cf12a893a556";
 
-  public static final String QUERY_DOCUMENT = QueryDocumentMinifier.minify(
-    "query HeroDetailQuery {\n"
-        + "  heroDetailQuery {\n"
-        + "    __typename\n"
-        + "    name\n"
-        + "    friends {\n"
-        + "      __typename\n"
-        + "      name\n"
-        + "    }\n"
-        + "    ... on Human {\n"
-        + "      height\n"
-        + "      friends {\n"
-        + "        __typename\n"
-        + "        appearsIn\n"
-        + "        friends {\n"
-        + "          __typename\n"
-        + "          ...HeroDetails\n"
-        + "        }\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}\n"
-        + "fragment HeroDetails on Character {\n"
-        + "  __typename\n"
-        + "  name\n"
-        + "  friendsConnection {\n"
-        + "    __typename\n"
-        + "    totalCount\n"
-        + "    edges {\n"
-        + "      __typename\n"
-        + "      node {\n"
-        + "        __typename\n"
-        + "        name\n"
-        + "      }\n"
-        + "    }\n"
-        + "  }\n"
-        + "}"
-  );
+  public static final String QUERY_DOCUMENT = "query HeroDetailQuery { heroDetailQuery { __typename name friends { __typename name } ... on Human { height friends { __typename appearsIn friends { __typename ...HeroDetails } } } } } fragment HeroDetails on Character { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } }";
 
   public static final OperationName OPERATION_NAME = new OperationName() {
     @Override
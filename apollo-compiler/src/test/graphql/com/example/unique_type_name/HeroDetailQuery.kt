@@ -13,7 +13,6 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.ScalarTypeAdapters.Companion.DEFAULT
 import com.apollographql.apollo.api.internal.OperationRequestBodyComposer
-import com.apollographql.apollo.api.internal.QueryDocumentMinifier
 import com.apollographql.apollo.api.internal.ResponseFieldMapper
 import com.apollographql.apollo.api.internal.ResponseFieldMarshaller
 import com.apollographql.apollo.api.internal.ResponseReader
@@ -368,46 +367,8 @@ class HeroDetailQuery : Query<HeroDetailQuery.Data, HeroDetailQuery.Data, Operat
     const val OPERATION_ID: String =
         "11473383397766137d7923128dd8cd6f27fcab32df9d9c091f08cf12a893a556"
 
-    val QUERY_DOCUMENT: String = QueryDocumentMinifier.minify(
-          """
-          |query HeroDetailQuery {
-          |  heroDetailQuery {
-          |    __typename
-          |    name
-          |    friends {
-          |      __typename
-          |      name
-          |    }
-          |    ... on Human {
-          |      height
-          |      friends {
-          |        __typename
-          |        appearsIn
-          |        friends {
-          |          __typename
-          |          ...HeroDetails
-          |        }
-          |      }
-          |    }
-          |  }
-          |}
-          |fragment HeroDetails on Character {
-          |  __typename
-          |  name
-          |  friendsConnection {
-          |    __typename
-          |    totalCount
-          |    edges {
-          |      __typename
-          |      node {
-          |        __typename
-          |        name
-          |      }
-          |    }
-          |  }
-          |}
-          """.trimMargin()
-        )
+    val QUERY_DOCUMENT: String =
+        "query HeroDetailQuery { heroDetailQuery { __typename name friends { __typename name } ... on Human { height friends { __typename appearsIn friends { __typename ...HeroDetails } } } } } fragment HeroDetails on Character { __typename name friendsConnection { __typename totalCount edges { __typename node { __typename name } } } }"
 
     val OPERATION_NAME: OperationName = object : OperationName {
       override fun name(): String = "HeroDetailQuery"
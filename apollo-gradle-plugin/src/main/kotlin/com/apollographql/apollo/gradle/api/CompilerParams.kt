@@ -32,6 +32,14 @@ interface CompilerParams {
    */
   val generateOperationOutput: Property<Boolean>
 
+  /**
+   * Whether to leave the query documents out of the generated models. The documents are only written in
+   * [CompilationUnit.operationOutputFile] so that they can be registered on the server ahead of time, and operations are
+   * sent with their id only. This requires [generateOperationOutput] and a client with automatic persisted queries enabled.
+   *
+   * Default value: false
+   */
+  val omitQueryDocuments: Property<Boolean>
 
   /**
    * For custom scalar types like Date, map from the GraphQL type to the jvm/kotlin type.
@@ -95,6 +95,10 @@ abstract class ApolloGenerateSourcesTask : DefaultTask() {
   @get:Optional
   abstract val generateAsInternal: Property<Boolean>
 
+  @get:Input
+  @get:Optional
+  abstract val omitQueryDocuments: Property<Boolean>
+
   @TaskAction
   fun taskAction() {
 
@@ -134,13 +138,20 @@ abstract class ApolloGenerateSourcesTask : DefaultTask() {
         generateVisitorForPolymorphicDatatypes = generateVisitorForPolymorphicDatatypes.getOrElse(false),
         packageNameProvider = packageNameProvider,
         operationOutputFile = operationOutputFile.orNull?.asFile,
-        generateAsInternal = generateAsInternal.getOrElse(false)
+        generateAsInternal = generateAsInternal.getOrElse(false),
+        omitQueryDocuments = omitQueryDocuments.getOrElse(false)
     )
 
     GraphQLCompiler().write(args)
   }
 
   private fun sanityChecks(packageNameProvider: DefaultPackageNameProvider, files: Set<File>) {
+    if (omitQueryDocuments.getOrElse(false) && !operationOutputFile.isPresent) {
+      throw IllegalArgumentException("""
+        ApolloGraphQL: Using `omitQueryDocuments = true` requires `generateOperationOutput = true` to register the query documents on the server
+      """.trimIndent())
+    }
+
     if (generateKotlinModels.getOrElse(false) && generateModelBuilder.getOrElse(false)) {
       throw IllegalArgumentException("""
         ApolloGraphQL: Using `generateModelBuilder = true` does not make sense with `generateKotlinModels = true`. You can use .copy() as models are data classes.
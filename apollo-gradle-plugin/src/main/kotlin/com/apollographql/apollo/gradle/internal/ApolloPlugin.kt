@@ -152,6 +152,7 @@ open class ApolloPlugin : Plugin<Project> {
         }
 
         it.generateAsInternal.set(compilerParams.generateAsInternal)
+        it.omitQueryDocuments.set(compilerParams.omitQueryDocuments)
         it.operationIdGenerator.set(compilerParams.operationIdGenerator)
         Unit
       }
@@ -15,6 +15,7 @@ fun CompilerParams.withFallback(objects: ObjectFactory, other: CompilerParams):
 
   merge.generateKotlinModels.set(this.generateKotlinModels.orElse(other.generateKotlinModels))
   merge.generateOperationOutput.set(this.generateOperationOutput.orElse(other.generateOperationOutput))
+  merge.omitQueryDocuments.set(this.omitQueryDocuments.orElse(other.omitQueryDocuments))
   merge.customTypeMapping.set(this.customTypeMapping.orElse(other.customTypeMapping))
   merge.suppressRawTypesWarning.set(this.suppressRawTypesWarning.orElse(other.suppressRawTypesWarning))
   merge.useSemanticNaming.set(this.useSemanticNaming.orElse(other.useSemanticNaming))
@@ -16,6 +16,8 @@ abstract class DefaultCompilerParams @Inject constructor(objects: ObjectFactory)
 
   abstract override val generateKotlinModels : Property<Boolean>
 
+  abstract override val omitQueryDocuments : Property<Boolean>
+
   abstract override val customTypeMapping: MapProperty<String, String>
 
   abstract override val operationIdGenerator: Property<OperationIdGenerator>
@@ -466,6 +466,43 @@ class ConfigurationTests {
     }
   }
 
+  @Test
+  fun `omitQueryDocuments generates operations without query document`() {
+    withSimpleProject("""
+      apollo {
+        generateOperationOutput = true
+        omitQueryDocuments = true
+      }
+    """.trimIndent()) { dir ->
+      val result = TestUtils.executeTask("generateApolloSources", dir)
+
+      assertEquals(TaskOutcome.SUCCESS, result.task(":generateApolloSources")!!.outcome)
+      val operationOutput = dir.child("build", "generated", "operationOutput", "apollo", "main", "service", "OperationOutput.json")
+      assertThat(operationOutput.readText(), containsString("query DroidDetails"))
+
+      val queryJavaFile = dir.generatedChild("main/service/com/example/DroidDetailsQuery.java")
+      assertThat(queryJavaFile.readText(), containsString("QUERY_DOCUMENT = \"\";"))
+    }
+  }
+
+  @Test
+  fun `omitQueryDocuments requires generateOperationOutput`() {
+    withSimpleProject("""
+      apollo {
+        omitQueryDocuments = true
+      }
+    """.trimIndent()) { dir ->
+      var exception: Exception? = null
+      try {
+        TestUtils.executeTask("generateApolloSources", dir)
+      } catch (e: UnexpectedBuildFailure) {
+        exception = e
+        assertThat(e.message, containsString("requires `generateOperationOutput = true`"))
+      }
+      assertNotNull(exception)
+    }
+  }
+
   @Test
   fun `compilation unit directory properties carry task dependencies`() {
     withSimpleProject("""
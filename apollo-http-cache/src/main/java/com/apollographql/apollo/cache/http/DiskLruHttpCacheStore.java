@@ -14,10 +14,10 @@ import okio.Source;
 import org.jetbrains.annotations.NotNull;
 
 public final class DiskLruHttpCacheStore implements HttpCacheStore {
-  private static final int VERSION = 99991;
-  private static final int ENTRY_HEADERS = 0;
-  private static final int ENTRY_BODY = 1;
-  private static final int ENTRY_COUNT = 2;
+  static final int VERSION = 99991;
+  static final int ENTRY_HEADERS = 0;
+  static final int ENTRY_BODY = 1;
+  static final int ENTRY_COUNT = 2;
 
   private final FileSystem fileSystem;
   private final File directory;
@@ -47,24 +47,7 @@ public final class DiskLruHttpCacheStore implements HttpCacheStore {
       cacheLock.readLock().unlock();
     }
 
-    if (snapshot == null) {
-      return null;
-    }
-    final HttpCacheRecord responseCacheRecord = new HttpCacheRecord() {
-      @NotNull @Override public Source headerSource() {
-        return snapshot.getSource(ENTRY_HEADERS);
-      }
-
-      @NotNull @Override public Source bodySource() {
-        return snapshot.getSource(ENTRY_BODY);
-      }
-
-      @Override public void close() {
-        snapshot.close();
-      }
-    };
-
-    return responseCacheRecord;
+    return snapshot != null ? cacheRecord(snapshot) : null;
   }
 
   @Override public HttpCacheRecordEditor cacheRecordEditor(@NotNull String cacheKey) throws IOException {
@@ -77,27 +60,7 @@ public final class DiskLruHttpCacheStore implements HttpCacheStore {
       cacheLock.readLock().unlock();
     }
 
-    if (editor == null) {
-      return null;
-    }
-
-    return new HttpCacheRecordEditor() {
-      @NotNull @Override public Sink headerSink() {
-        return editor.newSink(ENTRY_HEADERS);
-      }
-
-      @NotNull @Override public Sink bodySink() {
-        return editor.newSink(ENTRY_BODY);
-      }
-
-      @Override public void abort() throws IOException {
-        editor.abort();
-      }
-
-      @Override public void commit() throws IOException {
-        editor.commit();
-      }
-    };
+    return editor != null ? cacheRecordEditor(editor) : null;
   }
 
   @Override public void delete() throws IOException {
@@ -122,4 +85,40 @@ public final class DiskLruHttpCacheStore implements HttpCacheStore {
   private DiskLruCache createDiskLruCache() {
     return DiskLruCache.create(fileSystem, directory, VERSION, ENTRY_COUNT, maxSize);
   }
+
+  static HttpCacheRecord cacheRecord(final DiskLruCache.Snapshot snapshot) {
+    return new HttpCacheRecord() {
+      @NotNull @Override public Source headerSource() {
+        return snapshot.getSource(ENTRY_HEADERS);
+      }
+
+      @NotNull @Override public Source bodySource() {
+        return snapshot.getSource(ENTRY_BODY);
+      }
+
+      @Override public void close() {
+        snapshot.close();
+      }
+    };
+  }
+
+  static HttpCacheRecordEditor cacheRecordEditor(final DiskLruCache.Editor editor) {
+    return new HttpCacheRecordEditor() {
+      @NotNull @Override public Sink headerSink() {
+        return editor.newSink(ENTRY_HEADERS);
+      }
+
+      @NotNull @Override public Sink bodySink() {
+        return editor.newSink(ENTRY_BODY);
+      }
+
+      @Override public void abort() throws IOException {
+        editor.abort();
+      }
+
+      @Override public void commit() throws IOException {
+        editor.commit();
+      }
+    };
+  }
 }
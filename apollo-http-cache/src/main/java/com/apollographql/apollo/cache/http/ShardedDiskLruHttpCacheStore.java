@@ -0,0 +1,151 @@
+package com.apollographql.apollo.cache.http;
+
+import com.apollographql.apollo.api.cache.http.HttpCacheRecord;
+import com.apollographql.apollo.api.cache.http.HttpCacheRecordEditor;
+import com.apollographql.apollo.api.cache.http.HttpCacheStore;
+import com.apollographql.apollo.cache.http.internal.DiskLruCache;
+import com.apollographql.apollo.cache.http.internal.FileSystem;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.jetbrains.annotations.NotNull;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+import static com.apollographql.apollo.cache.http.DiskLruHttpCacheStore.ENTRY_COUNT;
+import static com.apollographql.apollo.cache.http.DiskLruHttpCacheStore.VERSION;
+
+/**
+ * A {@link HttpCacheStore} that spreads the entries over several independent {@link DiskLruCache}s, each with its own
+ * journal in a sub directory of {@code directory}. Entries are assigned to a shard by the hash of their cache key.
+ *
+ * Operations on different shards do not contend on a common lock, and opening the store only replays the journal of
+ * the shards that are accessed. {@link #warmUp(Executor)} replays the remaining journals in the background so that
+ * the first cached calls do not pay for it.
+ *
+ * The maximum size is divided evenly between the shards. Changing the number of shards of an existing store
+ * directory does not migrate its entries.
+ */
+public final class ShardedDiskLruHttpCacheStore implements HttpCacheStore {
+  private final FileSystem fileSystem;
+  private final File directory;
+  private final long maxSize;
+  private final boolean asyncJournalFlush;
+  private final Executor executor = DiskLruCache.newBackgroundExecutor();
+  private final DiskLruCache[] shards;
+  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
+
+  public ShardedDiskLruHttpCacheStore(@NotNull File directory, long maxSize, int shardCount) {
+    this(FileSystem.SYSTEM, directory, maxSize, shardCount, false);
+  }
+
+  /**
+   * @param asyncJournalFlush whether the journal lines of committed edits are appended in batches on a background
+   *                          thread rather than flushed on the calling thread. A crash can lose the most recent
+   *                          entries.
+   */
+  public ShardedDiskLruHttpCacheStore(@NotNull FileSystem fileSystem, @NotNull File directory, long maxSize,
+      int shardCount, boolean asyncJournalFlush) {
+    if (shardCount <= 0) {
+      throw new IllegalArgumentException("shardCount <= 0");
+    }
+    this.fileSystem = checkNotNull(fileSystem, "fileSystem == null");
+    this.directory = checkNotNull(directory, "directory == null");
+    this.maxSize = maxSize;
+    this.asyncJournalFlush = asyncJournalFlush;
+    this.shards = new DiskLruCache[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = createShard(i);
+    }
+  }
+
+  @Override public HttpCacheRecord cacheRecord(@NotNull String cacheKey) throws IOException {
+    final DiskLruCache.Snapshot snapshot;
+
+    cacheLock.readLock().lock();
+    try {
+      snapshot = shardFor(cacheKey).get(cacheKey);
+    } finally {
+      cacheLock.readLock().unlock();
+    }
+
+    return snapshot != null ? DiskLruHttpCacheStore.cacheRecord(snapshot) : null;
+  }
+
+  @Override public HttpCacheRecordEditor cacheRecordEditor(@NotNull String cacheKey) throws IOException {
+    final DiskLruCache.Editor editor;
+
+    cacheLock.readLock().lock();
+    try {
+      editor = shardFor(cacheKey).edit(cacheKey);
+    } finally {
+      cacheLock.readLock().unlock();
+    }
+
+    return editor != null ? DiskLruHttpCacheStore.cacheRecordEditor(editor) : null;
+  }
+
+  @Override public void delete() throws IOException {
+    cacheLock.writeLock().lock();
+    try {
+      for (int i = 0; i < shards.length; i++) {
+        // Shards that were never accessed have no directory yet
+        if (fileSystem.exists(shards[i].getDirectory())) {
+          shards[i].delete();
+        } else {
+          shards[i].close();
+        }
+        shards[i] = createShard(i);
+      }
+    } finally {
+      cacheLock.writeLock().unlock();
+    }
+  }
+
+  @Override public void remove(@NotNull String cacheKey) throws IOException {
+    cacheLock.readLock().lock();
+    try {
+      shardFor(cacheKey).remove(cacheKey);
+    } finally {
+      cacheLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Replays the journals of all the shards on {@code executor}, one task per shard. Shards that are accessed before
+   * their task runs are initialized on the calling thread as usual.
+   */
+  public void warmUp(@NotNull Executor executor) {
+    checkNotNull(executor, "executor == null");
+    for (int i = 0; i < shards.length; i++) {
+      final int index = i;
+      executor.execute(new Runnable() {
+        @Override public void run() {
+          cacheLock.readLock().lock();
+          try {
+            DiskLruCache shard = shards[index];
+            synchronized (shard) {
+              if (!shard.isClosed()) {
+                shard.initialize();
+              }
+            }
+          } catch (IOException ignored) {
+            // The shard retries its initialization on first access
+          } finally {
+            cacheLock.readLock().unlock();
+          }
+        }
+      });
+    }
+  }
+
+  private DiskLruCache shardFor(String cacheKey) {
+    return shards[(cacheKey.hashCode() & Integer.MAX_VALUE) % shards.length];
+  }
+
+  private DiskLruCache createShard(int index) {
+    return DiskLruCache.create(fileSystem, new File(directory, Integer.toString(index)), VERSION, ENTRY_COUNT,
+        Math.max(1, maxSize / shards.length), executor, asyncJournalFlush);
+  }
+}
@@ -166,6 +166,14 @@ public final class DiskLruCache implements Closeable, Flushable {
    */
   private long nextSequenceNumber = 0;
 
+  /**
+   * When set, the journal lines appended by completed edits are flushed by 'journalFlushRunnable' on
+   * the executor instead of on the calling thread, so that the lines of concurrent edits are written
+   * in a single batch. DIRTY lines are still flushed synchronously to prevent file leaks.
+   */
+  private final boolean asyncJournalFlush;
+  boolean journalFlushScheduled;
+
   /** Used to run 'cleanupRunnable' for journal rebuilds. */
   private final Executor executor;
   private final Runnable cleanupRunnable = new Runnable() {
@@ -194,8 +202,30 @@ public final class DiskLruCache implements Closeable, Flushable {
     }
   };
 
+  private final Runnable journalFlushRunnable = new Runnable() {
+    @Override public void run() {
+      synchronized (DiskLruCache.this) {
+        journalFlushScheduled = false;
+        if (!initialized || closed) {
+          return; // The journal is flushed on close
+        }
+
+        try {
+          journalWriter.flush();
+        } catch (IOException ignored) {
+          // The journal writer hides faults, a failed flush only flags the journal errors
+        }
+      }
+    }
+  };
+
   DiskLruCache(FileSystem fileSystem, File directory, int appVersion, int valueCount, long maxSize,
       Executor executor) {
+    this(fileSystem, directory, appVersion, valueCount, maxSize, executor, false);
+  }
+
+  DiskLruCache(FileSystem fileSystem, File directory, int appVersion, int valueCount, long maxSize,
+      Executor executor, boolean asyncJournalFlush) {
     this.fileSystem = fileSystem;
     this.directory = directory;
     this.appVersion = appVersion;
@@ -205,6 +235,7 @@ public final class DiskLruCache implements Closeable, Flushable {
     this.valueCount = valueCount;
     this.maxSize = maxSize;
     this.executor = executor;
+    this.asyncJournalFlush = asyncJournalFlush;
   }
 
   public synchronized void initialize() throws IOException {
@@ -260,6 +291,23 @@ public final class DiskLruCache implements Closeable, Flushable {
    */
   public static DiskLruCache create(FileSystem fileSystem, File directory, int appVersion,
       int valueCount, long maxSize) {
+    return create(fileSystem, directory, appVersion, valueCount, maxSize, newBackgroundExecutor(), false);
+  }
+
+  /**
+   * Create a cache which will reside in {@code directory}. This cache is lazily initialized on
+   * first access and will be created if it does not exist.
+   *
+   * @param directory a writable directory
+   * @param valueCount the number of values per cache entry. Must be positive.
+   * @param maxSize the maximum number of bytes this cache should use to store
+   * @param executor the executor running evictions, journal rebuilds and asynchronous journal flushes,
+   * it can be shared by several caches
+   * @param asyncJournalFlush whether the journal lines of completed edits are flushed in batches on
+   * the executor. A crash can lose the most recent edits, but never corrupts the cache.
+   */
+  public static DiskLruCache create(FileSystem fileSystem, File directory, int appVersion,
+      int valueCount, long maxSize, Executor executor, boolean asyncJournalFlush) {
     if (maxSize <= 0) {
       throw new IllegalArgumentException("maxSize <= 0");
     }
@@ -267,8 +315,15 @@ public final class DiskLruCache implements Closeable, Flushable {
       throw new IllegalArgumentException("valueCount <= 0");
     }
 
-    // Use a single background thread to evict entries.
-    Executor executor = new ThreadPoolExecutor(
+    return new DiskLruCache(fileSystem, directory, appVersion, valueCount, maxSize, executor,
+        asyncJournalFlush);
+  }
+
+  /**
+   * Returns an executor backed by a single daemon thread that is suitable to evict entries.
+   */
+  public static Executor newBackgroundExecutor() {
+    return new ThreadPoolExecutor(
         0,
         1,
         60L,
@@ -281,8 +336,6 @@ public final class DiskLruCache implements Closeable, Flushable {
             return result;
           }
         });
-
-    return new DiskLruCache(fileSystem, directory, appVersion, valueCount, maxSize, executor);
   }
 
   private void readJournal() throws IOException {
@@ -591,13 +644,22 @@ public final class DiskLruCache implements Closeable, Flushable {
       journalWriter.writeUtf8(entry.key);
       journalWriter.writeByte('\n');
     }
-    journalWriter.flush();
+    flushJournal();
 
     if (size > maxSize || journalRebuildRequired()) {
       executor.execute(cleanupRunnable);
     }
   }
 
+  private void flushJournal() throws IOException {
+    if (!asyncJournalFlush) {
+      journalWriter.flush();
+    } else if (!journalFlushScheduled) {
+      journalFlushScheduled = true;
+      executor.execute(journalFlushRunnable);
+    }
+  }
+
   /**
    * We only rebuild the journal when it will halve the size of the journal and eliminate at least
    * 2000 ops.
@@ -0,0 +1,98 @@
+package com.apollographql.apollo.cache.http;
+
+import com.apollographql.apollo.api.cache.http.HttpCacheRecord;
+import com.apollographql.apollo.api.cache.http.HttpCacheRecordEditor;
+import com.apollographql.apollo.cache.http.internal.FileSystem;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Source;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ShardedDiskLruHttpCacheStoreTest {
+  @Rule public final TemporaryFolder tempDir = new TemporaryFolder();
+
+  private File cacheDir;
+  private ShardedDiskLruHttpCacheStore store;
+
+  @Before public void setUp() {
+    cacheDir = tempDir.getRoot();
+    store = new ShardedDiskLruHttpCacheStore(FileSystem.SYSTEM, cacheDir, Integer.MAX_VALUE, 4, false);
+  }
+
+  @Test public void writeAndRead() throws IOException {
+    for (int i = 0; i < 20; i++) {
+      write("key" + i, "headers" + i, "body" + i);
+    }
+
+    for (int i = 0; i < 20; i++) {
+      HttpCacheRecord record = store.cacheRecord("key" + i);
+      assertThat(read(record.headerSource())).isEqualTo("headers" + i);
+      assertThat(read(record.bodySource())).isEqualTo("body" + i);
+      record.close();
+    }
+    assertThat(store.cacheRecord("absent")).isNull();
+  }
+
+  @Test public void entriesAreSpreadOverShards() throws IOException {
+    for (int i = 0; i < 20; i++) {
+      write("key" + i, "headers", "body");
+    }
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(new File(new File(cacheDir, Integer.toString(i)), "journal").exists()).isTrue();
+    }
+  }
+
+  @Test public void warmUpInitializesAllShards() {
+    store.warmUp(new Executor() {
+      @Override public void execute(Runnable command) {
+        command.run();
+      }
+    });
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(new File(new File(cacheDir, Integer.toString(i)), "journal").exists()).isTrue();
+    }
+  }
+
+  @Test public void removeAndDelete() throws IOException {
+    write("key1", "headers", "body");
+    write("key2", "headers", "body");
+
+    store.remove("key1");
+    assertThat(store.cacheRecord("key1")).isNull();
+    assertThat(store.cacheRecord("key2")).isNotNull();
+
+    store.delete();
+    assertThat(store.cacheRecord("key2")).isNull();
+  }
+
+  private void write(String cacheKey, String headers, String body) throws IOException {
+    HttpCacheRecordEditor editor = store.cacheRecordEditor(cacheKey);
+    BufferedSink headerSink = Okio.buffer(editor.headerSink());
+    headerSink.writeUtf8(headers);
+    headerSink.close();
+    BufferedSink bodySink = Okio.buffer(editor.bodySink());
+    bodySink.writeUtf8(body);
+    bodySink.close();
+    editor.commit();
+  }
+
+  private static String read(Source source) throws IOException {
+    BufferedSource bufferedSource = Okio.buffer(source);
+    try {
+      return bufferedSource.readUtf8();
+    } finally {
+      bufferedSource.close();
+    }
+  }
+}
@@ -239,6 +239,21 @@ public final class DiskLruCacheTest {
     assertJournalEquals("DIRTY k1", "CLEAN k1 2 1");
   }
 
+  @Test public void asyncJournalFlushCoalescesCompletedEdits() throws Exception {
+    cache.close();
+    cache = new DiskLruCache(fileSystem, cacheDir, appVersion, 2, Integer.MAX_VALUE, executor, true);
+    toClose.add(cache);
+
+    set("k1", "A", "B");
+    set("k2", "C", "D");
+    // DIRTY lines are flushed synchronously and carry along the CLEAN lines buffered before them
+    assertJournalEquals("DIRTY k1", "CLEAN k1 1 1", "DIRTY k2");
+    assertThat(executor.jobs).hasSize(1);
+
+    executor.jobs.removeFirst().run();
+    assertJournalEquals("DIRTY k1", "CLEAN k1 1 1", "DIRTY k2", "CLEAN k2 1 1");
+  }
+
   @Test public void revertedNewFileIsRemoveInJournal() throws Exception {
     DiskLruCache.Editor creator = cache.edit("k1");
     assertJournalEquals("DIRTY k1"); // DIRTY must always be flushed.
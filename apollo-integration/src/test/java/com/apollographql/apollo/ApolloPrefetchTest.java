@@ -1,18 +1,30 @@
 package com.apollographql.apollo;
 
+import com.apollographql.apollo.api.Input;
 import com.apollographql.apollo.api.Response;
 import com.apollographql.apollo.api.cache.http.HttpCache;
 import com.apollographql.apollo.api.cache.http.HttpCachePolicy;
+import com.apollographql.apollo.cache.CacheHeaders;
 import com.apollographql.apollo.cache.http.ApolloHttpCache;
 import com.apollographql.apollo.cache.http.DiskLruHttpCacheStore;
 import com.apollographql.apollo.cache.http.internal.FileSystem;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.StreamingCacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.lru.EvictionPolicy;
+import com.apollographql.apollo.cache.normalized.lru.LruNormalizedCacheFactory;
 import com.apollographql.apollo.exception.ApolloException;
 import com.apollographql.apollo.integration.httpcache.AllPlanetsQuery;
+import com.apollographql.apollo.integration.normalizer.EpisodeHeroNameQuery;
+import com.apollographql.apollo.integration.normalizer.HeroNameWithIdQuery;
+import com.apollographql.apollo.integration.normalizer.type.Episode;
 import com.apollographql.apollo.rx2.Rx2Apollo;
 import io.reactivex.functions.Predicate;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -20,8 +32,10 @@ import okhttp3.mockwebserver.MockWebServer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
+import org.jetbrains.annotations.NotNull;
 import org.junit.Test;
 
+import static com.apollographql.apollo.fetcher.ApolloResponseFetchers.CACHE_ONLY;
 import static com.google.common.truth.Truth.assertThat;
 
 public class ApolloPrefetchTest {
@@ -118,6 +132,78 @@ public class ApolloPrefetchTest {
     checkNoCachedResponse();
   }
 
+  @Test public void prefetchNormalizedCache() throws Exception {
+    ApolloClient apolloClient = normalizedCacheClient();
+
+    server.enqueue(Utils.INSTANCE.mockResponse("HttpCacheTestAllPlanets.json"));
+    prefetch(apolloClient.prefetch(new AllPlanetsQuery()).target(ApolloPrefetch.Target.NORMALIZED_CACHE));
+
+    Utils.INSTANCE.assertResponse(
+        apolloClient.query(new AllPlanetsQuery()).responseFetcher(CACHE_ONLY),
+        new Predicate<Response<AllPlanetsQuery.Data>>() {
+          @Override public boolean test(Response<AllPlanetsQuery.Data> response) throws Exception {
+            assertThat(response.data().allPlanets().planets()).isNotEmpty();
+            return true;
+          }
+        }
+    );
+  }
+
+  @Test public void prefetchBatchNormalizedCache() throws Exception {
+    ApolloClient apolloClient = normalizedCacheClient();
+    final AtomicBoolean succeeded = new AtomicBoolean();
+
+    server.enqueue(Utils.INSTANCE.mockResponse("HttpCacheTestAllPlanets.json"));
+    server.enqueue(Utils.INSTANCE.mockResponse("HeroNameResponse.json"));
+    apolloClient.prefetch(
+        Arrays.asList(new AllPlanetsQuery(), new EpisodeHeroNameQuery(Input.fromNullable(Episode.EMPIRE))),
+        ApolloPrefetch.Target.NORMALIZED_CACHE, 1, new ApolloPrefetch.Callback() {
+          @Override public void onSuccess() {
+            succeeded.set(true);
+          }
+
+          @Override public void onFailure(@NotNull ApolloException e) {
+          }
+        });
+    assertThat(succeeded.get()).isTrue();
+
+    Utils.INSTANCE.assertResponse(
+        apolloClient.query(new EpisodeHeroNameQuery(Input.fromNullable(Episode.EMPIRE))).responseFetcher(CACHE_ONLY),
+        new Predicate<Response<EpisodeHeroNameQuery.Data>>() {
+          @Override public boolean test(Response<EpisodeHeroNameQuery.Data> response) throws Exception {
+            assertThat(response.data().hero().name()).isEqualTo("R2-D2");
+            return true;
+          }
+        }
+    );
+  }
+
+  @Test public void prefetchStreamingNormalizedCache() throws Exception {
+    ApolloClient apolloClient = normalizedCacheClient().newBuilder()
+        .streamingNormalization(new StreamingCacheKeyResolver() {
+          @NotNull @Override public CacheKey fromIdFields(@NotNull Map<String, Object> idFields) {
+            Object id = idFields.get("id");
+            return id != null ? new CacheKey(id.toString()) : CacheKey.NO_KEY;
+          }
+        }, 1)
+        .build();
+
+    server.enqueue(Utils.INSTANCE.mockResponse("HeroNameWithIdResponse.json"));
+    prefetch(apolloClient.prefetch(new HeroNameWithIdQuery()).target(ApolloPrefetch.Target.NORMALIZED_CACHE_STREAMING));
+
+    Utils.INSTANCE.assertResponse(
+        apolloClient.query(new HeroNameWithIdQuery()).responseFetcher(CACHE_ONLY),
+        new Predicate<Response<HeroNameWithIdQuery.Data>>() {
+          @Override public boolean test(Response<HeroNameWithIdQuery.Data> response) throws Exception {
+            assertThat(response.data().hero().id()).isEqualTo("1000");
+            assertThat(response.data().hero().name()).isEqualTo("SuperMan");
+            return true;
+          }
+        }
+    );
+    assertThat(apolloClient.apolloStore().normalizedCache().loadRecord("1000", CacheHeaders.NONE)).isNotNull();
+  }
+
   private void checkCachedResponse(String fileName) throws IOException {
     String cacheKey = lastHttRequest.headers(HttpCache.CACHE_KEY_HEADER).get(0);
     okhttp3.Response response = apolloClient.cachedHttpResponse(cacheKey);
@@ -132,6 +218,15 @@ public class ApolloPrefetchTest {
     assertThat(cachedResponse).isNull();
   }
 
+  private ApolloClient normalizedCacheClient() {
+    return ApolloClient.builder()
+        .serverUrl(server.url("/"))
+        .okHttpClient(okHttpClient)
+        .dispatcher(Utils.INSTANCE.immediateExecutor())
+        .normalizedCache(new LruNormalizedCacheFactory(EvictionPolicy.NO_EVICTION), new IdFieldCacheKeyResolver())
+        .build();
+  }
+
   @SuppressWarnings("CheckReturnValue")
   private static void prefetch(ApolloPrefetch prefetch) {
     Rx2Apollo.from(prefetch).test();
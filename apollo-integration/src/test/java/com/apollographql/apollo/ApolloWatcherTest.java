@@ -3,6 +3,7 @@ package com.apollographql.apollo;
 import com.apollographql.apollo.api.Input;
 import com.apollographql.apollo.api.Response;
 import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.CacheKey;
 import com.apollographql.apollo.cache.normalized.Record;
 import com.apollographql.apollo.cache.normalized.internal.Transaction;
 import com.apollographql.apollo.cache.normalized.internal.WriteableStore;
@@ -142,6 +143,127 @@ public class ApolloWatcherTest {
     watcher.cancel();
   }
 
+  @Test
+  public void testQueryWatcherPatched_Store_write() throws Exception {
+    final List<Response<EpisodeHeroNameQuery.Data>> responses = new ArrayList<>();
+    EpisodeHeroNameQuery query = EpisodeHeroNameQuery.builder().episode(Episode.EMPIRE).build();
+    server.enqueue(Utils.INSTANCE.mockResponse("EpisodeHeroNameResponseWithId.json"));
+
+    ApolloQueryWatcher<EpisodeHeroNameQuery.Data> watcher = apolloClient.query(query).watcher()
+        .patchFieldChanges(true);
+    watcher.enqueueAndWatch(
+        new ApolloCall.Callback<EpisodeHeroNameQuery.Data>() {
+          @Override public void onResponse(@NotNull Response<EpisodeHeroNameQuery.Data> response) {
+            responses.add(response);
+          }
+
+          @Override public void onFailure(@NotNull ApolloException e) {
+            Assert.fail(e.getMessage());
+          }
+        });
+
+    for (final String name : new String[] {"Artoo", "R2"}) {
+      Set<String> changedKeys = apolloClient.getApolloStore().writeTransaction(
+          new Transaction<WriteableStore, Set<String>>() {
+            @Nullable @Override public Set<String> execute(WriteableStore cache) {
+              return cache.merge(Record.builder("2001").addField("name", name).build(), CacheHeaders.NONE);
+            }
+          });
+      apolloClient.getApolloStore().publish(changedKeys);
+    }
+
+    assertThat(responses).hasSize(3);
+    assertThat(responses.get(0).data().hero().name()).isEqualTo("R2-D2");
+    assertThat(responses.get(1).data().hero().name()).isEqualTo("Artoo");
+    assertThat(responses.get(1).getFromCache()).isTrue();
+    assertThat(responses.get(2).data().hero().name()).isEqualTo("R2");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+
+    watcher.cancel();
+  }
+
+  @Test
+  public void testQueryWatcherPatched_AfterRemove_ReadsTheCache() throws Exception {
+    final List<Response<EpisodeHeroNameQuery.Data>> responses = new ArrayList<>();
+    EpisodeHeroNameQuery query = EpisodeHeroNameQuery.builder().episode(Episode.EMPIRE).build();
+    server.enqueue(Utils.INSTANCE.mockResponse("EpisodeHeroNameResponseWithId.json"));
+
+    ApolloQueryWatcher<EpisodeHeroNameQuery.Data> watcher = apolloClient.query(query).watcher()
+        .patchFieldChanges(true);
+    watcher.enqueueAndWatch(
+        new ApolloCall.Callback<EpisodeHeroNameQuery.Data>() {
+          @Override public void onResponse(@NotNull Response<EpisodeHeroNameQuery.Data> response) {
+            responses.add(response);
+          }
+
+          @Override public void onFailure(@NotNull ApolloException e) {
+            Assert.fail(e.getMessage());
+          }
+        });
+    publishHeroName("Artoo");
+
+    // The removed root record is missing from the cache, so the patch refetches the query
+    apolloClient.getApolloStore().remove(CacheKey.from("QUERY_ROOT")).execute();
+    server.enqueue(Utils.INSTANCE.mockResponse("EpisodeHeroNameResponseNameChangeTwo.json"));
+    publishHeroName("R2");
+
+    assertThat(responses.get(1).data().hero().name()).isEqualTo("Artoo");
+    assertThat(responses.get(responses.size() - 1).data().hero().name()).isEqualTo("ArTwo");
+    assertThat(server.getRequestCount()).isEqualTo(2);
+
+    watcher.cancel();
+  }
+
+  @Test
+  public void testQueryWatcherPatched_AfterPrefetch_ReadsTheCache() throws Exception {
+    final List<Response<EpisodeHeroNameQuery.Data>> responses = new ArrayList<>();
+    EpisodeHeroNameQuery query = EpisodeHeroNameQuery.builder().episode(Episode.EMPIRE).build();
+    server.enqueue(Utils.INSTANCE.mockResponse("EpisodeHeroNameResponseWithId.json"));
+
+    ApolloQueryWatcher<EpisodeHeroNameQuery.Data> watcher = apolloClient.query(query).watcher()
+        .patchFieldChanges(true);
+    watcher.enqueueAndWatch(
+        new ApolloCall.Callback<EpisodeHeroNameQuery.Data>() {
+          @Override public void onResponse(@NotNull Response<EpisodeHeroNameQuery.Data> response) {
+            responses.add(response);
+          }
+
+          @Override public void onFailure(@NotNull ApolloException e) {
+            Assert.fail(e.getMessage());
+          }
+        });
+    publishHeroName("Artoo");
+
+    // The prefetched hero has no id, the root record references its path record without publishing the change
+    server.enqueue(Utils.INSTANCE.mockResponse("EpisodeHeroNameResponse.json"));
+    apolloClient.prefetch(query).enqueue(new ApolloPrefetch.Callback() {
+      @Override public void onSuccess() {
+      }
+
+      @Override public void onFailure(@NotNull ApolloException e) {
+        Assert.fail(e.getMessage());
+      }
+    });
+    publishHeroName("R2");
+
+    assertThat(responses).hasSize(3);
+    assertThat(responses.get(1).data().hero().name()).isEqualTo("Artoo");
+    assertThat(responses.get(2).data().hero().name()).isEqualTo("R2-D2");
+    assertThat(server.getRequestCount()).isEqualTo(2);
+
+    watcher.cancel();
+  }
+
+  private void publishHeroName(final String name) {
+    Set<String> changedKeys = apolloClient.getApolloStore().writeTransaction(
+        new Transaction<WriteableStore, Set<String>>() {
+          @Nullable @Override public Set<String> execute(WriteableStore cache) {
+            return cache.merge(Record.builder("2001").addField("name", name).build(), CacheHeaders.NONE);
+          }
+        });
+    apolloClient.getApolloStore().publish(changedKeys);
+  }
+
   @Test
   public void testQueryWatcherNotUpdated_SameQuery_SameResults() throws Exception {
     final List<String> heroNameList = new ArrayList<>();
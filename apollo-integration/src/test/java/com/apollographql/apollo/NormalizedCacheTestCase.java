@@ -3,6 +3,8 @@ package com.apollographql.apollo;
 import com.apollographql.apollo.api.Input;
 import com.apollographql.apollo.api.Operation;
 import com.apollographql.apollo.api.Response;
+import com.apollographql.apollo.cache.ApolloCacheHeaders;
+import com.apollographql.apollo.cache.CacheHeaders;
 import com.apollographql.apollo.cache.normalized.CacheKey;
 import com.apollographql.apollo.cache.normalized.NormalizedCache;
 import com.apollographql.apollo.cache.normalized.Record;
@@ -342,6 +344,55 @@ public class NormalizedCacheTestCase {
     );
   }
 
+  @Test public void cacheOnlyStaleReturnsNullData() throws Exception {
+    Utils.INSTANCE.enqueueAndAssertResponse(
+        server,
+        "HeroNameResponse.json",
+        apolloClient.query(new EpisodeHeroNameQuery(Input.fromNullable(Episode.EMPIRE))),
+        new Predicate<Response<EpisodeHeroNameQuery.Data>>() {
+          @Override public boolean test(Response<EpisodeHeroNameQuery.Data> response) throws Exception {
+            return !response.hasErrors();
+          }
+        }
+    );
+
+    Utils.INSTANCE.assertResponse(
+        apolloClient.query(new EpisodeHeroNameQuery(Input.fromNullable(Episode.EMPIRE)))
+            .responseFetcher(CACHE_ONLY)
+            .cacheHeaders(CacheHeaders.builder().addHeader(ApolloCacheHeaders.MAX_STALE, "60000").build()),
+        new Predicate<Response<EpisodeHeroNameQuery.Data>>() {
+          @Override public boolean test(Response<EpisodeHeroNameQuery.Data> response) throws Exception {
+            assertThat(response.data().hero().name()).isEqualTo("R2-D2");
+            return true;
+          }
+        }
+    );
+
+    Thread.sleep(10);
+    Utils.INSTANCE.assertResponse(
+        apolloClient.query(new EpisodeHeroNameQuery(Input.fromNullable(Episode.EMPIRE)))
+            .responseFetcher(CACHE_ONLY)
+            .cacheHeaders(CacheHeaders.builder().addHeader(ApolloCacheHeaders.MAX_STALE, "5").build()),
+        new Predicate<Response<EpisodeHeroNameQuery.Data>>() {
+          @Override public boolean test(Response<EpisodeHeroNameQuery.Data> response) throws Exception {
+            return response.data() == null;
+          }
+        }
+    );
+
+    Utils.INSTANCE.assertResponse(
+        apolloClient.query(new EpisodeHeroNameQuery(Input.fromNullable(Episode.EMPIRE)))
+            .responseFetcher(CACHE_ONLY)
+            .cacheHeaders(CacheHeaders.builder().addHeader(ApolloCacheHeaders.MAX_STALE, "1 minute").build()),
+        new Predicate<Response<EpisodeHeroNameQuery.Data>>() {
+          @Override public boolean test(Response<EpisodeHeroNameQuery.Data> response) throws Exception {
+            assertThat(response.data().hero().name()).isEqualTo("R2-D2");
+            return true;
+          }
+        }
+    );
+  }
+
   @Test public void cacheResponseWithNullableFields() throws Exception {
     Utils.INSTANCE.enqueueAndAssertResponse(
         server,
@@ -4,19 +4,28 @@ import com.apollographql.apollo.NamedCountDownLatch;
 import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.internal.ApolloLogger;
 import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.ApolloStoreOperation;
 import com.apollographql.apollo.cache.normalized.CacheKey;
 import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.CacheReference;
 import com.apollographql.apollo.cache.normalized.NormalizedCache;
 import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.RecordFieldJsonAdapter;
+import com.apollographql.apollo.cache.normalized.lru.EvictionPolicy;
+import com.apollographql.apollo.cache.normalized.lru.LruNormalizedCacheFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Test;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
 
 public class ApolloStoreTest {
@@ -55,4 +64,61 @@ public class ApolloStoreTest {
     latch.awaitOrThrowWithTimeout(3, TimeUnit.SECONDS);
   }
 
+  @Test public void collectGarbageRemovesUnreachableRecords() throws Exception {
+    final RealApolloStore realApolloStore = new RealApolloStore(
+        new LruNormalizedCacheFactory(EvictionPolicy.NO_EVICTION).create(RecordFieldJsonAdapter.create()),
+        CacheKeyResolver.DEFAULT,
+        new ScalarTypeAdapters(Collections.EMPTY_MAP),
+        Executors.newSingleThreadExecutor(),
+        new ApolloLogger(null)
+    );
+    realApolloStore.merge(asList(
+        Record.builder("QUERY_ROOT").addField("hero", new CacheReference("hero")).build(),
+        Record.builder("hero").addField("friend", new CacheReference("friend")).build(),
+        Record.builder("friend").addField("friend", new CacheReference("hero")).build(),
+        Record.builder("orphan").addField("friend", new CacheReference("hero")).build(),
+        Record.builder("pinned").addField("friend", new CacheReference("pinnedFriend")).build(),
+        Record.builder("pinnedFriend").build()
+    ), CacheHeaders.NONE);
+
+    int removed = realApolloStore.collectGarbage(Collections.singleton(CacheKey.from("pinned"))).execute();
+
+    assertThat(removed).isEqualTo(1);
+    assertThat(realApolloStore.normalizedCache().recordKeys())
+        .containsExactly("QUERY_ROOT", "hero", "friend", "pinned", "pinnedFriend");
+  }
+
+  @Test public void enqueuedCollectGarbageDoesNotRunOnTheDispatcher() throws Exception {
+    final NamedCountDownLatch latch = new NamedCountDownLatch("enqueuedCollectGarbageDoesNotRunOnTheDispatcher", 1);
+    final AtomicReference<String> threadName = new AtomicReference<>();
+    final RealApolloStore realApolloStore = new RealApolloStore(
+        new LruNormalizedCacheFactory(EvictionPolicy.NO_EVICTION).create(RecordFieldJsonAdapter.create()),
+        CacheKeyResolver.DEFAULT,
+        new ScalarTypeAdapters(Collections.EMPTY_MAP),
+        new Executor() {
+          @Override public void execute(@NotNull Runnable command) {
+            throw new AssertionError("The dispatcher is not used by the collection");
+          }
+        },
+        new ApolloLogger(null)
+    );
+    realApolloStore.merge(Record.builder("orphan").build(), CacheHeaders.NONE);
+
+    realApolloStore.collectGarbage().enqueue(new ApolloStoreOperation.Callback<Integer>() {
+      @Override public void onSuccess(Integer result) {
+        if (result == 1) {
+          threadName.set(Thread.currentThread().getName());
+        }
+        latch.countDown();
+      }
+
+      @Override public void onFailure(Throwable t) {
+        latch.countDown();
+      }
+    });
+
+    latch.awaitOrThrowWithTimeout(3, TimeUnit.SECONDS);
+    assertThat(threadName.get()).isEqualTo("Apollo GarbageCollector");
+  }
+
 }
@@ -13,6 +13,7 @@ import com.apollographql.apollo.api.internal.Optional;
 import com.apollographql.apollo.cache.ApolloCacheHeaders;
 import com.apollographql.apollo.cache.CacheHeaders;
 import com.apollographql.apollo.integration.interceptor.AllFilmsQuery;
+import com.apollographql.apollo.request.ApolloRequestHeaders;
 import com.apollographql.apollo.request.RequestHeaders;
 import com.google.common.base.Predicate;
 import okhttp3.Call;
@@ -21,6 +22,9 @@ import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
 import okio.Buffer;
+import okio.BufferedSource;
+import okio.GzipSource;
+import okio.Okio;
 import okio.Timeout;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -122,6 +126,7 @@ public class ApolloServerInterceptorTest {
         assertThat(request.header(testHeader1)).isEqualTo(testHeaderValue1);
         assertThat(request.header(testHeader2)).isEqualTo(testHeaderValue2);
         assertThat(request.header(testHeader3)).isEqualTo(testHeaderValue3);
+        assertThat(request.header(ApolloRequestHeaders.DO_NOT_BATCH)).isNull();
         assertRequestBody(request);
         return true;
       }
@@ -131,6 +136,7 @@ public class ApolloServerInterceptorTest {
         .addHeader(testHeader1, testHeaderValue1)
         .addHeader(testHeader2, testHeaderValue2)
         .addHeader(testHeader3, testHeaderValue3)
+        .addHeader(ApolloRequestHeaders.DO_NOT_BATCH, "true")
         .build();
 
     ApolloServerInterceptor interceptor = new ApolloServerInterceptor(serverUrl,
@@ -170,6 +176,66 @@ public class ApolloServerInterceptorTest {
     interceptor.httpGetCall(query, CacheHeaders.NONE, RequestHeaders.NONE, true, true);
   }
 
+  @Test public void testHttpGetUrlIsSorted() throws IOException {
+    Predicate<Request> requestAssertPredicate = new Predicate<Request>() {
+      @Override public boolean apply(@Nullable Request request) {
+        assertThat(request).isNotNull();
+        assertThat(request.url().queryParameterNames()).containsExactly("extensions", "operationName", "variables").inOrder();
+        return true;
+      }
+    };
+
+    ApolloServerInterceptor interceptor = new ApolloServerInterceptor(serverUrl,
+        new AssertHttpCallFactory(requestAssertPredicate), null, false,
+        new ScalarTypeAdapters(Collections.<ScalarType, CustomTypeAdapter<?>>emptyMap()),
+        new ApolloLogger(null));
+
+    interceptor.httpGetCall(query, CacheHeaders.NONE, RequestHeaders.NONE, false, true);
+  }
+
+  @Test public void testRequestBodyCompression() throws IOException {
+    Predicate<Request> requestAssertPredicate = new Predicate<Request>() {
+      @Override public boolean apply(@Nullable Request request) {
+        assertThat(request).isNotNull();
+        assertThat(request.header(ApolloServerInterceptor.HEADER_CONTENT_ENCODING)).isEqualTo("gzip");
+        Buffer bodyBuffer = new Buffer();
+        try {
+          request.body().writeTo(bodyBuffer);
+          BufferedSource uncompressed = Okio.buffer(new GzipSource(bodyBuffer));
+          Utils.INSTANCE.checkTestFixture(uncompressed.readUtf8(), "ApolloServerInterceptorTest/interceptorRequestBody.json");
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+        return true;
+      }
+    };
+
+    ApolloServerInterceptor interceptor = new ApolloServerInterceptor(serverUrl,
+        new AssertHttpCallFactory(requestAssertPredicate), null, false,
+        new ScalarTypeAdapters(Collections.<ScalarType, CustomTypeAdapter<?>>emptyMap()),
+        new ApolloLogger(null), 0);
+
+    interceptor.httpPostCall(query, CacheHeaders.NONE, RequestHeaders.NONE, true, false);
+  }
+
+  @Test public void testSmallRequestBodyIsNotCompressed() throws IOException {
+    Predicate<Request> requestAssertPredicate = new Predicate<Request>() {
+      @Override public boolean apply(@Nullable Request request) {
+        assertThat(request).isNotNull();
+        assertThat(request.header(ApolloServerInterceptor.HEADER_CONTENT_ENCODING)).isNull();
+        assertRequestBody(request);
+        return true;
+      }
+    };
+
+    ApolloServerInterceptor interceptor = new ApolloServerInterceptor(serverUrl,
+        new AssertHttpCallFactory(requestAssertPredicate), null, false,
+        new ScalarTypeAdapters(Collections.<ScalarType, CustomTypeAdapter<?>>emptyMap()),
+        new ApolloLogger(null), 1024 * 1024);
+
+    interceptor.httpPostCall(query, CacheHeaders.NONE, RequestHeaders.NONE, true, false);
+  }
+
   private void assertDefaultRequestHeaders(Request request) {
     assertThat(request.header(ApolloServerInterceptor.HEADER_ACCEPT_TYPE)).isEqualTo(ApolloServerInterceptor.ACCEPT_TYPE);
     assertThat(request.header(ApolloServerInterceptor.HEADER_APOLLO_OPERATION_ID)).isEqualTo(query.operationId());
@@ -15,4 +15,11 @@ object ApolloCacheHeaders {
    * Records from this request should be evicted after being read.
    */
   const val EVICT_AFTER_READ = "evict-after-read"
+
+  /**
+   * The maximum age, in milliseconds, of the cached fields that can be used to resolve this request. Fields that were
+   * received earlier, or whose received-at date is not known, are treated as a cache miss. A value that is not a number
+   * is ignored.
+   */
+  const val MAX_STALE = "max-stale"
 }
@@ -18,7 +18,11 @@ abstract class CacheKeyResolver {
   ): CacheKey
 
   companion object {
-    private val ROOT_CACHE_KEY = CacheKey("QUERY_ROOT")
+    /**
+     * The key of the root [Record] of every operation, see [rootKeyForOperation].
+     */
+    @JvmField
+    val ROOT_CACHE_KEY = CacheKey("QUERY_ROOT")
 
     @JvmField
     val DEFAULT: CacheKeyResolver = object : CacheKeyResolver() {
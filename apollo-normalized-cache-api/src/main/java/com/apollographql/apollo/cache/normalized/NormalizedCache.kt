@@ -5,6 +5,7 @@ import com.apollographql.apollo.cache.ApolloCacheHeaders
 import com.apollographql.apollo.cache.CacheHeaders
 import java.util.ArrayList
 import java.util.HashSet
+import java.util.LinkedHashSet
 
 /**
  * A provider of [Record] for reading requests from cache.
@@ -39,7 +40,7 @@ abstract class NormalizedCache {
    * @param keys         The set of [Record] keys to read.
    * @param cacheHeaders The cache headers associated with the request which generated this record.
    */
-  fun loadRecords(keys: Collection<String>, cacheHeaders: CacheHeaders): Collection<Record> {
+  open fun loadRecords(keys: Collection<String>, cacheHeaders: CacheHeaders): Collection<Record> {
     val records: MutableList<Record> = ArrayList(keys.size)
     for (key in keys) {
       val record = loadRecord(key, cacheHeaders)
@@ -118,6 +119,47 @@ abstract class NormalizedCache {
    */
   abstract fun remove(cacheKey: CacheKey, cascade: Boolean): Boolean
 
+  /**
+   * Remove cached records by their keys, without cascading. Calls through to [NormalizedCache.remove] for each key.
+   * Implementations should override this method if the underlying storage technology can offer an optimized manner
+   * to delete multiple records.
+   *
+   * @param cacheKeys keys of the records to be removed
+   * @return the number of records removed from this cache and the caches chained after it
+   */
+  open fun remove(cacheKeys: Collection<CacheKey>): Int {
+    var count = 0
+    for (cacheKey in cacheKeys) {
+      if (remove(cacheKey, false)) {
+        count++
+      }
+    }
+    return count
+  }
+
+  /**
+   * Returns the keys of all the records stored in this cache and in the caches chained after it. Implementations
+   * should override this method if they don't expose their records through [NormalizedCache.dump].
+   *
+   * @return the set of [Record] keys
+   */
+  open fun recordKeys(): Set<String> {
+    val keys: MutableSet<String> = HashSet(dump()[javaClass]?.keys.orEmpty())
+    nextCache?.let { keys.addAll(it.recordKeys()) }
+    return keys
+  }
+
+  /**
+   * Returns the keys of the [limit] records most recently written to this cache or the caches chained after it, the
+   * most recent first. Caches that don't track when their records are written, such as in memory caches, return the
+   * keys of the caches chained after them.
+   *
+   * @param limit the maximum number of keys to return
+   */
+  open fun recentRecordKeys(limit: Int): List<String> {
+    return nextCache?.recentRecordKeys(limit).orEmpty()
+  }
+
   fun chain(cache: NormalizedCache) = apply {
     var leafCache = this
     while (leafCache.nextCache != null) {
@@ -136,6 +178,37 @@ abstract class NormalizedCache {
 
   companion object {
 
+    /**
+     * Collects the keys of all the records reachable from [rootKey] by following [CacheReference]s, loading records
+     * level by level with [loadRecords]. Each record is loaded at most once, which makes the traversal terminate on
+     * cyclic graphs.
+     *
+     * @return the keys of all the reachable records that are present, including [rootKey]
+     */
+    @JvmStatic
+    fun collectReachableKeys(
+        rootKey: String,
+        loadRecords: (Collection<String>) -> Collection<Record>
+    ): Set<String> {
+      val reachableKeys = LinkedHashSet<String>()
+      val visited = HashSet<String>()
+      var pending: Collection<String> = listOf(rootKey)
+      visited.add(rootKey)
+      while (pending.isNotEmpty()) {
+        val next = ArrayList<String>()
+        for (record in loadRecords(pending)) {
+          reachableKeys.add(record.key())
+          for (reference in record.referencedFields()) {
+            if (visited.add(reference.key())) {
+              next.add(reference.key())
+            }
+          }
+        }
+        pending = next
+      }
+      return reachableKeys
+    }
+
     @JvmStatic
     fun prettifyDump(dump: Map<@JvmSuppressWildcards Class<*>, Map<String, Record>>) = buildString {
       for ((key, value) in dump) {
@@ -20,17 +20,27 @@ import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
  * a field is a GraphQL Object a {@link CacheReference} will be stored instead.
  */
 public final class Record {
+  /**
+   * The received-at date of records and fields for which the time they were received is not known, for example
+   * records built by hand or read from a cache that was populated before dates were tracked.
+   */
+  public static final long UNKNOWN_RECEIVED_AT = -1;
+
   private static final int UNKNOWN_SIZE_ESTIMATE = -1;
 
   private final String key;
   private final Map<String, Object> fields;
   private volatile UUID mutationId;
+  private volatile long receivedAtMillis;
+  private volatile Map<String, Long> fieldsReceivedAtMillis;
   private int sizeInBytes = UNKNOWN_SIZE_ESTIMATE;
 
   public static class Builder {
     private final Map<String, Object> fields;
     private final String key;
     private UUID mutationId;
+    private long receivedAtMillis = UNKNOWN_RECEIVED_AT;
+    private Map<String, Long> fieldsReceivedAtMillis;
 
     public Builder(String key, @NotNull Map<String, Object> fields, @Nullable UUID mutationId) {
       this.key = key;
@@ -58,8 +68,24 @@ public final class Record {
       return this;
     }
 
+    /**
+     * Sets the time, in milliseconds since the epoch, at which the data of this record was received.
+     */
+    public Builder receivedAtMillis(long receivedAtMillis) {
+      this.receivedAtMillis = receivedAtMillis;
+      return this;
+    }
+
+    /**
+     * Sets the times at which individual fields were received, when they differ from {@link #receivedAtMillis(long)}.
+     */
+    public Builder fieldsReceivedAtMillis(@Nullable Map<String, Long> fieldsReceivedAtMillis) {
+      this.fieldsReceivedAtMillis = fieldsReceivedAtMillis != null ? new LinkedHashMap<>(fieldsReceivedAtMillis) : null;
+      return this;
+    }
+
     public Record build() {
-      return new Record(key, fields, mutationId);
+      return new Record(key, fields, mutationId, receivedAtMillis, fieldsReceivedAtMillis);
     }
   }
 
@@ -68,13 +94,18 @@ public final class Record {
   }
 
   public Builder toBuilder() {
-    return new Builder(key(), this.fields, mutationId);
+    return new Builder(key(), this.fields, mutationId)
+        .receivedAtMillis(receivedAtMillis)
+        .fieldsReceivedAtMillis(fieldsReceivedAtMillis);
   }
 
-  Record(String key, Map<String, Object> fields, UUID mutationId) {
+  Record(String key, Map<String, Object> fields, UUID mutationId, long receivedAtMillis,
+      Map<String, Long> fieldsReceivedAtMillis) {
     this.key = key;
     this.fields = fields;
     this.mutationId = mutationId;
+    this.receivedAtMillis = receivedAtMillis;
+    this.fieldsReceivedAtMillis = fieldsReceivedAtMillis;
   }
 
   @Nullable
@@ -94,6 +125,38 @@ public final class Record {
     return mutationId;
   }
 
+  /**
+   * @return the time, in milliseconds since the epoch, at which the most recent data of this record was received or
+   * {@link #UNKNOWN_RECEIVED_AT}
+   */
+  public long receivedAtMillis() {
+    return receivedAtMillis;
+  }
+
+  /**
+   * @return the time, in milliseconds since the epoch, at which the value of the field was received or
+   * {@link #UNKNOWN_RECEIVED_AT}
+   */
+  public long fieldReceivedAtMillis(String fieldKey) {
+    Map<String, Long> fieldsReceivedAtMillis = this.fieldsReceivedAtMillis;
+    if (fieldsReceivedAtMillis != null) {
+      Long fieldReceivedAtMillis = fieldsReceivedAtMillis.get(fieldKey);
+      if (fieldReceivedAtMillis != null) {
+        return fieldReceivedAtMillis;
+      }
+    }
+    return receivedAtMillis;
+  }
+
+  /**
+   * @return the received-at times of the fields, or {@code null} if all fields were received at
+   * {@link #receivedAtMillis()}. The map is only populated once the record has been partially updated by a merge.
+   */
+  @Nullable
+  public Map<String, Long> fieldsReceivedAtMillis() {
+    return fieldsReceivedAtMillis;
+  }
+
   @Override
   public Record clone() {
     return toBuilder().build();
@@ -112,6 +175,7 @@ public final class Record {
    * addition to the field name.
    */
   public Set<String> mergeWith(Record otherRecord) {
+    mergeReceivedAtWith(otherRecord);
     Set<String> changedKeys = new HashSet<>();
     for (Map.Entry<String, Object> field : otherRecord.fields.entrySet()) {
       Object newFieldValue = field.getValue();
@@ -130,6 +194,28 @@ public final class Record {
     return changedKeys;
   }
 
+  private void mergeReceivedAtWith(Record otherRecord) {
+    if (receivedAtMillis == UNKNOWN_RECEIVED_AT && fieldsReceivedAtMillis == null
+        && otherRecord.receivedAtMillis == UNKNOWN_RECEIVED_AT && otherRecord.fieldsReceivedAtMillis == null) {
+      return;
+    }
+    if (fieldsReceivedAtMillis == null && otherRecord.fieldsReceivedAtMillis == null
+        && otherRecord.fields.keySet().containsAll(fields.keySet())) {
+      // Every field is received again, a single date still describes the whole record
+      receivedAtMillis = otherRecord.receivedAtMillis;
+      return;
+    }
+    Map<String, Long> mergedReceivedAtMillis = new LinkedHashMap<>();
+    for (String fieldKey : fields.keySet()) {
+      mergedReceivedAtMillis.put(fieldKey, fieldReceivedAtMillis(fieldKey));
+    }
+    for (String fieldKey : otherRecord.fields.keySet()) {
+      mergedReceivedAtMillis.put(fieldKey, otherRecord.fieldReceivedAtMillis(fieldKey));
+    }
+    receivedAtMillis = Math.max(receivedAtMillis, otherRecord.receivedAtMillis);
+    fieldsReceivedAtMillis = mergedReceivedAtMillis;
+  }
+
   /**
    * @return A set of all field keys. A field key incorporates any GraphQL arguments in addition to the field name.
    */
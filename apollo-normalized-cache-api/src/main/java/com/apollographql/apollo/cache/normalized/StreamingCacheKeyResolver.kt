@@ -0,0 +1,24 @@
+package com.apollographql.apollo.cache.normalized
+
+/**
+ * Resolves a cache key for a JSON object from the id fields read so far, for normalizers reading the response as a
+ * stream, see [com.apollographql.apollo.cache.normalized.internal.StreamingResponseNormalizer].
+ *
+ * The key of an object is resolved when its first object or list field is read, or when the object ends if it has
+ * none. The fields it is resolved from must therefore be selected before the object and list fields of the object, as
+ * `__typename` and `id` usually are: if the fields read after would resolve another key, the normalization fails.
+ */
+abstract class StreamingCacheKeyResolver {
+
+  /**
+   * @param idFields the scalar fields of the object read so far, keyed by their response name
+   */
+  abstract fun fromIdFields(idFields: Map<String, @JvmSuppressWildcards Any?>): CacheKey
+
+  companion object {
+    @JvmField
+    val DEFAULT: StreamingCacheKeyResolver = object : StreamingCacheKeyResolver() {
+      override fun fromIdFields(idFields: Map<String, Any?>) = CacheKey.NO_KEY
+    }
+  }
+}
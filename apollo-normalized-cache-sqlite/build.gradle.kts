@@ -35,6 +35,7 @@ dependencies {
   testImplementation(groovy.util.Eval.x(project, "x.dep.junit"))
   testImplementation(groovy.util.Eval.x(project, "x.dep.truth"))
   testImplementation(groovy.util.Eval.x(project, "x.dep.sqldelight.jvm"))
+  testImplementation(project(":apollo-runtime"))
 }
 
 tasks.withType<Javadoc> {
@@ -1,5 +1,6 @@
 package com.apollographql.apollo.cache.normalized.sql
 
+import com.apollographql.apollo.cache.ApolloCacheHeaders
 import com.apollographql.apollo.cache.ApolloCacheHeaders.EVICT_AFTER_READ
 import com.apollographql.apollo.cache.CacheHeaders
 import com.apollographql.apollo.cache.normalized.CacheKey
@@ -36,24 +37,93 @@ class SqlNormalizedCache internal constructor(
       return true
     }
     return if (cascade) {
-      selectRecordForKey(cacheKey.key)
-          ?.referencedFields()
-          ?.all { remove(CacheKey(it.key()), cascade = true) }
-          ?: false
+      val reachableKeys = collectReachableKeys(cacheKey.key) { keys -> selectRecordsForKeys(keys) }
+      deleteRecords(reachableKeys) > 0
     } else {
       deleteRecord(cacheKey.key)
     }
   }
 
+  override fun remove(cacheKeys: Collection<CacheKey>): Int {
+    val count = nextCache?.remove(cacheKeys) ?: 0
+    return count + deleteRecords(cacheKeys.map { it.key })
+  }
+
+  override fun loadRecords(keys: Collection<String>, cacheHeaders: CacheHeaders): Collection<Record> {
+    val records = selectRecordsForKeys(keys)
+    if (cacheHeaders.hasHeader(EVICT_AFTER_READ)) {
+      deleteRecords(records.map { it.key() })
+    }
+    val nextCache = nextCache
+    if (nextCache == null || records.size == keys.size) {
+      return records
+    }
+    val missingKeys = keys - records.map { it.key() }
+    return records + nextCache.loadRecords(missingKeys, cacheHeaders)
+  }
+
+  /**
+   * Returns the keys of the records most recently merged into this cache, using the index on their written date.
+   * Records written before the date was tracked are ordered by their received-at date instead, records without any of
+   * these dates come last.
+   */
+  override fun recentRecordKeys(limit: Int): List<String> {
+    val keys = cacheQueries.recentKeys(limit.toLong()).executeAsList()
+    val nextCache = nextCache
+    if (nextCache == null || keys.size >= limit) {
+      return keys
+    }
+    return (keys + nextCache.recentRecordKeys(limit)).distinct().take(limit)
+  }
+
+  override fun recordKeys(): Set<String> {
+    val keys = cacheQueries.selectKeys().executeAsList().toMutableSet()
+    nextCache?.let { keys.addAll(it.recordKeys()) }
+    return keys
+  }
+
+  /**
+   * Merges [recordSet] in a single transaction, which is faster than a transaction per record and leaves none of them
+   * written if merging one fails.
+   */
+  override fun merge(recordSet: Collection<Record>, cacheHeaders: CacheHeaders): Set<String> {
+    var changedKeys: Set<String> = emptySet()
+    cacheQueries.transaction {
+      changedKeys = super.merge(recordSet, cacheHeaders)
+    }
+    return changedKeys
+  }
+
   override fun performMerge(apolloRecord: Record, cacheHeaders: CacheHeaders): Set<String> {
     val oldRecord = selectRecordForKey(apolloRecord.key())
+    val writtenAt = System.currentTimeMillis()
     return if (oldRecord == null) {
-      cacheQueries.insert(apolloRecord.key(), recordFieldAdapter.toJson(apolloRecord.fields()))
+      cacheQueries.insert(
+          key = apolloRecord.key(),
+          record = recordFieldAdapter.toJson(apolloRecord.fields()),
+          received_at = apolloRecord.receivedAtMillis().takeIf { it != Record.UNKNOWN_RECEIVED_AT },
+          field_dates = fieldDatesToJson(apolloRecord),
+          written_at = writtenAt
+      )
       emptySet()
     } else {
       oldRecord.mergeWith(apolloRecord).also {
         if (it.isNotEmpty()) {
-          cacheQueries.update(oldRecord.key(), recordFieldAdapter.toJson(oldRecord.fields()))
+          cacheQueries.update(
+              record = recordFieldAdapter.toJson(oldRecord.fields()),
+              received_at = oldRecord.receivedAtMillis().takeIf { it != Record.UNKNOWN_RECEIVED_AT },
+              field_dates = fieldDatesToJson(oldRecord),
+              written_at = writtenAt,
+              key = oldRecord.key()
+          )
+        } else if (apolloRecord.receivedAtMillis() != Record.UNKNOWN_RECEIVED_AT) {
+          // The values did not change but they are fresher now
+          cacheQueries.updateReceivedAt(
+              received_at = oldRecord.receivedAtMillis(),
+              field_dates = fieldDatesToJson(oldRecord),
+              written_at = writtenAt,
+              key = oldRecord.key()
+          )
         }
       }
     }
@@ -64,22 +134,24 @@ class SqlNormalizedCache internal constructor(
       cacheQueries.recordForKey(key)
           .executeAsList()
           .firstOrNull()
-          ?.let {
-            Record.builder(it.key)
-                .addFields(recordFieldAdapter.from(it.record))
-                .build()
-          }
+          ?.let { toRecord(it.key, it.record, it.received_at, it.field_dates) }
     } catch (e: IOException) {
       null
     }
   }
 
-  private inline fun <T> Collection<T>.all(predicate: (T) -> Boolean): Boolean {
-    var result = true
-    for (element in this) {
-      result = result && predicate(element)
+  fun selectRecordsForKeys(keys: Collection<String>): List<Record> {
+    return keys.chunked(MAX_VARIABLE_NUMBER).flatMap { chunk ->
+      cacheQueries.recordsForKeys(chunk)
+          .executeAsList()
+          .mapNotNull {
+            try {
+              toRecord(it.key, it.record, it.received_at, it.field_dates)
+            } catch (e: IOException) {
+              null
+            }
+          }
     }
-    return result
   }
 
   fun deleteRecord(key: String): Boolean {
@@ -91,7 +163,61 @@ class SqlNormalizedCache internal constructor(
     return changes > 0
   }
 
+  /**
+   * Deletes the records for [keys] in a single transaction, in chunks that fit the SQLite host parameter limit.
+   *
+   * @return the number of deleted records
+   */
+  fun deleteRecords(keys: Collection<String>): Int {
+    if (keys.isEmpty()) {
+      return 0
+    }
+    var changes = 0L
+    cacheQueries.transaction {
+      for (chunk in keys.chunked(MAX_VARIABLE_NUMBER)) {
+        cacheQueries.deleteRecords(chunk)
+        changes += cacheQueries.changes().executeAsOne()
+      }
+    }
+    return changes.toInt()
+  }
+
+  /**
+   * Deletes the records that were last received before [receivedAtMillis], using the index on the received-at date.
+   * Records whose received-at date is not known are kept. Records are only deleted from this cache, in-memory caches
+   * chained before it keep serving them unless their reads are bounded by [ApolloCacheHeaders.MAX_STALE].
+   *
+   * @return the number of deleted records
+   */
+  fun deleteRecordsReceivedBefore(receivedAtMillis: Long): Int {
+    var changes = 0L
+    cacheQueries.transaction {
+      cacheQueries.deleteReceivedBefore(receivedAtMillis)
+      changes = cacheQueries.changes().executeAsOne()
+    }
+    return changes.toInt()
+  }
+
   fun createRecord(key: String, fields: String) {
-    cacheQueries.insert(key, fields)
+    cacheQueries.insert(key, fields, null, null, System.currentTimeMillis())
+  }
+
+  private fun toRecord(key: String, fields: String, receivedAtMillis: Long?, fieldDates: String?): Record {
+    return Record.builder(key)
+        .addFields(recordFieldAdapter.from(fields))
+        .receivedAtMillis(receivedAtMillis ?: Record.UNKNOWN_RECEIVED_AT)
+        .fieldsReceivedAtMillis(fieldDates?.let { json ->
+          recordFieldAdapter.from(json).mapValues { (_, value) -> (value as Number).toLong() }
+        })
+        .build()
+  }
+
+  private fun fieldDatesToJson(record: Record): String? {
+    return record.fieldsReceivedAtMillis()?.let { recordFieldAdapter.toJson(it.toMap<String, Any>()) }
+  }
+
+  private companion object {
+    // SQLITE_MAX_VARIABLE_NUMBER defaults to 999 on SQLite versions shipped before 3.32.0
+    const val MAX_VARIABLE_NUMBER = 999
   }
 }
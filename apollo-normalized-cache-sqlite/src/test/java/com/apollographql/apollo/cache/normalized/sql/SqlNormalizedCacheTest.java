@@ -2,6 +2,8 @@ package com.apollographql.apollo.cache.normalized.sql;
 
 import com.apollographql.apollo.cache.ApolloCacheHeaders;
 import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.CacheReference;
 import com.apollographql.apollo.cache.normalized.Record;
 import com.apollographql.apollo.cache.normalized.RecordFieldJsonAdapter;
 import com.squareup.sqldelight.db.SqlDriver;
@@ -9,6 +11,8 @@ import com.squareup.sqldelight.sqlite.driver.JdbcSqliteDriver;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Properties;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -95,6 +99,83 @@ public class SqlNormalizedCacheTest {
     assertThat(sqlStore.selectRecordForKey(STANDARD_KEY)).isNull();
   }
 
+  @Test
+  public void testCascadeRemove_cyclicReferences() {
+    sqlStore.merge(Arrays.asList(
+        Record.builder("a").addField("next", new CacheReference("b")).build(),
+        Record.builder("b").addField("next", new CacheReference("c")).build(),
+        Record.builder("c").addField("next", new CacheReference("a")).build(),
+        Record.builder("d").addField("next", new CacheReference("a")).build()
+    ), CacheHeaders.NONE);
+
+    assertThat(sqlStore.remove(CacheKey.from("a"), true)).isTrue();
+
+    assertThat(sqlStore.recordKeys()).containsExactly("d");
+  }
+
+  @Test
+  public void testRemoveMultipleRecords() {
+    createRecord(QUERY_ROOT_KEY);
+    createRecord(STANDARD_KEY);
+    createRecord("otherKey");
+
+    int removed = sqlStore.remove(Arrays.asList(CacheKey.from(STANDARD_KEY), CacheKey.from("otherKey")));
+
+    assertThat(removed).isEqualTo(2);
+    assertThat(sqlStore.recordKeys()).containsExactly(QUERY_ROOT_KEY);
+  }
+
+  @Test
+  public void testLoadRecords() {
+    createRecord(QUERY_ROOT_KEY);
+    createRecord(STANDARD_KEY);
+
+    Collection<Record> records = sqlStore.loadRecords(Arrays.asList(QUERY_ROOT_KEY, STANDARD_KEY, "absentKey"),
+        CacheHeaders.NONE);
+
+    assertThat(records).hasSize(2);
+  }
+
+  @Test
+  public void testRecordMerge_receivedAt() {
+    sqlStore.merge(Record.builder(STANDARD_KEY)
+        .addField("fieldKey", "value")
+        .addField("otherFieldKey", "otherValue")
+        .receivedAtMillis(1000).build(), CacheHeaders.NONE);
+    sqlStore.merge(Record.builder(STANDARD_KEY)
+        .addField("fieldKey", "value")
+        .receivedAtMillis(2000).build(), CacheHeaders.NONE);
+
+    Record record = sqlStore.selectRecordForKey(STANDARD_KEY);
+    assertThat(record.receivedAtMillis()).isEqualTo(2000);
+    assertThat(record.fieldReceivedAtMillis("fieldKey")).isEqualTo(2000);
+    assertThat(record.fieldReceivedAtMillis("otherFieldKey")).isEqualTo(1000);
+  }
+
+  @Test
+  public void testDeleteRecordsReceivedBefore() {
+    createRecord(QUERY_ROOT_KEY);
+    sqlStore.merge(Arrays.asList(
+        Record.builder(STANDARD_KEY).addField("fieldKey", "value").receivedAtMillis(1000).build(),
+        Record.builder("otherKey").addField("fieldKey", "value").receivedAtMillis(3000).build()
+    ), CacheHeaders.NONE);
+
+    assertThat(sqlStore.deleteRecordsReceivedBefore(2000)).isEqualTo(1);
+    assertThat(sqlStore.recordKeys()).containsExactly(QUERY_ROOT_KEY, "otherKey");
+  }
+
+  @Test
+  public void testRecentRecordKeys() throws InterruptedException {
+    sqlStore.merge(Arrays.asList(
+        Record.builder(QUERY_ROOT_KEY).addField("fieldKey", "value").build(),
+        Record.builder(STANDARD_KEY).addField("fieldKey", "value").build()
+    ), CacheHeaders.NONE);
+    Thread.sleep(10);
+    sqlStore.merge(Record.builder(QUERY_ROOT_KEY).addField("fieldKey", "newValue").build(), CacheHeaders.NONE);
+
+    assertThat(sqlStore.recentRecordKeys(1)).containsExactly(QUERY_ROOT_KEY);
+    assertThat(sqlStore.recentRecordKeys(10)).containsExactly(QUERY_ROOT_KEY, STANDARD_KEY).inOrder();
+  }
 
   // Tests for StandardCacheHeader compliance
 
@@ -0,0 +1,68 @@
+package com.apollographql.apollo.cache.normalized.sql;
+
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.ApolloLogger;
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.NormalizedCache;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.RecordFieldJsonAdapter;
+import com.apollographql.apollo.cache.normalized.WriteBehindNormalizedCacheFactory;
+import com.apollographql.apollo.cache.normalized.lru.EvictionPolicy;
+import com.apollographql.apollo.cache.normalized.lru.LruNormalizedCacheFactory;
+import com.apollographql.apollo.internal.RealApolloStore;
+import com.squareup.sqldelight.db.SqlDriver;
+import com.squareup.sqldelight.sqlite.driver.JdbcSqliteDriver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Arrays.asList;
+
+public class WriteBehindGarbageCollectionTest {
+  private WriteBehindNormalizedCacheFactory writeBehindCacheFactory;
+  private NormalizedCache sqlCache;
+  private RealApolloStore apolloStore;
+
+  @Before
+  public void setUp() {
+    SqlDriver driver = new JdbcSqliteDriver(JdbcSqliteDriver.IN_MEMORY, new Properties());
+    ApolloDatabase.Companion.getSchema().create(driver);
+    // The records are only written to SQL when flushed
+    writeBehindCacheFactory = new WriteBehindNormalizedCacheFactory(1, TimeUnit.HOURS);
+    NormalizedCache cache = new LruNormalizedCacheFactory(EvictionPolicy.NO_EVICTION)
+        .chain(writeBehindCacheFactory)
+        .chain(new SqlNormalizedCacheFactory(driver))
+        .createChain(RecordFieldJsonAdapter.create());
+    sqlCache = cache.getNextCache().getNextCache();
+    apolloStore = new RealApolloStore(cache, CacheKeyResolver.DEFAULT, new ScalarTypeAdapters(Collections.EMPTY_MAP),
+        Executors.newSingleThreadExecutor(), new ApolloLogger(null));
+  }
+
+  @After
+  public void tearDown() {
+    writeBehindCacheFactory.close();
+  }
+
+  @Test
+  public void recordsReachableFromQueuedRecordsAreKept() {
+    apolloStore.merge(asList(
+        Record.builder("QUERY_ROOT").addField("hero", new CacheReference("hero")).build(),
+        Record.builder("hero").addField("name", "R2-D2").build(),
+        Record.builder("orphan").addField("name", "Luke").build()
+    ), CacheHeaders.NONE);
+
+    int removed = apolloStore.collectGarbage().execute();
+    writeBehindCacheFactory.flush();
+
+    assertThat(removed).isEqualTo(1);
+    assertThat(sqlCache.recordKeys()).containsExactly("QUERY_ROOT", "hero");
+  }
+}
@@ -19,7 +19,8 @@ import java.util.UUID;
 
 /**
  * ApolloStore exposes a thread-safe api to access a {@link com.apollographql.apollo.cache.normalized.NormalizedCache}.
- * It also maintains a list of {@link RecordChangeSubscriber} that will be notified with changed records.
+ * It also maintains a list of {@link RecordChangeSubscriber} that will be notified with changed records, and of
+ * {@link FieldChangeSubscriber} that will be notified with the changes of their fields.
  *
  * Most clients should have no need to directly interface with an {@link ApolloStore}.
  */
@@ -36,10 +37,32 @@ public interface ApolloStore {
     void onCacheRecordsChanged(Set<String> changedRecordKeys);
   }
 
+  /**
+   * Listens to the changes of the record fields dispatched via {@link #publish(Set)}.
+   */
+  interface FieldChangeSubscriber {
+
+    /**
+     * @param changedRecordKeys A set of record keys which correspond to records which have had content changes.
+     * @param fieldChanges The changes of the fields of {@code changedRecordKeys}, keyed by {@link FieldChange#key()}.
+     * The keys without a change, such as the ones of removed records or of rolled back optimistic updates, changed in a
+     * way that is unknown.
+     */
+    void onCacheFieldsChanged(@NotNull Set<String> changedRecordKeys, @NotNull Map<String, FieldChange> fieldChanges);
+  }
+
   void subscribe(RecordChangeSubscriber subscriber);
 
   void unsubscribe(RecordChangeSubscriber subscriber);
 
+  /**
+   * Subscribes to the changes of the record fields. While a subscriber is subscribed, the old values of the fields are
+   * read before the records are merged.
+   */
+  void subscribeToFieldChanges(FieldChangeSubscriber subscriber);
+
+  void unsubscribeFromFieldChanges(FieldChangeSubscriber subscriber);
+
   /**
    * @param keys A set of keys of {@link Record} which have changed.
    */
@@ -80,6 +103,56 @@ public interface ApolloStore {
    */
   @NotNull ApolloStoreOperation<Integer> remove(@NotNull List<CacheKey> cacheKeys);
 
+  /**
+   * Remove all cache records that can't be reached from the root record by following references.
+   *
+   * @return {@ApolloStoreOperation} to be performed, that will be resolved with the count of records been removed
+   * @see #collectGarbage(Set)
+   */
+  @NotNull ApolloStoreOperation<Integer> collectGarbage();
+
+  /**
+   * Remove all cache records that can't be reached from the root record or from one of the pinned records by
+   * following references.
+   *
+   * The operation runs incrementally: the store lock is only held for short time slices, so that reads and writes
+   * issued meanwhile are not blocked for the whole duration of the collection. Records written while the operation
+   * runs are never removed. As the operation may take a while on large caches, prefer to {@link
+   * ApolloStoreOperation#enqueue(ApolloStoreOperation.Callback)} it: enqueued collections run one at a time on a
+   * background thread of the store, not on the dispatcher of the calls.
+   *
+   * @param pinnedKeys keys of records to be kept, along with the records they reference, even if they are not
+   *                   reachable from the root record
+   * @return {@ApolloStoreOperation} to be performed, that will be resolved with the count of records been removed
+   */
+  @NotNull ApolloStoreOperation<Integer> collectGarbage(@NotNull Set<CacheKey> pinnedKeys);
+
+  /**
+   * Loads the records reachable from the root keys into the in memory caches of the normalized cache, so that the
+   * first reads don't have to read the persistent caches chained after them record by record. Records are read level
+   * by level from the root records, a level at a time in batches, until {@code maxRecords} records are loaded.
+   *
+   * Each batch is read in its own transaction, so reads and writes issued meanwhile are not blocked for the whole
+   * duration of the operation. As it reads the persistent caches, prefer to
+   * {@link ApolloStoreOperation#enqueue(ApolloStoreOperation.Callback)} it, typically at startup.
+   *
+   * @param rootKeys   keys of the records to load first, usually {@link CacheKeyResolver#ROOT_CACHE_KEY}
+   * @param maxRecords maximum number of records to load
+   * @return {@ApolloStoreOperation} to be performed, that will be resolved with the count of records loaded
+   */
+  @NotNull ApolloStoreOperation<Integer> warmUp(@NotNull Set<CacheKey> rootKeys, int maxRecords);
+
+  /**
+   * Loads the {@code maxRecords} records most recently written to the persistent caches of the normalized cache into
+   * its in memory caches, in batches. Persistent caches that don't track when their records are written are not read.
+   *
+   * @param maxRecords maximum number of records to load
+   * @return {@ApolloStoreOperation} to be performed, that will be resolved with the count of records loaded
+   * @see #warmUp(Set, int)
+   * @see NormalizedCache#recentRecordKeys(int)
+   */
+  @NotNull ApolloStoreOperation<Integer> warmUpRecentRecords(int maxRecords);
+
   /**
    * @return The {@link ResponseNormalizer} used to generate normalized records from the network.
    */
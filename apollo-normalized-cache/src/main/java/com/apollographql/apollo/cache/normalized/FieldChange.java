@@ -0,0 +1,96 @@
+package com.apollographql.apollo.cache.normalized;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * The change of a single field of a {@link Record}, as dispatched to the
+ * {@link ApolloStore.FieldChangeSubscriber}s of an {@link ApolloStore}.
+ */
+public final class FieldChange {
+  private final String recordKey;
+  private final String fieldKey;
+  private final boolean hadOldValue;
+  private final Object oldValue;
+  private final Object newValue;
+
+  public FieldChange(@NotNull String recordKey, @NotNull String fieldKey, boolean hadOldValue,
+      @Nullable Object oldValue, @Nullable Object newValue) {
+    this.recordKey = checkNotNull(recordKey, "recordKey == null");
+    this.fieldKey = checkNotNull(fieldKey, "fieldKey == null");
+    this.hadOldValue = hadOldValue;
+    this.oldValue = oldValue;
+    this.newValue = newValue;
+  }
+
+  /**
+   * @return the key of the changed record
+   */
+  @NotNull public String recordKey() {
+    return recordKey;
+  }
+
+  /**
+   * @return the key of the changed field in its record, it incorporates any GraphQL arguments in addition to the field
+   * name
+   */
+  @NotNull public String fieldKey() {
+    return fieldKey;
+  }
+
+  /**
+   * @return the changed key, as published by {@link ApolloStore#publish(java.util.Set)}
+   */
+  @NotNull public String key() {
+    return recordKey + "." + fieldKey;
+  }
+
+  /**
+   * @return false if the field was added to its record by this change
+   */
+  public boolean hadOldValue() {
+    return hadOldValue;
+  }
+
+  @Nullable public Object oldValue() {
+    return oldValue;
+  }
+
+  @Nullable public Object newValue() {
+    return newValue;
+  }
+
+  /**
+   * Returns true if this change may change the records a response reads, because the field is added or either value
+   * references another record. Other changes only update values in records a response already reads.
+   */
+  public boolean isStructural() {
+    return !hadOldValue || hasReference(oldValue) || hasReference(newValue);
+  }
+
+  private static boolean hasReference(Object value) {
+    if (value instanceof CacheReference) {
+      return true;
+    }
+    if (value instanceof List) {
+      for (Object element : (List<?>) value) {
+        if (hasReference(element)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override public String toString() {
+    return "FieldChange{"
+        + "key='" + key() + '\''
+        + ", oldValue=" + oldValue
+        + ", newValue=" + newValue
+        + '}';
+  }
+}
@@ -25,6 +25,25 @@ class OptimisticNormalizedCache : NormalizedCache() {
     }
   }
 
+  override fun loadRecords(keys: Collection<String>, cacheHeaders: CacheHeaders): Collection<Record> {
+    return try {
+      val nonOptimisticRecords = nextCache?.loadRecords(keys, cacheHeaders).orEmpty().associateBy { it.key() }
+      keys.mapNotNull { key ->
+        val nonOptimisticRecord = nonOptimisticRecords[key]
+        val journal = lruCache.getIfPresent(key)
+        if (journal != null) {
+          nonOptimisticRecord?.clone()?.apply {
+            mergeWith(journal.snapshot)
+          } ?: journal.snapshot.clone()
+        } else {
+          nonOptimisticRecord
+        }
+      }
+    } catch (ignore: Exception) {
+      emptyList()
+    }
+  }
+
   override fun clearAll() {
     lruCache.invalidateAll()
     nextCache?.clearAll()
@@ -33,19 +52,30 @@ class OptimisticNormalizedCache : NormalizedCache() {
   override fun remove(cacheKey: CacheKey, cascade: Boolean): Boolean {
     var result: Boolean = nextCache?.remove(cacheKey, cascade) ?: false
 
-    val recordJournal = lruCache.getIfPresent(cacheKey.key)
-    if (recordJournal != null) {
-      lruCache.invalidate(cacheKey.key)
+    if (lruCache.getIfPresent(cacheKey.key) != null) {
       result = true
       if (cascade) {
-        for (cacheReference in recordJournal.snapshot.referencedFields()) {
-          result = result && remove(CacheKey(cacheReference.key()), true)
-        }
+        lruCache.invalidateAll(collectReachableKeys(cacheKey.key) { keys ->
+          keys.mapNotNull { lruCache.getIfPresent(it)?.snapshot }
+        })
+      } else {
+        lruCache.invalidate(cacheKey.key)
       }
     }
     return result
   }
 
+  override fun remove(cacheKeys: Collection<CacheKey>): Int {
+    var count = nextCache?.remove(cacheKeys) ?: 0
+    for (cacheKey in cacheKeys) {
+      if (lruCache.getIfPresent(cacheKey.key) != null) {
+        lruCache.invalidate(cacheKey.key)
+        count++
+      }
+    }
+    return count
+  }
+
   fun mergeOptimisticUpdates(recordSet: Collection<Record>): Set<String> {
     return recordSet.flatMap {
       mergeOptimisticUpdate(it)
@@ -0,0 +1,305 @@
+package com.apollographql.apollo.cache.normalized
+
+import com.apollographql.apollo.cache.ApolloCacheHeaders
+import com.apollographql.apollo.cache.CacheHeaders
+import java.io.Closeable
+import java.util.LinkedHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * A [NormalizedCache] that writes the records merged into it to its [nextCache] asynchronously, typically to keep an
+ * in memory cache from waiting on a SQL cache chained after it:
+ *
+ * ```
+ * LruNormalizedCacheFactory(evictionPolicy)
+ *     .chain(WriteBehindNormalizedCacheFactory())
+ *     .chain(SqlNormalizedCacheFactory(context))
+ * ```
+ *
+ * Merged records are queued, and the records merged for the same key are merged together until they are written. The
+ * queued records are written [flushDelayMillis] after the first of them is queued, or as soon as [maxPendingRecords]
+ * keys are queued, on a dedicated thread. All the queued records are merged into the next cache at once, which a
+ * SQL cache does in a single transaction: if the process dies, the next cache holds the records as they were after
+ * one of the flushes, never a partial one, and only the records merged since the last flush are lost.
+ *
+ * Records are read from the next cache with the queued records merged over them. Removals and [clearAll] write or
+ * drop the queued records before they reach the next cache, so a removed record is never written again.
+ *
+ * If the next cache fails to write the queued records, they stay queued and the flush is retried on the dedicated
+ * thread after a delay that doubles on each consecutive failure, up to [MAX_RETRY_DELAY_MILLIS]. Each failure is
+ * reported to the [FlushErrorListener], if any.
+ *
+ * The keys changed in the next cache are not known when a record is merged, this cache reports no changed keys and is
+ * meant to be chained after an in memory cache, which reports them. [flush] writes the queued records synchronously,
+ * [close] writes them and stops the thread, records merged after are written synchronously.
+ */
+class WriteBehindNormalizedCache internal constructor(
+    private val flushDelayMillis: Long,
+    private val maxPendingRecords: Int,
+    private val flushErrorListener: FlushErrorListener?
+) : NormalizedCache(), Closeable {
+
+  init {
+    require(flushDelayMillis >= 0) { "flushDelayMillis < 0" }
+    require(maxPendingRecords > 0) { "maxPendingRecords <= 0" }
+  }
+
+  private val lock = Any()
+  private var pending = LinkedHashMap<String, Record>()
+  private var flushing: Map<String, Record> = emptyMap()
+  private var flushScheduled = false
+  private var flushRequested = false
+  private var closed = false
+  private var flushFailures = 0
+
+  /**
+   * Serializes the writes to the next cache, so that removals and flushes reach it in order.
+   */
+  private val writeLock = ReentrantLock()
+  private val executor: ScheduledExecutorService =
+      Executors.newSingleThreadScheduledExecutor(ThreadFactory { runnable ->
+        Thread(runnable, "Apollo WriteBehind").apply { isDaemon = true }
+      })
+  private val flushTask = Runnable {
+    try {
+      flush()
+    } catch (e: Exception) {
+      scheduleRetry()
+      flushErrorListener?.onFlushError(e)
+    }
+  }
+
+  /**
+   * Schedules the flush of the records queued again by a failed flush, unless the cache is closed.
+   */
+  private fun scheduleRetry(): Unit = synchronized(lock) {
+    flushFailures++
+    if (!closed && !flushScheduled && pending.isNotEmpty()) {
+      flushScheduled = true
+      executor.schedule(flushTask, retryDelayMillis(flushFailures), TimeUnit.MILLISECONDS)
+    }
+  }
+
+  private fun retryDelayMillis(failures: Int): Long {
+    val delayMillis = maxOf(flushDelayMillis, MIN_RETRY_DELAY_MILLIS)
+    return if (failures > 20) MAX_RETRY_DELAY_MILLIS else minOf(delayMillis shl (failures - 1), MAX_RETRY_DELAY_MILLIS)
+  }
+
+  override fun loadRecord(key: String, cacheHeaders: CacheHeaders): Record? {
+    if (cacheHeaders.hasHeader(ApolloCacheHeaders.EVICT_AFTER_READ)) {
+      return writeLock.withLock {
+        flush()
+        nextCache?.loadRecord(key, cacheHeaders)
+      }
+    }
+    val queuedRecords = queuedRecords(listOf(key))
+    val record = nextCache?.loadRecord(key, cacheHeaders)
+    return if (queuedRecords.isEmpty()) record else mergeQueuedRecords(record, queuedRecords)
+  }
+
+  override fun loadRecords(keys: Collection<String>, cacheHeaders: CacheHeaders): Collection<Record> {
+    if (cacheHeaders.hasHeader(ApolloCacheHeaders.EVICT_AFTER_READ)) {
+      return writeLock.withLock {
+        flush()
+        nextCache?.loadRecords(keys, cacheHeaders).orEmpty()
+      }
+    }
+    val queuedRecords = queuedRecords(keys)
+    val records = nextCache?.loadRecords(keys, cacheHeaders).orEmpty()
+    if (queuedRecords.isEmpty()) {
+      return records
+    }
+    val recordsByKey = records.associateByTo(LinkedHashMap()) { it.key() }
+    for ((key, keyQueuedRecords) in queuedRecords.groupBy { it.key() }) {
+      recordsByKey[key] = mergeQueuedRecords(recordsByKey[key], keyQueuedRecords)
+    }
+    return recordsByKey.values
+  }
+
+  /**
+   * @return the records queued for [keys], the ones being flushed first
+   */
+  private fun queuedRecords(keys: Collection<String>): List<Record> = synchronized(lock) {
+    if (flushing.isEmpty() && pending.isEmpty()) {
+      emptyList()
+    } else {
+      keys.mapNotNull { flushing[it] } + keys.mapNotNull { pending[it]?.clone() }
+    }
+  }
+
+  private fun mergeQueuedRecords(record: Record?, queuedRecords: List<Record>): Record {
+    var mergedRecord = record?.clone()
+    for (queuedRecord in queuedRecords) {
+      if (mergedRecord == null) {
+        mergedRecord = queuedRecord.clone()
+      } else {
+        mergedRecord.mergeWith(queuedRecord)
+      }
+    }
+    return mergedRecord!!
+  }
+
+  override fun merge(record: Record, cacheHeaders: CacheHeaders): Set<String?> {
+    return merge(listOf(record), cacheHeaders)
+  }
+
+  override fun merge(recordSet: Collection<Record>, cacheHeaders: CacheHeaders): Set<String> {
+    if (cacheHeaders.hasHeader(ApolloCacheHeaders.DO_NOT_STORE)) {
+      return emptySet()
+    }
+    if (!enqueue(recordSet)) {
+      writeLock.withLock {
+        nextCache?.merge(recordSet, cacheHeaders)
+      }
+    }
+    return emptySet()
+  }
+
+  override fun performMerge(apolloRecord: Record, cacheHeaders: CacheHeaders): Set<String> {
+    merge(listOf(apolloRecord), cacheHeaders)
+    return emptySet()
+  }
+
+  /**
+   * @return false if the cache is closed and the records were not queued
+   */
+  private fun enqueue(records: Collection<Record>): Boolean = synchronized(lock) {
+    if (closed) {
+      return false
+    }
+    for (record in records) {
+      val pendingRecord = pending[record.key()]
+      if (pendingRecord == null) {
+        pending[record.key()] = record.clone()
+      } else {
+        pendingRecord.mergeWith(record)
+      }
+    }
+    // While the next cache is failing, the queued records wait for the scheduled retry
+    if (pending.size >= maxPendingRecords && flushFailures == 0) {
+      if (!flushRequested) {
+        flushRequested = true
+        executor.execute(flushTask)
+      }
+    } else if (!flushScheduled && pending.isNotEmpty()) {
+      flushScheduled = true
+      executor.schedule(flushTask, flushDelayMillis, TimeUnit.MILLISECONDS)
+    }
+    true
+  }
+
+  /**
+   * Writes the queued records to the next cache, on the calling thread. If the next cache fails to write them, they
+   * are queued again, before the records merged since, and the exception is thrown.
+   */
+  fun flush() {
+    writeLock.withLock {
+      val records = synchronized(lock) {
+        flushScheduled = false
+        flushRequested = false
+        val records = pending
+        flushing = records
+        pending = LinkedHashMap()
+        records
+      }
+      if (records.isEmpty()) {
+        return
+      }
+      try {
+        nextCache?.merge(records.values, CacheHeaders.NONE)
+        synchronized(lock) {
+          flushFailures = 0
+        }
+      } catch (e: Exception) {
+        synchronized(lock) {
+          val requeuedRecords = LinkedHashMap(records)
+          for ((key, record) in pending) {
+            requeuedRecords[key] = requeuedRecords[key]?.clone()?.apply { mergeWith(record) } ?: record
+          }
+          pending = requeuedRecords
+        }
+        throw e
+      } finally {
+        synchronized(lock) {
+          flushing = emptyMap()
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the queued records and stops the thread writing them. The records merged after are written synchronously.
+   */
+  override fun close() {
+    synchronized(lock) {
+      closed = true
+    }
+    executor.shutdown()
+    flush()
+  }
+
+  /**
+   * Returns the queued keys, the most recently queued first, before the keys of the next cache.
+   */
+  override fun recentRecordKeys(limit: Int): List<String> {
+    val queuedKeys = synchronized(lock) { pending.keys.reversed() + flushing.keys.reversed() }
+    if (queuedKeys.size >= limit) {
+      return queuedKeys.distinct().take(limit)
+    }
+    return (queuedKeys + nextCache?.recentRecordKeys(limit).orEmpty()).distinct().take(limit)
+  }
+
+  override fun clearAll() {
+    writeLock.withLock {
+      synchronized(lock) {
+        pending = LinkedHashMap()
+      }
+      nextCache?.clearAll()
+    }
+  }
+
+  override fun remove(cacheKey: CacheKey, cascade: Boolean): Boolean {
+    return writeLock.withLock {
+      flush()
+      nextCache?.remove(cacheKey, cascade) ?: false
+    }
+  }
+
+  override fun remove(cacheKeys: Collection<CacheKey>): Int {
+    return writeLock.withLock {
+      flush()
+      nextCache?.remove(cacheKeys) ?: 0
+    }
+  }
+
+  /**
+   * Notified when the records queued by a [WriteBehindNormalizedCache] could not be written to the next cache on its
+   * dedicated thread. The records stay queued and their write is retried.
+   */
+  interface FlushErrorListener {
+    fun onFlushError(e: Exception)
+  }
+
+  companion object {
+    private const val MIN_RETRY_DELAY_MILLIS = 100L
+    const val MAX_RETRY_DELAY_MILLIS = 60_000L
+  }
+
+  @OptIn(ExperimentalStdlibApi::class)
+  override fun dump() = buildMap<Class<*>, Map<String, Record>> {
+    val queuedRecords = synchronized(lock) {
+      LinkedHashMap<String, Record>(flushing).apply {
+        for ((key, record) in pending) {
+          put(key, get(key)?.clone()?.apply { mergeWith(record) } ?: record.clone())
+        }
+      }
+    }
+    put(this@WriteBehindNormalizedCache.javaClass, queuedRecords)
+    putAll(nextCache?.dump().orEmpty())
+  }
+}
@@ -0,0 +1,49 @@
+package com.apollographql.apollo.cache.normalized
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+/**
+ * Creates [WriteBehindNormalizedCache]s, to chain between an in memory cache and a persistent one. The caches created
+ * are usually not reachable once the client is built, [flush] and [close] act on all of them.
+ */
+class WriteBehindNormalizedCacheFactory @JvmOverloads constructor(
+    /**
+     * How long the records merged into the cache are queued before they are written to the next cache.
+     */
+    private val flushDelay: Long = 100,
+    private val flushDelayUnit: TimeUnit = TimeUnit.MILLISECONDS,
+    /**
+     * The number of queued records after which they are written without waiting for [flushDelay].
+     */
+    private val maxPendingRecords: Int = 1000,
+    /**
+     * Notified when the queued records could not be written to the next cache. They are written again later.
+     */
+    private val flushErrorListener: WriteBehindNormalizedCache.FlushErrorListener? = null
+) : NormalizedCacheFactory<WriteBehindNormalizedCache>() {
+
+  private val caches = CopyOnWriteArrayList<WriteBehindNormalizedCache>()
+
+  override fun create(recordFieldAdapter: RecordFieldJsonAdapter): WriteBehindNormalizedCache =
+      WriteBehindNormalizedCache(flushDelayUnit.toMillis(flushDelay), maxPendingRecords, flushErrorListener)
+          .also { caches.add(it) }
+
+  /**
+   * Writes the records queued by the caches created so far to the caches chained after them.
+   */
+  fun flush() {
+    for (cache in caches) {
+      cache.flush()
+    }
+  }
+
+  /**
+   * Writes the records queued by the caches created so far and stops their threads.
+   */
+  fun close() {
+    for (cache in caches) {
+      cache.close()
+    }
+  }
+}
@@ -5,6 +5,7 @@ import com.apollographql.apollo.api.ResponseField
 import com.apollographql.apollo.api.ResponseField.Type.LIST
 import com.apollographql.apollo.api.ResponseField.Type.OBJECT
 import com.apollographql.apollo.api.internal.FieldValueResolver
+import com.apollographql.apollo.cache.ApolloCacheHeaders.MAX_STALE
 import com.apollographql.apollo.cache.CacheHeaders
 import com.apollographql.apollo.cache.normalized.CacheKey.Companion.NO_KEY
 import com.apollographql.apollo.cache.normalized.CacheKeyResolver
@@ -18,6 +19,10 @@ class CacheFieldValueResolver(
     private val cacheHeaders: CacheHeaders,
     private val cacheKeyBuilder: CacheKeyBuilder
 ) : FieldValueResolver<Record> {
+  private val fieldPlan = FieldPlan.of(variables, cacheKeyBuilder)
+  // A value that is not a number is ignored, as if the header was not set
+  private val maxStaleMillis: Long? = cacheHeaders.headerValue(MAX_STALE)?.toLongOrNull()
+  private val nowMillis = System.currentTimeMillis()
 
   @Suppress("UNCHECKED_CAST")
   override fun <T> valueFor(recordSet: Record, field: ResponseField): T? {
@@ -30,7 +35,7 @@ class CacheFieldValueResolver(
 
   private fun valueForObject(record: Record, field: ResponseField): Record? {
     val cacheReference: CacheReference? =
-        when (val fieldCacheKey = cacheKeyResolver.fromFieldArguments(field, variables)) {
+        when (val fieldCacheKey = fieldPlan.argumentCacheKey(field, cacheKeyResolver)) {
           NO_KEY -> fieldValue(record, field)
           else -> CacheReference(fieldCacheKey.key)
         }
@@ -61,10 +66,16 @@ class CacheFieldValueResolver(
 
   @Suppress("UNCHECKED_CAST")
   private fun <T> fieldValue(record: Record, field: ResponseField): T? {
-    val fieldKey = cacheKeyBuilder.build(field, variables)
+    val fieldKey = fieldPlan.cacheKey(field)
     check(record.hasField(fieldKey)) {
       "Missing value: ${field.fieldName}"
     }
+    if (maxStaleMillis != null) {
+      val receivedAtMillis = record.fieldReceivedAtMillis(fieldKey)
+      check(receivedAtMillis != Record.UNKNOWN_RECEIVED_AT && nowMillis - receivedAtMillis <= maxStaleMillis) {
+        "Stale value: ${field.fieldName}"
+      }
+    }
     return record.field(fieldKey) as T?
   }
 
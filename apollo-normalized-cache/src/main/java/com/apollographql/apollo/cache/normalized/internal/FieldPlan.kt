@@ -0,0 +1,107 @@
+package com.apollographql.apollo.cache.normalized.internal
+
+import com.apollographql.apollo.api.Operation
+import com.apollographql.apollo.api.ResponseField
+import com.apollographql.apollo.cache.normalized.CacheKey
+import com.apollographql.apollo.cache.normalized.CacheKeyResolver
+import java.util.IdentityHashMap
+
+/**
+ * What the fields of an operation resolve to for a given set of [variables]: whether they are skipped by their
+ * `@skip` / `@include` conditions, their cache key and the cache key resolved from their arguments.
+ *
+ * None of these depend on the object being read, so each field is resolved the first time it is met and every other
+ * object or list element reading the same field reuses the result. A plan is shared by the response reader, the
+ * response normalizer and the cache field value resolver of a single read or write, it is not thread safe.
+ *
+ * As a [CacheKeyBuilder], it returns the memoized cache key of a field for its own variables and delegates to
+ * [cacheKeyBuilder] for any other.
+ */
+class FieldPlan(
+    val variables: Operation.Variables,
+    private val cacheKeyBuilder: CacheKeyBuilder
+) : CacheKeyBuilder {
+  private val entries = IdentityHashMap<ResponseField, Entry>()
+
+  /**
+   * Returns true if [field] is excluded from the response by its conditions.
+   */
+  fun shouldSkip(field: ResponseField): Boolean {
+    if (field.conditions.isEmpty()) {
+      return false
+    }
+    val entry = entry(field)
+    return entry.skip ?: resolveSkip(field).also { entry.skip = it }
+  }
+
+  /**
+   * Returns the key [field] is stored under in its record.
+   */
+  fun cacheKey(field: ResponseField): String {
+    if (field.arguments.isEmpty() && cacheKeyBuilder is RealCacheKeyBuilder) {
+      return field.fieldName
+    }
+    val entry = entry(field)
+    return entry.cacheKey ?: cacheKeyBuilder.build(field, variables).also { entry.cacheKey = it }
+  }
+
+  /**
+   * Returns the cache key [cacheKeyResolver] resolves from the arguments of [field]. A plan is used with a single cache
+   * key resolver.
+   */
+  fun argumentCacheKey(field: ResponseField, cacheKeyResolver: CacheKeyResolver): CacheKey {
+    val entry = entry(field)
+    return entry.argumentCacheKey ?: cacheKeyResolver.fromFieldArguments(field, variables).also {
+      entry.argumentCacheKey = it
+    }
+  }
+
+  override fun build(field: ResponseField, variables: Operation.Variables): String {
+    return if (variables === this.variables) cacheKey(field) else cacheKeyBuilder.build(field, variables)
+  }
+
+  private fun entry(field: ResponseField): Entry {
+    return entries[field] ?: Entry().also { entries[field] = it }
+  }
+
+  private fun resolveSkip(field: ResponseField): Boolean {
+    for (condition in field.conditions) {
+      if (condition is ResponseField.BooleanCondition) {
+        val conditionValue = variables.variableValue(condition.variableName) as Boolean?
+        if (condition.inverted) {
+          // means it's a skip directive
+          if (conditionValue == true) {
+            return true
+          }
+        } else {
+          // means it's an include directive
+          if (conditionValue == false) {
+            return true
+          }
+        }
+      }
+    }
+    return false
+  }
+
+  private class Entry {
+    var skip: Boolean? = null
+    var cacheKey: String? = null
+    var argumentCacheKey: CacheKey? = null
+  }
+
+  companion object {
+
+    /**
+     * Returns [cacheKeyBuilder] if it is already the plan of [variables], or a new plan.
+     */
+    @JvmStatic
+    fun of(variables: Operation.Variables, cacheKeyBuilder: CacheKeyBuilder): FieldPlan {
+      return if (cacheKeyBuilder is FieldPlan && cacheKeyBuilder.variables === variables) {
+        cacheKeyBuilder
+      } else {
+        FieldPlan(variables, cacheKeyBuilder)
+      }
+    }
+  }
+}
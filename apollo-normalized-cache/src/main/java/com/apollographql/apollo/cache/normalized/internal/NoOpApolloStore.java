@@ -48,6 +48,12 @@ public final class NoOpApolloStore implements ApolloStore, ReadableStore, Writea
   @Override public void unsubscribe(RecordChangeSubscriber subscriber) {
   }
 
+  @Override public void subscribeToFieldChanges(FieldChangeSubscriber subscriber) {
+  }
+
+  @Override public void unsubscribeFromFieldChanges(FieldChangeSubscriber subscriber) {
+  }
+
   @Override public void publish(Set<String> keys) {
   }
 
@@ -67,6 +73,22 @@ public final class NoOpApolloStore implements ApolloStore, ReadableStore, Writea
     return ApolloStoreOperation.emptyOperation(0);
   }
 
+  @NotNull @Override public ApolloStoreOperation<Integer> collectGarbage() {
+    return ApolloStoreOperation.emptyOperation(0);
+  }
+
+  @NotNull @Override public ApolloStoreOperation<Integer> collectGarbage(@NotNull Set<CacheKey> pinnedKeys) {
+    return ApolloStoreOperation.emptyOperation(0);
+  }
+
+  @NotNull @Override public ApolloStoreOperation<Integer> warmUp(@NotNull Set<CacheKey> rootKeys, int maxRecords) {
+    return ApolloStoreOperation.emptyOperation(0);
+  }
+
+  @NotNull @Override public ApolloStoreOperation<Integer> warmUpRecentRecords(int maxRecords) {
+    return ApolloStoreOperation.emptyOperation(0);
+  }
+
   @Override public ResponseNormalizer<Map<String, Object>> networkResponseNormalizer() {
     //noinspection unchecked
     return ResponseNormalizer.NO_OP_NORMALIZER;
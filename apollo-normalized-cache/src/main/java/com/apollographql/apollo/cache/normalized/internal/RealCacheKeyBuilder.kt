@@ -46,9 +46,9 @@ class RealCacheKeyBuilder : CacheKeyBuilder {
 
   @Suppress("UNCHECKED_CAST")
   private fun resolveVariableArgument(objectMap: Map<String, Any?>, variables: Operation.Variables): Any? {
-    val variable = objectMap[ResponseField.VARIABLE_NAME_KEY]
+    val variableName = objectMap[ResponseField.VARIABLE_NAME_KEY].toString()
 
-    return when (val resolvedVariable = variables.valueMap()[variable]) {
+    return when (val resolvedVariable = variables.variableValue(variableName)) {
       null -> null
       is Map<*, *> -> resolveArguments(resolvedVariable as Map<String, Any?>, variables)
       is InputType -> {
@@ -0,0 +1,175 @@
+package com.apollographql.apollo.cache.normalized.internal;
+
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.ApolloStore;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.NormalizedCache;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.WriteBehindNormalizedCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * Incremental mark-and-sweep collector of the records of a {@link NormalizedCache} that cannot be reached from a set
+ * of root keys by following {@link CacheReference}s.
+ *
+ * The collection runs in slices: each slice holds the {@link ApolloStore} lock for at most {@code sliceNanos} and then
+ * releases it, so that reads and writes can interleave with a long collection. Marking happens under the read lock
+ * and traverses the last cache of the chain with batched reads, so that the in-memory caches are not populated with
+ * every reachable record. If the chain has a {@link WriteBehindNormalizedCache}, marking traverses the last one
+ * instead, which merges the records it has not written yet over the caches after it. Sweeping happens under the write
+ * lock and deletes unreachable records in batches.
+ *
+ * Records written while a collection is in progress must be reported with {@link #onRecordsWritten(Collection)} from
+ * within the write transaction: they and everything they reference are considered reachable, so a collection never
+ * deletes a record that became reachable after it started.
+ */
+public final class RecordGarbageCollector {
+  private static final int MARK_BATCH_SIZE = 100;
+  private static final int SWEEP_BATCH_SIZE = 500;
+
+  private final ApolloStore store;
+  private final NormalizedCache cache;
+  private final NormalizedCache traversedCache;
+  private final long sliceNanos;
+  private final Set<String> marked = new HashSet<>();
+  private final Deque<String> pending = new ArrayDeque<>();
+
+  /**
+   * @param store      the store whose locks guard each slice
+   * @param cache      the cache to collect, records are deleted from it and from the caches chained after it
+   * @param rootKeys   the keys of the records that are reachable by definition
+   * @param sliceNanos the maximum time a slice holds the store lock
+   */
+  public RecordGarbageCollector(@NotNull ApolloStore store, @NotNull NormalizedCache cache,
+      @NotNull Collection<String> rootKeys, long sliceNanos) {
+    this.store = checkNotNull(store, "store == null");
+    this.cache = checkNotNull(cache, "cache == null");
+    this.sliceNanos = sliceNanos;
+    this.traversedCache = traversedCache(cache);
+    for (String rootKey : checkNotNull(rootKeys, "rootKeys == null")) {
+      mark(rootKey);
+    }
+  }
+
+  /**
+   * Runs the collection on the calling thread.
+   *
+   * @return the number of unreachable records that have been removed
+   */
+  public int collect() {
+    boolean marking = true;
+    while (marking) {
+      marking = store.readTransaction(new Transaction<ReadableStore, Boolean>() {
+        @Override public Boolean execute(ReadableStore cache) {
+          return markSlice(System.nanoTime() + sliceNanos);
+        }
+      });
+      Thread.yield();
+    }
+
+    final List<String> unreachableKeys = store.writeTransaction(new Transaction<WriteableStore, List<String>>() {
+      @Override public List<String> execute(WriteableStore store) {
+        markSlice(Long.MAX_VALUE);
+        return unmarked(cache.recordKeys());
+      }
+    });
+
+    int removed = 0;
+    for (int i = 0; i < unreachableKeys.size(); i += SWEEP_BATCH_SIZE) {
+      final List<String> batch = unreachableKeys.subList(i, Math.min(i + SWEEP_BATCH_SIZE, unreachableKeys.size()));
+      removed += store.writeTransaction(new Transaction<WriteableStore, Integer>() {
+        @Override public Integer execute(WriteableStore store) {
+          // Records written since the last slice may have made some of the batch reachable again
+          markSlice(Long.MAX_VALUE);
+          List<CacheKey> cacheKeys = new ArrayList<>();
+          for (String key : unmarked(batch)) {
+            cacheKeys.add(CacheKey.from(key));
+          }
+          cache.remove(cacheKeys);
+          return cacheKeys.size();
+        }
+      });
+      Thread.yield();
+    }
+    return removed;
+  }
+
+  /**
+   * Marks written records and everything they reference as reachable. Must be called from within the write
+   * transaction that merged the records.
+   */
+  public synchronized void onRecordsWritten(@NotNull Collection<Record> records) {
+    for (Record record : records) {
+      mark(record.key());
+      // The record was possibly scanned before this write, so its new references must be scanned in any case
+      for (CacheReference reference : record.referencedFields()) {
+        mark(reference.key());
+      }
+    }
+  }
+
+  /**
+   * @return {@code true} if there are still records to scan
+   */
+  synchronized boolean markSlice(long deadline) {
+    List<String> batch = new ArrayList<>(MARK_BATCH_SIZE);
+    while (!pending.isEmpty() && System.nanoTime() < deadline) {
+      batch.clear();
+      while (!pending.isEmpty() && batch.size() < MARK_BATCH_SIZE) {
+        batch.add(pending.poll());
+      }
+      for (Record record : traversedCache.loadRecords(batch, CacheHeaders.NONE)) {
+        for (CacheReference reference : record.referencedFields()) {
+          mark(reference.key());
+        }
+      }
+    }
+    return !pending.isEmpty();
+  }
+
+  /**
+   * @return the last write-behind cache of the chain, whose reads include the records it has not written yet, or the
+   * last cache of the chain if there is none
+   */
+  private static NormalizedCache traversedCache(NormalizedCache cache) {
+    NormalizedCache leafCache = cache;
+    NormalizedCache writeBehindCache = null;
+    while (true) {
+      if (leafCache instanceof WriteBehindNormalizedCache) {
+        writeBehindCache = leafCache;
+      }
+      if (leafCache.getNextCache() == null) {
+        break;
+      }
+      leafCache = leafCache.getNextCache();
+    }
+    return writeBehindCache != null ? writeBehindCache : leafCache;
+  }
+
+  private void mark(String key) {
+    if (marked.add(key)) {
+      pending.add(key);
+    }
+  }
+
+  private synchronized List<String> unmarked(Collection<String> keys) {
+    List<String> result = new ArrayList<>();
+    for (String key : keys) {
+      if (!marked.contains(key)) {
+        result.add(key);
+      }
+    }
+    return result;
+  }
+}
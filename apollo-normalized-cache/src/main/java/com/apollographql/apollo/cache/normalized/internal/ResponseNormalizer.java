@@ -25,6 +25,8 @@ public abstract class ResponseNormalizer<R> implements ResolveDelegate<R> {
   private SimpleStack<Object> valueStack;
   private List<String> path;
   private Record.Builder currentRecordBuilder;
+  private long receivedAtMillis = Record.UNKNOWN_RECEIVED_AT;
+  private FieldPlan fieldPlan;
 
   private RecordSet recordSet = new RecordSet();
   private Set<String> dependentKeys = Collections.emptySet();
@@ -42,14 +44,14 @@ public abstract class ResponseNormalizer<R> implements ResolveDelegate<R> {
   }
 
   @Override public void willResolve(ResponseField field, Operation.Variables variables, @Nullable Object value) {
-    String key = cacheKeyBuilder().build(field, variables);
+    String key = fieldPlan(variables).cacheKey(field);
     path.add(key);
   }
 
   @Override public void didResolve(ResponseField field, Operation.Variables variables) {
     path.remove(path.size() - 1);
     Object value = valueStack.pop();
-    String cacheKey = cacheKeyBuilder().build(field, variables);
+    String cacheKey = fieldPlan(variables).cacheKey(field);
     String dependentKey = currentRecordBuilder.key() + "." + cacheKey;
     dependentKeys.add(dependentKey);
     currentRecordBuilder.addField(cacheKey, value);
@@ -75,7 +77,7 @@ public abstract class ResponseNormalizer<R> implements ResolveDelegate<R> {
       path.add(cacheKeyValue);
     }
     recordStack.push(currentRecordBuilder.build());
-    currentRecordBuilder = Record.builder(cacheKeyValue);
+    currentRecordBuilder = Record.builder(cacheKeyValue).receivedAtMillis(receivedAtMillis);
   }
 
   @Override public void didResolveObject(ResponseField field, @Nullable R objectSource) {
@@ -113,6 +115,61 @@ public abstract class ResponseNormalizer<R> implements ResolveDelegate<R> {
 
   @NotNull public abstract CacheKeyBuilder cacheKeyBuilder();
 
+  /**
+   * @return the field plan of {@code variables}, to be shared with the response reader resolving the fields of this
+   * normalizer so that each field is resolved once
+   */
+  @NotNull public FieldPlan fieldPlan(@NotNull Operation.Variables variables) {
+    if (fieldPlan == null || fieldPlan.getVariables() != variables) {
+      fieldPlan = new FieldPlan(variables, cacheKeyBuilder());
+    }
+    return fieldPlan;
+  }
+
+  /**
+   * Creates a normalizer for a partition of the elements of the list being resolved, so that the elements of a large
+   * list can be resolved on several threads. The partition starts at the current path, resolves its elements as this
+   * normalizer would and is combined back with {@link #joinPartition(ResponseNormalizer)}.
+   *
+   * @return a normalizer resolving cache keys like this one
+   */
+  @NotNull public ResponseNormalizer<R> partition() {
+    final ResponseNormalizer<R> parent = this;
+    ResponseNormalizer<R> partition = new ResponseNormalizer<R>() {
+      @NotNull @Override public CacheKey resolveCacheKey(@NotNull ResponseField field, @NotNull R record) {
+        return parent.resolveCacheKey(field, record);
+      }
+
+      @NotNull @Override public CacheKeyBuilder cacheKeyBuilder() {
+        return parent.cacheKeyBuilder();
+      }
+    };
+    partition.pathStack = new SimpleStack<>();
+    partition.recordStack = new SimpleStack<>();
+    partition.valueStack = new SimpleStack<>();
+    partition.dependentKeys = new HashSet<>();
+    partition.path = new ArrayList<>(path);
+    partition.receivedAtMillis = receivedAtMillis;
+    partition.currentRecordBuilder = Record.builder(currentRecordBuilder.key()).receivedAtMillis(receivedAtMillis);
+    partition.recordSet = new RecordSet();
+    return partition;
+  }
+
+  /**
+   * Combines the records and dependent keys of {@code partition} with the ones of this normalizer, as if its elements
+   * had been resolved by this normalizer. Records found in several partitions are merged in the order the partitions
+   * are joined, which must be the order of their elements for the result to match a sequential normalization.
+   */
+  public void joinPartition(@NotNull ResponseNormalizer<R> partition) {
+    for (Record record : partition.recordSet.allRecords()) {
+      recordSet.merge(record);
+    }
+    dependentKeys.addAll(partition.dependentKeys);
+    for (Object value : partition.valueStack.toList()) {
+      valueStack.push(value);
+    }
+  }
+
   public void willResolveRecord(CacheKey cacheKey) {
     pathStack = new SimpleStack<>();
     recordStack = new SimpleStack<>();
@@ -120,7 +177,8 @@ public abstract class ResponseNormalizer<R> implements ResolveDelegate<R> {
     dependentKeys = new HashSet<>();
 
     path = new ArrayList<>();
-    currentRecordBuilder = Record.builder(cacheKey.key());
+    receivedAtMillis = System.currentTimeMillis();
+    currentRecordBuilder = Record.builder(cacheKey.key()).receivedAtMillis(receivedAtMillis);
     recordSet = new RecordSet();
   }
 
@@ -179,6 +237,18 @@ public abstract class ResponseNormalizer<R> implements ResolveDelegate<R> {
       return CacheKey.NO_KEY;
     }
 
+    @NotNull @Override public ResponseNormalizer partition() {
+      return this;
+    }
+
+    @Override public void joinPartition(@NotNull ResponseNormalizer partition) {
+    }
+
+    @NotNull @Override public FieldPlan fieldPlan(@NotNull Operation.Variables variables) {
+      // Shared instance, a plan is not
+      return new FieldPlan(variables, cacheKeyBuilder());
+    }
+
     @NotNull @Override public CacheKeyBuilder cacheKeyBuilder() {
       return new CacheKeyBuilder() {
         @NotNull @Override public String build(@NotNull ResponseField field, @NotNull Operation.Variables variables) {
@@ -33,4 +33,11 @@ public class SimpleStack<E> {
   public boolean isEmpty() {
     return backing.isEmpty();
   }
+
+  /**
+   * @return the elements of the stack, from the bottom to the top
+   */
+  public List<E> toList() {
+    return new ArrayList<>(backing);
+  }
 }
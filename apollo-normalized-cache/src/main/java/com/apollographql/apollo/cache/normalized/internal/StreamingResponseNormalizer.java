@@ -0,0 +1,727 @@
+package com.apollographql.apollo.cache.normalized.internal;
+
+import com.apollographql.apollo.api.CustomTypeAdapter;
+import com.apollographql.apollo.api.CustomTypeValue;
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.api.ResponseField;
+import com.apollographql.apollo.api.ScalarType;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.ResponseFieldMapper;
+import com.apollographql.apollo.api.internal.ResponseReader;
+import com.apollographql.apollo.api.internal.json.JsonReader;
+import com.apollographql.apollo.api.internal.json.ResponseJsonStreamReader;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.StreamingCacheKeyResolver;
+import kotlin.jvm.functions.Function1;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * Normalizes the data of a response as it is read, without building the response map. The response is read by the
+ * {@link ResponseFieldMapper} of its operation, so its fields are stored under the same keys and its scalars the same
+ * way as with {@link ResponseNormalizer}: arguments and aliases are resolved and custom scalars serialized as JSON
+ * objects stay scalars. An object becomes a {@link Record} as soon as its fields are read, and the records are handed
+ * to a {@link RecordSink} {@code recordsPerFlush} at a time.
+ *
+ * It is meant for responses that are only written to the cache, such as prefetches or synchronization payloads. The
+ * elements of a list are read from the stream one after the other and the mapper is handed an empty list in their
+ * place: the model of an element is only reachable while it is read, so the memory used does not grow with the size of
+ * the lists of the response. An element is only kept if some of its fields were not read, which happens when a
+ * fragment selects more fields of the list than the field does, so that the fragment can read the list again.
+ *
+ * Objects are keyed by a {@link StreamingCacheKeyResolver}, or by their path like with {@link ResponseNormalizer}. If
+ * the key of an object is needed for the path of an object or list field before all its id fields are read, and the id
+ * fields read later would have keyed it otherwise, the normalization fails with an {@link IllegalStateException}.
+ *
+ * A normalizer holds no state between two responses and can be shared.
+ */
+public final class StreamingResponseNormalizer {
+  /**
+   * The value of a field whose value is the next one of the stream.
+   */
+  private static final Object NEXT = new Object();
+
+  private final StreamingCacheKeyResolver cacheKeyResolver;
+  private final int recordsPerFlush;
+
+  public StreamingResponseNormalizer(@NotNull StreamingCacheKeyResolver cacheKeyResolver, int recordsPerFlush) {
+    if (recordsPerFlush <= 0) {
+      throw new IllegalArgumentException("recordsPerFlush <= 0");
+    }
+    this.cacheKeyResolver = checkNotNull(cacheKeyResolver, "cacheKeyResolver == null");
+    this.recordsPerFlush = recordsPerFlush;
+  }
+
+  @NotNull public StreamingCacheKeyResolver cacheKeyResolver() {
+    return cacheKeyResolver;
+  }
+
+  public int recordsPerFlush() {
+    return recordsPerFlush;
+  }
+
+  /**
+   * Normalizes the {@code data} of the GraphQL response read by {@code jsonReader} into the record {@code rootKey} and
+   * the records it references. The other members of the response are skipped.
+   *
+   * @return the number of records handed to {@code sink}
+   */
+  public int normalizeResponse(@NotNull JsonReader jsonReader, @NotNull ResponseFieldMapper<?> responseFieldMapper,
+      @NotNull Operation.Variables variables, @NotNull ScalarTypeAdapters scalarTypeAdapters, @NotNull CacheKey rootKey,
+      @NotNull RecordSink sink) throws IOException {
+    int recordCount = 0;
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      if ("data".equals(jsonReader.nextName()) && jsonReader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        recordCount = normalize(jsonReader, responseFieldMapper, variables, scalarTypeAdapters, rootKey, sink);
+      } else {
+        jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+    return recordCount;
+  }
+
+  /**
+   * Normalizes the JSON object read next by {@code jsonReader} with {@code responseFieldMapper} into the record
+   * {@code rootKey} and the records it references. The root record is the last one handed to {@code sink}.
+   *
+   * @return the number of records handed to {@code sink}
+   */
+  public int normalize(@NotNull JsonReader jsonReader, @NotNull ResponseFieldMapper<?> responseFieldMapper,
+      @NotNull Operation.Variables variables, @NotNull ScalarTypeAdapters scalarTypeAdapters, @NotNull CacheKey rootKey,
+      @NotNull RecordSink sink) throws IOException {
+    checkNotNull(responseFieldMapper, "responseFieldMapper == null");
+    Normalization normalization = new Normalization(checkNotNull(jsonReader, "jsonReader == null"),
+        new FieldPlan(checkNotNull(variables, "variables == null"), new RealCacheKeyBuilder()),
+        checkNotNull(scalarTypeAdapters, "scalarTypeAdapters == null"), checkNotNull(sink, "sink == null"));
+    try {
+      normalization.readRoot(checkNotNull(rootKey, "rootKey == null").key(), responseFieldMapper);
+    } catch (StreamException e) {
+      throw e.getCause();
+    }
+    normalization.flush();
+    return normalization.recordCount;
+  }
+
+  /**
+   * Receives the normalized records of a response.
+   */
+  public interface RecordSink {
+    /**
+     * Receives the next records of the response, in the order their objects end. A record may be received several
+     * times if its object is found several times in the response, the records are to be merged in order.
+     */
+    void flush(@NotNull List<Record> records);
+  }
+
+  /**
+   * An {@link IOException} of the stream, thrown through the mapper of the operation.
+   */
+  private static final class StreamException extends RuntimeException {
+    StreamException(IOException cause) {
+      super(cause);
+    }
+
+    @Override public synchronized IOException getCause() {
+      return (IOException) super.getCause();
+    }
+  }
+
+  private final class Normalization {
+    final JsonReader jsonReader;
+    final ResponseJsonStreamReader streamReader;
+    final FieldPlan fieldPlan;
+    final ScalarTypeAdapters scalarTypeAdapters;
+    final RecordSink sink;
+    final long receivedAtMillis = System.currentTimeMillis();
+    List<Record> pendingRecords = new ArrayList<>();
+    int recordCount;
+
+    Normalization(JsonReader jsonReader, FieldPlan fieldPlan, ScalarTypeAdapters scalarTypeAdapters, RecordSink sink) {
+      this.jsonReader = jsonReader;
+      this.streamReader = new ResponseJsonStreamReader(jsonReader);
+      this.fieldPlan = fieldPlan;
+      this.scalarTypeAdapters = scalarTypeAdapters;
+      this.sink = sink;
+    }
+
+    void readRoot(String key, final ResponseFieldMapper<?> responseFieldMapper) {
+      JsonObject root = new JsonObject(Collections.<String>emptyList());
+      root.key = key;
+      root.fieldPath = Collections.emptyList();
+      read(root, new ResponseReader.ObjectReader<Object>() {
+        @Override public Object read(@NotNull ResponseReader reader) {
+          return responseFieldMapper.map(reader);
+        }
+      });
+    }
+
+    /**
+     * Reads {@code object} with {@code objectReader} and emits its record, with the fields read this time.
+     */
+    <T> T read(JsonObject object, ResponseReader.ObjectReader<T> objectReader) {
+      FieldReader reader = new FieldReader(object);
+      T value = objectReader.read(reader);
+      object.finish();
+      emit(Record.builder(object.key()).addFields(reader.recordFields).receivedAtMillis(receivedAtMillis).build());
+      return value;
+    }
+
+    /**
+     * Reads the elements of a list: from the stream if {@code values} is {@link #NEXT}, the elements kept if it is a
+     * {@link StreamedList}, or a list read as a response map would hold it.
+     *
+     * @param normalizedValues receives the values of the elements in their records
+     * @return the list of the elements kept if they were read from the stream, null otherwise
+     */
+    StreamedList readElements(Object values, List<String> listPath, ResponseReader.ListReader<?> listReader,
+        List<Object> normalizedValues) {
+      if (values == NEXT) {
+        StreamedList streamedList = new StreamedList();
+        try {
+          jsonReader.beginArray();
+          for (int index = 0; jsonReader.hasNext(); index++) {
+            Object element = readElement(NEXT, listPath, index, listReader, normalizedValues);
+            if (element != null) {
+              streamedList.keptElements.put(index, element);
+            }
+          }
+          jsonReader.endArray();
+        } catch (IOException e) {
+          throw new StreamException(e);
+        }
+        return streamedList;
+      } else if (values instanceof StreamedList) {
+        for (Map.Entry<Integer, Object> entry : ((StreamedList) values).keptElements.entrySet()) {
+          readElement(entry.getValue(), listPath, entry.getKey(), listReader, normalizedValues);
+        }
+      } else {
+        List<?> rawValues = (List<?>) values;
+        for (int index = 0, size = rawValues.size(); index < size; index++) {
+          readElement(rawValues.get(index), listPath, index, listReader, normalizedValues);
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Reads an element, its model is dropped once its records are emitted.
+     *
+     * @return the element if it has fields that were not read, to be kept for a later read, null otherwise
+     */
+    private Object readElement(Object value, List<String> listPath, int index, ResponseReader.ListReader<?> listReader,
+        List<Object> normalizedValues) {
+      if (value == NEXT && isNextNull()) {
+        value = null;
+      }
+      if (value == null) {
+        normalizedValues.add(null);
+        return null;
+      }
+      ItemReader itemReader = new ItemReader(path(listPath, Integer.toString(index)), value);
+      listReader.read(itemReader);
+      itemReader.finish();
+      normalizedValues.add(itemReader.normalizedValue);
+      return isPartlyRead(itemReader.value) ? itemReader.value : null;
+    }
+
+    /**
+     * @return true if {@code value} is an object or a list read from the stream that has fields that were not read
+     */
+    boolean isPartlyRead(Object value) {
+      if (value instanceof JsonObject) {
+        return ((JsonObject) value).isPartlyRead();
+      }
+      return value instanceof StreamedList && !((StreamedList) value).keptElements.isEmpty();
+    }
+
+    /**
+     * Skips the next value if it is null.
+     *
+     * @return true if the next value was null
+     */
+    boolean isNextNull() {
+      try {
+        if (jsonReader.peek() == JsonReader.Token.NULL) {
+          jsonReader.skipValue();
+          return true;
+        }
+        return false;
+      } catch (IOException e) {
+        throw new StreamException(e);
+      }
+    }
+
+    /**
+     * Reads the next value as a response map would hold it.
+     */
+    Object readRaw() {
+      try {
+        if (streamReader.isNextObject()) {
+          return streamReader.readObject();
+        } else if (streamReader.isNextList()) {
+          return streamReader.readList();
+        } else {
+          return streamReader.nextScalar(true);
+        }
+      } catch (IOException e) {
+        throw new StreamException(e);
+      }
+    }
+
+    private void emit(Record record) {
+      pendingRecords.add(record);
+      if (pendingRecords.size() >= recordsPerFlush) {
+        flush();
+      }
+    }
+
+    void flush() {
+      if (!pendingRecords.isEmpty()) {
+        List<Record> records = pendingRecords;
+        pendingRecords = new ArrayList<>(recordsPerFlush);
+        recordCount += records.size();
+        sink.flush(records);
+      }
+    }
+
+    private List<String> path(List<String> parentPath, String name) {
+      List<String> path = new ArrayList<>(parentPath.size() + 1);
+      path.addAll(parentPath);
+      path.add(name);
+      return path;
+    }
+
+    private void checkValue(ResponseField field, Object value) {
+      if (!field.getOptional() && value == null) {
+        throw new IllegalStateException("corrupted response reader, expected non null value for "
+            + field.getFieldName());
+      }
+    }
+
+    /**
+     * The fields of a JSON object, read from the stream when they are first asked for and kept to be read again by
+     * fragments. Fields found before the one asked for, or left once the object is read, are kept as a response map
+     * would hold them. Of the elements of a list read from the stream, only the ones with fields that were not read are
+     * kept.
+     */
+    final class JsonObject {
+      final List<String> path;
+      final Map<String, Object> values;
+      final Set<String> readNames = new HashSet<>();
+      boolean open;
+      String key;
+      List<String> fieldPath;
+      /**
+       * The id key the object was keyed with before it was read to its end, if it was.
+       */
+      CacheKey openIdKey;
+
+      /**
+       * An object read from the stream, starting at its beginning.
+       */
+      JsonObject(List<String> path) {
+        this.path = path;
+        this.values = new LinkedHashMap<>();
+        this.open = true;
+        try {
+          jsonReader.beginObject();
+        } catch (IOException e) {
+          throw new StreamException(e);
+        }
+      }
+
+      /**
+       * An object already read as a response map.
+       */
+      JsonObject(List<String> path, Map<String, Object> values) {
+        this.path = path;
+        this.values = new LinkedHashMap<>(values);
+        this.open = false;
+      }
+
+      /**
+       * @return the value of {@code name}, {@link #NEXT} if the stream is at its value, null if it is absent
+       */
+      Object find(String name) {
+        readNames.add(name);
+        if (values.containsKey(name)) {
+          return values.get(name);
+        }
+        try {
+          while (open && jsonReader.hasNext()) {
+            String nextName = jsonReader.nextName();
+            if (nextName.equals(name)) {
+              return NEXT;
+            }
+            values.put(nextName, readRaw());
+          }
+        } catch (IOException e) {
+          throw new StreamException(e);
+        }
+        return null;
+      }
+
+      Object scalar(String name) {
+        Object value = find(name);
+        if (value == NEXT) {
+          value = readRaw();
+          values.put(name, value);
+        }
+        return value;
+      }
+
+      /**
+       * Reads the fields left in the stream, once the object is read, and checks that they don't change its key.
+       */
+      void finish() {
+        if (!open) {
+          return;
+        }
+        try {
+          while (jsonReader.hasNext()) {
+            values.put(jsonReader.nextName(), readRaw());
+          }
+          jsonReader.endObject();
+        } catch (IOException e) {
+          throw new StreamException(e);
+        }
+        open = false;
+        if (openIdKey != null && !openIdKey.equals(idKey())) {
+          throw new IllegalStateException("The id fields of " + pathToString(path) + " are read after its object or"
+              + " list fields, they must be selected first for the object to be normalized as a stream");
+        }
+      }
+
+      /**
+       * @return true if the object has fields that were not read, or lists and objects that have
+       */
+      boolean isPartlyRead() {
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+          if (!readNames.contains(entry.getKey()) || Normalization.this.isPartlyRead(entry.getValue())) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      /**
+       * Returns the key of the object, resolved from the scalar fields read so far when it is first needed.
+       */
+      String key() {
+        if (key == null) {
+          CacheKey cacheKey = idKey();
+          if (open) {
+            openIdKey = cacheKey;
+          }
+          if (cacheKey.equals(CacheKey.NO_KEY)) {
+            key = pathToString(path);
+            fieldPath = path;
+          } else {
+            key = cacheKey.key();
+            fieldPath = Collections.singletonList(key);
+          }
+        }
+        return key;
+      }
+
+      private CacheKey idKey() {
+        Map<String, Object> idFields = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+          Object value = entry.getValue();
+          if (!(value instanceof Map || value instanceof List || value instanceof JsonObject
+              || value instanceof StreamedList)) {
+            idFields.put(entry.getKey(), value);
+          }
+        }
+        return cacheKeyResolver.fromIdFields(idFields);
+      }
+
+      /**
+       * Returns the path of the value of the field stored under {@code cacheKey}.
+       */
+      List<String> fieldPath(String cacheKey) {
+        key();
+        return path(fieldPath, cacheKey);
+      }
+
+      private String pathToString(List<String> path) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0, size = path.size(); i < size; i++) {
+          if (i > 0) {
+            stringBuilder.append(".");
+          }
+          stringBuilder.append(path.get(i));
+        }
+        return stringBuilder.toString();
+      }
+    }
+
+    /**
+     * The value of a list field whose elements were read from the stream, with the elements kept to be read again.
+     */
+    final class StreamedList {
+      final Map<Integer, Object> keptElements = new LinkedHashMap<>();
+    }
+
+    /**
+     * Reads the fields of a {@link JsonObject} for the mapper of the operation, collecting the fields of its record.
+     * Lists are read into empty lists, their elements are not kept.
+     */
+    final class FieldReader implements ResponseReader {
+      final JsonObject object;
+      final Map<String, Object> recordFields = new LinkedHashMap<>();
+
+      FieldReader(JsonObject object) {
+        this.object = object;
+      }
+
+      private Object readScalar(ResponseField field) {
+        if (fieldPlan.shouldSkip(field)) {
+          return null;
+        }
+        Object value = object.scalar(field.getResponseName());
+        checkValue(field, value);
+        recordFields.put(fieldPlan.cacheKey(field), value);
+        return value;
+      }
+
+      @Override public String readString(@NotNull ResponseField field) {
+        return (String) readScalar(field);
+      }
+
+      @Override public Integer readInt(@NotNull ResponseField field) {
+        BigDecimal value = (BigDecimal) readScalar(field);
+        return value != null ? value.intValue() : null;
+      }
+
+      @Override public Long readLong(@NotNull ResponseField field) {
+        BigDecimal value = (BigDecimal) readScalar(field);
+        return value != null ? value.longValue() : null;
+      }
+
+      @Override public Double readDouble(@NotNull ResponseField field) {
+        BigDecimal value = (BigDecimal) readScalar(field);
+        return value != null ? value.doubleValue() : null;
+      }
+
+      @Override public Boolean readBoolean(@NotNull ResponseField field) {
+        return (Boolean) readScalar(field);
+      }
+
+      @Override public <T> T readCustomType(@NotNull ResponseField.CustomTypeField field) {
+        Object value = readScalar(field);
+        if (value == null) {
+          return null;
+        }
+        CustomTypeAdapter<T> typeAdapter = scalarTypeAdapters.adapterFor(field.getScalarType());
+        T result = typeAdapter.decode(CustomTypeValue.fromRawValue(value));
+        checkValue(field, result);
+        return result;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override public <T> T readObject(@NotNull ResponseField field, @NotNull ObjectReader<T> objectReader) {
+        if (fieldPlan.shouldSkip(field)) {
+          return null;
+        }
+        String name = field.getResponseName();
+        String cacheKey = fieldPlan.cacheKey(field);
+        Object value = object.find(name);
+        JsonObject child = null;
+        if (value == NEXT) {
+          if (isNextNull()) {
+            object.values.put(name, null);
+          } else {
+            child = new JsonObject(object.fieldPath(cacheKey));
+          }
+        } else if (value instanceof Map) {
+          child = new JsonObject(object.fieldPath(cacheKey), (Map<String, Object>) value);
+        } else if (value instanceof JsonObject) {
+          child = (JsonObject) value;
+        }
+        checkValue(field, child);
+        if (child == null) {
+          recordFields.put(cacheKey, null);
+          return null;
+        }
+        object.values.put(name, child);
+        T result = read(child, objectReader);
+        recordFields.put(cacheKey, new CacheReference(child.key()));
+        return result;
+      }
+
+      @Override public <T> List<T> readList(@NotNull ResponseField field, @NotNull ListReader<T> listReader) {
+        if (fieldPlan.shouldSkip(field)) {
+          return null;
+        }
+        String name = field.getResponseName();
+        String cacheKey = fieldPlan.cacheKey(field);
+        Object values = object.find(name);
+        if (values == NEXT && isNextNull()) {
+          values = null;
+          object.values.put(name, null);
+        }
+        checkValue(field, values);
+        if (values == null) {
+          recordFields.put(cacheKey, null);
+          return null;
+        }
+        List<Object> normalizedValues = new ArrayList<>();
+        StreamedList streamedList = readElements(values, object.fieldPath(cacheKey), listReader, normalizedValues);
+        if (streamedList != null) {
+          object.values.put(name, streamedList);
+        }
+        // The elements read again are only the ones kept, the list of the record is the one read from the stream
+        if (!(values instanceof StreamedList)) {
+          recordFields.put(cacheKey, normalizedValues);
+        }
+        return Collections.emptyList();
+      }
+
+      @Override public <T> T readFragment(@NotNull ResponseField field, @NotNull ObjectReader<T> objectReader) {
+        Object value = readScalar(field);
+        if (value == null || field.getType() != ResponseField.Type.FRAGMENT) {
+          return null;
+        }
+        for (ResponseField.Condition condition : field.getConditions()) {
+          if (condition instanceof ResponseField.TypeNameCondition
+              && !((ResponseField.TypeNameCondition) condition).getTypeNames().contains(value)) {
+            return null;
+          }
+        }
+        return objectReader.read(this);
+      }
+
+      @Override public <T> T readObject(@NotNull ResponseField field,
+          @NotNull Function1<? super ResponseReader, ? extends T> block) {
+        return DefaultImpls.readObject(this, field, block);
+      }
+
+      @Override public <T> T readFragment(@NotNull ResponseField field,
+          @NotNull Function1<? super ResponseReader, ? extends T> block) {
+        return DefaultImpls.readFragment(this, field, block);
+      }
+
+      @Override public <T> List<T> readList(@NotNull ResponseField field,
+          @NotNull Function1<? super ListItemReader, ? extends T> block) {
+        return DefaultImpls.readList(this, field, block);
+      }
+
+      @Override public <T> List<T> readLazyList(@NotNull ResponseField field, @NotNull ListReader<T> listReader) {
+        return readList(field, listReader);
+      }
+
+      @Override public <T> List<T> readLazyList(@NotNull ResponseField field,
+          @NotNull Function1<? super ListItemReader, ? extends T> block) {
+        return DefaultImpls.readLazyList(this, field, block);
+      }
+    }
+
+    /**
+     * Reads an element of a list, from the stream if its value is {@link #NEXT}, collecting its value in its record.
+     * Lists are read into empty lists, their elements are not kept.
+     */
+    final class ItemReader implements ResponseReader.ListItemReader {
+      final List<String> path;
+      Object value;
+      Object normalizedValue;
+
+      ItemReader(List<String> path, Object value) {
+        this.path = path;
+        this.value = value;
+      }
+
+      private Object readScalar() {
+        if (value == NEXT) {
+          value = readRaw();
+        }
+        normalizedValue = value;
+        return value;
+      }
+
+      @NotNull @Override public String readString() {
+        return (String) readScalar();
+      }
+
+      @Override public int readInt() {
+        return ((BigDecimal) readScalar()).intValue();
+      }
+
+      @Override public long readLong() {
+        return ((BigDecimal) readScalar()).longValue();
+      }
+
+      @Override public double readDouble() {
+        return ((BigDecimal) readScalar()).doubleValue();
+      }
+
+      @Override public boolean readBoolean() {
+        return (Boolean) readScalar();
+      }
+
+      @NotNull @Override public <T> T readCustomType(@NotNull ScalarType scalarType) {
+        CustomTypeAdapter<T> typeAdapter = scalarTypeAdapters.adapterFor(scalarType);
+        return typeAdapter.decode(CustomTypeValue.fromRawValue(readScalar()));
+      }
+
+      @SuppressWarnings("unchecked")
+      @NotNull @Override public <T> T readObject(@NotNull ResponseReader.ObjectReader<T> objectReader) {
+        JsonObject object;
+        if (value == NEXT) {
+          object = new JsonObject(path);
+        } else if (value instanceof JsonObject) {
+          object = (JsonObject) value;
+        } else {
+          object = new JsonObject(path, (Map<String, Object>) value);
+        }
+        value = object;
+        T result = read(object, objectReader);
+        normalizedValue = new CacheReference(object.key());
+        return result;
+      }
+
+      @NotNull @Override public <T> List<T> readList(@NotNull ResponseReader.ListReader<T> listReader) {
+        List<Object> normalizedValues = new ArrayList<>();
+        StreamedList streamedList = readElements(value, path, listReader, normalizedValues);
+        if (streamedList != null) {
+          value = streamedList;
+        }
+        normalizedValue = normalizedValues;
+        return Collections.emptyList();
+      }
+
+      @NotNull @Override public <T> T readObject(@NotNull Function1<? super ResponseReader, ? extends T> block) {
+        return DefaultImpls.readObject(this, block);
+      }
+
+      @NotNull @Override public <T> List<T> readList(
+          @NotNull Function1<? super ResponseReader.ListItemReader, ? extends T> block) {
+        return DefaultImpls.readList(this, block);
+      }
+
+      /**
+       * Skips the value of the element if it was not read.
+       */
+      void finish() {
+        if (value == NEXT) {
+          readRaw();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.apollographql.apollo.cache.normalized.lru;
+
+/**
+ * A probabilistic multiset for estimating the popularity of a cache key within a time window, used as the admission
+ * filter of {@link TinyLfuNormalizedCache}.
+ *
+ * The sketch is a 4-bit Count-Min sketch: every key is mapped to four counters, each counter saturates at 15 and the
+ * estimated frequency is the minimum of the four. Once the number of increments reaches the sample size, all counters
+ * are halved so that the sketch follows recent popularity rather than the all-time one.
+ *
+ * This class is not thread safe, callers are expected to hold the cache's eviction lock.
+ */
+final class FrequencySketch {
+  private static final long[] SEED = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private long[] table = new long[0];
+  private int tableMask;
+  private int sampleSize;
+  private int size;
+
+  /**
+   * Grows the sketch so that it can accurately estimate the frequency of {@code maximumSize} distinct keys. Growing
+   * discards all previously recorded frequencies.
+   */
+  void ensureCapacity(long maximumSize) {
+    int maximum = (int) Math.min(Math.max(maximumSize, 1), MAXIMUM_CAPACITY);
+    if (table.length >= maximum) {
+      return;
+    }
+    table = new long[ceilingPowerOfTwo(maximum)];
+    tableMask = Math.max(0, table.length - 1);
+    sampleSize = 10 * maximum;
+    size = 0;
+  }
+
+  /**
+   * @return the estimated number of occurrences of the key, in the range {@code [0, 15]}
+   */
+  int frequency(Object key) {
+    if (table.length == 0) {
+      return 0;
+    }
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Increments the popularity of the key if it does not exceed the maximum (15). All counters are periodically aged
+   * once the sample size has been reached.
+   */
+  void increment(Object key) {
+    if (table.length == 0) {
+      return;
+    }
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && (++size == sampleSize)) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int i, int j) {
+    int offset = j << 2;
+    long mask = (0xfL << offset);
+    if ((table[i] & mask) != mask) {
+      table[i] += (1L << offset);
+      return true;
+    }
+    return false;
+  }
+
+  private void reset() {
+    int count = 0;
+    for (int i = 0; i < table.length; i++) {
+      count += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size - (count >>> 2)) >>> 1;
+  }
+
+  private int indexOf(int item, int i) {
+    long hash = (item + SEED[i]) * SEED[i];
+    hash += (hash >>> 32);
+    return ((int) hash) & tableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+
+  private static int ceilingPowerOfTwo(int x) {
+    return 1 << -Integer.numberOfLeadingZeros(x - 1);
+  }
+}
@@ -53,6 +53,33 @@ class LruNormalizedCache internal constructor(evictionPolicy: EvictionPolicy) :
     }
   }
 
+  /**
+   * Reads the records present in this cache, then the missing ones from the next cache in a single call.
+   */
+  override fun loadRecords(keys: Collection<String>, cacheHeaders: CacheHeaders): Collection<Record> {
+    val nextCache = nextCache
+    if (nextCache == null || cacheHeaders.hasHeader(ApolloCacheHeaders.EVICT_AFTER_READ)) {
+      return super.loadRecords(keys, cacheHeaders)
+    }
+    val records = ArrayList<Record>(keys.size)
+    val missingKeys = ArrayList<String>()
+    for (key in keys) {
+      val record = lruCache.getIfPresent(key)
+      if (record != null) {
+        records.add(record)
+      } else {
+        missingKeys.add(key)
+      }
+    }
+    if (missingKeys.isNotEmpty()) {
+      for (record in nextCache.loadRecords(missingKeys, cacheHeaders)) {
+        // A concurrent merge may have already inserted a more recent version of this record
+        records.add(lruCache.asMap().putIfAbsent(record.key(), record) ?: record)
+      }
+    }
+    return records
+  }
+
   override fun clearAll() {
     nextCache?.clearAll()
     clearCurrentCache()
@@ -61,19 +88,31 @@ class LruNormalizedCache internal constructor(evictionPolicy: EvictionPolicy) :
   override fun remove(cacheKey: CacheKey, cascade: Boolean): Boolean {
     var result: Boolean = nextCache?.remove(cacheKey, cascade) ?: false
 
-    val record = lruCache.getIfPresent(cacheKey.key)
-    if (record != null) {
-      lruCache.invalidate(cacheKey.key)
+    if (lruCache.getIfPresent(cacheKey.key) != null) {
       result = true
       if (cascade) {
-        for (cacheReference in record.referencedFields()) {
-          result = result && remove(CacheKey(cacheReference.key()), true)
-        }
+        // As when removing references recursively, the result is false if any referenced record is missing
+        lruCache.invalidateAll(collectReachableKeys(cacheKey.key) { keys ->
+          keys.mapNotNull { key -> lruCache.getIfPresent(key).also { if (it == null) result = false } }
+        })
+      } else {
+        lruCache.invalidate(cacheKey.key)
       }
     }
     return result
   }
 
+  override fun remove(cacheKeys: Collection<CacheKey>): Int {
+    var count = nextCache?.remove(cacheKeys) ?: 0
+    for (cacheKey in cacheKeys) {
+      if (lruCache.getIfPresent(cacheKey.key) != null) {
+        lruCache.invalidate(cacheKey.key)
+        count++
+      }
+    }
+    return count
+  }
+
   internal fun clearCurrentCache() {
     lruCache.invalidateAll()
   }
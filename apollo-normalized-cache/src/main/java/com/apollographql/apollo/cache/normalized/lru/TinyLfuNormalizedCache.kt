@@ -0,0 +1,547 @@
+package com.apollographql.apollo.cache.normalized.lru
+
+import com.apollographql.apollo.cache.ApolloCacheHeaders
+import com.apollographql.apollo.cache.CacheHeaders
+import com.apollographql.apollo.cache.normalized.CacheKey
+import com.apollographql.apollo.cache.normalized.NormalizedCache
+import com.apollographql.apollo.cache.normalized.Record
+import java.nio.charset.Charset
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReferenceArray
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * A [NormalizedCache] backed by an in memory [ConcurrentHashMap] with a W-TinyLFU eviction policy.
+ *
+ * Unlike [LruNormalizedCache], reads never take a lock: a hit is a plain map lookup and the access is recorded into a
+ * lossy ring buffer that is replayed against the eviction policy in batches. Writes and evictions are serialized on a
+ * single eviction lock.
+ *
+ * New records first enter a small LRU admission window. When they overflow it, they have to compete with the eviction
+ * candidate of the main segmented LRU and are only kept if a [FrequencySketch] estimates them to be more popular. This
+ * way a burst of records that are read once cannot flush out frequently read ones.
+ *
+ * Misses of the [nextCache] are remembered for [negativeCacheTtlNanos] so that repeated reads of absent records don't
+ * hit the next cache every time.
+ *
+ * Of the [EvictionPolicy] options, [EvictionPolicy.maxSizeBytes] takes precedence over [EvictionPolicy.maxEntries].
+ * Expiration is checked lazily on read.
+ */
+class TinyLfuNormalizedCache internal constructor(
+    evictionPolicy: EvictionPolicy,
+    private val negativeCacheTtlNanos: Long,
+    private val ticker: () -> Long = System::nanoTime
+) : NormalizedCache() {
+
+  private val data = ConcurrentHashMap<String, Node>()
+  private val negativeCache = ConcurrentHashMap<String, Long>()
+  private val writeEpoch = AtomicLong()
+
+  private val evictionLock = ReentrantLock()
+  private val readBuffer = ReadBuffer()
+  private val sketch = FrequencySketch()
+  private val windowSegment = AccessOrderDeque()
+  private val probationSegment = AccessOrderDeque()
+  private val protectedSegment = AccessOrderDeque()
+
+  private val weighByBytes = evictionPolicy.maxSizeBytes().isPresent
+  private val maximum: Long = when {
+    evictionPolicy.maxSizeBytes().isPresent -> evictionPolicy.maxSizeBytes().get()
+    evictionPolicy.maxEntries().isPresent -> evictionPolicy.maxEntries().get()
+    else -> Long.MAX_VALUE
+  }
+  private val evicts = maximum != Long.MAX_VALUE
+  private val windowMaximum: Long = if (evicts) maxOf(1L, maximum / 100) else Long.MAX_VALUE
+  private val protectedMaximum: Long = if (evicts) ((maximum - windowMaximum) * 8) / 10 else Long.MAX_VALUE
+  private var windowWeight = 0L
+  private var protectedWeight = 0L
+  private var totalWeight = 0L
+
+  private val expireAfterAccessNanos: Long = if (evictionPolicy.expireAfterAccess().isPresent) {
+    evictionPolicy.expireAfterAccessTimeUnit().get().toNanos(evictionPolicy.expireAfterAccess().get())
+  } else {
+    0
+  }
+  private val expireAfterWriteNanos: Long = if (evictionPolicy.expireAfterWrite().isPresent) {
+    evictionPolicy.expireAfterWriteTimeUnit().get().toNanos(evictionPolicy.expireAfterWrite().get())
+  } else {
+    0
+  }
+
+  init {
+    if (evicts) {
+      // When weighing by bytes the number of entries is unknown, assume records of ~256 bytes
+      sketch.ensureCapacity(if (weighByBytes) maximum / 256 else maximum)
+    }
+  }
+
+  override fun loadRecord(key: String, cacheHeaders: CacheHeaders): Record? {
+    val now = ticker()
+    val node = data[key]
+    val record = if (node != null && !node.isExpired(now)) {
+      afterRead(node, now)
+      node.record
+    } else {
+      if (node != null) {
+        evictionLock.withLock { removeNode(node) }
+      }
+      loadFromNextCache(key, cacheHeaders, now)
+    }
+    if (cacheHeaders.hasHeader(ApolloCacheHeaders.EVICT_AFTER_READ)) {
+      invalidate(key)
+    }
+    return record
+  }
+
+  /**
+   * Reads the records present in this cache, then the missing ones from the next cache in a single call.
+   */
+  override fun loadRecords(keys: Collection<String>, cacheHeaders: CacheHeaders): Collection<Record> {
+    val nextCache = nextCache
+    if (nextCache == null || cacheHeaders.hasHeader(ApolloCacheHeaders.EVICT_AFTER_READ)) {
+      return super.loadRecords(keys, cacheHeaders)
+    }
+    val now = ticker()
+    val records = ArrayList<Record>(keys.size)
+    val missingKeys = ArrayList<String>()
+    for (key in keys) {
+      val node = data[key]
+      if (node != null && !node.isExpired(now)) {
+        afterRead(node, now)
+        records.add(node.record)
+      } else {
+        if (node != null) {
+          evictionLock.withLock { removeNode(node) }
+        }
+        if (!isMissRemembered(key, now)) {
+          missingKeys.add(key)
+        }
+      }
+    }
+    if (missingKeys.isEmpty()) {
+      return records
+    }
+
+    val epoch = writeEpoch.get()
+    val loadedRecords = nextCache.loadRecords(missingKeys, cacheHeaders)
+    evictionLock.withLock {
+      for (record in loadedRecords) {
+        records.add(addLoadedRecord(record, now))
+      }
+    }
+    if (loadedRecords.size < missingKeys.size) {
+      val loadedKeys = loadedRecords.mapTo(HashSet()) { it.key() }
+      for (key in missingKeys) {
+        if (key !in loadedKeys) {
+          rememberMiss(key, epoch, now)
+        }
+      }
+    }
+    return records
+  }
+
+  private fun loadFromNextCache(key: String, cacheHeaders: CacheHeaders, now: Long): Record? {
+    val nextCache = nextCache ?: return null
+    if (isMissRemembered(key, now)) {
+      return null
+    }
+
+    val epoch = writeEpoch.get()
+    val record = nextCache.loadRecord(key, cacheHeaders)
+    if (record == null) {
+      rememberMiss(key, epoch, now)
+      return null
+    }
+    return evictionLock.withLock { addLoadedRecord(record, now) }
+  }
+
+  private fun isMissRemembered(key: String, now: Long): Boolean {
+    val negativeDeadline = negativeCache[key] ?: return false
+    if (negativeDeadline - now > 0) {
+      return true
+    }
+    negativeCache.remove(key, negativeDeadline)
+    return false
+  }
+
+  private fun rememberMiss(key: String, epoch: Long, now: Long) {
+    // Only remember the miss if no write happened in the meantime, it could have created the record
+    if (negativeCacheTtlNanos > 0 && writeEpoch.get() == epoch) {
+      if (negativeCache.size >= MAXIMUM_NEGATIVE_ENTRIES) {
+        negativeCache.clear()
+      }
+      negativeCache[key] = now + negativeCacheTtlNanos
+    }
+  }
+
+  /**
+   * Adds a record read from the next cache, must be called with the eviction lock held.
+   */
+  private fun addLoadedRecord(record: Record, now: Long): Record {
+    // A concurrent merge may have already inserted a more recent version of this record
+    val existing = data[record.key()]
+    return if (existing == null) {
+      addNode(Node(record.key(), record, now))
+      record
+    } else {
+      existing.record
+    }
+  }
+
+  override fun clearAll() {
+    nextCache?.clearAll()
+    clearCurrentCache()
+  }
+
+  override fun remove(cacheKey: CacheKey, cascade: Boolean): Boolean {
+    var result: Boolean = nextCache?.remove(cacheKey, cascade) ?: false
+
+    if (data.containsKey(cacheKey.key)) {
+      result = true
+      if (cascade) {
+        // As when removing references recursively, the result is false if any referenced record is missing
+        val reachableKeys = collectReachableKeys(cacheKey.key) { keys ->
+          keys.mapNotNull { key -> data[key]?.record.also { if (it == null) result = false } }
+        }
+        evictionLock.withLock {
+          writeEpoch.incrementAndGet()
+          for (key in reachableKeys) {
+            data[key]?.let { removeNode(it) }
+          }
+        }
+      } else {
+        invalidate(cacheKey.key)
+      }
+    }
+    return result
+  }
+
+  override fun remove(cacheKeys: Collection<CacheKey>): Int {
+    var count = nextCache?.remove(cacheKeys) ?: 0
+    evictionLock.withLock {
+      writeEpoch.incrementAndGet()
+      for (cacheKey in cacheKeys) {
+        val node = data[cacheKey.key] ?: continue
+        removeNode(node)
+        count++
+      }
+    }
+    return count
+  }
+
+  internal fun clearCurrentCache() {
+    evictionLock.withLock {
+      writeEpoch.incrementAndGet()
+      data.clear()
+      negativeCache.clear()
+      readBuffer.drainTo { }
+      windowSegment.clear()
+      probationSegment.clear()
+      protectedSegment.clear()
+      windowWeight = 0
+      protectedWeight = 0
+      totalWeight = 0
+    }
+  }
+
+  override fun performMerge(apolloRecord: Record, cacheHeaders: CacheHeaders): Set<String> {
+    val now = ticker()
+    return evictionLock.withLock {
+      writeEpoch.incrementAndGet()
+      negativeCache.remove(apolloRecord.key())
+      val node = data[apolloRecord.key()]
+      if (node == null || node.isExpired(now)) {
+        if (node != null) {
+          removeNode(node)
+        }
+        addNode(Node(apolloRecord.key(), apolloRecord, now))
+        apolloRecord.keys()
+      } else {
+        node.record.mergeWith(apolloRecord).also {
+          node.writeTime = now
+          node.accessTime = now
+          updateNode(node)
+        }
+      }
+    }
+  }
+
+  override fun dump(): Map<Class<*>, Map<String, Record>> {
+    val records = LinkedHashMap<String, Record>()
+    for ((key, node) in data) {
+      records[key] = node.record
+    }
+    return LinkedHashMap<Class<*>, Map<String, Record>>().apply {
+      put(this@TinyLfuNormalizedCache.javaClass, records)
+      putAll(nextCache?.dump().orEmpty())
+    }
+  }
+
+  private fun invalidate(key: String) {
+    evictionLock.withLock {
+      writeEpoch.incrementAndGet()
+      data[key]?.let { removeNode(it) }
+    }
+  }
+
+  private fun Node.isExpired(now: Long): Boolean {
+    return (expireAfterWriteNanos > 0 && now - writeTime >= expireAfterWriteNanos)
+        || (expireAfterAccessNanos > 0 && now - accessTime >= expireAfterAccessNanos)
+  }
+
+  private fun afterRead(node: Node, now: Long) {
+    if (expireAfterAccessNanos > 0) {
+      node.accessTime = now
+    }
+    if (!evicts) {
+      return
+    }
+    if (readBuffer.offer(node) == ReadBuffer.FULL && evictionLock.tryLock()) {
+      try {
+        drainReadBuffer()
+      } finally {
+        evictionLock.unlock()
+      }
+    }
+  }
+
+  // All methods below must be called with the eviction lock held
+
+  private fun drainReadBuffer() {
+    readBuffer.drainTo { node -> onAccess(node) }
+  }
+
+  private fun addNode(node: Node) {
+    data[node.key] = node
+    node.weight = weigh(node)
+    if (!evicts) {
+      return
+    }
+    drainReadBuffer()
+    sketch.increment(node.key)
+    node.queue = WINDOW
+    windowSegment.addLast(node)
+    windowWeight += node.weight
+    totalWeight += node.weight
+    evictEntries()
+  }
+
+  private fun updateNode(node: Node) {
+    val oldWeight = node.weight
+    node.weight = weigh(node)
+    if (!evicts) {
+      return
+    }
+    val weightChange = node.weight - oldWeight
+    totalWeight += weightChange
+    when (node.queue) {
+      WINDOW -> windowWeight += weightChange
+      PROTECTED -> protectedWeight += weightChange
+    }
+    drainReadBuffer()
+    onAccess(node)
+    evictEntries()
+  }
+
+  private fun removeNode(node: Node) {
+    data.remove(node.key, node)
+    if (!evicts) {
+      return
+    }
+    when (node.queue) {
+      WINDOW -> {
+        windowSegment.remove(node)
+        windowWeight -= node.weight
+      }
+      PROBATION -> probationSegment.remove(node)
+      PROTECTED -> {
+        protectedSegment.remove(node)
+        protectedWeight -= node.weight
+      }
+      else -> return
+    }
+    totalWeight -= node.weight
+    node.queue = DEAD
+  }
+
+  private fun onAccess(node: Node) {
+    sketch.increment(node.key)
+    when (node.queue) {
+      WINDOW -> windowSegment.moveToLast(node)
+      PROBATION -> {
+        // A second access promotes the record to the protected segment
+        probationSegment.remove(node)
+        node.queue = PROTECTED
+        protectedSegment.addLast(node)
+        protectedWeight += node.weight
+        while (protectedWeight > protectedMaximum) {
+          val demoted = protectedSegment.first ?: break
+          protectedSegment.remove(demoted)
+          protectedWeight -= demoted.weight
+          demoted.queue = PROBATION
+          probationSegment.addLast(demoted)
+        }
+      }
+      PROTECTED -> protectedSegment.moveToLast(node)
+    }
+  }
+
+  private fun evictEntries() {
+    // Records overflowing the admission window become candidates at the tail of the probation segment
+    var candidates = 0
+    while (windowWeight > windowMaximum) {
+      val node = windowSegment.first ?: break
+      windowSegment.remove(node)
+      windowWeight -= node.weight
+      node.queue = PROBATION
+      probationSegment.addLast(node)
+      candidates++
+    }
+
+    while (totalWeight > maximum) {
+      val victim = probationSegment.first
+      val candidate = if (candidates > 0) probationSegment.last else null
+      if (victim == null || candidate == null || victim === candidate) {
+        if (victim === candidate) {
+          candidates--
+        }
+        removeNode(victim ?: protectedSegment.first ?: windowSegment.first ?: break)
+        continue
+      }
+      candidates--
+      if (candidate.weight > maximum || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+        removeNode(candidate)
+      } else {
+        removeNode(victim)
+      }
+    }
+  }
+
+  private fun weigh(node: Node): Int {
+    return if (weighByBytes) {
+      node.key.toByteArray(Charset.defaultCharset()).size + node.record.sizeEstimateBytes()
+    } else {
+      1
+    }
+  }
+
+  private class Node(val key: String, @Volatile var record: Record, now: Long) {
+    @Volatile var writeTime: Long = now
+    @Volatile var accessTime: Long = now
+
+    // Guarded by the eviction lock
+    var weight: Int = 0
+    var queue: Int = DEAD
+    var previous: Node? = null
+    var next: Node? = null
+  }
+
+  /**
+   * An intrusive doubly linked list of [Node] ordered from least to most recently used.
+   */
+  private class AccessOrderDeque {
+    var first: Node? = null
+      private set
+    var last: Node? = null
+      private set
+
+    fun addLast(node: Node) {
+      node.previous = last
+      node.next = null
+      if (last == null) {
+        first = node
+      } else {
+        last!!.next = node
+      }
+      last = node
+    }
+
+    fun remove(node: Node) {
+      val previous = node.previous
+      val next = node.next
+      if (previous == null) first = next else previous.next = next
+      if (next == null) last = previous else next.previous = previous
+      node.previous = null
+      node.next = null
+    }
+
+    fun moveToLast(node: Node) {
+      if (node !== last) {
+        remove(node)
+        addLast(node)
+      }
+    }
+
+    fun clear() {
+      var node = first
+      while (node != null) {
+        val next = node.next
+        node.previous = null
+        node.next = null
+        node.queue = DEAD
+        node = next
+      }
+      first = null
+      last = null
+    }
+  }
+
+  /**
+   * A bounded multiple-producer single-consumer ring buffer of read accesses. Offers are dropped when the buffer is
+   * full or contended, which only costs some precision of the eviction policy.
+   */
+  private class ReadBuffer {
+    private val buffer = AtomicReferenceArray<Node>(SIZE)
+    private val writeCounter = AtomicLong()
+    @Volatile private var readCounter = 0L
+
+    fun offer(node: Node): Int {
+      val head = readCounter
+      val tail = writeCounter.get()
+      val size = tail - head
+      if (size >= SIZE) {
+        return FULL
+      }
+      if (!writeCounter.compareAndSet(tail, tail + 1)) {
+        return FAILED
+      }
+      buffer.lazySet((tail and MASK).toInt(), node)
+      return if (size + 1 >= SIZE) FULL else SUCCESS
+    }
+
+    inline fun drainTo(consumer: (Node) -> Unit) {
+      var head = readCounter
+      val tail = writeCounter.get()
+      while (head < tail) {
+        val index = (head and MASK).toInt()
+        // The producer may not have published the node yet, in which case it is picked up by the next drain
+        val node = buffer.get(index) ?: break
+        buffer.lazySet(index, null)
+        if (node.queue != DEAD) {
+          consumer(node)
+        }
+        head++
+      }
+      readCounter = head
+    }
+
+    companion object {
+      const val SUCCESS = 0
+      const val FAILED = 1
+      const val FULL = 2
+      private const val SIZE = 128
+      private const val MASK = (SIZE - 1).toLong()
+    }
+  }
+
+  companion object {
+    private const val DEAD = 0
+    private const val WINDOW = 1
+    private const val PROBATION = 2
+    private const val PROTECTED = 3
+
+    private const val MAXIMUM_NEGATIVE_ENTRIES = 1024
+  }
+}
@@ -0,0 +1,22 @@
+package com.apollographql.apollo.cache.normalized.lru
+
+import com.apollographql.apollo.cache.normalized.NormalizedCacheFactory
+import com.apollographql.apollo.cache.normalized.RecordFieldJsonAdapter
+import java.util.concurrent.TimeUnit
+
+class TinyLfuNormalizedCacheFactory @JvmOverloads constructor(
+    /**
+     * [EvictionPolicy] to manage the primary cache.
+     */
+    private val evictionPolicy: EvictionPolicy,
+    /**
+     * How long a miss of the next cache in the chain is remembered. Pass 0 to disable negative caching.
+     */
+    private val negativeCacheTtl: Long = 5,
+    private val negativeCacheTtlUnit: TimeUnit = TimeUnit.SECONDS
+) : NormalizedCacheFactory<TinyLfuNormalizedCache>() {
+
+  override fun create(recordFieldAdapter: RecordFieldJsonAdapter): TinyLfuNormalizedCache =
+      TinyLfuNormalizedCache(evictionPolicy, negativeCacheTtlUnit.toNanos(negativeCacheTtl))
+
+}
@@ -0,0 +1,177 @@
+package com.apollographql.apollo.cache.normalized
+
+import com.apollographql.apollo.cache.CacheHeaders
+import com.apollographql.apollo.cache.normalized.lru.EvictionPolicy
+import com.apollographql.apollo.cache.normalized.lru.LruNormalizedCacheFactory
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class WriteBehindNormalizedCacheTest {
+  private val persistentCache = RecordingCache()
+
+  @Test
+  fun mergedRecordsAreCoalescedAndWrittenOnFlush() {
+    val cache = createCache()
+
+    val changedKeys = cache.merge(listOf(
+        Record.builder("1").addField("name", "R2-D2").build(),
+        Record.builder("2").addField("name", "Luke").build()
+    ), CacheHeaders.NONE)
+    cache.merge(Record.builder("1").addField("name", "Artoo").addField("height", 1.09).build(), CacheHeaders.NONE)
+
+    assertThat(changedKeys).isEmpty()
+    assertThat(persistentCache.operations).isEmpty()
+    assertThat(cache.loadRecord("1", CacheHeaders.NONE)!!.fields()).containsExactly("name", "Artoo", "height", 1.09)
+
+    cache.flush()
+
+    assertThat(persistentCache.operations).containsExactly("merge [1, 2]")
+    assertThat(persistentCache.records["1"]!!.fields()).containsExactly("name", "Artoo", "height", 1.09)
+  }
+
+  @Test
+  fun queuedRecordsAreMergedOverTheNextCache() {
+    persistentCache.merge(Record.builder("1").addField("name", "R2-D2").addField("height", 1.09).build(),
+        CacheHeaders.NONE)
+    val writeBehindCache = WriteBehindNormalizedCacheFactory(1, TimeUnit.HOURS).createChain(
+        RecordFieldJsonAdapter.create()).chain(persistentCache)
+
+    writeBehindCache.merge(listOf(
+        Record.builder("1").addField("name", "Artoo").build(),
+        Record.builder("2").addField("name", "Luke").build()
+    ), CacheHeaders.NONE)
+
+    val records = writeBehindCache.loadRecords(listOf("1", "2", "3"), CacheHeaders.NONE).associateBy { it.key() }
+    assertThat(records.keys).containsExactly("1", "2")
+    assertThat(records["1"]!!.fields()).containsExactly("name", "Artoo", "height", 1.09)
+    assertThat(persistentCache.records["1"]!!.field("name")).isEqualTo("R2-D2")
+    assertThat(writeBehindCache.recordKeys()).containsExactly("1", "2")
+  }
+
+  @Test
+  fun recordsAreWrittenAfterTheDelayOnADedicatedThread() {
+    persistentCache.mergeLatch = CountDownLatch(1)
+    val cache = createCache(flushDelayMillis = 10)
+
+    cache.merge(Record.builder("1").addField("name", "R2-D2").build(), CacheHeaders.NONE)
+
+    assertThat(persistentCache.mergeLatch!!.await(2, TimeUnit.SECONDS)).isTrue()
+    assertThat(persistentCache.mergeThreadName).isEqualTo("Apollo WriteBehind")
+    assertThat(persistentCache.records.keys).containsExactly("1")
+  }
+
+  @Test
+  fun failedFlushesAreReportedAndRetried() {
+    persistentCache.failingMerges = 2
+    persistentCache.mergeLatch = CountDownLatch(1)
+    val errors = CopyOnWriteArrayList<Exception>()
+    val cache = WriteBehindNormalizedCacheFactory(10, TimeUnit.MILLISECONDS,
+        flushErrorListener = object : WriteBehindNormalizedCache.FlushErrorListener {
+          override fun onFlushError(e: Exception) {
+            errors.add(e)
+          }
+        })
+        .create(RecordFieldJsonAdapter.create())
+        .apply { chain(persistentCache) }
+
+    cache.merge(Record.builder("1").addField("name", "R2-D2").build(), CacheHeaders.NONE)
+
+    assertThat(persistentCache.mergeLatch!!.await(5, TimeUnit.SECONDS)).isTrue()
+    assertThat(errors).hasSize(2)
+    assertThat(persistentCache.operations).containsExactly("merge [1]", "merge [1]", "merge [1]")
+    assertThat(persistentCache.records.keys).containsExactly("1")
+  }
+
+  @Test
+  fun removalsWriteTheQueuedRecordsFirst() {
+    val cache = createCache()
+
+    cache.merge(listOf(
+        Record.builder("1").addField("name", "R2-D2").build(),
+        Record.builder("2").addField("name", "Luke").build()
+    ), CacheHeaders.NONE)
+    assertThat(cache.remove(CacheKey.from("1"))).isTrue()
+    cache.flush()
+
+    assertThat(persistentCache.operations).containsExactly("merge [1, 2]", "remove 1").inOrder()
+    assertThat(persistentCache.records.keys).containsExactly("2")
+    assertThat(cache.loadRecord("1", CacheHeaders.NONE)).isNull()
+  }
+
+  @Test
+  fun recordsMergedAfterCloseAreWrittenSynchronously() {
+    val cache = createCache()
+
+    cache.merge(Record.builder("1").addField("name", "R2-D2").build(), CacheHeaders.NONE)
+    cache.close()
+    cache.merge(Record.builder("2").addField("name", "Luke").build(), CacheHeaders.NONE)
+
+    assertThat(persistentCache.operations).containsExactly("merge [1]", "merge [2]").inOrder()
+  }
+
+  @Test
+  fun inMemoryCacheReportsTheChangedKeys() {
+    val cache = LruNormalizedCacheFactory(EvictionPolicy.NO_EVICTION)
+        .chain(WriteBehindNormalizedCacheFactory(1, TimeUnit.HOURS))
+        .createChain(RecordFieldJsonAdapter.create())
+        .chain(persistentCache)
+
+    cache.merge(Record.builder("1").addField("name", "R2-D2").build(), CacheHeaders.NONE)
+    val changedKeys = cache.merge(Record.builder("1").addField("name", "Artoo").build(), CacheHeaders.NONE)
+
+    assertThat(changedKeys).containsExactly("1.name")
+    assertThat(persistentCache.operations).isEmpty()
+  }
+
+  private fun createCache(flushDelayMillis: Long = TimeUnit.HOURS.toMillis(1)): WriteBehindNormalizedCache {
+    return WriteBehindNormalizedCacheFactory(flushDelayMillis, TimeUnit.MILLISECONDS)
+        .create(RecordFieldJsonAdapter.create())
+        .apply { chain(persistentCache) }
+  }
+
+  class RecordingCache : NormalizedCache() {
+    val records = LinkedHashMap<String, Record>()
+    val operations = mutableListOf<String>()
+    var mergeLatch: CountDownLatch? = null
+    @Volatile var failingMerges = 0
+    @Volatile var mergeThreadName: String? = null
+
+    override fun loadRecord(key: String, cacheHeaders: CacheHeaders): Record? = records[key]
+
+    override fun merge(recordSet: Collection<Record>, cacheHeaders: CacheHeaders): Set<String> {
+      operations.add("merge " + recordSet.map { it.key() })
+      if (failingMerges > 0) {
+        failingMerges--
+        throw IllegalStateException("failing merge")
+      }
+      return super.merge(recordSet, cacheHeaders).also {
+        mergeThreadName = Thread.currentThread().name
+        mergeLatch?.countDown()
+      }
+    }
+
+    override fun performMerge(apolloRecord: Record, cacheHeaders: CacheHeaders): Set<String> {
+      val oldRecord = records[apolloRecord.key()]
+      return if (oldRecord == null) {
+        records[apolloRecord.key()] = apolloRecord.clone()
+        apolloRecord.keys()
+      } else {
+        oldRecord.mergeWith(apolloRecord)
+      }
+    }
+
+    override fun clearAll() {
+      records.clear()
+    }
+
+    override fun remove(cacheKey: CacheKey, cascade: Boolean): Boolean {
+      operations.add("remove " + cacheKey.key)
+      return records.remove(cacheKey.key) != null
+    }
+
+    override fun dump(): Map<Class<*>, Map<String, Record>> = mapOf(javaClass to records)
+  }
+}
@@ -123,6 +123,50 @@ public class CacheKeyBuilderTest {
     assertThat(cacheKeyBuilder.build(field, variables)).isEqualTo("hero({\"episode\":null})");
   }
 
+  @Test
+  public void testFieldWithVariableArgumentResolvedByIndex() {
+    //noinspection unchecked
+    UnmodifiableMapBuilder<String, Object> argument = new UnmodifiableMapBuilder<String, Object>(2)
+        .put("episode", new UnmodifiableMapBuilder<String, Object>(2)
+            .put("kind", "Variable")
+            .put("variableName", "episode")
+            .build())
+        .put("first", new UnmodifiableMapBuilder<String, Object>(2)
+            .put("kind", "Variable")
+            .put("variableName", "first")
+            .build());
+    ResponseField field = createResponseField("hero", "hero", argument
+        .build());
+
+    // Generated variables resolve by index, without building their value map
+    Operation.Variables variables = new Operation.Variables() {
+      @NotNull @Override public Map<String, Object> valueMap() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override public int variableCount() {
+        return 2;
+      }
+
+      @NotNull @Override public String variableName(int index) {
+        return index == 0 ? "episode" : "first";
+      }
+
+      @Override public int variableIndex(@NotNull String name) {
+        return name.equals("episode") ? 0 : name.equals("first") ? 1 : -1;
+      }
+
+      @Override public boolean isVariableDefined(int index) {
+        return index == 0;
+      }
+
+      @Override public Object variableValue(int index) {
+        return index == 0 ? Episode.JEDI : 10;
+      }
+    };
+    assertThat(cacheKeyBuilder.build(field, variables)).isEqualTo("hero({\"episode\":\"JEDI\",\"first\":null})");
+  }
+
   @Test
   public void testFieldWithMultipleArgument() {
     //noinspection unchecked
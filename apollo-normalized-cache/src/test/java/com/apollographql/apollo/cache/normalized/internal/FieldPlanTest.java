@@ -0,0 +1,122 @@
+package com.apollographql.apollo.cache.normalized.internal;
+
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.api.ResponseField;
+import com.apollographql.apollo.api.internal.UnmodifiableMapBuilder;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class FieldPlanTest {
+  private final Operation.Variables variables = new Operation.Variables() {
+    @NotNull @Override public Map<String, Object> valueMap() {
+      HashMap<String, Object> map = new HashMap<>();
+      map.put("episode", "JEDI");
+      map.put("withFriends", false);
+      return map;
+    }
+  };
+  private final CountingCacheKeyBuilder cacheKeyBuilder = new CountingCacheKeyBuilder();
+  private final FieldPlan fieldPlan = new FieldPlan(variables, cacheKeyBuilder);
+
+  @Test
+  public void cacheKeyIsResolvedOncePerField() {
+    ResponseField hero = heroField();
+    ResponseField name = ResponseField.forString("name", "name", null, false,
+        Collections.<ResponseField.Condition>emptyList());
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(fieldPlan.cacheKey(hero)).isEqualTo("hero({\"episode\":\"JEDI\"})");
+      assertThat(fieldPlan.build(hero, variables)).isEqualTo("hero({\"episode\":\"JEDI\"})");
+      assertThat(fieldPlan.cacheKey(name)).isEqualTo("name");
+    }
+    assertThat(cacheKeyBuilder.count).isEqualTo(2);
+  }
+
+  @Test
+  public void otherVariablesAreDelegated() {
+    ResponseField hero = heroField();
+    Operation.Variables otherVariables = new Operation.Variables() {
+      @NotNull @Override public Map<String, Object> valueMap() {
+        return Collections.<String, Object>singletonMap("episode", "EMPIRE");
+      }
+    };
+
+    assertThat(fieldPlan.build(hero, otherVariables)).isEqualTo("hero({\"episode\":\"EMPIRE\"})");
+    assertThat(fieldPlan.build(hero, otherVariables)).isEqualTo("hero({\"episode\":\"EMPIRE\"})");
+    assertThat(cacheKeyBuilder.count).isEqualTo(2);
+  }
+
+  @Test
+  public void conditionsAreResolvedFromVariables() {
+    ResponseField included = ResponseField.forString("friends", "friends", null, true,
+        Collections.<ResponseField.Condition>singletonList(ResponseField.Condition.booleanCondition("withFriends", false)));
+    ResponseField skipped = ResponseField.forString("friends", "friends", null, true,
+        Collections.<ResponseField.Condition>singletonList(ResponseField.Condition.booleanCondition("withFriends", true)));
+    ResponseField typeConditional = ResponseField.forString("name", "name", null, true,
+        Collections.<ResponseField.Condition>singletonList(ResponseField.Condition.typeCondition(new String[]{"Droid"})));
+
+    assertThat(fieldPlan.shouldSkip(included)).isTrue();
+    assertThat(fieldPlan.shouldSkip(skipped)).isFalse();
+    assertThat(fieldPlan.shouldSkip(typeConditional)).isFalse();
+  }
+
+  @Test
+  public void argumentCacheKeyIsResolvedOncePerField() {
+    ResponseField hero = ResponseField.forObject("hero", "hero", null, true,
+        Collections.<ResponseField.Condition>emptyList());
+    final int[] count = new int[1];
+    CacheKeyResolver cacheKeyResolver = new CacheKeyResolver() {
+      @NotNull @Override public CacheKey fromFieldRecordSet(@NotNull ResponseField field,
+          @NotNull Map<String, Object> recordSet) {
+        return CacheKey.NO_KEY;
+      }
+
+      @NotNull @Override public CacheKey fromFieldArguments(@NotNull ResponseField field,
+          @NotNull Operation.Variables variables) {
+        count[0]++;
+        return new CacheKey((String) variables.variableValue("episode"));
+      }
+    };
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(fieldPlan.argumentCacheKey(hero, cacheKeyResolver)).isEqualTo(new CacheKey("JEDI"));
+    }
+    assertThat(count[0]).isEqualTo(1);
+  }
+
+  @Test
+  public void ofReusesPlanOfSameVariables() {
+    assertThat(FieldPlan.of(variables, fieldPlan)).isSameAs(fieldPlan);
+    assertThat(FieldPlan.of(variables, cacheKeyBuilder)).isNotSameAs(fieldPlan);
+    assertThat(FieldPlan.of(Operation.EMPTY_VARIABLES, fieldPlan)).isNotSameAs(fieldPlan);
+  }
+
+  private static ResponseField heroField() {
+    //noinspection unchecked
+    Map<String, Object> arguments = new UnmodifiableMapBuilder<String, Object>(1)
+        .put("episode", new UnmodifiableMapBuilder<String, Object>(2)
+            .put("kind", "Variable")
+            .put("variableName", "episode")
+            .build())
+        .build();
+    return ResponseField.forString("hero", "hero", arguments, false, Collections.<ResponseField.Condition>emptyList());
+  }
+
+  static class CountingCacheKeyBuilder implements CacheKeyBuilder {
+    private final CacheKeyBuilder delegate = new RealCacheKeyBuilder();
+    int count;
+
+    @NotNull @Override public String build(@NotNull ResponseField field, @NotNull Operation.Variables variables) {
+      count++;
+      return delegate.build(field, variables);
+    }
+  }
+}
@@ -0,0 +1,385 @@
+package com.apollographql.apollo.cache.normalized.internal;
+
+import com.apollographql.apollo.api.CustomTypeAdapter;
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.api.ResponseField;
+import com.apollographql.apollo.api.ScalarType;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.ResponseFieldMapper;
+import com.apollographql.apollo.api.internal.ResponseReader;
+import com.apollographql.apollo.api.internal.UnmodifiableMapBuilder;
+import com.apollographql.apollo.api.internal.json.BufferedSourceJsonReader;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.RecordSet;
+import com.apollographql.apollo.cache.normalized.StreamingCacheKeyResolver;
+import okio.Buffer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class StreamingResponseNormalizerTest {
+  private static final StreamingCacheKeyResolver ID_RESOLVER = new StreamingCacheKeyResolver() {
+    @NotNull @Override public CacheKey fromIdFields(@NotNull Map<String, Object> idFields) {
+      Object id = idFields.get("id");
+      return id != null ? CacheKey.from(id.toString()) : CacheKey.NO_KEY;
+    }
+  };
+  private static final ScalarType JSON_TYPE = new ScalarType() {
+    @NotNull @Override public String typeName() {
+      return "Json";
+    }
+
+    @NotNull @Override public String className() {
+      return "java.util.Map";
+    }
+  };
+  private static final List<ResponseField.Condition> NO_CONDITIONS = Collections.emptyList();
+  private static final ResponseField HERO = ResponseField.forObject("hero", "hero", null, true, NO_CONDITIONS);
+  private static final ResponseField ID = ResponseField.forString("id", "id", null, true, NO_CONDITIONS);
+  private static final ResponseField NAME = ResponseField.forString("name", "name", null, true, NO_CONDITIONS);
+  private static final ResponseField STATS = ResponseField.forObject("stats", "stats", null, true, NO_CONDITIONS);
+  private static final ResponseField HEIGHT = ResponseField.forDouble("height", "height", null, true, NO_CONDITIONS);
+  private static final ResponseField FRIENDS = ResponseField.forList("friends", "friends", null, true, NO_CONDITIONS);
+  private static final ResponseField TYPENAME = ResponseField.forString("__typename", "__typename", null, false,
+      NO_CONDITIONS);
+  private static final ResponseField DROID_FRAGMENT = ResponseField.forFragment("__typename", "__typename",
+      Collections.<ResponseField.Condition>singletonList(ResponseField.Condition.typeCondition(new String[]{"Droid"})));
+
+  private final RecordingSink sink = new RecordingSink();
+
+  @Test
+  public void objectsAreKeyedByIdFieldsOrPath() throws IOException {
+    String json = "{\"data\": {\"hero\": {\"id\": \"2001\", \"name\": \"R2-D2\", \"stats\": {\"height\": 1.09},"
+        + " \"friends\": [{\"id\": \"1000\", \"name\": \"Luke\"}, null, {\"name\": \"Unknown\"}]}}}";
+
+    int count = new StreamingResponseNormalizer(ID_RESOLVER, 10).normalizeResponse(reader(json),
+        heroMapper(ID, NAME, STATS, FRIENDS), variables(), scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    assertThat(count).isEqualTo(5);
+    Map<String, Record> records = sink.recordsByKey();
+    assertThat(records.keySet()).containsExactly("2001.stats", "1000", "2001.friends.2", "2001", "QUERY_ROOT")
+        .inOrder();
+    assertThat(records.get("QUERY_ROOT").field("hero")).isEqualTo(new CacheReference("2001"));
+    assertThat(records.get("2001").field("name")).isEqualTo("R2-D2");
+    assertThat(records.get("2001").field("stats")).isEqualTo(new CacheReference("2001.stats"));
+    assertThat(records.get("2001").field("friends")).isEqualTo(Arrays.asList(new CacheReference("1000"), null,
+        new CacheReference("2001.friends.2")));
+    assertThat(records.get("2001.stats").field("height")).isEqualTo(new BigDecimal("1.09"));
+    assertThat(records.get("2001.friends.2").field("name")).isEqualTo("Unknown");
+  }
+
+  @Test
+  public void idFieldsAfterObjectFieldsFailTheNormalization() throws IOException {
+    String json = "{\"hero\": {\"stats\": {\"height\": 1.09}, \"id\": \"2001\"}}";
+
+    try {
+      new StreamingResponseNormalizer(ID_RESOLVER, 10).normalize(reader(json), heroMapper(STATS, ID), variables(),
+          scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+      fail("expected IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).contains("hero");
+    }
+  }
+
+  @Test
+  public void objectsWithoutIdFieldsAfterObjectFieldsAreKeyedByPath() throws IOException {
+    String json = "{\"hero\": {\"stats\": {\"height\": 1.09}, \"name\": \"R2-D2\"}}";
+
+    new StreamingResponseNormalizer(ID_RESOLVER, 10).normalize(reader(json), heroMapper(STATS, NAME), variables(),
+        scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    assertThat(sink.recordsByKey().keySet()).containsExactly("hero.stats", "hero", "QUERY_ROOT").inOrder();
+  }
+
+  @Test
+  public void elementsAreNotHandedToTheMapper() throws IOException {
+    String json = "{\"heroes\": [{\"id\": \"1\"}, {\"id\": \"2\"}, {\"id\": \"3\"}]}";
+    final ResponseField heroes = ResponseField.forList("heroes", "heroes", null, true, NO_CONDITIONS);
+    final List<Object> readElements = new ArrayList<>();
+    ResponseFieldMapper<Object> mapper = new ResponseFieldMapper<Object>() {
+      @Override public Object map(@NotNull ResponseReader reader) {
+        return reader.readList(heroes, new ResponseReader.ListReader<Object>() {
+          @Override public Object read(@NotNull ResponseReader.ListItemReader reader) {
+            Object element = reader.readObject(fieldsReader(ID));
+            readElements.add(element);
+            return element;
+          }
+        });
+      }
+    };
+    final Object[] data = new Object[1];
+
+    new StreamingResponseNormalizer(ID_RESOLVER, 10).normalize(reader(json), new ResponseFieldMapper<Object>() {
+      @Override public Object map(@NotNull ResponseReader reader) {
+        return data[0] = mapper.map(reader);
+      }
+    }, variables(), scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    assertThat(readElements).hasSize(3);
+    assertThat(data[0]).isEqualTo(Collections.emptyList());
+    assertThat(sink.recordsByKey().get("QUERY_ROOT").field("heroes")).isEqualTo(Arrays.asList(
+        new CacheReference("1"), new CacheReference("2"), new CacheReference("3")));
+  }
+
+  @Test
+  public void recordsAreFlushedInChunks() throws IOException {
+    StringBuilder json = new StringBuilder("{\"heroes\": [");
+    for (int i = 0; i < 7; i++) {
+      json.append(i > 0 ? ", " : "").append("{\"id\": \"").append(i).append("\"}");
+    }
+    json.append("]}");
+    final ResponseField heroes = ResponseField.forList("heroes", "heroes", null, true, NO_CONDITIONS);
+    ResponseFieldMapper<Object> mapper = new ResponseFieldMapper<Object>() {
+      @Override public Object map(@NotNull ResponseReader reader) {
+        return reader.readList(heroes, new ResponseReader.ListReader<Object>() {
+          @Override public Object read(@NotNull ResponseReader.ListItemReader reader) {
+            return reader.readObject(fieldsReader(ID));
+          }
+        });
+      }
+    };
+
+    int count = new StreamingResponseNormalizer(ID_RESOLVER, 3).normalize(reader(json.toString()), mapper,
+        variables(), scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    assertThat(count).isEqualTo(8);
+    assertThat(sink.flushSizes).containsExactly(3, 3, 2).inOrder();
+  }
+
+  @Test
+  public void otherResponseMembersAreSkipped() throws IOException {
+    String json = "{\"errors\": [{\"message\": \"failure\"}], \"data\": null, \"extensions\": {\"cost\": 1}}";
+
+    int count = new StreamingResponseNormalizer(ID_RESOLVER, 10).normalizeResponse(reader(json), heroMapper(NAME),
+        variables(), scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    assertThat(count).isEqualTo(0);
+    assertThat(sink.flushSizes).isEmpty();
+  }
+
+  @Test
+  public void fieldsAreStoredUnderTheirCacheKey() throws IOException {
+    String json = "{\"r2\": {\"name\": \"R2-D2\"}, \"luke\": {\"name\": \"Luke\"}}";
+    final ResponseField r2 = ResponseField.forObject("r2", "hero", episodeArgument(), true, NO_CONDITIONS);
+    final ResponseField luke = ResponseField.forObject("luke", "hero",
+        Collections.<String, Object>singletonMap("episode", "EMPIRE"), true, NO_CONDITIONS);
+    ResponseFieldMapper<Object> mapper = new ResponseFieldMapper<Object>() {
+      @Override public Object map(@NotNull ResponseReader reader) {
+        reader.readObject(r2, fieldsReader(NAME));
+        return reader.readObject(luke, fieldsReader(NAME));
+      }
+    };
+
+    new StreamingResponseNormalizer(ID_RESOLVER, 10).normalize(reader(json), mapper, variables(),
+        scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    Map<String, Record> records = sink.recordsByKey();
+    assertThat(records.keySet()).containsExactly("hero({\"episode\":\"JEDI\"})", "hero({\"episode\":\"EMPIRE\"})",
+        "QUERY_ROOT").inOrder();
+    assertThat(records.get("QUERY_ROOT").fields()).containsExactly(
+        "hero({\"episode\":\"JEDI\"})", new CacheReference("hero({\"episode\":\"JEDI\"})"),
+        "hero({\"episode\":\"EMPIRE\"})", new CacheReference("hero({\"episode\":\"EMPIRE\"})"));
+    assertThat(records.get("hero({\"episode\":\"JEDI\"})").field("name")).isEqualTo("R2-D2");
+  }
+
+  @Test
+  public void objectCustomScalarsAreStoredAsScalars() throws IOException {
+    String json = "{\"hero\": {\"name\": \"R2-D2\", \"metadata\": {\"model\": \"R2\"}}}";
+    final ResponseField.CustomTypeField metadata = ResponseField.forCustomType("metadata", "metadata", null, true,
+        JSON_TYPE, NO_CONDITIONS);
+    final Object[] readMetadata = new Object[1];
+    ResponseFieldMapper<Object> mapper = new ResponseFieldMapper<Object>() {
+      @Override public Object map(@NotNull ResponseReader reader) {
+        return reader.readObject(HERO, new ResponseReader.ObjectReader<Object>() {
+          @Override public Object read(@NotNull ResponseReader reader) {
+            reader.readString(NAME);
+            return readMetadata[0] = reader.readCustomType(metadata);
+          }
+        });
+      }
+    };
+
+    new StreamingResponseNormalizer(ID_RESOLVER, 10).normalize(reader(json), mapper, variables(),
+        scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    assertThat(sink.recordsByKey().keySet()).containsExactly("hero", "QUERY_ROOT").inOrder();
+    assertThat(sink.recordsByKey().get("hero").field("metadata"))
+        .isEqualTo(Collections.singletonMap("model", "R2"));
+    assertThat(readMetadata[0]).isEqualTo(Collections.singletonMap("model", "R2"));
+  }
+
+  @Test
+  public void fragmentsReadTheFieldsOfTheirObjectAgain() throws IOException {
+    String json = "{\"hero\": {\"__typename\": \"Droid\", \"stats\": {\"height\": 1.09, \"weight\": 32},"
+        + " \"name\": \"R2-D2\"}}";
+    final ResponseField weight = ResponseField.forInt("weight", "weight", null, true, NO_CONDITIONS);
+    ResponseFieldMapper<Object> mapper = new ResponseFieldMapper<Object>() {
+      @Override public Object map(@NotNull ResponseReader reader) {
+        return reader.readObject(HERO, new ResponseReader.ObjectReader<Object>() {
+          @Override public Object read(@NotNull ResponseReader reader) {
+            reader.readString(TYPENAME);
+            reader.readObject(STATS, fieldsReader(HEIGHT));
+            return reader.readFragment(DROID_FRAGMENT, new ResponseReader.ObjectReader<Object>() {
+              @Override public Object read(@NotNull ResponseReader reader) {
+                reader.readString(NAME);
+                return reader.readObject(STATS, fieldsReader(weight));
+              }
+            });
+          }
+        });
+      }
+    };
+
+    new StreamingResponseNormalizer(ID_RESOLVER, 10).normalize(reader(json), mapper, variables(),
+        scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    RecordSet recordSet = new RecordSet();
+    for (Record record : sink.records) {
+      recordSet.merge(record);
+    }
+    assertThat(recordSet.get("hero.stats").fields()).containsExactly("height", new BigDecimal("1.09"), "weight",
+        new BigDecimal("32"));
+    assertThat(recordSet.get("hero").field("name")).isEqualTo("R2-D2");
+    assertThat(recordSet.get("hero").field("stats")).isEqualTo(new CacheReference("hero.stats"));
+  }
+
+  @Test
+  public void listsReadAgainByFragmentsReadTheElementsWithUnreadFields() throws IOException {
+    String json = "{\"hero\": {\"__typename\": \"Droid\", \"friends\": [{\"name\": \"Luke\"},"
+        + " {\"name\": \"Leia\", \"height\": 1.5}]}}";
+    final List<Object> fragmentElements = new ArrayList<>();
+    ResponseFieldMapper<Object> mapper = new ResponseFieldMapper<Object>() {
+      @Override public Object map(@NotNull ResponseReader reader) {
+        return reader.readObject(HERO, new ResponseReader.ObjectReader<Object>() {
+          @Override public Object read(@NotNull ResponseReader reader) {
+            reader.readString(TYPENAME);
+            readFriends(reader, null, NAME);
+            return reader.readFragment(DROID_FRAGMENT, new ResponseReader.ObjectReader<Object>() {
+              @Override public Object read(@NotNull ResponseReader reader) {
+                return readFriends(reader, fragmentElements, NAME, HEIGHT);
+              }
+            });
+          }
+        });
+      }
+    };
+
+    new StreamingResponseNormalizer(ID_RESOLVER, 10).normalize(reader(json), mapper, variables(),
+        scalarTypeAdapters(), CacheKey.from("QUERY_ROOT"), sink);
+
+    RecordSet recordSet = new RecordSet();
+    for (Record record : sink.records) {
+      recordSet.merge(record);
+    }
+    // Luke has no field the fragment didn't read already, it is not kept
+    assertThat(fragmentElements).hasSize(1);
+    assertThat(recordSet.get("hero").field("friends")).isEqualTo(Arrays.asList(
+        new CacheReference("hero.friends.0"), new CacheReference("hero.friends.1")));
+    assertThat(recordSet.get("hero.friends.0").fields()).containsExactly("name", "Luke");
+    assertThat(recordSet.get("hero.friends.1").fields()).containsExactly("name", "Leia", "height",
+        new BigDecimal("1.5"));
+  }
+
+  private static Object readFriends(ResponseReader reader, final List<Object> elements,
+      final ResponseField... fields) {
+    return reader.readList(FRIENDS, new ResponseReader.ListReader<Object>() {
+      @Override public Object read(@NotNull ResponseReader.ListItemReader reader) {
+        Object element = reader.readObject(fieldsReader(fields));
+        if (elements != null) {
+          elements.add(element);
+        }
+        return element;
+      }
+    });
+  }
+
+  private static ResponseFieldMapper<Object> heroMapper(final ResponseField... fields) {
+    return new ResponseFieldMapper<Object>() {
+      @Override public Object map(@NotNull ResponseReader reader) {
+        return reader.readObject(HERO, fieldsReader(fields));
+      }
+    };
+  }
+
+  /**
+   * Reads {@code fields}, {@link #STATS} with its height and {@link #FRIENDS} with their id and name.
+   */
+  private static ResponseReader.ObjectReader<Object> fieldsReader(final ResponseField... fields) {
+    return new ResponseReader.ObjectReader<Object>() {
+      @Override public Object read(@NotNull ResponseReader reader) {
+        for (ResponseField field : fields) {
+          if (field == STATS) {
+            reader.readObject(STATS, fieldsReader(HEIGHT));
+          } else if (field == FRIENDS) {
+            reader.readList(FRIENDS, new ResponseReader.ListReader<Object>() {
+              @Override public Object read(@NotNull ResponseReader.ListItemReader reader) {
+                return reader.readObject(fieldsReader(ID, NAME));
+              }
+            });
+          } else if (field.getType() == ResponseField.Type.DOUBLE) {
+            reader.readDouble(field);
+          } else if (field.getType() == ResponseField.Type.INT) {
+            reader.readInt(field);
+          } else {
+            reader.readString(field);
+          }
+        }
+        return fields;
+      }
+    };
+  }
+
+  private static Map<String, Object> episodeArgument() {
+    return Collections.<String, Object>singletonMap("episode", new UnmodifiableMapBuilder<String, Object>(2)
+        .put("kind", "Variable")
+        .put("variableName", "episode")
+        .build());
+  }
+
+  private static Operation.Variables variables() {
+    return new Operation.Variables() {
+      @NotNull @Override public Map<String, Object> valueMap() {
+        return Collections.<String, Object>singletonMap("episode", "JEDI");
+      }
+    };
+  }
+
+  private static ScalarTypeAdapters scalarTypeAdapters() {
+    return new ScalarTypeAdapters(Collections.<ScalarType, CustomTypeAdapter<?>>emptyMap());
+  }
+
+  private static BufferedSourceJsonReader reader(String json) {
+    return new BufferedSourceJsonReader(new Buffer().writeUtf8(json));
+  }
+
+  static class RecordingSink implements StreamingResponseNormalizer.RecordSink {
+    final List<Record> records = new ArrayList<>();
+    final List<Integer> flushSizes = new ArrayList<>();
+
+    @Override public void flush(@NotNull List<Record> records) {
+      this.records.addAll(records);
+      flushSizes.add(records.size());
+    }
+
+    Map<String, Record> recordsByKey() {
+      Map<String, Record> recordsByKey = new LinkedHashMap<>();
+      for (Record record : records) {
+        recordsByKey.put(record.key(), record);
+      }
+      return recordsByKey;
+    }
+  }
+}
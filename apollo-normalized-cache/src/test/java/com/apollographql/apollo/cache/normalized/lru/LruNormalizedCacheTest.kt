@@ -3,6 +3,8 @@ package com.apollographql.apollo.cache.normalized.lru
 import com.apollographql.apollo.cache.ApolloCacheHeaders
 import com.apollographql.apollo.cache.CacheHeaders
 import com.apollographql.apollo.cache.CacheHeaders.Companion.builder
+import com.apollographql.apollo.cache.normalized.CacheKey
+import com.apollographql.apollo.cache.normalized.CacheReference
 import com.apollographql.apollo.cache.normalized.NormalizedCache
 import com.apollographql.apollo.cache.normalized.Record
 import com.apollographql.apollo.cache.normalized.RecordFieldJsonAdapter
@@ -215,6 +217,67 @@ class LruNormalizedCacheTest {
     assertThat(nextCache.loadRecord("key", CacheHeaders.NONE)).isNull()
   }
 
+  @Test
+  fun testCascadeRemove_cyclicReferences() {
+    val lruCache = createLruNormalizedCache()
+    val records = listOf(
+        Record.builder("a").addField("next", CacheReference("b")).build(),
+        Record.builder("b").addField("next", CacheReference("c")).addField("shared", CacheReference("c")).build(),
+        Record.builder("c").addField("next", CacheReference("a")).build(),
+        Record.builder("d").addField("next", CacheReference("a")).build()
+    )
+    lruCache.merge(records, CacheHeaders.NONE)
+
+    assertThat(lruCache.remove(CacheKey.from("a"), true)).isTrue()
+
+    assertThat(lruCache.loadRecord("a", CacheHeaders.NONE)).isNull()
+    assertThat(lruCache.loadRecord("b", CacheHeaders.NONE)).isNull()
+    assertThat(lruCache.loadRecord("c", CacheHeaders.NONE)).isNull()
+    assertThat(lruCache.loadRecord("d", CacheHeaders.NONE)).isNotNull()
+  }
+
+  @Test
+  fun testCascadeRemove_missingReference() {
+    val lruCache = createLruNormalizedCache()
+    lruCache.merge(listOf(
+        Record.builder("a").addField("next", CacheReference("b")).addField("missing", CacheReference("x")).build(),
+        Record.builder("b").addField("name", "b").build()
+    ), CacheHeaders.NONE)
+
+    assertThat(lruCache.remove(CacheKey.from("a"), true)).isFalse()
+
+    assertThat(lruCache.loadRecord("a", CacheHeaders.NONE)).isNull()
+    assertThat(lruCache.loadRecord("b", CacheHeaders.NONE)).isNull()
+  }
+
+  @Test
+  fun testRemoveMultipleRecords() {
+    val secondaryCacheFactory = LruNormalizedCacheFactory(EvictionPolicy.NO_EVICTION)
+    val primaryCache = LruNormalizedCacheFactory(EvictionPolicy.NO_EVICTION)
+        .chain(secondaryCacheFactory).createChain(basicFieldAdapter)
+    primaryCache.merge(listOf(createTestRecord("1"), createTestRecord("2"), createTestRecord("3")), CacheHeaders.NONE)
+
+    primaryCache.remove(listOf(CacheKey.from("key1"), CacheKey.from("key2")))
+
+    assertThat(primaryCache.recordKeys()).containsExactly("key3")
+    assertThat(primaryCache.nextCache!!.recordKeys()).containsExactly("key3")
+  }
+
+  @Test
+  fun testMerge_tracksReceivedAt() {
+    val lruCache = createLruNormalizedCache()
+    lruCache.merge(createTestRecord("1").toBuilder().receivedAtMillis(1000).build(), CacheHeaders.NONE)
+    lruCache.merge(Record.builder("key1").addField("a", "stringValueA1").receivedAtMillis(2000).build(), CacheHeaders.NONE)
+
+    val record = requireNotNull(lruCache.loadRecord("key1", CacheHeaders.NONE))
+    assertThat(record.receivedAtMillis()).isEqualTo(2000)
+    assertThat(record.fieldReceivedAtMillis("a")).isEqualTo(2000)
+    assertThat(record.fieldReceivedAtMillis("b")).isEqualTo(1000)
+
+    lruCache.merge(createTestRecord("1").toBuilder().receivedAtMillis(3000).build(), CacheHeaders.NONE)
+    assertThat(record.fieldReceivedAtMillis("b")).isEqualTo(3000)
+  }
+
   // Tests for StandardCacheHeader compliance.
   @Test
   fun testHeader_evictAfterRead() {
@@ -0,0 +1,154 @@
+package com.apollographql.apollo.cache.normalized.lru
+
+import com.apollographql.apollo.cache.ApolloCacheHeaders
+import com.apollographql.apollo.cache.CacheHeaders
+import com.apollographql.apollo.cache.normalized.CacheKey
+import com.apollographql.apollo.cache.normalized.NormalizedCache
+import com.apollographql.apollo.cache.normalized.Record
+import com.apollographql.apollo.cache.normalized.RecordFieldJsonAdapter
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import java.util.concurrent.TimeUnit
+
+class TinyLfuNormalizedCacheTest {
+  private val basicFieldAdapter = RecordFieldJsonAdapter.create()
+
+  @Test
+  fun testSaveAndLoad_singleRecord() {
+    val cache = TinyLfuNormalizedCacheFactory(EvictionPolicy.builder().maxEntries(10).build()).create(basicFieldAdapter)
+    val testRecord = createTestRecord("1")
+    cache.merge(testRecord, CacheHeaders.NONE)
+
+    val cacheRecord = requireNotNull(cache.loadRecord(testRecord.key(), CacheHeaders.NONE))
+    assertThat(cacheRecord.key()).isEqualTo(testRecord.key())
+    assertThat(cacheRecord.field("a")).isEqualTo(testRecord.field("a"))
+  }
+
+  @Test
+  fun testMerge_changedKeys() {
+    val cache = TinyLfuNormalizedCacheFactory(EvictionPolicy.NO_EVICTION).create(basicFieldAdapter)
+    cache.merge(createTestRecord("1"), CacheHeaders.NONE)
+
+    val changedKeys = cache.merge(Record.builder("key1").addField("a", "updated").build(), CacheHeaders.NONE)
+    assertThat(changedKeys).containsExactly("key1.a")
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)!!.field("a")).isEqualTo("updated")
+  }
+
+  @Test
+  fun testEviction_frequentRecordsSurviveScan() {
+    val cache = TinyLfuNormalizedCacheFactory(EvictionPolicy.builder().maxEntries(100).build()).create(basicFieldAdapter)
+    for (i in 0 until 50) {
+      cache.merge(createTestRecord("hot$i"), CacheHeaders.NONE)
+    }
+    repeat(10) {
+      for (i in 0 until 50) {
+        assertThat(cache.loadRecord("keyhot$i", CacheHeaders.NONE)).isNotNull()
+      }
+    }
+
+    // A scan of records that are read only once must not flush out the frequently read ones
+    for (i in 0 until 1000) {
+      cache.merge(createTestRecord("cold$i"), CacheHeaders.NONE)
+    }
+
+    val survivors = (0 until 50).count { cache.loadRecord("keyhot$it", CacheHeaders.NONE) != null }
+    assertThat(survivors).isAtLeast(45)
+    assertThat(cache.dump()[TinyLfuNormalizedCache::class.java]!!.size).isAtMost(100)
+  }
+
+  @Test
+  fun testEviction_maxSizeBytes() {
+    val cache = TinyLfuNormalizedCacheFactory(EvictionPolicy.builder().maxSizeBytes(2000).build()).create(basicFieldAdapter)
+    cache.merge(Record.builder("key1").addField("a", String(ByteArray(1100))).build(), CacheHeaders.NONE)
+    cache.merge(Record.builder("key2").addField("a", String(ByteArray(1100))).build(), CacheHeaders.NONE)
+
+    val records = cache.dump()[TinyLfuNormalizedCache::class.java]!!
+    assertThat(records.size).isEqualTo(1)
+  }
+
+  @Test
+  fun testNegativeCache() {
+    var now = 0L
+    val nextCache = CountingNormalizedCache()
+    val cache = TinyLfuNormalizedCache(EvictionPolicy.NO_EVICTION, TimeUnit.SECONDS.toNanos(5)) { now }
+    cache.chain(nextCache)
+
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)).isNull()
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)).isNull()
+    assertThat(nextCache.loads).isEqualTo(1)
+
+    now += TimeUnit.SECONDS.toNanos(6)
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)).isNull()
+    assertThat(nextCache.loads).isEqualTo(2)
+  }
+
+  @Test
+  fun testNegativeCache_invalidatedByMerge() {
+    val nextCache = CountingNormalizedCache()
+    val cache = TinyLfuNormalizedCache(EvictionPolicy.NO_EVICTION, TimeUnit.SECONDS.toNanos(5)) { 0L }
+    cache.chain(nextCache)
+
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)).isNull()
+    cache.merge(createTestRecord("1"), CacheHeaders.NONE)
+    cache.clearCurrentCache()
+
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)).isNotNull()
+    assertThat(nextCache.loads).isEqualTo(2)
+  }
+
+  @Test
+  fun testExpireAfterWrite() {
+    var now = 0L
+    val policy = EvictionPolicy.builder().expireAfterWrite(1, TimeUnit.MINUTES).build()
+    val cache = TinyLfuNormalizedCache(policy, 0) { now }
+    cache.merge(createTestRecord("1"), CacheHeaders.NONE)
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)).isNotNull()
+
+    now += TimeUnit.MINUTES.toNanos(2)
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)).isNull()
+  }
+
+  @Test
+  fun testHeader_evictAfterRead() {
+    val cache = TinyLfuNormalizedCacheFactory(EvictionPolicy.builder().maxEntries(10).build()).create(basicFieldAdapter)
+    cache.merge(createTestRecord("1"), CacheHeaders.NONE)
+    val cacheHeaders = CacheHeaders.builder().addHeader(ApolloCacheHeaders.EVICT_AFTER_READ, "true").build()
+
+    assertThat(cache.loadRecord("key1", cacheHeaders)).isNotNull()
+    assertThat(cache.loadRecord("key1", cacheHeaders)).isNull()
+  }
+
+  @Test
+  fun testRemove() {
+    val cache = TinyLfuNormalizedCacheFactory(EvictionPolicy.builder().maxEntries(10).build()).create(basicFieldAdapter)
+    cache.merge(createTestRecord("1"), CacheHeaders.NONE)
+
+    assertThat(cache.remove(CacheKey.from("key1"))).isTrue()
+    assertThat(cache.loadRecord("key1", CacheHeaders.NONE)).isNull()
+  }
+
+  private fun createTestRecord(id: String): Record =
+      Record.builder("key$id")
+          .addField("a", "stringValueA$id")
+          .addField("b", "stringValueB$id")
+          .build()
+
+  private class CountingNormalizedCache : NormalizedCache() {
+    private val records = mutableMapOf<String, Record>()
+    var loads = 0
+
+    override fun loadRecord(key: String, cacheHeaders: CacheHeaders): Record? {
+      loads++
+      return records[key]
+    }
+
+    override fun performMerge(apolloRecord: Record, cacheHeaders: CacheHeaders): Set<String> {
+      records[apolloRecord.key()] = apolloRecord
+      return apolloRecord.keys()
+    }
+
+    override fun clearAll() = records.clear()
+
+    override fun remove(cacheKey: CacheKey, cascade: Boolean): Boolean = records.remove(cacheKey.key) != null
+  }
+}
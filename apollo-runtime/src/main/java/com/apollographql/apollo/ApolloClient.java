@@ -19,23 +19,32 @@ import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
 import com.apollographql.apollo.cache.normalized.NormalizedCache;
 import com.apollographql.apollo.cache.normalized.NormalizedCacheFactory;
 import com.apollographql.apollo.cache.normalized.RecordFieldJsonAdapter;
+import com.apollographql.apollo.cache.normalized.StreamingCacheKeyResolver;
 import com.apollographql.apollo.fetcher.ApolloResponseFetchers;
 import com.apollographql.apollo.fetcher.ResponseFetcher;
 import com.apollographql.apollo.interceptor.ApolloInterceptor;
 import com.apollographql.apollo.internal.ApolloCallTracker;
+import com.apollographql.apollo.internal.ApolloPrefetchBatch;
 import com.apollographql.apollo.internal.RealApolloCall;
 import com.apollographql.apollo.internal.RealApolloPrefetch;
 import com.apollographql.apollo.internal.RealApolloSubscriptionCall;
+import com.apollographql.apollo.internal.SubscriptionCacheWriteBatcher;
+import com.apollographql.apollo.internal.interceptor.ApolloHttpBatcher;
+import com.apollographql.apollo.internal.response.ParallelNormalization;
 import com.apollographql.apollo.internal.ResponseFieldMapperFactory;
 import com.apollographql.apollo.internal.RealApolloStore;
 import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
+import com.apollographql.apollo.cache.normalized.internal.StreamingResponseNormalizer;
 import com.apollographql.apollo.internal.subscription.NoOpSubscriptionManager;
 import com.apollographql.apollo.internal.subscription.RealSubscriptionManager;
 import com.apollographql.apollo.internal.subscription.SubscriptionManager;
+import com.apollographql.apollo.internal.util.Cancelable;
+import com.apollographql.apollo.request.AutoPersistedQueryState;
 import com.apollographql.apollo.subscription.OnSubscriptionManagerStateChangeListener;
 import com.apollographql.apollo.subscription.SubscriptionConnectionParams;
 import com.apollographql.apollo.subscription.SubscriptionConnectionParamsProvider;
 import com.apollographql.apollo.subscription.SubscriptionManagerState;
+import com.apollographql.apollo.subscription.SubscriptionReconnectPolicy;
 import com.apollographql.apollo.subscription.SubscriptionTransport;
 import kotlin.jvm.functions.Function0;
 import okhttp3.Call;
@@ -53,6 +62,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -97,6 +107,12 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
   private final SubscriptionManager subscriptionManager;
   private final boolean useHttpGetMethodForQueries;
   private final boolean useHttpGetMethodForPersistedQueries;
+  private final SubscriptionCacheWriteBatcher subscriptionCacheWriteBatcher;
+  private final ApolloHttpBatcher httpBatcher;
+  private final long requestCompressionThreshold;
+  private final AutoPersistedQueryState autoPersistedQueryState;
+  private final ParallelNormalization parallelNormalization;
+  private final StreamingResponseNormalizer streamingNormalizer;
 
   ApolloClient(HttpUrl serverUrl,
       Call.Factory httpCallFactory,
@@ -112,7 +128,13 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
       boolean enableAutoPersistedQueries,
       SubscriptionManager subscriptionManager,
       boolean useHttpGetMethodForQueries,
-      boolean useHttpGetMethodForPersistedQueries) {
+      boolean useHttpGetMethodForPersistedQueries,
+      SubscriptionCacheWriteBatcher subscriptionCacheWriteBatcher,
+      ApolloHttpBatcher httpBatcher,
+      long requestCompressionThreshold,
+      AutoPersistedQueryState autoPersistedQueryState,
+      ParallelNormalization parallelNormalization,
+      StreamingResponseNormalizer streamingNormalizer) {
     this.serverUrl = serverUrl;
     this.httpCallFactory = httpCallFactory;
     this.httpCache = httpCache;
@@ -128,6 +150,12 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
     this.subscriptionManager = subscriptionManager;
     this.useHttpGetMethodForQueries = useHttpGetMethodForQueries;
     this.useHttpGetMethodForPersistedQueries = useHttpGetMethodForPersistedQueries;
+    this.subscriptionCacheWriteBatcher = subscriptionCacheWriteBatcher;
+    this.httpBatcher = httpBatcher;
+    this.requestCompressionThreshold = requestCompressionThreshold;
+    this.autoPersistedQueryState = autoPersistedQueryState;
+    this.parallelNormalization = parallelNormalization;
+    this.streamingNormalizer = streamingNormalizer;
   }
 
   @Override
@@ -153,14 +181,37 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
   public <D extends Operation.Data, T, V extends Operation.Variables> ApolloPrefetch prefetch(
       @NotNull Operation<D, T, V> operation) {
     return new RealApolloPrefetch(operation, serverUrl, httpCallFactory, scalarTypeAdapters, dispatcher, logger,
-        tracker);
+        tracker, apolloStore, responseFieldMapperFactory, ApolloPrefetch.Target.HTTP_CACHE, streamingNormalizer);
+  }
+
+  /**
+   * Prefetches a list of operations with at most {@code maxConcurrency} of them in flight at any time.
+   *
+   * @param operations     the operations to prefetch
+   * @param target         the cache the responses are stored in
+   * @param maxConcurrency the maximum number of concurrent prefetches
+   * @param callback       notified once all the prefetches have completed, with the first failure if any
+   * @return a handle to cancel the prefetches that have not completed yet
+   */
+  @NotNull public Cancelable prefetch(@NotNull List<? extends Operation> operations,
+      @NotNull ApolloPrefetch.Target target, int maxConcurrency, @Nullable ApolloPrefetch.Callback callback) {
+    checkNotNull(operations, "operations == null");
+    checkNotNull(target, "target == null");
+    List<ApolloPrefetch> prefetches = new ArrayList<>(operations.size());
+    for (Operation operation : operations) {
+      prefetches.add(new RealApolloPrefetch(operation, serverUrl, httpCallFactory, scalarTypeAdapters, dispatcher,
+          logger, tracker, apolloStore, responseFieldMapperFactory, target, streamingNormalizer));
+    }
+    ApolloPrefetchBatch batch = new ApolloPrefetchBatch(prefetches, maxConcurrency, callback);
+    batch.enqueue();
+    return batch;
   }
 
   @Override
   public <D extends Subscription.Data, T, V extends Subscription.Variables> ApolloSubscriptionCall<T> subscribe(
       @NotNull Subscription<D, T, V> subscription) {
     return new RealApolloSubscriptionCall<>(subscription, subscriptionManager, apolloStore, ApolloSubscriptionCall.CachePolicy.NO_CACHE,
-        dispatcher, responseFieldMapperFactory, logger);
+        dispatcher, responseFieldMapperFactory, logger, subscriptionCacheWriteBatcher);
   }
 
   /**
@@ -363,6 +414,10 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
         .enableAutoPersistedQueries(enableAutoPersistedQueries)
         .useHttpGetMethodForQueries(useHttpGetMethodForQueries)
         .useHttpGetMethodForPersistedQueries(useHttpGetMethodForPersistedQueries)
+        .httpBatcher(httpBatcher)
+        .requestCompressionThreshold(requestCompressionThreshold)
+        .autoPersistedQueryState(autoPersistedQueryState)
+        .parallelNormalization(parallelNormalization)
         .build();
   }
 
@@ -389,6 +444,17 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
     SubscriptionConnectionParamsProvider subscriptionConnectionParams = new SubscriptionConnectionParamsProvider.Const(
         new SubscriptionConnectionParams());
     long subscriptionHeartbeatTimeout = -1;
+    SubscriptionReconnectPolicy subscriptionReconnectPolicy = SubscriptionReconnectPolicy.NEVER;
+    long subscriptionCacheWriteWindow = -1;
+    int subscriptionCacheWriteMaxEvents;
+    long httpBatchingWindow = -1;
+    int httpBatchingMaxBatchSize;
+    long requestCompressionThreshold = -1;
+    AutoPersistedQueryState autoPersistedQueryState;
+    ParallelNormalization parallelNormalization;
+    StreamingCacheKeyResolver streamingCacheKeyResolver = StreamingCacheKeyResolver.DEFAULT;
+    int streamingRecordsPerTransaction = 100;
+    int memoizedDependentKeys;
     boolean useHttpGetMethodForQueries;
     boolean useHttpGetMethodForPersistedQueries;
 
@@ -411,6 +477,11 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
       subscriptionManager = apolloClient.subscriptionManager;
       useHttpGetMethodForQueries = apolloClient.useHttpGetMethodForQueries;
       useHttpGetMethodForPersistedQueries = apolloClient.useHttpGetMethodForPersistedQueries;
+      requestCompressionThreshold = apolloClient.requestCompressionThreshold;
+      autoPersistedQueryState = apolloClient.autoPersistedQueryState;
+      parallelNormalization = apolloClient.parallelNormalization;
+      streamingCacheKeyResolver = apolloClient.streamingNormalizer.cacheKeyResolver();
+      streamingRecordsPerTransaction = apolloClient.streamingNormalizer.recordsPerFlush();
     }
 
     /**
@@ -489,6 +560,26 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
       return this;
     }
 
+    /**
+     * <p>Keeps the responses read from the normalized cache per operation and variables, so that reading the same
+     * operation again returns the same response without reading the cache until one of the records or fields it
+     * depends on is changed through the {@link ApolloStore}. The least recently read responses are dropped once the
+     * kept responses depend on more than {@code maxDependentKeys} keys in total. By default responses are not kept.</p>
+     *
+     * <p>Only reads without {@link CacheHeaders} are memoized. Records evicted or expired by the normalized cache itself
+     * do not drop the responses depending on them.</p>
+     *
+     * @param maxDependentKeys maximum number of dependent keys of the kept responses
+     * @return The {@link Builder} object to be used for chaining method calls
+     */
+    public Builder cacheResponseMemoization(int maxDependentKeys) {
+      if (maxDependentKeys <= 0) {
+        throw new IllegalArgumentException("maxDependentKeys <= 0");
+      }
+      this.memoizedDependentKeys = maxDependentKeys;
+      return this;
+    }
+
     /**
      * Set the type adapter to use for serializing and de-serializing custom GraphQL scalar types.
      *
@@ -633,6 +724,131 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
       return this;
     }
 
+    /**
+     * <p>Sets up the policy deciding whether and when to reconnect to the subscription server after a transport
+     * failure, see {@link SubscriptionReconnectPolicy.ExponentialBackoff}. Active subscriptions are started again with
+     * their original ids once reconnected. By default subscriptions fail with the transport and are not
+     * reconnected.</p>
+     *
+     * @param reconnectPolicy the reconnection policy
+     * @return The {@link Builder} object to be used for chaining method calls
+     */
+    public Builder subscriptionReconnectPolicy(@NotNull SubscriptionReconnectPolicy reconnectPolicy) {
+      this.subscriptionReconnectPolicy = checkNotNull(reconnectPolicy, "reconnectPolicy is null");
+      return this;
+    }
+
+    /**
+     * <p>Enables batched cache writes for subscriptions. Instead of a store transaction and a publish per subscription
+     * event, the records of the events received within {@code window}, up to {@code maxEvents} events, are merged in a
+     * single transaction and their changed keys published at once. Responses are still delivered to the subscription
+     * callbacks as soon as they are received. The held records are written without waiting for the window when a
+     * subscription stops or the subscriptions are disabled. By default each event is written on its own.</p>
+     *
+     * @param window    maximum time the records of an event are held before being written
+     * @param timeUnit  time unit
+     * @param maxEvents maximum number of events written in a single transaction
+     * @return The {@link Builder} object to be used for chaining method calls
+     */
+    public Builder subscriptionCacheWriteBatching(long window, @NotNull TimeUnit timeUnit, int maxEvents) {
+      checkNotNull(timeUnit, "timeUnit is null");
+      if (window <= 0) {
+        throw new IllegalArgumentException("window <= 0");
+      }
+      if (maxEvents <= 0) {
+        throw new IllegalArgumentException("maxEvents <= 0");
+      }
+      this.subscriptionCacheWriteWindow = Math.max(timeUnit.toMillis(window), 1);
+      this.subscriptionCacheWriteMaxEvents = maxEvents;
+      return this;
+    }
+
+    /**
+     * <p>Enables HTTP batching. Instead of an HTTP request per operation, the operations of the calls enqueued within
+     * {@code window}, up to {@code maxBatchSize} operations, are sent in a single request whose body is the JSON array of
+     * their request bodies. The server must support batching and respond with the JSON array of their responses, in the
+     * same order. By default each operation is sent on its own.</p>
+     *
+     * <p>Operations sent with HTTP GET, with file uploads or with request headers are never batched, nor are queries when
+     * an HTTP cache is set. Batching can be disabled for a call with the {@link
+     * com.apollographql.apollo.request.ApolloRequestHeaders#DO_NOT_BATCH} request header.</p>
+     *
+     * @param window       maximum time an operation waits for other operations before its batch is sent
+     * @param timeUnit     time unit
+     * @param maxBatchSize maximum number of operations sent in a single request
+     * @return The {@link Builder} object to be used for chaining method calls
+     */
+    public Builder httpBatching(long window, @NotNull TimeUnit timeUnit, int maxBatchSize) {
+      checkNotNull(timeUnit, "timeUnit is null");
+      if (window <= 0) {
+        throw new IllegalArgumentException("window <= 0");
+      }
+      if (maxBatchSize <= 0) {
+        throw new IllegalArgumentException("maxBatchSize <= 0");
+      }
+      this.httpBatchingWindow = Math.max(timeUnit.toMillis(window), 1);
+      this.httpBatchingMaxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * <p>Enables gzip compression of the HTTP POST request bodies of at least {@code minBodySize} bytes, sent with a
+     * {@code Content-Encoding: gzip} header. The server must support compressed requests. Request bodies with file
+     * uploads are never compressed. By default request bodies are not compressed.</p>
+     *
+     * @param minBodySize minimum size in bytes of the request bodies to compress
+     * @return The {@link Builder} object to be used for chaining method calls
+     */
+    public Builder requestCompression(long minBodySize) {
+      if (minBodySize < 0) {
+        throw new IllegalArgumentException("minBodySize < 0");
+      }
+      this.requestCompressionThreshold = minBodySize;
+      return this;
+    }
+
+    /**
+     * <p>Enables parallel normalization of network responses. The lists of more than {@code partitionSize} elements are
+     * read and normalized in partitions of {@code partitionSize} elements on {@code forkJoinPool}, and the records are
+     * written to the normalized cache {@code recordsPerTransaction} at a time instead of in a single transaction. The
+     * records are the same as the ones of a sequential normalization. By default responses are normalized on the thread
+     * that parses them and written in a single transaction.</p>
+     *
+     * <p>The {@link CacheKeyResolver} and the custom type adapters must be thread safe. The cache may be read between
+     * two chunks of records, so watchers and cache reads may observe a partially written response.</p>
+     *
+     * @param forkJoinPool          pool the partitions are read on
+     * @param partitionSize         maximum number of list elements read by a single task
+     * @param recordsPerTransaction maximum number of records written in a single cache transaction
+     * @return The {@link Builder} object to be used for chaining method calls
+     */
+    public Builder parallelNormalization(@NotNull ForkJoinPool forkJoinPool, int partitionSize,
+        int recordsPerTransaction) {
+      this.parallelNormalization = new ParallelNormalization(checkNotNull(forkJoinPool, "forkJoinPool is null"),
+          partitionSize, recordsPerTransaction);
+      return this;
+    }
+
+    /**
+     * <p>Sets how responses prefetched with {@link ApolloPrefetch.Target#NORMALIZED_CACHE_STREAMING} are normalized.
+     * Their objects are keyed by {@code cacheKeyResolver} from the id fields read before their object and list fields,
+     * and their records are merged into the normalized cache {@code recordsPerTransaction} at a time. By default objects
+     * are keyed by their path and records are merged 100 at a time.</p>
+     *
+     * @param cacheKeyResolver      resolves the cache key of an object from its id fields
+     * @param recordsPerTransaction maximum number of records merged in a single cache transaction
+     * @return The {@link Builder} object to be used for chaining method calls
+     */
+    public Builder streamingNormalization(@NotNull StreamingCacheKeyResolver cacheKeyResolver,
+        int recordsPerTransaction) {
+      this.streamingCacheKeyResolver = checkNotNull(cacheKeyResolver, "cacheKeyResolver is null");
+      if (recordsPerTransaction <= 0) {
+        throw new IllegalArgumentException("recordsPerTransaction <= 0");
+      }
+      this.streamingRecordsPerTransaction = recordsPerTransaction;
+      return this;
+    }
+
     /**
      * @param enableAutoPersistedSubscriptions True if ApolloClient should enable Automatic Persisted Subscriptions support. Default: false.
      * @return The {@link Builder} object to be used for chaining method calls
@@ -642,6 +858,18 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
       return this;
     }
 
+    /**
+     * Sets the state of the Automatic Persisted Queries of the server, to share it with other clients or persist it
+     * across process restarts. By default each client keeps its own state in memory.
+     *
+     * @param autoPersistedQueryState what is known about the persisted queries of the server
+     * @return The {@link Builder} object to be used for chaining method calls
+     */
+    public Builder autoPersistedQueryState(@NotNull AutoPersistedQueryState autoPersistedQueryState) {
+      this.autoPersistedQueryState = checkNotNull(autoPersistedQueryState, "autoPersistedQueryState is null");
+      return this;
+    }
+
     /**
      * Sets flag whether GraphQL queries should be sent via HTTP GET requests.
      *
@@ -698,7 +926,8 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
       Optional<CacheKeyResolver> cacheKeyResolver = this.cacheKeyResolver;
       if (cacheFactory.isPresent() && cacheKeyResolver.isPresent()) {
         final NormalizedCache normalizedCache = cacheFactory.get().createChain(RecordFieldJsonAdapter.create());
-        apolloStore = new RealApolloStore(normalizedCache, cacheKeyResolver.get(), scalarTypeAdapters, dispatcher, apolloLogger);
+        apolloStore = new RealApolloStore(normalizedCache, cacheKeyResolver.get(), scalarTypeAdapters, dispatcher,
+            apolloLogger, memoizedDependentKeys);
       }
 
       SubscriptionManager subscriptionManager = this.subscriptionManager;
@@ -712,7 +941,28 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
               }
             };
         subscriptionManager = new RealSubscriptionManager(scalarTypeAdapters, subscriptionTransportFactory.get(),
-            subscriptionConnectionParams, dispatcher, subscriptionHeartbeatTimeout, responseNormalizer, enableAutoPersistedSubscriptions);
+            subscriptionConnectionParams, dispatcher, subscriptionHeartbeatTimeout, responseNormalizer, enableAutoPersistedSubscriptions,
+            subscriptionReconnectPolicy);
+      }
+
+      SubscriptionCacheWriteBatcher subscriptionCacheWriteBatcher = null;
+      if (subscriptionCacheWriteWindow > 0) {
+        subscriptionCacheWriteBatcher = new SubscriptionCacheWriteBatcher(apolloStore, dispatcher, subscriptionCacheWriteWindow,
+            subscriptionCacheWriteMaxEvents, apolloLogger);
+        final SubscriptionCacheWriteBatcher finalSubscriptionCacheWriteBatcher = subscriptionCacheWriteBatcher;
+        subscriptionManager.addOnStateChangeListener(new OnSubscriptionManagerStateChangeListener() {
+          @Override public void onStateChange(SubscriptionManagerState fromState, SubscriptionManagerState toState) {
+            if (toState == SubscriptionManagerState.STOPPED) {
+              finalSubscriptionCacheWriteBatcher.dispatchFlush();
+            }
+          }
+        });
+      }
+
+      ApolloHttpBatcher httpBatcher = null;
+      if (httpBatchingWindow > 0) {
+        httpBatcher = new ApolloHttpBatcher(serverUrl, callFactory, scalarTypeAdapters, httpBatchingWindow, httpBatchingMaxBatchSize,
+            dispatcher, apolloLogger);
       }
 
       return new ApolloClient(serverUrl,
@@ -729,7 +979,13 @@ public final class ApolloClient implements ApolloQueryCall.Factory, ApolloMutati
           enableAutoPersistedQueries,
           subscriptionManager,
           useHttpGetMethodForQueries,
-          useHttpGetMethodForPersistedQueries);
+          useHttpGetMethodForPersistedQueries,
+          subscriptionCacheWriteBatcher,
+          httpBatcher,
+          requestCompressionThreshold,
+          autoPersistedQueryState != null ? autoPersistedQueryState : new AutoPersistedQueryState(),
+          parallelNormalization,
+          new StreamingResponseNormalizer(streamingCacheKeyResolver, streamingRecordsPerTransaction));
     }
 
     private Executor defaultDispatcher() {
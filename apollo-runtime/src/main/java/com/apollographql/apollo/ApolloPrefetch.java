@@ -23,6 +23,11 @@ import okhttp3.Response;
  * <p>Use this object for use cases when the data needs to be fetched, but is not required for immediate consumption.
  * e.g.background update/syncing.</p>
  *
+ * <p>With {@link Target#NORMALIZED_CACHE} the response is normalized into the {@link
+ * com.apollographql.apollo.cache.normalized.ApolloStore} instead, so that calls using a normalized cache
+ * {@link com.apollographql.apollo.fetcher.ResponseFetcher} are served from the prefetched data. With {@link
+ * Target#NORMALIZED_CACHE_STREAMING} it is normalized as it is read, for responses too large to be parsed in memory.</p>
+ *
  * <p>Note: In order to execute the request again, call the {@link ApolloPrefetch#clone()} method which creates a new
  * {@link ApolloPrefetch} object.</p>
  */
@@ -43,6 +48,14 @@ public interface ApolloPrefetch extends Cancelable {
    */
   ApolloPrefetch clone();
 
+  /**
+   * Creates a new, identical ApolloPrefetch to this one that stores the fetched response in the given cache.
+   *
+   * @param target the cache the response is stored in, {@link Target#HTTP_CACHE} by default
+   * @return The ApolloPrefetch object with the target
+   */
+  @NotNull ApolloPrefetch target(@NotNull Target target);
+
   /**
    * Returns GraphQL operation this call executes
    *
@@ -59,6 +72,35 @@ public interface ApolloPrefetch extends Cancelable {
    */
   @Override void cancel();
 
+  /**
+   * The cache prefetched responses are stored in.
+   */
+  enum Target {
+    /**
+     * The raw response is stored in the HTTP cache and parsed by the call that reads it.
+     */
+    HTTP_CACHE,
+
+    /**
+     * The response is parsed and its records are merged into the normalized cache in a single write transaction.
+     * Watchers are not notified of the merged records.
+     */
+    NORMALIZED_CACHE,
+
+    /**
+     * The response is normalized as it is read by the models of the operation, without being parsed into a response
+     * map, and its records are merged into the normalized cache in several write transactions. The elements of its
+     * lists are not kept once normalized, so that large responses do not have to fit in memory, except the ones with
+     * fields selected by a fragment only, until the fragment is read. Objects are keyed by the
+     * {@link com.apollographql.apollo.cache.normalized.StreamingCacheKeyResolver} of the client, whose id fields must
+     * be selected before the object and list fields, fields are stored like with {@link #NORMALIZED_CACHE}. Watchers
+     * are not notified of the merged records.
+     *
+     * @see ApolloClient.Builder#streamingNormalization
+     */
+    NORMALIZED_CACHE_STREAMING
+  }
+
   /**
    * Communicates responses from the server.
    */
@@ -17,6 +17,14 @@ public interface ApolloQueryWatcher<T> extends Cancelable {
    */
   @NotNull ApolloQueryWatcher<T> refetchResponseFetcher(@NotNull ResponseFetcher fetcher);
 
+  /**
+   * @param patchFieldChanges Whether the changes to scalar fields of the cache records the response was read from
+   * are applied to copies of those records, the response being then read again from the copies rather than from the
+   * cache. Other changes refetch the call. It only applies to the watchers refetching from the cache, and the copies
+   * only see the changes that are published.
+   */
+  @NotNull ApolloQueryWatcher<T> patchFieldChanges(boolean patchFieldChanges);
+
   /**
    * Returns GraphQL watched operation.
    *
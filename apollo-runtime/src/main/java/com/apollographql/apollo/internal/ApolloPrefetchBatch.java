@@ -0,0 +1,118 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.ApolloPrefetch;
+import com.apollographql.apollo.exception.ApolloException;
+import com.apollographql.apollo.internal.util.Cancelable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * Runs a list of {@link ApolloPrefetch}es with at most {@code maxConcurrency} of them in flight, starting the next one
+ * as soon as one completes.
+ *
+ * The callback is notified once all the prefetches have completed: with {@link ApolloPrefetch.Callback#onSuccess()}
+ * if all of them succeeded, with the first failure otherwise. Like for a single prefetch, a canceled batch does not
+ * notify its callback.
+ */
+public final class ApolloPrefetchBatch implements Cancelable {
+  private final Deque<ApolloPrefetch> pending;
+  private final List<ApolloPrefetch> inFlight = new ArrayList<>();
+  private final int maxConcurrency;
+  private final ApolloPrefetch.Callback callback;
+  private int remaining;
+  private ApolloException firstFailure;
+  private boolean canceled;
+
+  public ApolloPrefetchBatch(@NotNull List<ApolloPrefetch> prefetches, int maxConcurrency,
+      @Nullable ApolloPrefetch.Callback callback) {
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("maxConcurrency <= 0");
+    }
+    this.pending = new ArrayDeque<>(checkNotNull(prefetches, "prefetches == null"));
+    this.remaining = prefetches.size();
+    this.maxConcurrency = maxConcurrency;
+    this.callback = callback;
+  }
+
+  public void enqueue() {
+    List<ApolloPrefetch> started = new ArrayList<>();
+    boolean empty;
+    synchronized (this) {
+      empty = remaining == 0;
+      while (!pending.isEmpty() && inFlight.size() < maxConcurrency) {
+        ApolloPrefetch prefetch = pending.poll();
+        inFlight.add(prefetch);
+        started.add(prefetch);
+      }
+    }
+    if (empty && callback != null) {
+      callback.onSuccess();
+    }
+    for (ApolloPrefetch prefetch : started) {
+      start(prefetch);
+    }
+  }
+
+  @Override public void cancel() {
+    List<ApolloPrefetch> canceledPrefetches;
+    synchronized (this) {
+      canceled = true;
+      pending.clear();
+      canceledPrefetches = new ArrayList<>(inFlight);
+    }
+    for (ApolloPrefetch prefetch : canceledPrefetches) {
+      prefetch.cancel();
+    }
+  }
+
+  @Override public synchronized boolean isCanceled() {
+    return canceled;
+  }
+
+  private void start(final ApolloPrefetch prefetch) {
+    prefetch.enqueue(new ApolloPrefetch.Callback() {
+      @Override public void onSuccess() {
+        onCompleted(prefetch, null);
+      }
+
+      @Override public void onFailure(@NotNull ApolloException e) {
+        onCompleted(prefetch, e);
+      }
+    });
+  }
+
+  void onCompleted(ApolloPrefetch prefetch, @Nullable ApolloException e) {
+    ApolloPrefetch next;
+    boolean finished;
+    ApolloException failure;
+    synchronized (this) {
+      inFlight.remove(prefetch);
+      if (firstFailure == null) {
+        firstFailure = e;
+      }
+      failure = firstFailure;
+      next = canceled ? null : pending.poll();
+      if (next != null) {
+        inFlight.add(next);
+      }
+      finished = --remaining == 0 && !canceled;
+    }
+    if (next != null) {
+      start(next);
+    }
+    if (finished && callback != null) {
+      if (failure != null) {
+        callback.onFailure(failure);
+      } else {
+        callback.onSuccess();
+      }
+    }
+  }
+}
@@ -23,10 +23,14 @@ import com.apollographql.apollo.fetcher.ResponseFetcher;
 import com.apollographql.apollo.interceptor.ApolloInterceptor;
 import com.apollographql.apollo.interceptor.ApolloInterceptorChain;
 import com.apollographql.apollo.internal.interceptor.ApolloAutoPersistedQueryInterceptor;
+import com.apollographql.apollo.internal.interceptor.ApolloBatchingInterceptor;
+import com.apollographql.apollo.internal.interceptor.ApolloHttpBatcher;
 import com.apollographql.apollo.internal.interceptor.ApolloCacheInterceptor;
 import com.apollographql.apollo.internal.interceptor.ApolloParseInterceptor;
 import com.apollographql.apollo.internal.interceptor.ApolloServerInterceptor;
 import com.apollographql.apollo.internal.interceptor.RealApolloInterceptorChain;
+import com.apollographql.apollo.internal.response.ParallelNormalization;
+import com.apollographql.apollo.request.AutoPersistedQueryState;
 import com.apollographql.apollo.request.RequestHeaders;
 import okhttp3.Call;
 import okhttp3.HttpUrl;
@@ -74,6 +78,10 @@ public final class RealApolloCall<T> implements ApolloQueryCall<T>, ApolloMutati
   final Optional<Operation.Data> optimisticUpdates;
   final boolean useHttpGetMethodForQueries;
   final boolean useHttpGetMethodForPersistedQueries;
+  final ApolloHttpBatcher httpBatcher;
+  final long requestCompressionThreshold;
+  final AutoPersistedQueryState autoPersistedQueryState;
+  final ParallelNormalization parallelNormalization;
 
   public static <T> Builder<T> builder() {
     return new Builder<>();
@@ -118,6 +126,10 @@ public final class RealApolloCall<T> implements ApolloQueryCall<T>, ApolloMutati
     useHttpGetMethodForQueries = builder.useHttpGetMethodForQueries;
     enableAutoPersistedQueries = builder.enableAutoPersistedQueries;
     useHttpGetMethodForPersistedQueries = builder.useHttpGetMethodForPersistedQueries;
+    httpBatcher = builder.httpBatcher;
+    requestCompressionThreshold = builder.requestCompressionThreshold;
+    autoPersistedQueryState = builder.autoPersistedQueryState;
+    parallelNormalization = builder.parallelNormalization;
     interceptorChain = prepareInterceptorChain(operation);
     optimisticUpdates = builder.optimisticUpdates;
 
@@ -314,6 +326,10 @@ public final class RealApolloCall<T> implements ApolloQueryCall<T>, ApolloMutati
         .refetchQueries(refetchQueries)
         .enableAutoPersistedQueries(enableAutoPersistedQueries)
         .useHttpGetMethodForPersistedQueries(useHttpGetMethodForPersistedQueries)
+        .httpBatcher(httpBatcher)
+        .requestCompressionThreshold(requestCompressionThreshold)
+        .autoPersistedQueryState(autoPersistedQueryState)
+        .parallelNormalization(parallelNormalization)
         .optimisticUpdates(optimisticUpdates);
   }
 
@@ -377,14 +393,21 @@ public final class RealApolloCall<T> implements ApolloQueryCall<T>, ApolloMutati
 
     List<ApolloInterceptor> interceptors = new ArrayList<>(applicationInterceptors);
     interceptors.add(responseFetcher.provideInterceptor(logger));
-    interceptors.add(new ApolloCacheInterceptor(apolloStore, responseFieldMapper, dispatcher, logger));
-    if (operation instanceof Query && enableAutoPersistedQueries) {
-      interceptors.add(new ApolloAutoPersistedQueryInterceptor(logger, useHttpGetMethodForPersistedQueries));
+    interceptors.add(new ApolloCacheInterceptor(apolloStore, responseFieldMapper, dispatcher, logger,
+        parallelNormalization));
+    // An operation generated without its query document can only be sent by its hash
+    if ((operation instanceof Query && enableAutoPersistedQueries) || operation.queryDocument().isEmpty()) {
+      interceptors.add(new ApolloAutoPersistedQueryInterceptor(logger, useHttpGetMethodForPersistedQueries, serverUrl,
+          autoPersistedQueryState));
     }
     interceptors.add(new ApolloParseInterceptor(httpCache, apolloStore.networkResponseNormalizer(), responseFieldMapper,
-        scalarTypeAdapters, logger));
+        scalarTypeAdapters, logger, parallelNormalization));
+    // Batched requests can not be stored in the HTTP cache
+    if (httpBatcher != null && !(operation instanceof Query && httpCache != null)) {
+      interceptors.add(new ApolloBatchingInterceptor(httpBatcher));
+    }
     interceptors.add(new ApolloServerInterceptor(serverUrl, httpCallFactory, httpCachePolicy, false, scalarTypeAdapters,
-        logger));
+        logger, requestCompressionThreshold));
 
     return new RealApolloInterceptorChain(interceptors);
   }
@@ -411,6 +434,10 @@ public final class RealApolloCall<T> implements ApolloQueryCall<T>, ApolloMutati
     Optional<Operation.Data> optimisticUpdates = Optional.absent();
     boolean useHttpGetMethodForQueries;
     boolean useHttpGetMethodForPersistedQueries;
+    ApolloHttpBatcher httpBatcher;
+    long requestCompressionThreshold = -1;
+    AutoPersistedQueryState autoPersistedQueryState = new AutoPersistedQueryState();
+    ParallelNormalization parallelNormalization;
 
     public Builder<T> operation(Operation operation) {
       this.operation = operation;
@@ -518,6 +545,26 @@ public final class RealApolloCall<T> implements ApolloQueryCall<T>, ApolloMutati
       return this;
     }
 
+    public Builder<T> httpBatcher(ApolloHttpBatcher httpBatcher) {
+      this.httpBatcher = httpBatcher;
+      return this;
+    }
+
+    public Builder<T> requestCompressionThreshold(long requestCompressionThreshold) {
+      this.requestCompressionThreshold = requestCompressionThreshold;
+      return this;
+    }
+
+    public Builder<T> autoPersistedQueryState(@NotNull AutoPersistedQueryState autoPersistedQueryState) {
+      this.autoPersistedQueryState = autoPersistedQueryState;
+      return this;
+    }
+
+    public Builder<T> parallelNormalization(@Nullable ParallelNormalization parallelNormalization) {
+      this.parallelNormalization = parallelNormalization;
+      return this;
+    }
+
     Builder() {
     }
 
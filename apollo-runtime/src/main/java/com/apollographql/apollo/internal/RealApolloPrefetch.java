@@ -6,12 +6,21 @@ import com.apollographql.apollo.api.ScalarTypeAdapters;
 import com.apollographql.apollo.api.cache.http.HttpCachePolicy;
 import com.apollographql.apollo.api.internal.ApolloLogger;
 import com.apollographql.apollo.api.internal.Optional;
+import com.apollographql.apollo.api.internal.json.BufferedSourceJsonReader;
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.ApolloStore;
+import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.internal.StreamingResponseNormalizer;
+import com.apollographql.apollo.cache.normalized.internal.Transaction;
+import com.apollographql.apollo.cache.normalized.internal.WriteableStore;
 import com.apollographql.apollo.exception.ApolloCanceledException;
 import com.apollographql.apollo.exception.ApolloException;
 import com.apollographql.apollo.exception.ApolloHttpException;
 import com.apollographql.apollo.exception.ApolloNetworkException;
 import com.apollographql.apollo.interceptor.ApolloInterceptor;
 import com.apollographql.apollo.interceptor.ApolloInterceptorChain;
+import com.apollographql.apollo.internal.interceptor.ApolloParseInterceptor;
 import com.apollographql.apollo.internal.interceptor.ApolloServerInterceptor;
 import com.apollographql.apollo.internal.interceptor.RealApolloInterceptorChain;
 import okhttp3.Call;
@@ -20,10 +29,15 @@ import okhttp3.Response;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
 import static com.apollographql.apollo.internal.CallState.ACTIVE;
 import static com.apollographql.apollo.internal.CallState.CANCELED;
 import static com.apollographql.apollo.internal.CallState.IDLE;
@@ -37,12 +51,18 @@ import static com.apollographql.apollo.internal.CallState.TERMINATED;
   final Executor dispatcher;
   final ApolloLogger logger;
   final ApolloCallTracker tracker;
+  final ApolloStore apolloStore;
+  final ResponseFieldMapperFactory responseFieldMapperFactory;
+  final Target target;
+  final StreamingResponseNormalizer streamingNormalizer;
   final ApolloInterceptorChain interceptorChain;
   final AtomicReference<CallState> state = new AtomicReference<>(IDLE);
   final AtomicReference<ApolloPrefetch.Callback> originalCallback = new AtomicReference<>();
 
   public RealApolloPrefetch(Operation operation, HttpUrl serverUrl, Call.Factory httpCallFactory,
-      ScalarTypeAdapters scalarTypeAdapters, Executor dispatcher, ApolloLogger logger, ApolloCallTracker callTracker) {
+      ScalarTypeAdapters scalarTypeAdapters, Executor dispatcher, ApolloLogger logger, ApolloCallTracker callTracker,
+      ApolloStore apolloStore, ResponseFieldMapperFactory responseFieldMapperFactory, Target target,
+      StreamingResponseNormalizer streamingNormalizer) {
     this.operation = operation;
     this.serverUrl = serverUrl;
     this.httpCallFactory = httpCallFactory;
@@ -50,10 +70,28 @@ import static com.apollographql.apollo.internal.CallState.TERMINATED;
     this.dispatcher = dispatcher;
     this.logger = logger;
     this.tracker = callTracker;
-    interceptorChain = new RealApolloInterceptorChain(Collections.<ApolloInterceptor>singletonList(
-        new ApolloServerInterceptor(serverUrl, httpCallFactory, HttpCachePolicy.NETWORK_ONLY, true, scalarTypeAdapters,
-            logger)
-    ));
+    this.apolloStore = apolloStore;
+    this.responseFieldMapperFactory = responseFieldMapperFactory;
+    this.target = target;
+    this.streamingNormalizer = streamingNormalizer;
+    if (target == Target.NORMALIZED_CACHE) {
+      interceptorChain = new RealApolloInterceptorChain(Arrays.<ApolloInterceptor>asList(
+          new ApolloParseInterceptor(null, apolloStore.networkResponseNormalizer(),
+              responseFieldMapperFactory.create(operation), scalarTypeAdapters, logger),
+          new ApolloServerInterceptor(serverUrl, httpCallFactory, HttpCachePolicy.NETWORK_ONLY, false,
+              scalarTypeAdapters, logger)
+      ));
+    } else if (target == Target.NORMALIZED_CACHE_STREAMING) {
+      interceptorChain = new RealApolloInterceptorChain(Collections.<ApolloInterceptor>singletonList(
+          new ApolloServerInterceptor(serverUrl, httpCallFactory, HttpCachePolicy.NETWORK_ONLY, false,
+              scalarTypeAdapters, logger)
+      ));
+    } else {
+      interceptorChain = new RealApolloInterceptorChain(Collections.<ApolloInterceptor>singletonList(
+          new ApolloServerInterceptor(serverUrl, httpCallFactory, HttpCachePolicy.NETWORK_ONLY, true,
+              scalarTypeAdapters, logger)
+      ));
+    }
   }
 
   @Override public void enqueue(@Nullable final Callback responseCallback) {
@@ -86,10 +124,14 @@ import static com.apollographql.apollo.internal.CallState.TERMINATED;
             logger.d("onResponse for prefetch operation: %s. No callback present.", operation().name().name());
             return;
           }
-          if (httpResponse.isSuccessful()) {
-            callback.get().onSuccess();
-          } else {
+          if (!httpResponse.isSuccessful()) {
             callback.get().onHttpError(new ApolloHttpException(httpResponse));
+          } else if (response.cacheRecords.isPresent() && !mergeRecords(response.cacheRecords.get())) {
+            callback.get().onFailure(new ApolloException("Failed to cache prefetched response"));
+          } else if (target == Target.NORMALIZED_CACHE_STREAMING && !streamRecords(httpResponse)) {
+            callback.get().onFailure(new ApolloException("Failed to cache prefetched response"));
+          } else {
+            callback.get().onSuccess();
           }
         } finally {
           httpResponse.close();
@@ -122,9 +164,59 @@ import static com.apollographql.apollo.internal.CallState.TERMINATED;
     };
   }
 
+  /**
+   * Merges the prefetched records in a single write transaction, without publishing the changed keys.
+   */
+  boolean mergeRecords(Collection<Record> records) {
+    try {
+      writeRecords(records);
+      return true;
+    } catch (Exception e) {
+      logger.e(e, "Failed to cache prefetched response for operation: %s", operation().name().name());
+      return false;
+    }
+  }
+
+  /**
+   * Normalizes the prefetched response as it is read, merging its records in a write transaction per flush, without
+   * publishing the changed keys.
+   */
+  boolean streamRecords(Response httpResponse) {
+    try {
+      streamingNormalizer.normalizeResponse(new BufferedSourceJsonReader(httpResponse.body().source()),
+          responseFieldMapperFactory.create(operation), operation.variables(), scalarTypeAdapters,
+          CacheKeyResolver.rootKeyForOperation(operation), new StreamingResponseNormalizer.RecordSink() {
+            @Override public void flush(@NotNull List<Record> records) {
+              writeRecords(records);
+            }
+          });
+      return true;
+    } catch (Exception e) {
+      logger.e(e, "Failed to cache prefetched response for operation: %s", operation().name().name());
+      return false;
+    }
+  }
+
+  void writeRecords(final Collection<Record> records) {
+    apolloStore.writeTransaction(new Transaction<WriteableStore, Set<String>>() {
+      @Nullable @Override public Set<String> execute(WriteableStore cache) {
+        Set<String> changedKeys = cache.merge(records, CacheHeaders.NONE);
+        // The changed keys are not published, watchers read their records again from the cache
+        if (!changedKeys.isEmpty() && apolloStore instanceof RealApolloStore) {
+          ((RealApolloStore) apolloStore).didChangeWithoutPublishing();
+        }
+        return changedKeys;
+      }
+    });
+  }
+
   @Override public ApolloPrefetch clone() {
+    return target(target);
+  }
+
+  @NotNull @Override public ApolloPrefetch target(@NotNull Target target) {
     return new RealApolloPrefetch(operation, serverUrl, httpCallFactory, scalarTypeAdapters, dispatcher, logger,
-        tracker);
+        tracker, apolloStore, responseFieldMapperFactory, checkNotNull(target, "target == null"), streamingNormalizer);
   }
 
   @Override public synchronized void cancel() {
@@ -6,7 +6,10 @@ import com.apollographql.apollo.api.Operation;
 import com.apollographql.apollo.api.Response;
 import com.apollographql.apollo.api.internal.ApolloLogger;
 import com.apollographql.apollo.api.internal.Optional;
+import com.apollographql.apollo.cache.CacheHeaders;
 import com.apollographql.apollo.cache.normalized.ApolloStore;
+import com.apollographql.apollo.cache.normalized.FieldChange;
+import com.apollographql.apollo.cache.normalized.Record;
 import com.apollographql.apollo.exception.ApolloCanceledException;
 import com.apollographql.apollo.exception.ApolloException;
 import com.apollographql.apollo.exception.ApolloHttpException;
@@ -18,6 +21,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -30,6 +35,7 @@ import static com.apollographql.apollo.internal.CallState.TERMINATED;
 final class RealApolloQueryWatcher<T> implements ApolloQueryWatcher<T> {
   private RealApolloCall<T> activeCall;
   private ResponseFetcher refetchResponseFetcher = ApolloResponseFetchers.CACHE_FIRST;
+  private boolean patchFieldChanges;
   final ApolloStore apolloStore;
   Set<String> dependentKeys = Collections.emptySet();
   final ApolloLogger logger;
@@ -41,6 +47,22 @@ final class RealApolloQueryWatcher<T> implements ApolloQueryWatcher<T> {
       }
     }
   };
+  final ApolloStore.FieldChangeSubscriber fieldChangeSubscriber = new ApolloStore.FieldChangeSubscriber() {
+    @Override public void onCacheFieldsChanged(@NotNull Set<String> changedRecordKeys,
+        @NotNull Map<String, FieldChange> fieldChanges) {
+      if (dependentKeys.isEmpty() || !areDisjoint(dependentKeys, changedRecordKeys)) {
+        patchOrRefetch(changedRecordKeys, fieldChanges);
+      }
+    }
+  };
+  /**
+   * Copies of the records the response is read from when field changes are patched, filled by the first patch.
+   */
+  final Map<String, Record> snapshot = new HashMap<>();
+  /**
+   * The unpublished changes of the store when the snapshot was read, the snapshot is read again once they change.
+   */
+  private long snapshotUnpublishedChanges;
   private final AtomicReference<CallState> state = new AtomicReference<>(IDLE);
   private final AtomicReference<ApolloCall.Callback<T>> originalCallback = new AtomicReference<>();
 
@@ -74,12 +96,20 @@ final class RealApolloQueryWatcher<T> implements ApolloQueryWatcher<T> {
     return this;
   }
 
+  @NotNull
+  @Override public synchronized RealApolloQueryWatcher<T> patchFieldChanges(boolean patchFieldChanges) {
+    if (state.get() != IDLE) throw new IllegalStateException("Already Executed");
+    this.patchFieldChanges = patchFieldChanges;
+    return this;
+  }
+
   @Override public synchronized void cancel() {
     switch (state.get()) {
       case ACTIVE:
         try {
           activeCall.cancel();
           apolloStore.unsubscribe(recordChangeSubscriber);
+          apolloStore.unsubscribeFromFieldChanges(fieldChangeSubscriber);
         } finally {
           tracker.unregisterQueryWatcher(this);
           originalCallback.set(null);
@@ -110,6 +140,8 @@ final class RealApolloQueryWatcher<T> implements ApolloQueryWatcher<T> {
     switch (state.get()) {
       case ACTIVE:
         apolloStore.unsubscribe(recordChangeSubscriber);
+        apolloStore.unsubscribeFromFieldChanges(fieldChangeSubscriber);
+        snapshot.clear();
         activeCall.cancel();
         activeCall = activeCall.clone().responseFetcher(refetchResponseFetcher);
         activeCall.enqueue(callbackProxy());
@@ -139,7 +171,11 @@ final class RealApolloQueryWatcher<T> implements ApolloQueryWatcher<T> {
           return;
         }
         dependentKeys = response.getDependentKeys();
-        apolloStore.subscribe(recordChangeSubscriber);
+        if (patchFieldChanges) {
+          apolloStore.subscribeToFieldChanges(fieldChangeSubscriber);
+        } else {
+          apolloStore.subscribe(recordChangeSubscriber);
+        }
         callback.get().onResponse(response);
       }
 
@@ -171,6 +207,81 @@ final class RealApolloQueryWatcher<T> implements ApolloQueryWatcher<T> {
     };
   }
 
+  /**
+   * Applies the field changes to the snapshot and reads the response again from it if they are all scalar changes of
+   * the records of the response, or refetches the call.
+   */
+  synchronized void patchOrRefetch(Set<String> changedKeys, Map<String, FieldChange> fieldChanges) {
+    if (state.get() != ACTIVE) {
+      return;
+    }
+    if (!canPatch(changedKeys, fieldChanges)) {
+      refetch();
+      return;
+    }
+    for (String key : changedKeys) {
+      FieldChange fieldChange = fieldChanges.get(key);
+      if (fieldChange == null || snapshot.isEmpty()) {
+        continue;
+      }
+      Record record = snapshot.get(fieldChange.recordKey());
+      if (record == null) {
+        // The snapshot is read again from the cache
+        snapshot.clear();
+      } else {
+        record.mergeWith(Record.builder(record.key()).addField(fieldChange.fieldKey(), fieldChange.newValue()).build());
+      }
+    }
+    activeCall.dispatcher.execute(new Runnable() {
+      @Override public void run() {
+        readSnapshot();
+      }
+    });
+  }
+
+  private boolean canPatch(Set<String> changedKeys, Map<String, FieldChange> fieldChanges) {
+    if (!(apolloStore instanceof RealApolloStore) || dependentKeys.isEmpty()
+        || activeCall.cacheHeaders != CacheHeaders.NONE
+        || (refetchResponseFetcher != ApolloResponseFetchers.CACHE_FIRST
+        && refetchResponseFetcher != ApolloResponseFetchers.CACHE_ONLY)) {
+      return false;
+    }
+    for (String key : changedKeys) {
+      if (dependentKeys.contains(key)) {
+        FieldChange fieldChange = fieldChanges.get(key);
+        if (fieldChange == null || fieldChange.isStructural()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked") synchronized void readSnapshot() {
+    if (state.get() != ACTIVE) {
+      return;
+    }
+    RealApolloStore store = (RealApolloStore) apolloStore;
+    long unpublishedChanges = store.unpublishedChanges();
+    if (unpublishedChanges != snapshotUnpublishedChanges) {
+      // Records were removed or written without publishing the change, the snapshot is read again from the cache
+      snapshot.clear();
+      snapshotUnpublishedChanges = unpublishedChanges;
+    }
+    Response<T> response = store.readSnapshot(activeCall.operation(), snapshot);
+    if (response.data() == null) {
+      refetch();
+      return;
+    }
+    Optional<ApolloCall.Callback<T>> callback = responseCallback();
+    if (!callback.isPresent()) {
+      logger.d("onResponse for watched operation: %s. No callback present.", operation().name().name());
+      return;
+    }
+    dependentKeys = response.getDependentKeys();
+    callback.get().onResponse(response);
+  }
+
   private synchronized void activate(Optional<ApolloCall.Callback<T>> callback) throws ApolloCanceledException {
     switch (state.get()) {
       case IDLE:
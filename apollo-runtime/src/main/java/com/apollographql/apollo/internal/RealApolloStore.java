@@ -12,13 +12,17 @@ import com.apollographql.apollo.cache.normalized.ApolloStore;
 import com.apollographql.apollo.cache.normalized.ApolloStoreOperation;
 import com.apollographql.apollo.cache.normalized.CacheKey;
 import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.FieldChange;
 import com.apollographql.apollo.cache.normalized.NormalizedCache;
 import com.apollographql.apollo.cache.normalized.OptimisticNormalizedCache;
 import com.apollographql.apollo.cache.normalized.Record;
 import com.apollographql.apollo.cache.normalized.internal.CacheFieldValueResolver;
 import com.apollographql.apollo.cache.normalized.internal.CacheKeyBuilder;
+import com.apollographql.apollo.cache.normalized.internal.FieldPlan;
 import com.apollographql.apollo.cache.normalized.internal.ReadableStore;
 import com.apollographql.apollo.cache.normalized.internal.RealCacheKeyBuilder;
+import com.apollographql.apollo.cache.normalized.internal.RecordGarbageCollector;
 import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
 import com.apollographql.apollo.cache.normalized.internal.Transaction;
 import com.apollographql.apollo.cache.normalized.internal.WriteableStore;
@@ -30,6 +34,8 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,25 +43,70 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.WeakHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
 
 public final class RealApolloStore implements ApolloStore, ReadableStore, WriteableStore {
+  private static final long GARBAGE_COLLECTION_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+  private static final int MAX_PENDING_FIELD_CHANGES = 10_000;
+  private static final int WARM_UP_BATCH_SIZE = 500;
+
   final OptimisticNormalizedCache optimisticCache;
   final CacheKeyResolver cacheKeyResolver;
   final ScalarTypeAdapters scalarTypeAdapters;
   private final ReadWriteLock lock;
   private final Set<RecordChangeSubscriber> subscribers;
+  private final Set<FieldChangeSubscriber> fieldSubscribers;
+  private final Map<String, FieldChange> pendingFieldChanges = new HashMap<>();
   private final Executor dispatcher;
   private final CacheKeyBuilder cacheKeyBuilder;
   final ApolloLogger logger;
+  private final Object garbageCollectionLock = new Object();
+  /**
+   * Runs the enqueued collections one at a time on a thread of their own, so that a long collection does not hold a
+   * thread of the dispatcher of the calls.
+   */
+  private final Executor garbageCollectionExecutor = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        @Override public Thread newThread(@NotNull Runnable runnable) {
+          Thread result = new Thread(runnable, "Apollo GarbageCollector");
+          result.setDaemon(true);
+          return result;
+        }
+      });
+  private volatile RecordGarbageCollector garbageCollector;
+  private final ResponseMemo responseMemo;
+  /**
+   * Counts the changes of the cache that are not published to the subscribers, such as removed records, so that
+   * copies of records kept by the subscribers can be dropped.
+   */
+  private final AtomicLong unpublishedChanges = new AtomicLong();
 
   public RealApolloStore(@NotNull NormalizedCache normalizedCache, @NotNull CacheKeyResolver cacheKeyResolver,
       @NotNull final ScalarTypeAdapters scalarTypeAdapters, @NotNull Executor dispatcher,
       @NotNull ApolloLogger logger) {
+    this(normalizedCache, cacheKeyResolver, scalarTypeAdapters, dispatcher, logger, 0);
+  }
+
+  /**
+   * @param memoizedDependentKeys if positive, the responses read from the cache are kept until one of their dependent
+   *                              keys changes, as long as they depend on no more than {@code memoizedDependentKeys}
+   *                              keys in total
+   */
+  public RealApolloStore(@NotNull NormalizedCache normalizedCache, @NotNull CacheKeyResolver cacheKeyResolver,
+      @NotNull final ScalarTypeAdapters scalarTypeAdapters, @NotNull Executor dispatcher,
+      @NotNull ApolloLogger logger, int memoizedDependentKeys) {
     checkNotNull(normalizedCache, "cacheStore == null");
+    if (memoizedDependentKeys < 0) {
+      throw new IllegalArgumentException("memoizedDependentKeys < 0");
+    }
 
     this.optimisticCache = (OptimisticNormalizedCache) new OptimisticNormalizedCache().chain(normalizedCache);
     this.cacheKeyResolver = checkNotNull(cacheKeyResolver, "cacheKeyResolver == null");
@@ -64,7 +115,9 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
     this.logger = checkNotNull(logger, "logger == null");
     this.lock = new ReentrantReadWriteLock();
     this.subscribers = Collections.newSetFromMap(new WeakHashMap<RecordChangeSubscriber, Boolean>());
+    this.fieldSubscribers = Collections.newSetFromMap(new WeakHashMap<FieldChangeSubscriber, Boolean>());
     this.cacheKeyBuilder = new RealCacheKeyBuilder();
+    this.responseMemo = memoizedDependentKeys > 0 ? new ResponseMemo(memoizedDependentKeys) : null;
   }
 
   @Override public ResponseNormalizer<Map<String, Object>> networkResponseNormalizer() {
@@ -100,6 +153,14 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
     subscribers.remove(subscriber);
   }
 
+  @Override public synchronized void subscribeToFieldChanges(FieldChangeSubscriber subscriber) {
+    fieldSubscribers.add(subscriber);
+  }
+
+  @Override public synchronized void unsubscribeFromFieldChanges(FieldChangeSubscriber subscriber) {
+    fieldSubscribers.remove(subscriber);
+  }
+
   @Override public void publish(@NotNull final Set<String> changedKeys) {
     checkNotNull(changedKeys, "changedKeys == null");
 
@@ -107,14 +168,21 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
       return;
     }
 
+    invalidateResponses(changedKeys);
     Set<RecordChangeSubscriber> iterableSubscribers;
+    Set<FieldChangeSubscriber> iterableFieldSubscribers;
     synchronized (this) {
       iterableSubscribers = new LinkedHashSet<>(subscribers);
+      iterableFieldSubscribers = new LinkedHashSet<>(fieldSubscribers);
     }
 
+    Map<String, FieldChange> fieldChanges = takeFieldChanges(changedKeys);
     for (RecordChangeSubscriber subscriber : iterableSubscribers) {
       subscriber.onCacheRecordsChanged(changedKeys);
     }
+    for (FieldChangeSubscriber subscriber : iterableFieldSubscribers) {
+      subscriber.onCacheFieldsChanged(changedKeys, fieldChanges);
+    }
   }
 
   @Override @NotNull public ApolloStoreOperation<Boolean> clearAll() {
@@ -123,6 +191,8 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
         return writeTransaction(new Transaction<WriteableStore, Boolean>() {
           @Override public Boolean execute(WriteableStore cache) {
             optimisticCache.clearAll();
+            clearResponses();
+            didChangeWithoutPublishing();
             return Boolean.TRUE;
           }
         });
@@ -141,7 +211,12 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
       @Override protected Boolean perform() {
         return writeTransaction(new Transaction<WriteableStore, Boolean>() {
           @Override public Boolean execute(WriteableStore cache) {
-            return optimisticCache.remove(cacheKey, cascade);
+            boolean removed = optimisticCache.remove(cacheKey, cascade);
+            if (removed) {
+              clearResponses();
+              didChangeWithoutPublishing();
+            }
+            return removed;
           }
         });
       }
@@ -160,6 +235,10 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
                 count++;
               }
             }
+            if (count > 0) {
+              clearResponses();
+              didChangeWithoutPublishing();
+            }
             return count;
           }
         });
@@ -167,6 +246,115 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
     };
   }
 
+  @Override @NotNull public ApolloStoreOperation<Integer> collectGarbage() {
+    return collectGarbage(Collections.<CacheKey>emptySet());
+  }
+
+  @Override @NotNull public ApolloStoreOperation<Integer> collectGarbage(@NotNull final Set<CacheKey> pinnedKeys) {
+    checkNotNull(pinnedKeys, "pinnedKeys == null");
+    return new ApolloStoreOperation<Integer>(garbageCollectionExecutor) {
+      @Override protected Integer perform() {
+        synchronized (garbageCollectionLock) {
+          final Set<String> rootKeys = new HashSet<>();
+          rootKeys.add(CacheKeyResolver.ROOT_CACHE_KEY.key());
+          for (CacheKey pinnedKey : pinnedKeys) {
+            rootKeys.add(pinnedKey.key());
+          }
+          final RecordGarbageCollector collector = writeTransaction(
+              new Transaction<WriteableStore, RecordGarbageCollector>() {
+                @Override public RecordGarbageCollector execute(WriteableStore cache) {
+                  RecordGarbageCollector collector = new RecordGarbageCollector(RealApolloStore.this,
+                      optimisticCache.getNextCache(), rootKeys, GARBAGE_COLLECTION_SLICE_NANOS);
+                  // Optimistic updates are not stored in the collected caches but keep their references alive
+                  Map<String, Record> optimisticRecords = optimisticCache.dump().get(OptimisticNormalizedCache.class);
+                  if (optimisticRecords != null) {
+                    collector.onRecordsWritten(optimisticRecords.values());
+                  }
+                  garbageCollector = collector;
+                  return collector;
+                }
+              });
+          try {
+            int count = collector.collect();
+            if (count > 0) {
+              clearResponses();
+              didChangeWithoutPublishing();
+            }
+            return count;
+          } finally {
+            garbageCollector = null;
+          }
+        }
+      }
+    };
+  }
+
+  @Override @NotNull public ApolloStoreOperation<Integer> warmUp(@NotNull final Set<CacheKey> rootKeys,
+      final int maxRecords) {
+    checkNotNull(rootKeys, "rootKeys == null");
+    if (maxRecords <= 0) {
+      throw new IllegalArgumentException("maxRecords <= 0");
+    }
+    return new ApolloStoreOperation<Integer>(dispatcher) {
+      @Override protected Integer perform() {
+        Set<String> visitedKeys = new HashSet<>();
+        List<String> level = new ArrayList<>();
+        for (CacheKey rootKey : rootKeys) {
+          if (visitedKeys.add(rootKey.key())) {
+            level.add(rootKey.key());
+          }
+        }
+        int count = 0;
+        while (!level.isEmpty() && count < maxRecords) {
+          List<String> nextLevel = new ArrayList<>();
+          int start = 0;
+          while (start < level.size() && count < maxRecords) {
+            int end = Math.min(level.size(), start + Math.min(WARM_UP_BATCH_SIZE, maxRecords - count));
+            for (Record record : readBatch(level.subList(start, end))) {
+              count++;
+              for (CacheReference reference : record.referencedFields()) {
+                if (visitedKeys.add(reference.key())) {
+                  nextLevel.add(reference.key());
+                }
+              }
+            }
+            start = end;
+          }
+          level = nextLevel;
+        }
+        return count;
+      }
+    };
+  }
+
+  @Override @NotNull public ApolloStoreOperation<Integer> warmUpRecentRecords(final int maxRecords) {
+    if (maxRecords <= 0) {
+      throw new IllegalArgumentException("maxRecords <= 0");
+    }
+    return new ApolloStoreOperation<Integer>(dispatcher) {
+      @Override protected Integer perform() {
+        List<String> keys = optimisticCache.recentRecordKeys(maxRecords);
+        int count = 0;
+        for (int start = 0; start < keys.size(); start += WARM_UP_BATCH_SIZE) {
+          count += readBatch(keys.subList(start, Math.min(keys.size(), start + WARM_UP_BATCH_SIZE))).size();
+        }
+        return count;
+      }
+    };
+  }
+
+  /**
+   * Reads {@code keys} in a single transaction, the in memory caches keep the records they read from the caches chained
+   * after them.
+   */
+  private Collection<Record> readBatch(final List<String> keys) {
+    return readTransaction(new Transaction<ReadableStore, Collection<Record>>() {
+      @Override public Collection<Record> execute(ReadableStore cache) {
+        return cache.read(keys, CacheHeaders.NONE);
+      }
+    });
+  }
+
   @Override public <R> R readTransaction(Transaction<ReadableStore, R> transaction) {
     lock.readLock().lock();
     try {
@@ -201,11 +389,149 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
 
   @Override
   @NotNull public Set<String> merge(@NotNull Collection<Record> recordSet, @NotNull CacheHeaders cacheHeaders) {
-    return optimisticCache.merge(checkNotNull(recordSet, "recordSet == null"), cacheHeaders);
+    checkNotNull(recordSet, "recordSet == null");
+    notifyGarbageCollector(recordSet);
+    Map<String, FieldChange> oldValues = hasFieldSubscribers() ? readOldValues(recordSet) : null;
+    Set<String> changedKeys = optimisticCache.merge(recordSet, cacheHeaders);
+    invalidateResponses(changedKeys);
+    if (oldValues != null) {
+      addFieldChanges(recordSet, oldValues, changedKeys);
+    }
+    return changedKeys;
   }
 
   @Override public Set<String> merge(@NotNull Record record, @NotNull CacheHeaders cacheHeaders) {
-    return optimisticCache.merge(checkNotNull(record, "record == null"), cacheHeaders);
+    checkNotNull(record, "record == null");
+    List<Record> recordSet = Collections.singletonList(record);
+    notifyGarbageCollector(recordSet);
+    Map<String, FieldChange> oldValues = hasFieldSubscribers() ? readOldValues(recordSet) : null;
+    Set<String> changedKeys = optimisticCache.merge(record, cacheHeaders);
+    invalidateResponses(changedKeys);
+    if (oldValues != null) {
+      addFieldChanges(recordSet, oldValues, changedKeys);
+    }
+    return changedKeys;
+  }
+
+  private synchronized boolean hasFieldSubscribers() {
+    return !fieldSubscribers.isEmpty();
+  }
+
+  /**
+   * Reads the values the fields of {@code records} have before they are merged, as changes without a new value keyed
+   * by their changed key.
+   */
+  private Map<String, FieldChange> readOldValues(Collection<Record> records) {
+    Set<String> recordKeys = new HashSet<>();
+    for (Record record : records) {
+      recordKeys.add(record.key());
+    }
+    Map<String, Record> oldRecords = new HashMap<>();
+    for (Record oldRecord : optimisticCache.loadRecords(recordKeys, CacheHeaders.NONE)) {
+      oldRecords.put(oldRecord.key(), oldRecord);
+    }
+    Map<String, FieldChange> oldValues = new HashMap<>();
+    for (Record record : records) {
+      Record oldRecord = oldRecords.get(record.key());
+      for (String fieldKey : record.fields().keySet()) {
+        String key = record.key() + "." + fieldKey;
+        if (!oldValues.containsKey(key)) {
+          boolean hadOldValue = oldRecord != null && oldRecord.hasField(fieldKey);
+          oldValues.put(key, new FieldChange(record.key(), fieldKey, hadOldValue,
+              hadOldValue ? oldRecord.field(fieldKey) : null, null));
+        }
+      }
+    }
+    return oldValues;
+  }
+
+  /**
+   * Adds the changes of the fields of the merged {@code records} to the changes waiting to be published. A field
+   * changed several times before it is published keeps the oldest value.
+   */
+  private void addFieldChanges(Collection<Record> records, Map<String, FieldChange> oldValues,
+      Set<String> changedKeys) {
+    synchronized (pendingFieldChanges) {
+      for (Record record : records) {
+        for (Map.Entry<String, Object> field : record.fields().entrySet()) {
+          String key = record.key() + "." + field.getKey();
+          if (!changedKeys.contains(key)) {
+            continue;
+          }
+          FieldChange oldValue = pendingFieldChanges.get(key);
+          if (oldValue == null) {
+            oldValue = oldValues.get(key);
+          }
+          pendingFieldChanges.put(key, new FieldChange(record.key(), field.getKey(), oldValue.hadOldValue(),
+              oldValue.oldValue(), field.getValue()));
+        }
+      }
+      if (pendingFieldChanges.size() > MAX_PENDING_FIELD_CHANGES) {
+        // Changes that are never published are dropped, their keys are then published without a change
+        pendingFieldChanges.clear();
+      }
+    }
+  }
+
+  private Map<String, FieldChange> takeFieldChanges(Set<String> changedKeys) {
+    synchronized (pendingFieldChanges) {
+      if (pendingFieldChanges.isEmpty()) {
+        return Collections.emptyMap();
+      }
+      Map<String, FieldChange> fieldChanges = new HashMap<>();
+      for (String key : changedKeys) {
+        FieldChange fieldChange = pendingFieldChanges.remove(key);
+        if (fieldChange != null) {
+          fieldChanges.put(key, fieldChange);
+        }
+      }
+      return Collections.unmodifiableMap(fieldChanges);
+    }
+  }
+
+  /**
+   * Drops the changes waiting to be published for keys changed by other means than a merge, they are then published
+   * without a change.
+   */
+  private void forgetFieldChanges(Set<String> changedKeys) {
+    synchronized (pendingFieldChanges) {
+      pendingFieldChanges.keySet().removeAll(changedKeys);
+    }
+  }
+
+  private void invalidateResponses(Set<String> changedKeys) {
+    if (responseMemo != null) {
+      responseMemo.invalidate(changedKeys);
+    }
+  }
+
+  private void clearResponses() {
+    if (responseMemo != null) {
+      responseMemo.clear();
+    }
+  }
+
+  /**
+   * Records a change of the cache that is not published, made by a write transaction of the store or of a caller that
+   * does not publish the keys it changes.
+   */
+  void didChangeWithoutPublishing() {
+    unpublishedChanges.incrementAndGet();
+  }
+
+  /**
+   * Returns the number of changes of the cache that were not published, which changes whenever a copy of records read
+   * before may be stale without its subscriber being notified.
+   */
+  long unpublishedChanges() {
+    return unpublishedChanges.get();
+  }
+
+  private void notifyGarbageCollector(Collection<Record> records) {
+    RecordGarbageCollector garbageCollector = this.garbageCollector;
+    if (garbageCollector != null) {
+      garbageCollector.onRecordsWritten(records);
+    }
   }
 
   @Override public CacheKeyResolver cacheKeyResolver() {
@@ -332,7 +658,10 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
       @Override protected Set<String> perform() {
         return writeTransaction(new Transaction<WriteableStore, Set<String>>() {
           @Override public Set<String> execute(WriteableStore cache) {
-            return optimisticCache.removeOptimisticUpdates(mutationId);
+            Set<String> changedKeys = optimisticCache.removeOptimisticUpdates(mutationId);
+            invalidateResponses(changedKeys);
+            forgetFieldChanges(changedKeys);
+            return changedKeys;
           }
         });
       }
@@ -345,7 +674,10 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
       @Override protected Boolean perform() {
         Set<String> changedKeys = writeTransaction(new Transaction<WriteableStore, Set<String>>() {
           @Override public Set<String> execute(WriteableStore cache) {
-            return optimisticCache.removeOptimisticUpdates(mutationId);
+            Set<String> changedKeys = optimisticCache.removeOptimisticUpdates(mutationId);
+            invalidateResponses(changedKeys);
+            forgetFieldChanges(changedKeys);
+            return changedKeys;
           }
         });
         publish(changedKeys);
@@ -363,11 +695,12 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
         }
 
         ResponseFieldMapper<D> responseFieldMapper = operation.responseFieldMapper();
+        FieldPlan fieldPlan = new FieldPlan(operation.variables(), cacheKeyBuilder);
         CacheFieldValueResolver fieldValueResolver = new CacheFieldValueResolver(cache, operation.variables(),
-            cacheKeyResolver(), CacheHeaders.NONE, cacheKeyBuilder);
+            cacheKeyResolver(), CacheHeaders.NONE, fieldPlan);
         //noinspection unchecked
         RealResponseReader<Record> responseReader = new RealResponseReader<>(operation.variables(), rootRecord,
-            fieldValueResolver, scalarTypeAdapters, ResponseNormalizer.NO_OP_NORMALIZER);
+            fieldValueResolver, scalarTypeAdapters, ResponseNormalizer.NO_OP_NORMALIZER, fieldPlan);
         return operation.wrapData(responseFieldMapper.map(responseReader));
       }
     });
@@ -376,33 +709,73 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
   <D extends Operation.Data, T, V extends Operation.Variables> Response<T> doRead(
       final Operation<D, T, V> operation, final ResponseFieldMapper<D> responseFieldMapper,
       final ResponseNormalizer<Record> responseNormalizer, final CacheHeaders cacheHeaders) {
+    // Cache headers may change what is read, or change the cache as it is read
+    final String memoKey = responseMemo != null && cacheHeaders == CacheHeaders.NONE
+        ? ResponseMemo.key(operation, scalarTypeAdapters) : null;
+    if (memoKey != null) {
+      Response<T> response = responseMemo.get(memoKey);
+      if (response != null) {
+        return response;
+      }
+    }
     return readTransaction(new Transaction<ReadableStore, Response<T>>() {
       @NotNull @Override public Response<T> execute(ReadableStore cache) {
-        Record rootRecord = cache.read(CacheKeyResolver.rootKeyForOperation(operation).key(), cacheHeaders);
-        if (rootRecord == null) {
-          return Response.<T>builder(operation).fromCache(true).build();
+        long generation = memoKey != null ? responseMemo.generation() : 0;
+        Response<T> response = readResponse(cache, operation, responseFieldMapper, responseNormalizer, cacheHeaders);
+        if (memoKey != null && response.getData() != null) {
+          responseMemo.put(memoKey, response, generation);
         }
+        return response;
+      }
+    });
+  }
 
-        CacheFieldValueResolver fieldValueResolver = new CacheFieldValueResolver(cache, operation.variables(),
-            cacheKeyResolver(), cacheHeaders, cacheKeyBuilder);
-        RealResponseReader<Record> responseReader = new RealResponseReader<>(operation.variables(), rootRecord,
-            fieldValueResolver, scalarTypeAdapters, responseNormalizer);
-        try {
-          responseNormalizer.willResolveRootQuery(operation);
-          T data = operation.wrapData(responseFieldMapper.map(responseReader));
-          return Response.<T>builder(operation)
-              .data(data)
-              .fromCache(true)
-              .dependentKeys(responseNormalizer.dependentKeys())
-              .build();
-        } catch (Exception e) {
-          logger.e(e, "Failed to read cache response");
-          return Response.<T>builder(operation).fromCache(true).build();
-        }
+  /**
+   * Reads {@code operation} from {@code snapshot}, copies of the records it reads. An empty snapshot is filled with
+   * copies of the records read from the cache, a filled one is read without reading the cache. The response has no
+   * data if a record is missing from the snapshot.
+   */
+  <D extends Operation.Data, T, V extends Operation.Variables> Response<T> readSnapshot(
+      final Operation<D, T, V> operation, final Map<String, Record> snapshot) {
+    if (!snapshot.isEmpty()) {
+      return readResponse(new SnapshotStore(snapshot, null), operation, operation.responseFieldMapper(),
+          cacheResponseNormalizer(), CacheHeaders.NONE);
+    }
+    return readTransaction(new Transaction<ReadableStore, Response<T>>() {
+      @NotNull @Override public Response<T> execute(ReadableStore cache) {
+        return readResponse(new SnapshotStore(snapshot, cache), operation, operation.responseFieldMapper(),
+            cacheResponseNormalizer(), CacheHeaders.NONE);
       }
     });
   }
 
+  private <D extends Operation.Data, T, V extends Operation.Variables> Response<T> readResponse(ReadableStore cache,
+      Operation<D, T, V> operation, ResponseFieldMapper<D> responseFieldMapper,
+      ResponseNormalizer<Record> responseNormalizer, CacheHeaders cacheHeaders) {
+    Record rootRecord = cache.read(CacheKeyResolver.rootKeyForOperation(operation).key(), cacheHeaders);
+    if (rootRecord == null) {
+      return Response.<T>builder(operation).fromCache(true).build();
+    }
+
+    FieldPlan fieldPlan = new FieldPlan(operation.variables(), cacheKeyBuilder);
+    CacheFieldValueResolver fieldValueResolver = new CacheFieldValueResolver(cache, operation.variables(),
+        cacheKeyResolver(), cacheHeaders, fieldPlan);
+    RealResponseReader<Record> responseReader = new RealResponseReader<>(operation.variables(), rootRecord,
+        fieldValueResolver, scalarTypeAdapters, responseNormalizer, fieldPlan);
+    try {
+      responseNormalizer.willResolveRootQuery(operation);
+      T data = operation.wrapData(responseFieldMapper.map(responseReader));
+      return Response.<T>builder(operation)
+          .data(data)
+          .fromCache(true)
+          .dependentKeys(responseNormalizer.dependentKeys())
+          .build();
+    } catch (Exception e) {
+      logger.e(e, "Failed to read cache response");
+      return Response.<T>builder(operation).fromCache(true).build();
+    }
+  }
+
   <F extends GraphqlFragment> F doRead(final ResponseFieldMapper<F> responseFieldMapper,
       final CacheKey cacheKey, final Operation.Variables variables) {
     return readTransaction(new Transaction<ReadableStore, F>() {
@@ -412,11 +785,12 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
           return null;
         }
 
+        FieldPlan fieldPlan = new FieldPlan(variables, cacheKeyBuilder);
         CacheFieldValueResolver fieldValueResolver = new CacheFieldValueResolver(cache, variables,
-            cacheKeyResolver(), CacheHeaders.NONE, cacheKeyBuilder);
+            cacheKeyResolver(), CacheHeaders.NONE, fieldPlan);
         //noinspection unchecked
         RealResponseReader<Record> responseReader = new RealResponseReader<>(variables, rootRecord,
-            fieldValueResolver, scalarTypeAdapters, ResponseNormalizer.NO_OP_NORMALIZER);
+            fieldValueResolver, scalarTypeAdapters, ResponseNormalizer.NO_OP_NORMALIZER, fieldPlan);
         return responseFieldMapper.map(responseReader);
       }
     });
@@ -438,9 +812,13 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
           for (Record record : responseNormalizer.records()) {
             updatedRecords.add(record.toBuilder().mutationId(mutationId).build());
           }
-          return optimisticCache.mergeOptimisticUpdates(updatedRecords);
+          notifyGarbageCollector(updatedRecords);
+          Set<String> changedKeys = optimisticCache.mergeOptimisticUpdates(updatedRecords);
+          invalidateResponses(changedKeys);
+          forgetFieldChanges(changedKeys);
+          return changedKeys;
         } else {
-          return optimisticCache.merge(responseNormalizer.records(), CacheHeaders.NONE);
+          return merge(responseNormalizer.records(), CacheHeaders.NONE);
         }
       }
     });
@@ -460,4 +838,41 @@ public final class RealApolloStore implements ApolloStore, ReadableStore, Writea
       }
     });
   }
+
+  /**
+   * Reads the records of a snapshot. The records missing from it are read from {@code cache}, if any, and copied to it.
+   */
+  private static final class SnapshotStore implements ReadableStore {
+    private final Map<String, Record> snapshot;
+    private final ReadableStore cache;
+
+    SnapshotStore(Map<String, Record> snapshot, @Nullable ReadableStore cache) {
+      this.snapshot = snapshot;
+      this.cache = cache;
+    }
+
+    @Nullable @Override public Record read(@NotNull String key, @NotNull CacheHeaders cacheHeaders) {
+      Record record = snapshot.get(key);
+      if (record == null && cache != null) {
+        record = cache.read(key, cacheHeaders);
+        if (record != null) {
+          record = record.clone();
+          snapshot.put(key, record);
+        }
+      }
+      return record;
+    }
+
+    @NotNull @Override public Collection<Record> read(@NotNull Collection<String> keys,
+        @NotNull CacheHeaders cacheHeaders) {
+      List<Record> records = new ArrayList<>(keys.size());
+      for (String key : keys) {
+        Record record = read(key, cacheHeaders);
+        if (record != null) {
+          records.add(record);
+        }
+      }
+      return records;
+    }
+  }
 }
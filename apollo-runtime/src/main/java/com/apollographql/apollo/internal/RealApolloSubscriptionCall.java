@@ -38,12 +38,24 @@ public class RealApolloSubscriptionCall<T> implements ApolloSubscriptionCall<T>
   private final Executor dispatcher;
   private final ResponseFieldMapperFactory responseFieldMapperFactory;
   private final ApolloLogger logger;
+  private final SubscriptionCacheWriteBatcher cacheWriteBatcher;
   private final AtomicReference<CallState> state = new AtomicReference<>(IDLE);
   private SubscriptionManagerCallback<T> subscriptionCallback;
 
   public RealApolloSubscriptionCall(@NotNull Subscription<?, T, ?> subscription, @NotNull SubscriptionManager subscriptionManager,
       @NotNull ApolloStore apolloStore, @NotNull CachePolicy cachePolicy, @NotNull Executor dispatcher,
       @NotNull ResponseFieldMapperFactory responseFieldMapperFactory, @NotNull ApolloLogger logger) {
+    this(subscription, subscriptionManager, apolloStore, cachePolicy, dispatcher, responseFieldMapperFactory, logger, null);
+  }
+
+  /**
+   * @param cacheWriteBatcher if not {@code null}, the records of the subscription events are written to the store in
+   *                          batches by this batcher rather than one transaction per event
+   */
+  public RealApolloSubscriptionCall(@NotNull Subscription<?, T, ?> subscription, @NotNull SubscriptionManager subscriptionManager,
+      @NotNull ApolloStore apolloStore, @NotNull CachePolicy cachePolicy, @NotNull Executor dispatcher,
+      @NotNull ResponseFieldMapperFactory responseFieldMapperFactory, @NotNull ApolloLogger logger,
+      @Nullable SubscriptionCacheWriteBatcher cacheWriteBatcher) {
     this.subscription = subscription;
     this.subscriptionManager = subscriptionManager;
     this.apolloStore = apolloStore;
@@ -51,6 +63,7 @@ public class RealApolloSubscriptionCall<T> implements ApolloSubscriptionCall<T>
     this.dispatcher = dispatcher;
     this.responseFieldMapperFactory = responseFieldMapperFactory;
     this.logger = logger;
+    this.cacheWriteBatcher = cacheWriteBatcher;
   }
 
   @Override
@@ -105,6 +118,7 @@ public class RealApolloSubscriptionCall<T> implements ApolloSubscriptionCall<T>
           } finally {
             state.set(CANCELED);
             subscriptionCallback.release();
+            flushCacheWrites();
           }
           break;
         }
@@ -124,7 +138,7 @@ public class RealApolloSubscriptionCall<T> implements ApolloSubscriptionCall<T>
   @Override
   public ApolloSubscriptionCall<T> clone() {
     return new RealApolloSubscriptionCall<>(subscription, subscriptionManager, apolloStore, cachePolicy, dispatcher,
-        responseFieldMapperFactory, logger);
+        responseFieldMapperFactory, logger, cacheWriteBatcher);
   }
 
   @Override public boolean isCanceled() {
@@ -134,7 +148,7 @@ public class RealApolloSubscriptionCall<T> implements ApolloSubscriptionCall<T>
   @NotNull @Override public ApolloSubscriptionCall<T> cachePolicy(@NotNull CachePolicy cachePolicy) {
     checkNotNull(cachePolicy, "cachePolicy is null");
     return new RealApolloSubscriptionCall<>(subscription, subscriptionManager, apolloStore, cachePolicy, dispatcher,
-        responseFieldMapperFactory, logger);
+        responseFieldMapperFactory, logger, cacheWriteBatcher);
   }
 
   private void terminate() {
@@ -143,6 +157,7 @@ public class RealApolloSubscriptionCall<T> implements ApolloSubscriptionCall<T>
         case ACTIVE: {
           state.set(TERMINATED);
           subscriptionCallback.release();
+          flushCacheWrites();
           break;
         }
 
@@ -160,6 +175,15 @@ public class RealApolloSubscriptionCall<T> implements ApolloSubscriptionCall<T>
     }
   }
 
+  /**
+   * Writes the batched records of the events received so far, so that they are not lost if no other event follows.
+   */
+  private void flushCacheWrites() {
+    if (cacheWriteBatcher != null) {
+      cacheWriteBatcher.dispatchFlush();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private Response<T> resolveFromCache() {
     final ResponseNormalizer<Record> responseNormalizer = apolloStore.cacheResponseNormalizer();
@@ -185,7 +209,13 @@ public class RealApolloSubscriptionCall<T> implements ApolloSubscriptionCall<T>
   }
 
   private void cacheResponse(final SubscriptionResponse<T> networkResponse) {
-    if (networkResponse.cacheRecords.isEmpty() || cachePolicy == CachePolicy.NO_CACHE) {
+    if (networkResponse.cacheRecords.isEmpty() || cachePolicy == CachePolicy.NO_CACHE
+        || !networkResponse.claimCacheWrite()) {
+      return;
+    }
+
+    if (cacheWriteBatcher != null) {
+      cacheWriteBatcher.add(networkResponse.cacheRecords);
       return;
     }
 
@@ -0,0 +1,121 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.api.Response;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the last responses read from the cache per operation and variables, least recently used first. The weight of a
+ * response is the number of its dependent keys, the least recently used responses are dropped when the total weight
+ * goes over {@code maxWeight}. A response is dropped as soon as one of its dependent keys changes.
+ *
+ * A response read while the cache changed is not kept: the {@link #generation()} read before the cache is passed to
+ * {@link #put(String, Response, long)}, which ignores the response if a key was invalidated since.
+ */
+final class ResponseMemo {
+  private final int maxWeight;
+  private final LinkedHashMap<String, Response<?>> responses = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, Set<String>> memoKeysByDependentKey = new HashMap<>();
+  private int weight;
+  private long generation;
+
+  ResponseMemo(int maxWeight) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("maxWeight <= 0");
+    }
+    this.maxWeight = maxWeight;
+  }
+
+  /**
+   * @return the key {@code operation} is memoized under, or null if its variables cannot be serialized
+   */
+  @Nullable static String key(@NotNull Operation operation, @NotNull ScalarTypeAdapters scalarTypeAdapters) {
+    try {
+      return operation.operationId() + operation.variables().marshal(scalarTypeAdapters);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Nullable synchronized <T> Response<T> get(@NotNull String key) {
+    return (Response<T>) responses.get(key);
+  }
+
+  synchronized long generation() {
+    return generation;
+  }
+
+  synchronized void put(@NotNull String key, @NotNull Response<?> response, long generation) {
+    Set<String> dependentKeys = response.getDependentKeys();
+    if (generation != this.generation || dependentKeys.isEmpty() || dependentKeys.size() > maxWeight) {
+      return;
+    }
+    remove(key);
+    responses.put(key, response);
+    weight += dependentKeys.size();
+    for (String dependentKey : dependentKeys) {
+      Set<String> memoKeys = memoKeysByDependentKey.get(dependentKey);
+      if (memoKeys == null) {
+        memoKeys = new HashSet<>();
+        memoKeysByDependentKey.put(dependentKey, memoKeys);
+      }
+      memoKeys.add(key);
+    }
+
+    while (weight > maxWeight) {
+      remove(responses.keySet().iterator().next());
+    }
+  }
+
+  /**
+   * Drops the responses depending on any of {@code changedKeys}.
+   */
+  synchronized void invalidate(@NotNull Set<String> changedKeys) {
+    if (changedKeys.isEmpty()) {
+      return;
+    }
+    generation++;
+    if (responses.isEmpty()) {
+      return;
+    }
+    for (String changedKey : changedKeys) {
+      Set<String> memoKeys = memoKeysByDependentKey.get(changedKey);
+      if (memoKeys != null) {
+        for (String memoKey : memoKeys.toArray(new String[0])) {
+          remove(memoKey);
+        }
+      }
+    }
+  }
+
+  synchronized void clear() {
+    generation++;
+    responses.clear();
+    memoKeysByDependentKey.clear();
+    weight = 0;
+  }
+
+  private void remove(String key) {
+    Response<?> response = responses.remove(key);
+    if (response == null) {
+      return;
+    }
+    weight -= response.getDependentKeys().size();
+    for (String dependentKey : response.getDependentKeys()) {
+      Set<String> memoKeys = memoKeysByDependentKey.get(dependentKey);
+      if (memoKeys != null && memoKeys.remove(key) && memoKeys.isEmpty()) {
+        memoKeysByDependentKey.remove(dependentKey);
+      }
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.api.internal.ApolloLogger;
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.ApolloStore;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.internal.Transaction;
+import com.apollographql.apollo.cache.normalized.internal.WriteableStore;
+import com.apollographql.apollo.internal.util.TimingWheel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * Accumulates the normalized records of subscription events and writes them to the {@link ApolloStore} in batches: a
+ * batch is written, in a single transaction followed by a single publish of all the changed keys, once it holds
+ * {@code maxEvents} events or {@code windowMillis} after its first event, whichever comes first.
+ *
+ * Records with the same key are merged as they are accumulated so that a batch writes each record only once. Batches
+ * are written one at a time, in the order they were accumulated, so that an older batch never overwrites the records of
+ * a newer one.
+ */
+public final class SubscriptionCacheWriteBatcher {
+  private final ApolloStore apolloStore;
+  private final Executor dispatcher;
+  private final long windowMillis;
+  private final int maxEvents;
+  private final ApolloLogger logger;
+  /**
+   * Held from the moment a batch is taken until it is written, so that batches reach the store in order.
+   */
+  private final Object writeLock = new Object();
+  private final Runnable flushTask = new Runnable() {
+    @Override public void run() {
+      flush();
+    }
+  };
+  private Map<String, Record> pendingRecords = new LinkedHashMap<>();
+  private int pendingEvents;
+  private final TimingWheel.Timeout flushTimeout;
+  private boolean flushScheduled;
+
+  public SubscriptionCacheWriteBatcher(@NotNull ApolloStore apolloStore, @NotNull Executor dispatcher, long windowMillis,
+      int maxEvents, @NotNull ApolloLogger logger) {
+    if (windowMillis <= 0) {
+      throw new IllegalArgumentException("windowMillis <= 0");
+    }
+    if (maxEvents <= 0) {
+      throw new IllegalArgumentException("maxEvents <= 0");
+    }
+    this.apolloStore = checkNotNull(apolloStore, "apolloStore == null");
+    this.dispatcher = checkNotNull(dispatcher, "dispatcher == null");
+    this.windowMillis = windowMillis;
+    this.maxEvents = maxEvents;
+    this.logger = checkNotNull(logger, "logger == null");
+    this.flushTimeout = TimingWheel.shared().newTimeout(new Runnable() {
+      @Override public void run() {
+        dispatchFlush();
+      }
+    });
+  }
+
+  /**
+   * Adds the records of a subscription event to the current batch.
+   */
+  public void add(@NotNull Collection<Record> records) {
+    checkNotNull(records, "records == null");
+    boolean flush = false;
+    synchronized (this) {
+      for (Record record : records) {
+        Record pendingRecord = pendingRecords.get(record.key());
+        if (pendingRecord == null) {
+          pendingRecords.put(record.key(), record.clone());
+        } else {
+          pendingRecord.mergeWith(record);
+        }
+      }
+
+      if (++pendingEvents >= maxEvents) {
+        flush = true;
+      } else if (!flushScheduled) {
+        flushScheduled = true;
+        flushTimeout.schedule(windowMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    if (flush) {
+      dispatchFlush();
+    }
+  }
+
+  /**
+   * Writes the current batch, if any, on the dispatcher. Used when a subscription stops or the subscriptions are
+   * disabled, so that the events received before are not lost.
+   */
+  public void dispatchFlush() {
+    dispatcher.execute(flushTask);
+  }
+
+  /**
+   * Writes the current batch, if any, on the calling thread, after the batches taken before it are written.
+   */
+  public void flush() {
+    synchronized (writeLock) {
+      final Collection<Record> records;
+      synchronized (this) {
+        if (pendingRecords.isEmpty()) {
+          return;
+        }
+        records = pendingRecords.values();
+        pendingRecords = new LinkedHashMap<>();
+        pendingEvents = 0;
+        flushScheduled = false;
+        flushTimeout.cancel();
+      }
+      write(records);
+    }
+  }
+
+  private void write(final Collection<Record> records) {
+    final Set<String> cacheKeys;
+    try {
+      cacheKeys = apolloStore.writeTransaction(new Transaction<WriteableStore, Set<String>>() {
+        @Nullable @Override public Set<String> execute(WriteableStore cache) {
+          return cache.merge(records, CacheHeaders.NONE);
+        }
+      });
+    } catch (Exception e) {
+      logger.e(e, "Failed to cache batched subscription responses");
+      return;
+    }
+
+    try {
+      apolloStore.publish(cacheKeys);
+    } catch (Exception e) {
+      logger.e(e, "Failed to publish batched subscription cache changes");
+    }
+  }
+}
@@ -8,29 +8,53 @@ import com.apollographql.apollo.api.internal.Optional;
 import com.apollographql.apollo.exception.ApolloException;
 import com.apollographql.apollo.interceptor.ApolloInterceptor;
 import com.apollographql.apollo.interceptor.ApolloInterceptorChain;
+import com.apollographql.apollo.request.AutoPersistedQueryState;
+import okhttp3.HttpUrl;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.concurrent.Executor;
 
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
 public class ApolloAutoPersistedQueryInterceptor implements ApolloInterceptor {
   private static final String PROTOCOL_NEGOTIATION_ERROR_QUERY_NOT_FOUND = "PersistedQueryNotFound";
   private static final String PROTOCOL_NEGOTIATION_ERROR_NOT_SUPPORTED = "PersistedQueryNotSupported";
 
   private final ApolloLogger logger;
+  private final HttpUrl serverUrl;
+  private final AutoPersistedQueryState state;
   private volatile boolean disposed;
 
   final boolean useHttpGetMethodForPersistedQueries;
 
-  public ApolloAutoPersistedQueryInterceptor(@NotNull ApolloLogger logger,
-                                             boolean useHttpGetMethodForPersistedQueries) {
+  /**
+   * @param serverUrl the url of the server the operations are sent to
+   * @param state     what is known about the persisted queries of the server
+   */
+  public ApolloAutoPersistedQueryInterceptor(@NotNull ApolloLogger logger, boolean useHttpGetMethodForPersistedQueries,
+      @NotNull HttpUrl serverUrl, @NotNull AutoPersistedQueryState state) {
     this.logger = logger;
     this.useHttpGetMethodForPersistedQueries = useHttpGetMethodForPersistedQueries;
+    this.serverUrl = checkNotNull(serverUrl, "serverUrl == null");
+    this.state = checkNotNull(state, "state == null");
   }
 
   @Override
   public void interceptAsync(@NotNull final InterceptorRequest request, @NotNull final ApolloInterceptorChain chain,
       @NotNull final Executor dispatcher, @NotNull final CallBack callBack) {
+    final String operationId = request.operation.operationId();
+    // Operations generated without query document can only be sent by id
+    final boolean hasQueryDocument = !request.operation.queryDocument().isEmpty();
+    if (hasQueryDocument && !state.isSupported(serverUrl)) {
+      chain.proceedAsync(request.toBuilder().autoPersistQueries(false).build(), dispatcher, callBack);
+      return;
+    }
+    if (hasQueryDocument && state.isMissing(serverUrl, operationId)) {
+      // The hash only request is known to fail, send the query document right away to register it
+      chain.proceedAsync(request, dispatcher, new RegisteringCallBack(operationId, callBack));
+      return;
+    }
 
     InterceptorRequest newRequest = request.toBuilder()
             .sendQueryDocument(false)
@@ -41,10 +65,12 @@ public class ApolloAutoPersistedQueryInterceptor implements ApolloInterceptor {
       @Override public void onResponse(@NotNull InterceptorResponse response) {
         if (disposed) return;
 
-        Optional<InterceptorRequest> retryRequest = handleProtocolNegotiation(request, response);
+        Optional<InterceptorRequest> retryRequest = hasQueryDocument
+            ? handleProtocolNegotiation(request, response) : Optional.<InterceptorRequest>absent();
         if (retryRequest.isPresent()) {
-          chain.proceedAsync(retryRequest.get(), dispatcher, callBack);
+          chain.proceedAsync(retryRequest.get(), dispatcher, new RegisteringCallBack(operationId, callBack));
         } else {
+          // Only a request that sent the query document registers it, a response to the id alone proves nothing
           callBack.onResponse(response);
           callBack.onCompleted();
         }
@@ -77,12 +103,13 @@ public class ApolloAutoPersistedQueryInterceptor implements ApolloInterceptor {
             logger.w("GraphQL server couldn't find Automatic Persisted Query for operation name: "
                 + request.operation.name().name() + " id: " + request.operation.operationId());
 
+            state.onMissing(serverUrl, request.operation.operationId());
             return Optional.of(request);
           }
 
           if (isPersistedQueryNotSupported(response.getErrors())) {
-            // TODO how to disable Automatic Persisted Queries in future and how to notify user about this
-            logger.e("GraphQL server doesn't support Automatic Persisted Queries");
+            logger.e("GraphQL server doesn't support Automatic Persisted Queries, disabling them for " + serverUrl);
+            state.onNotSupported(serverUrl);
             return Optional.of(request);
           }
         }
@@ -91,6 +118,11 @@ public class ApolloAutoPersistedQueryInterceptor implements ApolloInterceptor {
     });
   }
 
+  boolean isPersistedQueryError(Response response) {
+    return response.hasErrors()
+        && (isPersistedQueryNotFound(response.getErrors()) || isPersistedQueryNotSupported(response.getErrors()));
+  }
+
   boolean isPersistedQueryNotFound(List<Error> errors) {
     for (Error error : errors) {
       if (PROTOCOL_NEGOTIATION_ERROR_QUERY_NOT_FOUND.equalsIgnoreCase(error.getMessage())) {
@@ -108,4 +140,37 @@ public class ApolloAutoPersistedQueryInterceptor implements ApolloInterceptor {
     }
     return false;
   }
+
+  /**
+   * Records the persisted query as registered once a request with its query document succeeds.
+   */
+  private final class RegisteringCallBack implements CallBack {
+    private final String operationId;
+    private final CallBack delegate;
+
+    RegisteringCallBack(String operationId, CallBack delegate) {
+      this.operationId = operationId;
+      this.delegate = delegate;
+    }
+
+    @Override public void onResponse(@NotNull InterceptorResponse response) {
+      if (response.parsedResponse.isPresent() && !isPersistedQueryError(response.parsedResponse.get())
+          && state.isSupported(serverUrl)) {
+        state.onRegistered(serverUrl, operationId);
+      }
+      delegate.onResponse(response);
+    }
+
+    @Override public void onFetch(FetchSourceType sourceType) {
+      delegate.onFetch(sourceType);
+    }
+
+    @Override public void onFailure(@NotNull ApolloException e) {
+      delegate.onFailure(e);
+    }
+
+    @Override public void onCompleted() {
+      delegate.onCompleted();
+    }
+  }
 }
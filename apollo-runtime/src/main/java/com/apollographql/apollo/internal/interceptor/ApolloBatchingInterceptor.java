@@ -0,0 +1,65 @@
+package com.apollographql.apollo.internal.interceptor;
+
+import com.apollographql.apollo.interceptor.ApolloInterceptor;
+import com.apollographql.apollo.interceptor.ApolloInterceptorChain;
+import com.apollographql.apollo.request.ApolloRequestHeaders;
+import com.apollographql.apollo.request.RequestHeaders;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * ApolloBatchingInterceptor is a concrete {@link ApolloInterceptor} that hands the network requests of its call to an
+ * {@link ApolloHttpBatcher} so that they are sent along with the requests of other calls. Requests that can not be
+ * batched, or that have the {@link ApolloRequestHeaders#DO_NOT_BATCH} header, proceed to the next interceptor.
+ */
+public final class ApolloBatchingInterceptor implements ApolloInterceptor {
+  private final ApolloHttpBatcher batcher;
+  private volatile ApolloHttpBatcher.PendingOperation pendingOperation;
+  private volatile boolean disposed;
+
+  public ApolloBatchingInterceptor(@NotNull ApolloHttpBatcher batcher) {
+    this.batcher = checkNotNull(batcher, "batcher == null");
+  }
+
+  @Override
+  public void interceptAsync(@NotNull InterceptorRequest request, @NotNull final ApolloInterceptorChain chain,
+      @NotNull final Executor dispatcher, @NotNull final CallBack callBack) {
+    if (disposed) return;
+
+    if (request.requestHeaders.hasHeader(ApolloRequestHeaders.DO_NOT_BATCH)) {
+      chain.proceedAsync(request.toBuilder().requestHeaders(withoutDoNotBatch(request.requestHeaders)).build(), dispatcher,
+          callBack);
+    } else if (batcher.canBatch(request)) {
+      final InterceptorRequest batchedRequest = request;
+      pendingOperation = batcher.enqueue(request, callBack, new Runnable() {
+        @Override public void run() {
+          chain.proceedAsync(batchedRequest, dispatcher, callBack);
+        }
+      });
+    } else {
+      chain.proceedAsync(request, dispatcher, callBack);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    disposed = true;
+    ApolloHttpBatcher.PendingOperation pendingOperation = this.pendingOperation;
+    if (pendingOperation != null) {
+      pendingOperation.cancel();
+    }
+  }
+
+  private static RequestHeaders withoutDoNotBatch(RequestHeaders requestHeaders) {
+    RequestHeaders.Builder builder = RequestHeaders.builder();
+    for (String header : requestHeaders.headers()) {
+      if (!ApolloRequestHeaders.DO_NOT_BATCH.equals(header)) {
+        builder.addHeader(header, requestHeaders.headerValue(header));
+      }
+    }
+    return builder.build();
+  }
+}
@@ -15,6 +15,7 @@ import com.apollographql.apollo.interceptor.ApolloInterceptorChain;
 import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
 import com.apollographql.apollo.cache.normalized.internal.Transaction;
 import com.apollographql.apollo.cache.normalized.internal.WriteableStore;
+import com.apollographql.apollo.internal.response.ParallelNormalization;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -37,14 +38,25 @@ public final class ApolloCacheInterceptor implements ApolloInterceptor {
   private final ResponseFieldMapper responseFieldMapper;
   private final Executor dispatcher;
   final ApolloLogger logger;
+  private final ParallelNormalization parallelNormalization;
   volatile boolean disposed;
 
   public ApolloCacheInterceptor(@NotNull ApolloStore apolloStore, @NotNull ResponseFieldMapper responseFieldMapper,
       @NotNull Executor dispatcher, @NotNull ApolloLogger logger) {
+    this(apolloStore, responseFieldMapper, dispatcher, logger, null);
+  }
+
+  /**
+   * @param parallelNormalization writes the records of network responses in chunked transactions, or null to write them
+   *                              in a single transaction
+   */
+  public ApolloCacheInterceptor(@NotNull ApolloStore apolloStore, @NotNull ResponseFieldMapper responseFieldMapper,
+      @NotNull Executor dispatcher, @NotNull ApolloLogger logger, @Nullable ParallelNormalization parallelNormalization) {
     this.apolloStore = checkNotNull(apolloStore, "cache == null");
     this.responseFieldMapper = checkNotNull(responseFieldMapper, "responseFieldMapper == null");
     this.dispatcher = checkNotNull(dispatcher, "dispatcher == null");
     this.logger = checkNotNull(logger, "logger == null");
+    this.parallelNormalization = parallelNormalization;
   }
 
   @Override
@@ -139,6 +151,10 @@ public final class ApolloCacheInterceptor implements ApolloInterceptor {
       return Collections.emptySet();
     }
 
+    if (parallelNormalization != null) {
+      return cacheRecordsInChunks(records.get(), request);
+    }
+
     try {
       return apolloStore.writeTransaction(new Transaction<WriteableStore, Set<String>>() {
         @Nullable @Override public Set<String> execute(WriteableStore cache) {
@@ -151,6 +167,24 @@ public final class ApolloCacheInterceptor implements ApolloInterceptor {
     }
   }
 
+  private Set<String> cacheRecordsInChunks(List<Record> records, final InterceptorRequest request) {
+    Set<String> changedKeys = new HashSet<>();
+    for (final List<Record> chunk : parallelNormalization.transactionChunks(records)) {
+      try {
+        changedKeys.addAll(apolloStore.writeTransaction(new Transaction<WriteableStore, Set<String>>() {
+          @Nullable @Override public Set<String> execute(WriteableStore cache) {
+            return cache.merge(chunk, request.cacheHeaders);
+          }
+        }));
+      } catch (Exception e) {
+        logger.e("Failed to cache operation response", e);
+        // The chunks already written stay in the cache
+        break;
+      }
+    }
+    return changedKeys;
+  }
+
   void writeOptimisticUpdatesAndPublish(final InterceptorRequest request) {
     dispatcher.execute(new Runnable() {
       @Override public void run() {
@@ -0,0 +1,361 @@
+package com.apollographql.apollo.internal.interceptor;
+
+import com.apollographql.apollo.api.Query;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.ApolloLogger;
+import com.apollographql.apollo.api.internal.json.BufferedSourceJsonReader;
+import com.apollographql.apollo.api.internal.json.JsonReader;
+import com.apollographql.apollo.exception.ApolloException;
+import com.apollographql.apollo.exception.ApolloNetworkException;
+import com.apollographql.apollo.exception.ApolloParseException;
+import com.apollographql.apollo.interceptor.ApolloInterceptor;
+import com.apollographql.apollo.interceptor.ApolloInterceptor.CallBack;
+import com.apollographql.apollo.interceptor.ApolloInterceptor.FetchSourceType;
+import com.apollographql.apollo.interceptor.ApolloInterceptor.InterceptorRequest;
+import com.apollographql.apollo.internal.util.TimingWheel;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ByteString;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+import static com.apollographql.apollo.internal.interceptor.ApolloServerInterceptor.ACCEPT_TYPE;
+import static com.apollographql.apollo.internal.interceptor.ApolloServerInterceptor.CONTENT_TYPE;
+import static com.apollographql.apollo.internal.interceptor.ApolloServerInterceptor.HEADER_ACCEPT_TYPE;
+import static com.apollographql.apollo.internal.interceptor.ApolloServerInterceptor.HEADER_CONTENT_TYPE;
+import static com.apollographql.apollo.internal.interceptor.ApolloServerInterceptor.MEDIA_TYPE;
+
+/**
+ * Sends the operations of several calls in a single HTTP request. Operations are collected for {@code windowMillis}
+ * after the first one, or until {@code maxBatchSize} operations are collected, and then sent as a JSON array of
+ * request bodies. The server responds with a JSON array of responses, in the same order, which are handed back to
+ * each call as its own HTTP response.
+ *
+ * If the server responds with anything else than an array, such as an error status or a single error object, the
+ * whole response is handed to every call of the batch. The HTTP call of a batch is canceled once all its calls are
+ * disposed.
+ */
+public final class ApolloHttpBatcher {
+  final HttpUrl serverUrl;
+  final Call.Factory httpCallFactory;
+  final ScalarTypeAdapters scalarTypeAdapters;
+  final long windowMillis;
+  final int maxBatchSize;
+  final Executor dispatcher;
+  final ApolloLogger logger;
+  private final TimingWheel.Timeout flushTimeout;
+  private List<PendingOperation> pendingOperations = new ArrayList<>();
+
+  public ApolloHttpBatcher(@NotNull HttpUrl serverUrl, @NotNull Call.Factory httpCallFactory,
+      @NotNull ScalarTypeAdapters scalarTypeAdapters, long windowMillis, int maxBatchSize, @NotNull final Executor dispatcher,
+      @NotNull ApolloLogger logger) {
+    if (windowMillis <= 0) {
+      throw new IllegalArgumentException("windowMillis <= 0");
+    }
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("maxBatchSize <= 0");
+    }
+    this.serverUrl = checkNotNull(serverUrl, "serverUrl == null");
+    this.httpCallFactory = checkNotNull(httpCallFactory, "httpCallFactory == null");
+    this.scalarTypeAdapters = checkNotNull(scalarTypeAdapters, "scalarTypeAdapters == null");
+    this.windowMillis = windowMillis;
+    this.maxBatchSize = maxBatchSize;
+    this.dispatcher = checkNotNull(dispatcher, "dispatcher == null");
+    this.logger = checkNotNull(logger, "logger == null");
+    this.flushTimeout = TimingWheel.shared().newTimeout(new Runnable() {
+      @Override public void run() {
+        dispatcher.execute(new Runnable() {
+          @Override public void run() {
+            flush();
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * @return true if {@code request} can be sent as part of a batch: it is sent with HTTP POST, has no file upload and
+   * no request header as the headers of a batch are shared by all its operations
+   */
+  boolean canBatch(@NotNull InterceptorRequest request) {
+    if (request.useHttpGetMethodForQueries && request.operation instanceof Query) {
+      return false;
+    }
+    if (!request.requestHeaders.headers().isEmpty()) {
+      return false;
+    }
+    return !ApolloServerInterceptor.hasFileUploads(request.operation);
+  }
+
+  /**
+   * Adds {@code request} to the current batch.
+   *
+   * @param proceed sends the request on its own, used if it is the only operation of its batch
+   * @return the pending operation, to be canceled if the call is disposed before its response is received
+   */
+  @NotNull PendingOperation enqueue(@NotNull InterceptorRequest request, @NotNull CallBack callBack, @NotNull Runnable proceed) {
+    PendingOperation pendingOperation = new PendingOperation(checkNotNull(request, "request == null"),
+        checkNotNull(callBack, "callBack == null"), checkNotNull(proceed, "proceed == null"));
+    boolean flush = false;
+    synchronized (this) {
+      pendingOperations.add(pendingOperation);
+      if (pendingOperations.size() >= maxBatchSize) {
+        flush = true;
+      } else if (pendingOperations.size() == 1) {
+        flushTimeout.schedule(windowMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    if (flush) {
+      dispatcher.execute(new Runnable() {
+        @Override public void run() {
+          flush();
+        }
+      });
+    }
+    return pendingOperation;
+  }
+
+  /**
+   * Sends the current batch, if any.
+   */
+  void flush() {
+    final List<PendingOperation> batch;
+    synchronized (this) {
+      if (pendingOperations.isEmpty()) {
+        return;
+      }
+      batch = pendingOperations;
+      pendingOperations = new ArrayList<>();
+      flushTimeout.cancel();
+    }
+
+    final List<PendingOperation> operations = new ArrayList<>(batch.size());
+    final Batch httpBatch = new Batch();
+    Buffer body = new Buffer().writeByte('[');
+    for (PendingOperation pendingOperation : batch) {
+      if (pendingOperation.canceled) {
+        continue;
+      }
+      InterceptorRequest request = pendingOperation.request;
+      ByteString requestBody;
+      try {
+        requestBody = ApolloServerInterceptor.httpPostRequestBody(request.operation, scalarTypeAdapters,
+            request.sendQueryDocument, request.autoPersistQueries);
+      } catch (IOException e) {
+        logger.e(e, "Failed to prepare http call for operation %s", request.operation.name().name());
+        pendingOperation.callBack.onFailure(new ApolloNetworkException("Failed to prepare http call", e));
+        continue;
+      }
+      if (!pendingOperation.join(httpBatch)) {
+        continue;
+      }
+      if (!operations.isEmpty()) {
+        body.writeByte(',');
+      }
+      body.write(requestBody);
+      operations.add(pendingOperation);
+    }
+    body.writeByte(']');
+
+    if (operations.isEmpty()) {
+      return;
+    }
+    if (operations.size() == 1) {
+      // Not worth a batch, the server may not even support them
+      operations.get(0).proceed();
+      return;
+    }
+
+    Request httpRequest = new Request.Builder()
+        .url(serverUrl)
+        .header(HEADER_ACCEPT_TYPE, ACCEPT_TYPE)
+        .header(HEADER_CONTENT_TYPE, CONTENT_TYPE)
+        .post(RequestBody.create(MEDIA_TYPE, body.readByteString()))
+        .build();
+    for (PendingOperation pendingOperation : operations) {
+      pendingOperation.callBack.onFetch(FetchSourceType.NETWORK);
+    }
+
+    Call httpCall = httpCallFactory.newCall(httpRequest);
+    httpBatch.setHttpCall(httpCall);
+    httpCall.enqueue(new Callback() {
+      @Override public void onFailure(@NotNull Call call, @NotNull IOException e) {
+        logger.e(e, "Failed to execute batched http call for %d operations", operations.size());
+        for (PendingOperation pendingOperation : operations) {
+          pendingOperation.onFailure(new ApolloNetworkException("Failed to execute http call", e));
+        }
+      }
+
+      @Override public void onResponse(@NotNull Call call, @NotNull Response response) {
+        dispatchResponse(response, operations);
+      }
+    });
+  }
+
+  void dispatchResponse(Response response, List<PendingOperation> operations) {
+    ByteString responseBody;
+    try {
+      responseBody = response.body() != null ? response.body().source().readByteString() : ByteString.EMPTY;
+    } catch (IOException e) {
+      for (PendingOperation pendingOperation : operations) {
+        pendingOperation.onFailure(new ApolloNetworkException("Failed to read http response", e));
+      }
+      return;
+    } finally {
+      response.close();
+    }
+
+    List<ByteString> responseBodies = null;
+    if (response.isSuccessful()) {
+      try {
+        responseBodies = splitJsonArray(responseBody);
+      } catch (IOException e) {
+        logger.e(e, "Failed to parse batched http response");
+      }
+      if (responseBodies != null && responseBodies.size() != operations.size()) {
+        logger.e("Batched http response has %d results for %d operations", responseBodies.size(), operations.size());
+        for (PendingOperation pendingOperation : operations) {
+          pendingOperation.onFailure(new ApolloParseException("Failed to parse batched http response"));
+        }
+        return;
+      }
+    }
+
+    ResponseBody body = response.body();
+    for (int i = 0; i < operations.size(); i++) {
+      ByteString operationBody = responseBodies != null ? responseBodies.get(i) : responseBody;
+      Response operationResponse = response.newBuilder()
+          .body(ResponseBody.create(body != null ? body.contentType() : MEDIA_TYPE, operationBody))
+          .build();
+      operations.get(i).onResponse(operationResponse);
+    }
+  }
+
+  /**
+   * @return the raw JSON objects of a JSON array, or null if {@code json} is not an array
+   */
+  static List<ByteString> splitJsonArray(ByteString json) throws IOException {
+    Buffer buffer = new Buffer().write(json);
+    long size = buffer.size();
+    JsonReader reader = new BufferedSourceJsonReader(buffer);
+    if (reader.peek() != JsonReader.Token.BEGIN_ARRAY) {
+      return null;
+    }
+    List<ByteString> elements = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      if (reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+        throw new IOException("Expected a JSON object but was " + reader.peek());
+      }
+      // Peeking an object consumes its opening brace
+      long start = size - buffer.size() - 1;
+      reader.skipValue();
+      elements.add(json.substring((int) start, (int) (size - buffer.size())));
+    }
+    reader.endArray();
+    return elements;
+  }
+
+  /**
+   * The operations sent in the same HTTP call, which is canceled once all of them are canceled.
+   */
+  static final class Batch {
+    private int activeOperations;
+    private Call httpCall;
+    private boolean canceled;
+
+    synchronized void add() {
+      activeOperations++;
+    }
+
+    void setHttpCall(Call httpCall) {
+      synchronized (this) {
+        if (!canceled) {
+          this.httpCall = httpCall;
+          return;
+        }
+      }
+      httpCall.cancel();
+    }
+
+    void onOperationCanceled() {
+      final Call httpCall;
+      synchronized (this) {
+        if (--activeOperations > 0) {
+          return;
+        }
+        canceled = true;
+        httpCall = this.httpCall;
+      }
+      if (httpCall != null) {
+        httpCall.cancel();
+      }
+    }
+  }
+
+  static final class PendingOperation {
+    final InterceptorRequest request;
+    final CallBack callBack;
+    final Runnable proceed;
+    volatile boolean canceled;
+    private Batch batch;
+
+    PendingOperation(InterceptorRequest request, CallBack callBack, Runnable proceed) {
+      this.request = request;
+      this.callBack = callBack;
+      this.proceed = proceed;
+    }
+
+    /**
+     * @return false if the operation is already canceled and must not be sent
+     */
+    synchronized boolean join(Batch batch) {
+      if (canceled) {
+        return false;
+      }
+      this.batch = batch;
+      batch.add();
+      return true;
+    }
+
+    synchronized void cancel() {
+      if (canceled) {
+        return;
+      }
+      canceled = true;
+      if (batch != null) {
+        batch.onOperationCanceled();
+      }
+    }
+
+    void proceed() {
+      if (!canceled) {
+        proceed.run();
+      }
+    }
+
+    void onResponse(Response response) {
+      if (canceled) return;
+      callBack.onResponse(new ApolloInterceptor.InterceptorResponse(response));
+      callBack.onCompleted();
+    }
+
+    void onFailure(ApolloException e) {
+      if (canceled) return;
+      callBack.onFailure(e);
+    }
+  }
+}
@@ -12,8 +12,10 @@ import com.apollographql.apollo.exception.ApolloParseException;
 import com.apollographql.apollo.interceptor.ApolloInterceptor;
 import com.apollographql.apollo.interceptor.ApolloInterceptorChain;
 import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
+import com.apollographql.apollo.internal.response.ParallelNormalization;
 import com.apollographql.apollo.response.OperationResponseParser;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.Closeable;
 import java.util.Map;
@@ -30,15 +32,23 @@ public final class ApolloParseInterceptor implements ApolloInterceptor {
   private final ResponseFieldMapper responseFieldMapper;
   private final ScalarTypeAdapters scalarTypeAdapters;
   private final ApolloLogger logger;
+  private final ParallelNormalization parallelNormalization;
   volatile boolean disposed;
 
   public ApolloParseInterceptor(HttpCache httpCache, ResponseNormalizer<Map<String, Object>> normalizer,
       ResponseFieldMapper responseFieldMapper, ScalarTypeAdapters scalarTypeAdapters, ApolloLogger logger) {
+    this(httpCache, normalizer, responseFieldMapper, scalarTypeAdapters, logger, null);
+  }
+
+  public ApolloParseInterceptor(HttpCache httpCache, ResponseNormalizer<Map<String, Object>> normalizer,
+      ResponseFieldMapper responseFieldMapper, ScalarTypeAdapters scalarTypeAdapters, ApolloLogger logger,
+      @Nullable ParallelNormalization parallelNormalization) {
     this.httpCache = httpCache;
     this.normalizer = normalizer;
     this.responseFieldMapper = responseFieldMapper;
     this.scalarTypeAdapters = scalarTypeAdapters;
     this.logger = logger;
+    this.parallelNormalization = parallelNormalization;
   }
 
   @Override
@@ -82,7 +92,7 @@ public final class ApolloParseInterceptor implements ApolloInterceptor {
     if (httpResponse.isSuccessful()) {
       try {
         OperationResponseParser parser = new OperationResponseParser(operation, responseFieldMapper, scalarTypeAdapters,
-            normalizer);
+            normalizer, parallelNormalization);
         Response parsedResponse = parser.parse(httpResponse.body().source())
             .toBuilder()
             .fromCache(httpResponse.cacheResponse() != null)
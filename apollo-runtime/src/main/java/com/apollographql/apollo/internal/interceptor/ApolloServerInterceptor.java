@@ -10,13 +10,17 @@ import com.apollographql.apollo.api.cache.http.HttpCache;
 import com.apollographql.apollo.api.cache.http.HttpCachePolicy;
 import com.apollographql.apollo.api.internal.ApolloLogger;
 import com.apollographql.apollo.api.internal.Optional;
+import com.apollographql.apollo.api.internal.json.BufferedSourceJsonReader;
 import com.apollographql.apollo.api.internal.json.InputFieldJsonWriter;
 import com.apollographql.apollo.api.internal.json.JsonWriter;
+import com.apollographql.apollo.api.internal.json.ResponseJsonStreamReader;
+import com.apollographql.apollo.api.internal.json.Utils;
 import com.apollographql.apollo.cache.ApolloCacheHeaders;
 import com.apollographql.apollo.cache.CacheHeaders;
 import com.apollographql.apollo.exception.ApolloNetworkException;
 import com.apollographql.apollo.interceptor.ApolloInterceptor;
 import com.apollographql.apollo.interceptor.ApolloInterceptorChain;
+import com.apollographql.apollo.request.ApolloRequestHeaders;
 import com.apollographql.apollo.request.RequestHeaders;
 import okhttp3.Call;
 import okhttp3.Callback;
@@ -27,7 +31,10 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okio.Buffer;
+import okio.BufferedSink;
 import okio.ByteString;
+import okio.GzipSink;
+import okio.Okio;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -36,6 +43,9 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -53,9 +63,11 @@ public final class ApolloServerInterceptor implements ApolloInterceptor {
   static final String HEADER_CONTENT_TYPE = "Content-Type";
   static final String HEADER_APOLLO_OPERATION_ID = "X-APOLLO-OPERATION-ID";
   static final String HEADER_APOLLO_OPERATION_NAME = "X-APOLLO-OPERATION-NAME";
+  static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
   static final String ACCEPT_TYPE = "application/json";
   static final String CONTENT_TYPE = "application/json";
   static final MediaType MEDIA_TYPE = MediaType.parse("application/json; charset=utf-8");
+  static final String GZIP_ENCODING = "gzip";
 
   final HttpUrl serverUrl;
   final okhttp3.Call.Factory httpCallFactory;
@@ -63,18 +75,30 @@ public final class ApolloServerInterceptor implements ApolloInterceptor {
   final boolean prefetch;
   final ApolloLogger logger;
   final ScalarTypeAdapters scalarTypeAdapters;
+  final long requestCompressionThreshold;
   AtomicReference<Call> httpCallRef = new AtomicReference<>();
   volatile boolean disposed;
 
   public ApolloServerInterceptor(@NotNull HttpUrl serverUrl, @NotNull Call.Factory httpCallFactory,
       @Nullable HttpCachePolicy.Policy cachePolicy, boolean prefetch,
       @NotNull ScalarTypeAdapters scalarTypeAdapters, @NotNull ApolloLogger logger) {
+    this(serverUrl, httpCallFactory, cachePolicy, prefetch, scalarTypeAdapters, logger, -1);
+  }
+
+  /**
+   * @param requestCompressionThreshold minimum size in bytes of the HTTP POST request bodies to compress with gzip, or
+   *                                    -1 to never compress them
+   */
+  public ApolloServerInterceptor(@NotNull HttpUrl serverUrl, @NotNull Call.Factory httpCallFactory,
+      @Nullable HttpCachePolicy.Policy cachePolicy, boolean prefetch,
+      @NotNull ScalarTypeAdapters scalarTypeAdapters, @NotNull ApolloLogger logger, long requestCompressionThreshold) {
     this.serverUrl = checkNotNull(serverUrl, "serverUrl == null");
     this.httpCallFactory = checkNotNull(httpCallFactory, "httpCallFactory == null");
     this.cachePolicy = Optional.fromNullable(cachePolicy);
     this.prefetch = prefetch;
     this.scalarTypeAdapters = checkNotNull(scalarTypeAdapters, "scalarTypeAdapters == null");
     this.logger = checkNotNull(logger, "logger == null");
+    this.requestCompressionThreshold = requestCompressionThreshold;
   }
 
   @Override
@@ -161,15 +185,21 @@ public final class ApolloServerInterceptor implements ApolloInterceptor {
 
   Call httpPostCall(Operation operation, CacheHeaders cacheHeaders, RequestHeaders requestHeaders,
       boolean writeQueryDocument, boolean autoPersistQueries) throws IOException {
-    RequestBody requestBody = RequestBody.create(MEDIA_TYPE, httpPostRequestBody(operation, scalarTypeAdapters,
-        writeQueryDocument, autoPersistQueries));
-
-    requestBody = transformToMultiPartIfUploadExists(requestBody, operation);
-
+    ByteString body = httpPostRequestBody(operation, scalarTypeAdapters, writeQueryDocument, autoPersistQueries);
     Request.Builder requestBuilder = new Request.Builder()
         .url(serverUrl)
-        .header(HEADER_CONTENT_TYPE, CONTENT_TYPE)
-        .post(requestBody);
+        .header(HEADER_CONTENT_TYPE, CONTENT_TYPE);
+
+    ArrayList<FileUploadMeta> fileUploads = fileUploads(operation);
+    if (!fileUploads.isEmpty()) {
+      requestBuilder.post(httpMultipartRequestBody(RequestBody.create(MEDIA_TYPE, body), fileUploads));
+    } else if (requestCompressionThreshold >= 0 && body.size() >= requestCompressionThreshold) {
+      requestBuilder
+          .header(HEADER_CONTENT_ENCODING, GZIP_ENCODING)
+          .post(RequestBody.create(MEDIA_TYPE, gzip(body)));
+    } else {
+      requestBuilder.post(RequestBody.create(MEDIA_TYPE, body));
+    }
     decorateRequest(requestBuilder, operation, cacheHeaders, requestHeaders);
     return httpCallFactory.newCall(requestBuilder.build());
   }
@@ -183,6 +213,10 @@ public final class ApolloServerInterceptor implements ApolloInterceptor {
         .tag(operation.operationId());
 
     for (String header : requestHeaders.headers()) {
+      // Consumed by the client, also when no batcher is configured to strip it
+      if (ApolloRequestHeaders.DO_NOT_BATCH.equals(header)) {
+        continue;
+      }
       String value = requestHeaders.headerValue(header);
       requestBuilder.header(header, value);
     }
@@ -216,20 +250,33 @@ public final class ApolloServerInterceptor implements ApolloInterceptor {
     }
   }
 
+  static ByteString gzip(ByteString body) throws IOException {
+    Buffer buffer = new Buffer();
+    BufferedSink sink = Okio.buffer(new GzipSink(buffer));
+    sink.write(body);
+    sink.close();
+    return buffer.readByteString();
+  }
+
+  /**
+   * Builds the URL of an HTTP GET request. The query parameters are added in alphabetical order and the variables are
+   * written with their keys sorted, so that the same operation with the same variables always maps to the same URL and
+   * can be served by HTTP caches and CDNs.
+   */
   static HttpUrl httpGetUrl(HttpUrl serverUrl, Operation operation,
       ScalarTypeAdapters scalarTypeAdapters, boolean writeQueryDocument,
       boolean autoPersistQueries) throws IOException {
     HttpUrl.Builder urlBuilder = serverUrl.newBuilder();
+    if (autoPersistQueries) {
+      addExtensionsUrlQueryParameter(urlBuilder, operation);
+    }
+    urlBuilder.addQueryParameter("operationName", operation.name().name());
     if (!autoPersistQueries || writeQueryDocument) {
       urlBuilder.addQueryParameter("query", operation.queryDocument());
     }
     if (operation.variables() != Operation.EMPTY_VARIABLES) {
       addVariablesUrlQueryParameter(urlBuilder, operation, scalarTypeAdapters);
     }
-    urlBuilder.addQueryParameter("operationName", operation.name().name());
-    if (autoPersistQueries) {
-      addExtensionsUrlQueryParameter(urlBuilder, operation);
-    }
     return urlBuilder.build();
   }
 
@@ -242,9 +289,36 @@ public final class ApolloServerInterceptor implements ApolloInterceptor {
     operation.variables().marshaller().marshal(new InputFieldJsonWriter(jsonWriter, scalarTypeAdapters));
     jsonWriter.endObject();
     jsonWriter.close();
+
+    // Variables are written in declaration order but custom scalars and maps may not have a stable one
+    Map<String, Object> variables = new ResponseJsonStreamReader(new BufferedSourceJsonReader(buffer)).toMap();
+    jsonWriter = JsonWriter.of(buffer);
+    jsonWriter.setSerializeNulls(true);
+    writeSortedJson(variables, jsonWriter);
+    jsonWriter.close();
     urlBuilder.addQueryParameter("variables", buffer.readUtf8());
   }
 
+  @SuppressWarnings("unchecked")
+  private static void writeSortedJson(Object value, JsonWriter jsonWriter) throws IOException {
+    if (value instanceof Map) {
+      jsonWriter.beginObject();
+      for (Map.Entry<String, Object> entry : new TreeMap<>((Map<String, Object>) value).entrySet()) {
+        jsonWriter.name(entry.getKey());
+        writeSortedJson(entry.getValue(), jsonWriter);
+      }
+      jsonWriter.endObject();
+    } else if (value instanceof List) {
+      jsonWriter.beginArray();
+      for (Object item : (List<Object>) value) {
+        writeSortedJson(item, jsonWriter);
+      }
+      jsonWriter.endArray();
+    } else {
+      Utils.writeToJson(value, jsonWriter);
+    }
+  }
+
   static void addExtensionsUrlQueryParameter(HttpUrl.Builder urlBuilder, Operation operation) throws IOException {
     Buffer buffer = new Buffer();
     JsonWriter jsonWriter = JsonWriter.of(buffer);
@@ -299,18 +373,19 @@ public final class ApolloServerInterceptor implements ApolloInterceptor {
     }
   }
 
-  static RequestBody transformToMultiPartIfUploadExists(RequestBody originalBody, Operation operation)
-      throws IOException {
+  static boolean hasFileUploads(Operation operation) {
+    return !fileUploads(operation).isEmpty();
+  }
+
+  private static ArrayList<FileUploadMeta> fileUploads(Operation operation) {
     ArrayList<FileUploadMeta> allUploads = new ArrayList<>();
-    for (String variableName : operation.variables().valueMap().keySet()) {
-      Object value = operation.variables().valueMap().get(variableName);
-      recursiveGetUploadData(value, "variables." + variableName, allUploads);
-    }
-    if (allUploads.isEmpty()) {
-      return originalBody;
-    } else {
-      return httpMultipartRequestBody(originalBody, allUploads);
+    Operation.Variables variables = operation.variables();
+    for (int i = 0, count = variables.variableCount(); i < count; i++) {
+      if (variables.isVariableDefined(i)) {
+        recursiveGetUploadData(variables.variableValue(i), "variables." + variables.variableName(i), allUploads);
+      }
     }
+    return allUploads;
   }
 
   static RequestBody httpMultipartRequestBody(RequestBody operations, ArrayList<FileUploadMeta> fileUploads)
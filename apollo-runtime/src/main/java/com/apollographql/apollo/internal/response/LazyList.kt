@@ -0,0 +1,72 @@
+package com.apollographql.apollo.internal.response
+
+import com.apollographql.apollo.api.internal.json.BufferedSourceJsonReader
+import com.apollographql.apollo.api.internal.json.JsonWriter
+import com.apollographql.apollo.api.internal.json.ResponseJsonStreamReader
+import com.apollographql.apollo.api.internal.json.Utils
+import okio.Buffer
+import okio.ByteString
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * A read-only list of the raw [values] of a response list that decodes each element with [decode] the first time it
+ * is accessed. Decoded elements are kept, so each one is decoded once.
+ *
+ * Object and list values are not retained as read: each one is encoded as the UTF-8 bytes of its JSON and parsed back
+ * into its raw value when it is decoded, so that the elements not accessed only hold their bytes. The bytes of an
+ * element are released once it is decoded.
+ *
+ * An element that fails to decode throws an [IllegalStateException] naming the list and the element, with the failure
+ * as its cause. Its bytes are kept, so accessing it again fails the same way.
+ */
+internal class LazyList<T : Any>(
+    private val responseName: String,
+    values: List<*>,
+    private val decode: (Any) -> T
+) : AbstractList<T?>(), RandomAccess {
+  private val values: Array<Any?> = Array(values.size) { index -> encode(values[index]) }
+  private val elements = AtomicReferenceArray<Any?>(this.values.size)
+
+  override val size: Int
+    get() = values.size
+
+  @Suppress("UNCHECKED_CAST")
+  override fun get(index: Int): T? {
+    val element = elements[index]
+    if (element != null) {
+      return element as T
+    }
+    // Readers are not thread safe, elements are decoded one at a time
+    synchronized(this) {
+      elements[index]?.let { return it as T }
+      val value = values[index] ?: return null
+      val decoded = try {
+        decode(decodeValue(value))
+      } catch (e: Exception) {
+        throw IllegalStateException("Failed to read element $index of the lazy list `$responseName`", e)
+      }
+      elements[index] = decoded
+      values[index] = null
+      return decoded
+    }
+  }
+
+  private companion object {
+    fun encode(value: Any?): Any? {
+      if (value !is Map<*, *> && value !is List<*>) {
+        return value
+      }
+      val buffer = Buffer()
+      JsonWriter.of(buffer).use { jsonWriter -> Utils.writeToJson(value, jsonWriter) }
+      return buffer.readByteString()
+    }
+
+    fun decodeValue(value: Any): Any {
+      if (value !is ByteString) {
+        return value
+      }
+      val reader = ResponseJsonStreamReader(BufferedSourceJsonReader(Buffer().write(value)))
+      return (if (reader.isNextList) reader.readList() else reader.readObject())!!
+    }
+  }
+}
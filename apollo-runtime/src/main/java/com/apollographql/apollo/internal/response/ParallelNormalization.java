@@ -0,0 +1,67 @@
+package com.apollographql.apollo.internal.response;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * Reads and normalizes the large lists of network responses in parallel, and writes their records to the cache in
+ * chunked transactions.
+ *
+ * The elements of the outermost lists of more than {@code partitionSize} elements are split into partitions of
+ * {@code partitionSize} elements, each read on the fork-join pool and normalized into its own record set. The partitions
+ * are then combined in the order of their elements, so the records are the same as the ones of a sequential read. The
+ * cache key resolver and the custom type adapters must be thread safe.
+ *
+ * The records are then written {@code recordsPerTransaction} at a time, so that a response with thousands of records
+ * does not hold the cache lock nor a single database transaction for the whole write. Readers may observe the cache
+ * between two chunks.
+ */
+public final class ParallelNormalization {
+  final ForkJoinPool forkJoinPool;
+  final int partitionSize;
+  final int recordsPerTransaction;
+
+  public ParallelNormalization(@NotNull ForkJoinPool forkJoinPool, int partitionSize, int recordsPerTransaction) {
+    if (partitionSize <= 0) {
+      throw new IllegalArgumentException("partitionSize <= 0");
+    }
+    if (recordsPerTransaction <= 0) {
+      throw new IllegalArgumentException("recordsPerTransaction <= 0");
+    }
+    this.forkJoinPool = checkNotNull(forkJoinPool, "forkJoinPool == null");
+    this.partitionSize = partitionSize;
+    this.recordsPerTransaction = recordsPerTransaction;
+  }
+
+  @NotNull public ForkJoinPool forkJoinPool() {
+    return forkJoinPool;
+  }
+
+  public int partitionSize() {
+    return partitionSize;
+  }
+
+  /**
+   * @return true if a list of {@code size} elements is worth reading in several partitions
+   */
+  public boolean shouldPartition(int size) {
+    return size > partitionSize;
+  }
+
+  /**
+   * @return {@code records} split in chunks of at most {@code recordsPerTransaction} records, each written in its own
+   * transaction
+   */
+  @NotNull public <T> List<List<T>> transactionChunks(@NotNull List<T> records) {
+    List<List<T>> chunks = new ArrayList<>((records.size() + recordsPerTransaction - 1) / recordsPerTransaction);
+    for (int from = 0; from < records.size(); from += recordsPerTransaction) {
+      chunks.add(records.subList(from, Math.min(from + recordsPerTransaction, records.size())));
+    }
+    return chunks;
+  }
+}
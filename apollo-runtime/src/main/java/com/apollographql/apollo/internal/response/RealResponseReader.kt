@@ -10,17 +10,32 @@ import com.apollographql.apollo.api.ScalarTypeAdapters
 import com.apollographql.apollo.api.internal.FieldValueResolver
 import com.apollographql.apollo.api.internal.ResolveDelegate
 import com.apollographql.apollo.api.internal.ResponseReader
+import com.apollographql.apollo.cache.normalized.internal.FieldPlan
+import com.apollographql.apollo.cache.normalized.internal.RealCacheKeyBuilder
+import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer
+import com.apollographql.apollo.internal.field.MapFieldValueResolver
 import java.util.Collections
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
 
-class RealResponseReader<R>(
+class RealResponseReader<R> @JvmOverloads constructor(
     val operationVariables: Operation.Variables,
     private val recordSet: R,
     internal val fieldValueResolver: FieldValueResolver<R>,
     internal val scalarTypeAdapters: ScalarTypeAdapters,
-    internal val resolveDelegate: ResolveDelegate<R>
+    internal val resolveDelegate: ResolveDelegate<R>,
+    internal val fieldPlan: FieldPlan,
+    internal val parallelNormalization: ParallelNormalization? = null
 ) : ResponseReader {
 
-  private val variableValues: Map<String, Any?> = operationVariables.valueMap()
+  constructor(
+      operationVariables: Operation.Variables,
+      recordSet: R,
+      fieldValueResolver: FieldValueResolver<R>,
+      scalarTypeAdapters: ScalarTypeAdapters,
+      resolveDelegate: ResolveDelegate<R>
+  ) : this(operationVariables, recordSet, fieldValueResolver, scalarTypeAdapters, resolveDelegate,
+      FieldPlan(operationVariables, RealCacheKeyBuilder()))
 
   override fun readString(field: ResponseField): String? {
     if (shouldSkip(field)) {
@@ -115,13 +130,15 @@ class RealResponseReader<R>(
       resolveDelegate.didResolveNull()
       null
     } else {
-      objectReader.read(RealResponseReader(operationVariables, value, fieldValueResolver, scalarTypeAdapters, resolveDelegate))
+      objectReader.read(RealResponseReader(operationVariables, value, fieldValueResolver, scalarTypeAdapters, resolveDelegate,
+          fieldPlan, parallelNormalization))
     }
     resolveDelegate.didResolveObject(field, value)
     didResolve(field)
     return parsedValue
   }
 
+  @Suppress("UNCHECKED_CAST")
   override fun <T : Any> readList(field: ResponseField, listReader: ResponseReader.ListReader<T>): List<T?>? {
     if (shouldSkip(field)) {
       return null
@@ -133,20 +150,143 @@ class RealResponseReader<R>(
       resolveDelegate.didResolveNull()
       null
     } else {
-      values.mapIndexed { index, value ->
-        resolveDelegate.willResolveElement(index)
-        if (value == null) {
-          resolveDelegate.didResolveNull()
-          null
-        } else {
-          listReader.read(ListItemReader(field, value))
-        }.also { resolveDelegate.didResolveElement(index) }
+      val normalizer = resolveDelegate as? ResponseNormalizer<R>
+      if (parallelNormalization != null && normalizer != null && parallelNormalization.shouldPartition(values.size)) {
+        readPartitionedElements(field, values, listReader, parallelNormalization, normalizer)
+      } else {
+        readElements(field, values, 0, values.size, listReader)
       }.also { resolveDelegate.didResolveList(values) }
     }
     didResolve(field)
     return if (result != null) Collections.unmodifiableList(result) else null
   }
 
+  /**
+   * Reads a list into a [LazyList] retaining the raw values of its elements as JSON bytes, each one is read into its
+   * model the first time it is accessed.
+   *
+   * The elements of a response that is being normalized or read from the cache are needed right away for its records
+   * and dependent keys, and records can only be read within the read transaction: they are read once through the
+   * resolve delegate, which records their raw values, their models are dropped and accessed elements are read again
+   * from their raw values.
+   */
+  @Suppress("UNCHECKED_CAST")
+  override fun <T : Any> readLazyList(field: ResponseField, listReader: ResponseReader.ListReader<T>): List<T?>? {
+    if (shouldSkip(field)) {
+      return null
+    }
+    val values = fieldValueResolver.valueFor<List<*>>(recordSet, field)
+    checkValue(field, values)
+    val rawValues = if (fieldValueResolver is MapFieldValueResolver
+        && resolveDelegate === ResponseNormalizer.NO_OP_NORMALIZER) {
+      values
+    } else {
+      willResolve(field, values)
+      val rawValues = if (values == null) {
+        resolveDelegate.didResolveNull()
+        null
+      } else {
+        readRawElements(field, values, listReader).also { resolveDelegate.didResolveList(values) }
+      }
+      didResolve(field)
+      rawValues
+    }
+    if (rawValues == null) {
+      return null
+    }
+    // The reader of the elements does not retain the object of the list nor share the field plan of this reader
+    val elementReader = RealResponseReader(operationVariables, emptyMap<String, Any>(), MapFieldValueResolver(),
+        scalarTypeAdapters, ResponseNormalizer.NO_OP_NORMALIZER as ResolveDelegate<Map<String, Any>>,
+        FieldPlan(operationVariables, RealCacheKeyBuilder()))
+    return LazyList(field.responseName, rawValues) { value ->
+      listReader.read(elementReader.ListItemReader(field, value))
+    }
+  }
+
+  /**
+   * Reads the elements of a list through the resolve delegate and returns their raw values, dropping their models.
+   */
+  private fun <T : Any> readRawElements(
+      field: ResponseField,
+      values: List<*>,
+      listReader: ResponseReader.ListReader<T>
+  ): List<Any?> {
+    val recorder = ResponseValueRecorder(resolveDelegate)
+    val reader = RealResponseReader(operationVariables, recordSet, fieldValueResolver, scalarTypeAdapters, recorder,
+        fieldPlan)
+    val rawValues = ArrayList<Any?>(values.size)
+    for ((index, value) in values.withIndex()) {
+      resolveDelegate.willResolveElement(index)
+      if (value == null) {
+        resolveDelegate.didResolveNull()
+        rawValues.add(null)
+      } else {
+        listReader.read(reader.ListItemReader(field, value))
+        rawValues.add(recorder.takeValue())
+      }
+      resolveDelegate.didResolveElement(index)
+    }
+    return rawValues
+  }
+
+  private fun <T : Any> readElements(
+      field: ResponseField,
+      values: List<*>,
+      fromIndex: Int,
+      toIndex: Int,
+      listReader: ResponseReader.ListReader<T>
+  ): List<T?> {
+    val result = ArrayList<T?>(toIndex - fromIndex)
+    for (index in fromIndex until toIndex) {
+      val value = values[index]
+      resolveDelegate.willResolveElement(index)
+      result.add(if (value == null) {
+        resolveDelegate.didResolveNull()
+        null
+      } else {
+        listReader.read(ListItemReader(field, value))
+      })
+      resolveDelegate.didResolveElement(index)
+    }
+    return result
+  }
+
+  /**
+   * Reads the elements of a large list in partitions on the fork-join pool. Each partition has its own normalizer and
+   * reader, the partitions are joined back in order once they are all read.
+   */
+  private fun <T : Any> readPartitionedElements(
+      field: ResponseField,
+      values: List<*>,
+      listReader: ResponseReader.ListReader<T>,
+      parallelNormalization: ParallelNormalization,
+      normalizer: ResponseNormalizer<R>
+  ): List<T?> {
+    val partitions = ArrayList<ResponseNormalizer<R>>()
+    val tasks = ArrayList<Callable<List<T?>>>()
+    for (fromIndex in values.indices step parallelNormalization.partitionSize()) {
+      val toIndex = minOf(fromIndex + parallelNormalization.partitionSize(), values.size)
+      val partition = normalizer.partition()
+      // Partitions are not partitioned again
+      val reader = RealResponseReader(operationVariables, recordSet, fieldValueResolver, scalarTypeAdapters, partition,
+          partition.fieldPlan(operationVariables))
+      partitions.add(partition)
+      tasks.add(Callable { reader.readElements(field, values, fromIndex, toIndex, listReader) })
+    }
+
+    val futures = parallelNormalization.forkJoinPool().invokeAll(tasks)
+    val result = ArrayList<T?>(values.size)
+    for (index in partitions.indices) {
+      try {
+        result.addAll(futures[index].get())
+      } catch (e: ExecutionException) {
+        throw e.cause ?: e
+      }
+      normalizer.joinPartition(partitions[index])
+    }
+    return result
+  }
+
   override fun <T : Any> readCustomType(field: ResponseField.CustomTypeField): T? {
     if (shouldSkip(field)) {
       return null
@@ -198,23 +338,7 @@ class RealResponseReader<R>(
   }
 
   private fun shouldSkip(field: ResponseField): Boolean {
-    for (condition in field.conditions) {
-      if (condition is ResponseField.BooleanCondition) {
-        val conditionValue = variableValues[condition.variableName] as Boolean?
-        if (condition.inverted) {
-          // means it's a skip directive
-          if (conditionValue == true) {
-            return true
-          }
-        } else {
-          // means it's an include directive
-          if (conditionValue == false) {
-            return true
-          }
-        }
-      }
-    }
-    return false
+    return fieldPlan.shouldSkip(field)
   }
 
   private fun willResolve(field: ResponseField, value: Any?) {
@@ -271,7 +395,8 @@ class RealResponseReader<R>(
     override fun <T : Any> readObject(objectReader: ResponseReader.ObjectReader<T>): T {
       val value = value as R
       resolveDelegate.willResolveObject(field, value)
-      val item = objectReader.read(RealResponseReader(operationVariables, value, fieldValueResolver, scalarTypeAdapters, resolveDelegate))
+      val item = objectReader.read(RealResponseReader(operationVariables, value, fieldValueResolver, scalarTypeAdapters, resolveDelegate,
+          fieldPlan, parallelNormalization))
       resolveDelegate.didResolveObject(field, value)
       return item
     }
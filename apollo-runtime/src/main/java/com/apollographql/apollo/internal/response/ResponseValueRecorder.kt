@@ -0,0 +1,72 @@
+package com.apollographql.apollo.internal.response
+
+import com.apollographql.apollo.api.Operation
+import com.apollographql.apollo.api.ResponseField
+import com.apollographql.apollo.api.internal.ResolveDelegate
+
+/**
+ * Forwards the calls of a reader to [delegate] and rebuilds the raw values it reads, objects as maps keyed by the
+ * response names of their fields, as a network response would hold them.
+ *
+ * The value of each element read is taken with [takeValue] once the element is read.
+ */
+internal class ResponseValueRecorder<R>(private val delegate: ResolveDelegate<R>) : ResolveDelegate<R> {
+  private val names = ArrayList<String>()
+  private val objects = ArrayList<MutableMap<String, Any?>>()
+  private val values = ArrayList<Any?>()
+
+  fun takeValue(): Any? = values.removeAt(values.size - 1)
+
+  override fun willResolveRootQuery(operation: Operation<*, *, *>) {
+    delegate.willResolveRootQuery(operation)
+  }
+
+  override fun willResolve(field: ResponseField, variables: Operation.Variables, value: Any?) {
+    delegate.willResolve(field, variables, value)
+    names.add(field.responseName)
+  }
+
+  override fun didResolve(field: ResponseField, variables: Operation.Variables) {
+    delegate.didResolve(field, variables)
+    objects[objects.size - 1][names.removeAt(names.size - 1)] = takeValue()
+  }
+
+  override fun didResolveScalar(value: Any?) {
+    delegate.didResolveScalar(value)
+    values.add(value)
+  }
+
+  override fun willResolveObject(objectField: ResponseField, objectSource: R?) {
+    delegate.willResolveObject(objectField, objectSource)
+    objects.add(LinkedHashMap())
+  }
+
+  override fun didResolveObject(objectField: ResponseField, objectSource: R?) {
+    delegate.didResolveObject(objectField, objectSource)
+    val value = objects.removeAt(objects.size - 1)
+    // A null object has been recorded by didResolveNull
+    if (objectSource != null) {
+      values.add(value)
+    }
+  }
+
+  override fun didResolveList(array: List<*>) {
+    delegate.didResolveList(array)
+    val list = ArrayList<Any?>(values.subList(values.size - array.size, values.size))
+    repeat(array.size) { values.removeAt(values.size - 1) }
+    values.add(list)
+  }
+
+  override fun willResolveElement(atIndex: Int) {
+    delegate.willResolveElement(atIndex)
+  }
+
+  override fun didResolveElement(atIndex: Int) {
+    delegate.didResolveElement(atIndex)
+  }
+
+  override fun didResolveNull() {
+    delegate.didResolveNull()
+    values.add(null)
+  }
+}
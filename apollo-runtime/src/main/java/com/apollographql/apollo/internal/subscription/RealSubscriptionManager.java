@@ -8,6 +8,7 @@ import com.apollographql.apollo.api.internal.ResponseFieldMapper;
 import com.apollographql.apollo.cache.normalized.Record;
 import com.apollographql.apollo.exception.ApolloNetworkException;
 import com.apollographql.apollo.internal.ResponseFieldMapperFactory;
+import com.apollographql.apollo.internal.util.TimingWheel;
 import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
 import com.apollographql.apollo.response.OperationResponseParser;
 import com.apollographql.apollo.subscription.OnSubscriptionManagerStateChangeListener;
@@ -15,21 +16,24 @@ import com.apollographql.apollo.subscription.OperationClientMessage;
 import com.apollographql.apollo.subscription.OperationServerMessage;
 import com.apollographql.apollo.subscription.SubscriptionConnectionParamsProvider;
 import com.apollographql.apollo.subscription.SubscriptionManagerState;
+import com.apollographql.apollo.subscription.SubscriptionReconnectPolicy;
 import com.apollographql.apollo.subscription.SubscriptionTransport;
 import kotlin.jvm.functions.Function0;
+import okio.Buffer;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
 
@@ -38,13 +42,31 @@ public final class RealSubscriptionManager implements SubscriptionManager {
   static final int CONNECTION_ACKNOWLEDGE_TIMEOUT_TIMER_TASK_ID = 1;
   static final int INACTIVITY_TIMEOUT_TIMER_TASK_ID = 2;
   static final int CONNECTION_KEEP_ALIVE_TIMEOUT_TIMER_TASK_ID = 3;
+  static final int RECONNECT_TIMER_TASK_ID = 4;
   static final long CONNECTION_ACKNOWLEDGE_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
   static final long INACTIVITY_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
   static final String PROTOCOL_NEGOTIATION_ERROR_NOT_FOUND = "PersistedQueryNotFound";
   static final String PROTOCOL_NEGOTIATION_ERROR_NOT_SUPPORTED = "PersistedQueryNotSupported";
 
-  Map<UUID, SubscriptionRecord> subscriptions = new LinkedHashMap<>();
+  /**
+   * Active subscriptions indexed by id. Only modified while holding the manager lock, along with {@link
+   * #subscriptionsByInstance} and {@link #subscriptionsByOperation}, but read without any lock when dispatching server
+   * messages.
+   */
+  final Map<UUID, SubscriptionRecord> subscriptions = new ConcurrentHashMap<>();
+  /**
+   * Active subscriptions indexed by the {@link Subscription} instances subscribed to them, most recent last as an
+   * instance can be subscribed to several times.
+   */
+  final Map<SubscriptionKey, List<SubscriptionRecord>> subscriptionsByInstance = new ConcurrentHashMap<>();
+  /**
+   * Active subscriptions indexed by operation id. Subscribing to an operation that is already active with the same
+   * variables adds a subscriber to the existing subscription rather than starting a new one on the server. Variables
+   * are only serialized to be compared when the operation is already active.
+   */
+  final Map<String, List<SubscriptionRecord>> subscriptionsByOperation = new ConcurrentHashMap<>();
   volatile SubscriptionManagerState state = SubscriptionManagerState.DISCONNECTED;
+  int reconnectAttempt;
   final AutoReleaseTimer timer = new AutoReleaseTimer();
 
   private final ScalarTypeAdapters scalarTypeAdapters;
@@ -54,6 +76,7 @@ public final class RealSubscriptionManager implements SubscriptionManager {
   private final long connectionHeartbeatTimeoutMs;
   private final Function0<ResponseNormalizer<Map<String, Object>>> responseNormalizer;
   private final ResponseFieldMapperFactory responseFieldMapperFactory = new ResponseFieldMapperFactory();
+  private final SubscriptionReconnectPolicy reconnectPolicy;
   private final Runnable connectionAcknowledgeTimeoutTimerTask = new Runnable() {
     @Override
     public void run() {
@@ -66,10 +89,22 @@ public final class RealSubscriptionManager implements SubscriptionManager {
       onInactivityTimeout();
     }
   };
+  private final Runnable reconnectTimerTask = new Runnable() {
+    @Override
+    public void run() {
+      onReconnectDelayElapsed();
+    }
+  };
   private final Runnable connectionHeartbeatTimeoutTimerTask = new Runnable() {
     @Override
     public void run() {
-      onConnectionHeartbeatTimeout();
+      // Timer tasks run on the shared timing wheel thread, reconnecting is dispatched like the other timeouts
+      dispatcher.execute(new Runnable() {
+        @Override
+        public void run() {
+          onConnectionHeartbeatTimeout();
+        }
+      });
     }
   };
   private final List<OnSubscriptionManagerStateChangeListener> onStateChangeListeners = new CopyOnWriteArrayList<>();
@@ -79,6 +114,15 @@ public final class RealSubscriptionManager implements SubscriptionManager {
       @NotNull final SubscriptionTransport.Factory transportFactory, @NotNull SubscriptionConnectionParamsProvider connectionParams,
       @NotNull final Executor dispatcher, long connectionHeartbeatTimeoutMs,
       @NotNull Function0<ResponseNormalizer<Map<String, Object>>> responseNormalizer, boolean autoPersistSubscription) {
+    this(scalarTypeAdapters, transportFactory, connectionParams, dispatcher, connectionHeartbeatTimeoutMs, responseNormalizer,
+        autoPersistSubscription, SubscriptionReconnectPolicy.NEVER);
+  }
+
+  public RealSubscriptionManager(@NotNull ScalarTypeAdapters scalarTypeAdapters,
+      @NotNull final SubscriptionTransport.Factory transportFactory, @NotNull SubscriptionConnectionParamsProvider connectionParams,
+      @NotNull final Executor dispatcher, long connectionHeartbeatTimeoutMs,
+      @NotNull Function0<ResponseNormalizer<Map<String, Object>>> responseNormalizer, boolean autoPersistSubscription,
+      @NotNull SubscriptionReconnectPolicy reconnectPolicy) {
     checkNotNull(scalarTypeAdapters, "scalarTypeAdapters == null");
     checkNotNull(transportFactory, "transportFactory == null");
     checkNotNull(dispatcher, "dispatcher == null");
@@ -91,6 +135,7 @@ public final class RealSubscriptionManager implements SubscriptionManager {
     this.connectionHeartbeatTimeoutMs = connectionHeartbeatTimeoutMs;
     this.responseNormalizer = responseNormalizer;
     this.autoPersistSubscription = autoPersistSubscription;
+    this.reconnectPolicy = checkNotNull(reconnectPolicy, "reconnectPolicy == null");
   }
 
   @Override
@@ -169,15 +214,23 @@ public final class RealSubscriptionManager implements SubscriptionManager {
       if (state != SubscriptionManagerState.STOPPING && state != SubscriptionManagerState.STOPPED) {
         timer.cancelTask(INACTIVITY_TIMEOUT_TIMER_TASK_ID);
 
-        final UUID subscriptionId = UUID.randomUUID();
-        subscriptions.put(subscriptionId, new SubscriptionRecord(subscriptionId, subscription, callback));
+        SubscriptionRecord subscriptionRecord = sharedSubscription(subscription);
+        final boolean started = subscriptionRecord == null;
+        if (started) {
+          subscriptionRecord = new SubscriptionRecord(UUID.randomUUID(), subscription, dispatcher);
+          register(subscriptionRecord);
+        }
+        subscriptionRecord.subscribers.add(new Subscriber(subscription, callback));
+        addToIndex(subscriptionsByInstance, new SubscriptionKey(subscription), subscriptionRecord);
 
         if (state == SubscriptionManagerState.DISCONNECTED) {
+          timer.cancelTask(RECONNECT_TIMER_TASK_ID);
           state = SubscriptionManagerState.CONNECTING;
           transport.connect();
-        } else if (state == SubscriptionManagerState.ACTIVE) {
+        } else if (state == SubscriptionManagerState.ACTIVE && started) {
           transport.send(
-              new OperationClientMessage.Start(subscriptionId.toString(), subscription, scalarTypeAdapters, autoPersistSubscription, false)
+              new OperationClientMessage.Start(subscriptionRecord.id.toString(), subscription, scalarTypeAdapters,
+                  autoPersist(subscription), false)
           );
         }
       }
@@ -196,15 +249,17 @@ public final class RealSubscriptionManager implements SubscriptionManager {
 
   void doUnsubscribe(Subscription subscription) {
     synchronized (this) {
-      SubscriptionRecord subscriptionRecord = null;
-      for (SubscriptionRecord record : subscriptions.values()) {
-        if (record.subscription == subscription) {
-          subscriptionRecord = record;
-        }
+      SubscriptionKey key = new SubscriptionKey(subscription);
+      List<SubscriptionRecord> instanceRecords = subscriptionsByInstance.get(key);
+      SubscriptionRecord subscriptionRecord = instanceRecords != null ? instanceRecords.get(instanceRecords.size() - 1) : null;
+      if (subscriptionRecord != null) {
+        removeFromIndex(subscriptionsByInstance, key, subscriptionRecord);
+        subscriptionRecord.removeSubscriber(subscription);
       }
 
-      if (subscriptionRecord != null) {
-        subscriptions.remove(subscriptionRecord.id);
+      // The server subscription is only stopped once its last subscriber is gone
+      if (subscriptionRecord != null && subscriptionRecord.subscribers.isEmpty()) {
+        unregister(subscriptionRecord);
         if (state == SubscriptionManagerState.ACTIVE || state == SubscriptionManagerState.STOPPING) {
           transport.send(new OperationClientMessage.Stop(subscriptionRecord.id.toString()));
         }
@@ -222,8 +277,9 @@ public final class RealSubscriptionManager implements SubscriptionManager {
     synchronized (this) {
       oldState = state;
       state = SubscriptionManagerState.STOPPING;
+      timer.cancelTask(RECONNECT_TIMER_TASK_ID);
 
-      subscriptionRecords = subscriptions.values();
+      subscriptionRecords = new ArrayList<>(subscriptions.values());
 
       if (oldState == SubscriptionManagerState.ACTIVE) {
         for (SubscriptionRecord subscriptionRecord : subscriptionRecords) {
@@ -234,7 +290,7 @@ public final class RealSubscriptionManager implements SubscriptionManager {
       state = SubscriptionManagerState.STOPPED;
 
       transport.disconnect(new OperationClientMessage.Terminate());
-      subscriptions = new LinkedHashMap<>();
+      unregisterAll();
     }
 
     for (SubscriptionRecord record : subscriptionRecords) {
@@ -253,7 +309,7 @@ public final class RealSubscriptionManager implements SubscriptionManager {
       oldState = state;
 
       if (state == SubscriptionManagerState.CONNECTING) {
-        subscriptionRecords = subscriptions.values();
+        subscriptionRecords = new ArrayList<>(subscriptions.values());
         state = SubscriptionManagerState.CONNECTED;
         transport.send(new OperationClientMessage.Init(connectionParams.provide()));
       } else {
@@ -266,7 +322,7 @@ public final class RealSubscriptionManager implements SubscriptionManager {
     }
 
     for (SubscriptionRecord record : subscriptionRecords) {
-      record.callback.onConnected();
+      record.notifyOnConnected();
     }
 
     notifyStateChanged(oldState, state);
@@ -293,12 +349,72 @@ public final class RealSubscriptionManager implements SubscriptionManager {
   }
 
   void onTransportFailure(Throwable t) {
+    if (scheduleReconnect(t)) {
+      return;
+    }
     Collection<SubscriptionRecord> subscriptionRecords = disconnect(true);
     for (SubscriptionRecord record : subscriptionRecords) {
       record.notifyOnNetworkError(t);
     }
   }
 
+  /**
+   * Disconnects the transport and schedules a reconnection if the {@link SubscriptionReconnectPolicy} allows it,
+   * keeping the active subscriptions so that they are started again with their original ids once reconnected.
+   *
+   * @return true if a reconnection has been scheduled
+   */
+  boolean scheduleReconnect(Throwable t) {
+    final SubscriptionManagerState oldState;
+    synchronized (this) {
+      oldState = state;
+      if (subscriptions.isEmpty() || state == SubscriptionManagerState.STOPPING || state == SubscriptionManagerState.STOPPED) {
+        return false;
+      }
+
+      long delay = reconnectPolicy.reconnectDelayMillis(t, reconnectAttempt + 1);
+      if (delay < 0) {
+        reconnectAttempt = 0;
+        return false;
+      }
+
+      reconnectAttempt++;
+      timer.cancelTask(CONNECTION_ACKNOWLEDGE_TIMEOUT_TIMER_TASK_ID);
+      timer.cancelTask(CONNECTION_KEEP_ALIVE_TIMEOUT_TIMER_TASK_ID);
+      transport.disconnect(new OperationClientMessage.Terminate());
+      state = SubscriptionManagerState.DISCONNECTED;
+      timer.schedule(RECONNECT_TIMER_TASK_ID, reconnectTimerTask, delay);
+    }
+
+    notifyStateChanged(oldState, SubscriptionManagerState.DISCONNECTED);
+    return true;
+  }
+
+  void onReconnectDelayElapsed() {
+    dispatcher.execute(new Runnable() {
+      @Override
+      public void run() {
+        reconnect();
+      }
+    });
+  }
+
+  void reconnect() {
+    final SubscriptionManagerState oldState;
+    synchronized (this) {
+      oldState = state;
+      timer.cancelTask(RECONNECT_TIMER_TASK_ID);
+      // A new subscription may have already reconnected, or all the subscriptions may have been canceled meanwhile
+      if (state != SubscriptionManagerState.DISCONNECTED || subscriptions.isEmpty()) {
+        return;
+      }
+      state = SubscriptionManagerState.CONNECTING;
+      transport.connect();
+    }
+
+    notifyStateChanged(oldState, SubscriptionManagerState.CONNECTING);
+  }
+
   void onOperationServerMessage(OperationServerMessage message) {
     if (message instanceof OperationServerMessage.ConnectionAcknowledge) {
       onConnectionAcknowledgeServerMessage();
@@ -328,11 +444,11 @@ public final class RealSubscriptionManager implements SubscriptionManager {
     final Collection<SubscriptionRecord> subscriptionRecords;
     synchronized (this) {
       oldState = state;
-      subscriptionRecords = subscriptions.values();
+      subscriptionRecords = new ArrayList<>(subscriptions.values());
       if (force || subscriptions.isEmpty()) {
         transport.disconnect(new OperationClientMessage.Terminate());
         state = (state == SubscriptionManagerState.STOPPING) ? SubscriptionManagerState.STOPPED : SubscriptionManagerState.DISCONNECTED;
-        subscriptions = new LinkedHashMap<>();
+        unregisterAll();
       }
     }
 
@@ -361,13 +477,13 @@ public final class RealSubscriptionManager implements SubscriptionManager {
     synchronized (this) {
       oldState = state;
 
-      subscriptionRecords = subscriptions.values();
+      subscriptionRecords = new ArrayList<>(subscriptions.values());
       state = SubscriptionManagerState.DISCONNECTED;
-      subscriptions = new LinkedHashMap<>();
+      unregisterAll();
     }
 
     for (SubscriptionRecord record : subscriptionRecords) {
-      record.callback.onTerminated();
+      record.notifyOnTerminated();
     }
 
     notifyStateChanged(oldState, state);
@@ -389,15 +505,7 @@ public final class RealSubscriptionManager implements SubscriptionManager {
   @SuppressWarnings("unchecked")
   private void onOperationDataServerMessage(OperationServerMessage.Data message) {
     String subscriptionId = message.id != null ? message.id : "";
-    SubscriptionRecord subscriptionRecord;
-    synchronized (this) {
-      try {
-        subscriptionRecord = subscriptions.get(UUID.fromString(subscriptionId));
-      } catch (IllegalArgumentException e) {
-        subscriptionRecord = null;
-      }
-    }
-
+    SubscriptionRecord subscriptionRecord = subscriptionById(subscriptionId);
     if (subscriptionRecord != null) {
       ResponseNormalizer<Map<String, Object>> normalizer = responseNormalizer.invoke();
       ResponseFieldMapper responseFieldMapper = responseFieldMapperFactory.create(subscriptionRecord.subscription);
@@ -406,7 +514,9 @@ public final class RealSubscriptionManager implements SubscriptionManager {
 
       Response response;
       try {
-        response = parser.parse(message.payload);
+        response = message.rawPayload != null
+            ? parser.parse(new Buffer().write(message.rawPayload))
+            : parser.parse(message.payload);
       } catch (Exception e) {
         subscriptionRecord = removeSubscriptionById(subscriptionId);
         if (subscriptionRecord != null) {
@@ -428,10 +538,11 @@ public final class RealSubscriptionManager implements SubscriptionManager {
 
       if (state == SubscriptionManagerState.CONNECTED) {
         state = SubscriptionManagerState.ACTIVE;
+        reconnectAttempt = 0;
         for (SubscriptionRecord subscriptionRecord : subscriptions.values()) {
           transport.send(
               new OperationClientMessage.Start(subscriptionRecord.id.toString(), subscriptionRecord.subscription, scalarTypeAdapters,
-                  autoPersistSubscription, false)
+                  autoPersist(subscriptionRecord.subscription), false)
           );
         }
       }
@@ -442,13 +553,13 @@ public final class RealSubscriptionManager implements SubscriptionManager {
 
   private void onErrorServerMessage(OperationServerMessage.Error message) {
     final String subscriptionId = message.id != null ? message.id : "";
-    final SubscriptionRecord subscriptionRecord = removeSubscriptionById(subscriptionId);
+    SubscriptionRecord subscriptionRecord = subscriptionById(subscriptionId);
     if (subscriptionRecord == null) {
       return;
     }
 
     final boolean resendSubscriptionWithDocument;
-    if (autoPersistSubscription) {
+    if (autoPersistSubscription && !subscriptionRecord.subscription.queryDocument().isEmpty()) {
       Error error = OperationResponseParser.parseError(message.payload);
       resendSubscriptionWithDocument = PROTOCOL_NEGOTIATION_ERROR_NOT_FOUND.equalsIgnoreCase(error.getMessage())
           || PROTOCOL_NEGOTIATION_ERROR_NOT_SUPPORTED.equalsIgnoreCase(error.getMessage());
@@ -458,16 +569,26 @@ public final class RealSubscriptionManager implements SubscriptionManager {
 
     if (resendSubscriptionWithDocument) {
       synchronized (this) {
-        subscriptions.put(subscriptionRecord.id, subscriptionRecord);
         transport.send(new OperationClientMessage.Start(
             subscriptionRecord.id.toString(), subscriptionRecord.subscription, scalarTypeAdapters, true, true
         ));
       }
     } else {
-      subscriptionRecord.notifyOnError(new ApolloSubscriptionServerException(message.payload));
+      subscriptionRecord = removeSubscriptionById(subscriptionId);
+      if (subscriptionRecord != null) {
+        subscriptionRecord.notifyOnError(new ApolloSubscriptionServerException(message.payload));
+      }
     }
   }
 
+  /**
+   * A subscription generated without its query document can only be identified by its hash, so it is always sent as
+   * an automatic persisted query.
+   */
+  private boolean autoPersist(Subscription<?, ?, ?> subscription) {
+    return autoPersistSubscription || subscription.queryDocument().isEmpty();
+  }
+
   private void onCompleteServerMessage(OperationServerMessage.Complete message) {
     String subscriptionId = message.id != null ? message.id : "";
     SubscriptionRecord subscriptionRecord = removeSubscriptionById(subscriptionId);
@@ -479,10 +600,9 @@ public final class RealSubscriptionManager implements SubscriptionManager {
   private SubscriptionRecord removeSubscriptionById(String subscriptionId) {
     SubscriptionRecord subscriptionRecord;
     synchronized (this) {
-      try {
-        subscriptionRecord = subscriptions.remove(UUID.fromString(subscriptionId));
-      } catch (IllegalArgumentException e) {
-        subscriptionRecord = null;
+      subscriptionRecord = subscriptionById(subscriptionId);
+      if (subscriptionRecord != null) {
+        unregister(subscriptionRecord);
       }
 
       if (subscriptions.isEmpty()) {
@@ -492,6 +612,120 @@ public final class RealSubscriptionManager implements SubscriptionManager {
     return subscriptionRecord;
   }
 
+  SubscriptionRecord subscriptionById(String subscriptionId) {
+    try {
+      return subscriptions.get(UUID.fromString(subscriptionId));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the executor server messages must be handled on: the serial executor of the subscription they are
+   * addressed to so that they are handled in order, the dispatcher for connection messages
+   */
+  Executor executorFor(OperationServerMessage message) {
+    String subscriptionId = null;
+    if (message instanceof OperationServerMessage.Data) {
+      subscriptionId = ((OperationServerMessage.Data) message).id;
+    } else if (message instanceof OperationServerMessage.Error) {
+      subscriptionId = ((OperationServerMessage.Error) message).id;
+    } else if (message instanceof OperationServerMessage.Complete) {
+      subscriptionId = ((OperationServerMessage.Complete) message).id;
+    }
+    SubscriptionRecord subscriptionRecord = subscriptionId != null ? subscriptionById(subscriptionId) : null;
+    return subscriptionRecord != null ? subscriptionRecord.executor : dispatcher;
+  }
+
+  /**
+   * @return the active subscription to the same operation with the same variables as {@code subscription}, if any
+   */
+  private SubscriptionRecord sharedSubscription(Subscription<?, ?, ?> subscription) {
+    List<SubscriptionRecord> operationRecords = subscriptionsByOperation.get(subscription.operationId());
+    if (operationRecords == null) {
+      return null;
+    }
+    String variables = marshalVariables(subscription, scalarTypeAdapters);
+    if (variables == null) {
+      return null;
+    }
+    for (SubscriptionRecord operationRecord : operationRecords) {
+      if (variables.equals(operationRecord.variables(scalarTypeAdapters))) {
+        return operationRecord;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the variables of {@code subscription} as JSON, or {@code null} if they can not be serialized so that the
+   * subscription is never shared
+   */
+  static String marshalVariables(Subscription<?, ?, ?> subscription, ScalarTypeAdapters scalarTypeAdapters) {
+    try {
+      return subscription.variables().marshal(scalarTypeAdapters);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private void register(SubscriptionRecord subscriptionRecord) {
+    subscriptions.put(subscriptionRecord.id, subscriptionRecord);
+    addToIndex(subscriptionsByOperation, subscriptionRecord.subscription.operationId(), subscriptionRecord);
+  }
+
+  private void unregister(SubscriptionRecord subscriptionRecord) {
+    subscriptions.remove(subscriptionRecord.id);
+    removeFromIndex(subscriptionsByOperation, subscriptionRecord.subscription.operationId(), subscriptionRecord);
+    for (Subscriber subscriber : subscriptionRecord.subscribers) {
+      removeFromIndex(subscriptionsByInstance, new SubscriptionKey(subscriber.subscription), subscriptionRecord);
+    }
+  }
+
+  private void unregisterAll() {
+    subscriptions.clear();
+    subscriptionsByInstance.clear();
+    subscriptionsByOperation.clear();
+  }
+
+  /**
+   * Adds {@code subscriptionRecord} last to the records indexed by {@code key}. The lists are copied on write as they
+   * are read without any lock.
+   */
+  private static <K> void addToIndex(Map<K, List<SubscriptionRecord>> index, K key,
+      SubscriptionRecord subscriptionRecord) {
+    List<SubscriptionRecord> records = index.get(key);
+    if (records == null) {
+      index.put(key, Collections.singletonList(subscriptionRecord));
+    } else {
+      List<SubscriptionRecord> newRecords = new ArrayList<>(records);
+      newRecords.add(subscriptionRecord);
+      index.put(key, newRecords);
+    }
+  }
+
+  /**
+   * Removes the last occurrence of {@code subscriptionRecord} from the records indexed by {@code key}.
+   */
+  private static <K> void removeFromIndex(Map<K, List<SubscriptionRecord>> index, K key,
+      SubscriptionRecord subscriptionRecord) {
+    List<SubscriptionRecord> records = index.get(key);
+    if (records == null) {
+      return;
+    }
+    List<SubscriptionRecord> newRecords = new ArrayList<>(records);
+    int i = newRecords.lastIndexOf(subscriptionRecord);
+    if (i < 0) {
+      return;
+    }
+    newRecords.remove(i);
+    if (newRecords.isEmpty()) {
+      index.remove(key);
+    } else {
+      index.put(key, newRecords);
+    }
+  }
+
   private void notifyStateChanged(SubscriptionManagerState oldState, SubscriptionManagerState newState) {
     if (oldState == newState) {
       return;
@@ -502,32 +736,117 @@ public final class RealSubscriptionManager implements SubscriptionManager {
     }
   }
 
-  private static class SubscriptionRecord {
+  /**
+   * A subscription started on the server, shared by all the subscribers to the same operation with the same variables.
+   * Server messages are parsed once and delivered to every subscriber.
+   */
+  static final class SubscriptionRecord {
     final UUID id;
     final Subscription<?, ?, ?> subscription;
-    final SubscriptionManager.Callback<?> callback;
+    final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    final Executor executor;
+    private String variables;
+    private boolean variablesMarshaled;
 
-    SubscriptionRecord(UUID id, Subscription<?, ?, ?> subscription, SubscriptionManager.Callback<?> callback) {
+    SubscriptionRecord(UUID id, Subscription<?, ?, ?> subscription, Executor dispatcher) {
       this.id = id;
       this.subscription = subscription;
-      this.callback = callback;
+      this.executor = new SerialExecutor(dispatcher);
+    }
+
+    /**
+     * @return the variables of the subscription as JSON, serialized the first time they are compared
+     */
+    String variables(ScalarTypeAdapters scalarTypeAdapters) {
+      if (!variablesMarshaled) {
+        variables = marshalVariables(subscription, scalarTypeAdapters);
+        variablesMarshaled = true;
+      }
+      return variables;
+    }
+
+    /**
+     * Removes the most recent subscriber for {@code subscription}.
+     *
+     * @return true if a subscriber has been removed
+     */
+    boolean removeSubscriber(Subscription<?, ?, ?> subscription) {
+      for (int i = subscribers.size() - 1; i >= 0; i--) {
+        if (subscribers.get(i).subscription == subscription) {
+          subscribers.remove(i);
+          return true;
+        }
+      }
+      return false;
     }
 
     @SuppressWarnings("unchecked")
     void notifyOnResponse(Response response, Collection<Record> cacheRecords) {
-      callback.onResponse(new SubscriptionResponse(subscription, response, cacheRecords));
+      // The records are written to the cache by the first subscriber that caches them
+      AtomicBoolean cacheWriteClaimed = new AtomicBoolean();
+      for (Subscriber subscriber : subscribers) {
+        subscriber.callback.onResponse(new SubscriptionResponse(subscriber.subscription, response, cacheRecords,
+            cacheWriteClaimed));
+      }
     }
 
     void notifyOnError(ApolloSubscriptionException error) {
-      callback.onError(error);
+      for (Subscriber subscriber : subscribers) {
+        subscriber.callback.onError(error);
+      }
     }
 
     void notifyOnNetworkError(Throwable t) {
-      callback.onNetworkError(t);
+      for (Subscriber subscriber : subscribers) {
+        subscriber.callback.onNetworkError(t);
+      }
     }
 
     void notifyOnCompleted() {
-      callback.onCompleted();
+      for (Subscriber subscriber : subscribers) {
+        subscriber.callback.onCompleted();
+      }
+    }
+
+    void notifyOnTerminated() {
+      for (Subscriber subscriber : subscribers) {
+        subscriber.callback.onTerminated();
+      }
+    }
+
+    void notifyOnConnected() {
+      for (Subscriber subscriber : subscribers) {
+        subscriber.callback.onConnected();
+      }
+    }
+  }
+
+  /**
+   * Identity of a {@link Subscription} instance, regardless of its {@code equals} implementation.
+   */
+  static final class SubscriptionKey {
+    final Subscription<?, ?, ?> subscription;
+
+    SubscriptionKey(Subscription<?, ?, ?> subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override public boolean equals(Object o) {
+      return o instanceof SubscriptionKey && ((SubscriptionKey) o).subscription == subscription;
+    }
+
+    @Override public int hashCode() {
+      return System.identityHashCode(subscription);
+    }
+  }
+
+  static final class Subscriber {
+    final Subscription<?, ?, ?> subscription;
+    final SubscriptionManager.Callback<?> callback;
+
+    Subscriber(Subscription<?, ?, ?> subscription, SubscriptionManager.Callback<?> callback) {
+      this.subscription = subscription;
+      this.callback = callback;
     }
   }
 
@@ -562,7 +881,7 @@ public final class RealSubscriptionManager implements SubscriptionManager {
 
     @Override
     public void onMessage(final OperationServerMessage message) {
-      dispatcher.execute(new Runnable() {
+      delegate.executorFor(message).execute(new Runnable() {
         @Override
         public void run() {
           delegate.onOperationServerMessage(message);
@@ -581,47 +900,72 @@ public final class RealSubscriptionManager implements SubscriptionManager {
     }
   }
 
+  /**
+   * Timers of the subscription manager, identified by task id. The {@link TimingWheel.Timeout} of a task id is created
+   * once and then rescheduled in place, so that resetting the keep-alive timeout on every keep-alive message does not
+   * allocate. It does take locks: the methods of the timer are synchronized, and the keep-alive timeout is reset while
+   * holding the lock of the manager.
+   */
   static final class AutoReleaseTimer {
-    final Map<Integer, TimerTask> tasks = new LinkedHashMap<>();
-    Timer timer;
+    final Map<Integer, TimingWheel.Timeout> tasks = new ConcurrentHashMap<>();
+    private final Map<Integer, TimingWheel.Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Map<Integer, Runnable> timeoutTasks = new ConcurrentHashMap<>();
+    private final TimingWheel timingWheel;
 
-    void schedule(final int taskId, final Runnable task, long delay) {
-      TimerTask timerTask = new TimerTask() {
-        @Override
-        public void run() {
-          try {
-            task.run();
-          } finally {
-            cancelTask(taskId);
-          }
-        }
-      };
+    AutoReleaseTimer() {
+      this(TimingWheel.shared());
+    }
 
-      synchronized (this) {
-        TimerTask previousTimerTask = tasks.put(taskId, timerTask);
-        if (previousTimerTask != null) {
-          previousTimerTask.cancel();
-        }
+    AutoReleaseTimer(TimingWheel timingWheel) {
+      this.timingWheel = timingWheel;
+    }
 
-        if (timer == null) {
-          timer = new Timer("Subscription SmartTimer", true);
+    synchronized void schedule(final int taskId, final Runnable task, long delay) {
+      TimingWheel.Timeout timeout = timeouts.get(taskId);
+      if (timeout == null || timeoutTasks.get(taskId) != task) {
+        if (timeout != null) {
+          timeout.cancel();
         }
+        TimerTask timerTask = new TimerTask(taskId, task);
+        timeout = timingWheel.newTimeout(timerTask);
+        timerTask.timeout = timeout;
+        timeouts.put(taskId, timeout);
+        timeoutTasks.put(taskId, task);
+      }
+      tasks.put(taskId, timeout);
+      timeout.schedule(delay, TimeUnit.MILLISECONDS);
+    }
 
-        timer.schedule(timerTask, delay);
+    synchronized void cancelTask(int taskId) {
+      TimingWheel.Timeout timeout = tasks.remove(taskId);
+      if (timeout != null) {
+        timeout.cancel();
       }
     }
 
-    void cancelTask(int taskId) {
-      synchronized (this) {
-        TimerTask timerTask = tasks.remove(taskId);
-        if (timerTask != null) {
-          timerTask.cancel();
-        }
+    /**
+     * Removes the entry of the timeout that fired, unless the task has been scheduled again meanwhile: with another
+     * timeout, or with the same one as a timeout is reused while its task does not change.
+     */
+    synchronized void onFired(int taskId, TimingWheel.Timeout timeout) {
+      if (!timeout.isScheduled()) {
+        tasks.remove(taskId, timeout);
+      }
+    }
 
-        if (tasks.isEmpty() && timer != null) {
-          timer.cancel();
-          timer = null;
-        }
+    private final class TimerTask implements Runnable {
+      final int taskId;
+      final Runnable task;
+      TimingWheel.Timeout timeout;
+
+      TimerTask(int taskId, Runnable task) {
+        this.taskId = taskId;
+        this.task = task;
+      }
+
+      @Override public void run() {
+        onFired(taskId, timeout);
+        task.run();
       }
     }
   }
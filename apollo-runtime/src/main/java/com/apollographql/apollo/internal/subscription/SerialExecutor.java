@@ -0,0 +1,53 @@
+package com.apollographql.apollo.internal.subscription;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * Runs its tasks one at a time, in submission order, on a delegate executor. At most one task of a serial executor is
+ * submitted to the delegate at any time, so that many serial executors can share a single thread pool without any
+ * lock: tasks of different serial executors run concurrently, tasks of the same one never do.
+ */
+final class SerialExecutor implements Executor {
+  private final Executor delegate;
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingTasks = new AtomicInteger();
+  private final Runnable drainTask = new Runnable() {
+    @Override public void run() {
+      drain();
+    }
+  };
+
+  SerialExecutor(@NotNull Executor delegate) {
+    this.delegate = checkNotNull(delegate, "delegate == null");
+  }
+
+  @Override public void execute(@NotNull Runnable task) {
+    tasks.add(checkNotNull(task, "task == null"));
+    if (pendingTasks.getAndIncrement() == 0) {
+      delegate.execute(drainTask);
+    }
+  }
+
+  private void drain() {
+    do {
+      Runnable task = tasks.poll();
+      boolean completed = false;
+      try {
+        task.run();
+        completed = true;
+      } finally {
+        // Keep draining the remaining tasks on another delegate task if this one failed
+        if (!completed && pendingTasks.decrementAndGet() != 0) {
+          delegate.execute(drainTask);
+        }
+      }
+    } while (pendingTasks.decrementAndGet() != 0);
+  }
+}
@@ -6,16 +6,38 @@ import com.apollographql.apollo.cache.normalized.Record;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class SubscriptionResponse<T> {
   @NotNull public final Subscription<?, T, ?> subscription;
   @NotNull public final Response<T> response;
   @NotNull public final Collection<Record> cacheRecords;
 
+  private final AtomicBoolean cacheWriteClaimed;
+
   public SubscriptionResponse(@NotNull Subscription<?, T, ?> subscription, @NotNull Response<T> response,
       @NotNull Collection<Record> cacheRecords) {
+    this(subscription, response, cacheRecords, new AtomicBoolean());
+  }
+
+  /**
+   * @param cacheWriteClaimed shared by the responses delivered to the subscribers of the same server subscription
+   */
+  SubscriptionResponse(@NotNull Subscription<?, T, ?> subscription, @NotNull Response<T> response,
+      @NotNull Collection<Record> cacheRecords, @NotNull AtomicBoolean cacheWriteClaimed) {
     this.subscription = subscription;
     this.response = response;
     this.cacheRecords = cacheRecords;
+    this.cacheWriteClaimed = cacheWriteClaimed;
+  }
+
+  /**
+   * Claims the write of {@link #cacheRecords} to the cache. A response parsed once is delivered to every subscriber to
+   * the same operation and variables, the records only need to be written by one of them.
+   *
+   * @return true for the first caller among the subscribers of the response, which must write the records
+   */
+  public boolean claimCacheWrite() {
+    return cacheWriteClaimed.compareAndSet(false, true);
   }
 }
@@ -0,0 +1,278 @@
+package com.apollographql.apollo.internal.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * A hashed timing wheel running the tasks of its {@link Timeout}s on a single daemon thread, meant to be shared by all
+ * the clients of the process (see {@link #shared()}).
+ *
+ * A {@link Timeout} is created once for a task and then scheduled, rescheduled and canceled as many times as needed
+ * without allocating nor locking: its deadline is updated in place and the wheel thread is handed the timeout through a
+ * lock-free intrusive stack. The wheel thread parks while no timeout is scheduled.
+ *
+ * Deadlines have the precision of a tick. Tasks run on the wheel thread and must be short, they should hand off any
+ * real work to an executor.
+ */
+public final class TimingWheel {
+  static final long CANCELED = -1;
+  private static final long DEFAULT_TICK_MILLIS = 10;
+  private static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private final long tickMillis;
+  private final int mask;
+  private final Timeout[] buckets;
+  private final long startNanos = System.nanoTime();
+  private final AtomicReference<Timeout> pending = new AtomicReference<>();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final String threadName;
+  private volatile Thread worker;
+  // Only accessed by the wheel thread
+  private long nextTick;
+  private int linkedTimeouts;
+
+  /**
+   * @return the timing wheel shared by all the clients, with a 10 ms tick
+   */
+  public static TimingWheel shared() {
+    return SharedHolder.INSTANCE;
+  }
+
+  /**
+   * @param tickMillis the duration of a tick in milliseconds
+   * @param wheelSize  the number of buckets of the wheel, rounded up to a power of two
+   * @param threadName the name of the wheel thread
+   */
+  public TimingWheel(long tickMillis, int wheelSize, @NotNull String threadName) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis <= 0");
+    }
+    if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+      throw new IllegalArgumentException("Invalid wheelSize: " + wheelSize);
+    }
+    int size = Integer.highestOneBit(wheelSize);
+    if (size < wheelSize) {
+      size <<= 1;
+    }
+    this.tickMillis = tickMillis;
+    this.mask = size - 1;
+    this.buckets = new Timeout[size];
+    this.threadName = checkNotNull(threadName, "threadName == null");
+  }
+
+  /**
+   * Creates a new, unscheduled, timeout for {@code task}.
+   */
+  @NotNull public Timeout newTimeout(@NotNull Runnable task) {
+    return new Timeout(this, checkNotNull(task, "task == null"));
+  }
+
+  long elapsedMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+
+  void submit(Timeout timeout) {
+    if (!timeout.pending.compareAndSet(false, true)) {
+      // Already waiting for the wheel thread, which will pick the latest deadline
+      return;
+    }
+    Timeout head;
+    do {
+      head = pending.get();
+      timeout.nextPending = head;
+    } while (!pending.compareAndSet(head, timeout));
+
+    if (started.compareAndSet(false, true)) {
+      Thread thread = new Thread(new Runnable() {
+        @Override public void run() {
+          runWheel();
+        }
+      }, threadName);
+      thread.setDaemon(true);
+      worker = thread;
+      thread.start();
+    } else {
+      Thread thread = worker;
+      if (thread != null) {
+        LockSupport.unpark(thread);
+      }
+    }
+  }
+
+  private void runWheel() {
+    nextTick = elapsedMillis() / tickMillis;
+    while (true) {
+      drainPending();
+      if (linkedTimeouts == 0) {
+        // Re-checked by park itself: a submit that happens after this check unparks the thread
+        if (pending.get() == null) {
+          LockSupport.park(this);
+        }
+        // Idle ticks do not need to be processed
+        nextTick = Math.max(nextTick, elapsedMillis() / tickMillis);
+        continue;
+      }
+
+      long now = elapsedMillis();
+      long currentTick = now / tickMillis;
+      if (currentTick < nextTick) {
+        LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos((nextTick * tickMillis) - now));
+        continue;
+      }
+
+      // Processing a whole turn of the wheel visits every timeout, no need to go further after a long pause
+      long lastTick = Math.min(currentTick, nextTick + mask);
+      for (long tick = nextTick; tick <= lastTick; tick++) {
+        expire((int) (tick & mask), now);
+      }
+      nextTick = currentTick + 1;
+    }
+  }
+
+  private void drainPending() {
+    Timeout timeout = pending.getAndSet(null);
+    while (timeout != null) {
+      Timeout next = timeout.nextPending;
+      timeout.nextPending = null;
+      // Cleared before reading the deadline so that any later update is submitted again
+      timeout.pending.set(false);
+      long deadline = timeout.deadline;
+      if (timeout.bucket >= 0) {
+        unlink(timeout);
+      }
+      if (deadline != CANCELED) {
+        link(timeout, deadline);
+      }
+      timeout = next;
+    }
+  }
+
+  private void expire(int bucket, long now) {
+    Timeout timeout = buckets[bucket];
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      long deadline = timeout.deadline;
+      if (deadline == CANCELED) {
+        unlink(timeout);
+      } else if (deadline <= now) {
+        unlink(timeout);
+        // Fails if the timeout has been rescheduled or canceled meanwhile, the update is then already pending
+        if (timeout.compareAndSetDeadline(deadline, CANCELED)) {
+          run(timeout.task);
+        }
+      } else if (bucketOf(deadline) != bucket) {
+        // Rescheduled in place to a later deadline
+        unlink(timeout);
+        link(timeout, deadline);
+      }
+      timeout = next;
+    }
+  }
+
+  private int bucketOf(long deadline) {
+    // The first tick starting at or after the deadline, as a tick is processed once it has started
+    long tick = (deadline + tickMillis - 1) / tickMillis;
+    return (int) (Math.max(tick, nextTick) & mask);
+  }
+
+  private void link(Timeout timeout, long deadline) {
+    int bucket = bucketOf(deadline);
+    Timeout head = buckets[bucket];
+    timeout.bucket = bucket;
+    timeout.previous = null;
+    timeout.next = head;
+    if (head != null) {
+      head.previous = timeout;
+    }
+    buckets[bucket] = timeout;
+    linkedTimeouts++;
+  }
+
+  private void unlink(Timeout timeout) {
+    if (timeout.previous != null) {
+      timeout.previous.next = timeout.next;
+    } else {
+      buckets[timeout.bucket] = timeout.next;
+    }
+    if (timeout.next != null) {
+      timeout.next.previous = timeout.previous;
+    }
+    timeout.next = null;
+    timeout.previous = null;
+    timeout.bucket = -1;
+    linkedTimeouts--;
+  }
+
+  private void run(Runnable task) {
+    try {
+      task.run();
+    } catch (Throwable t) {
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+    }
+  }
+
+  /**
+   * A task of a {@link TimingWheel}, runs once each time it is scheduled unless rescheduled or canceled before its
+   * deadline.
+   */
+  public static final class Timeout {
+    private static final AtomicLongFieldUpdater<Timeout> DEADLINE = AtomicLongFieldUpdater.newUpdater(Timeout.class, "deadline");
+
+    final TimingWheel wheel;
+    final Runnable task;
+    final AtomicBoolean pending = new AtomicBoolean();
+    volatile long deadline = CANCELED;
+    // Only accessed by the wheel thread
+    Timeout nextPending;
+    Timeout next;
+    Timeout previous;
+    int bucket = -1;
+
+    Timeout(TimingWheel wheel, Runnable task) {
+      this.wheel = wheel;
+      this.task = task;
+    }
+
+    /**
+     * Schedules the task to run after {@code delay}, replacing the current deadline if already scheduled.
+     */
+    public void schedule(long delay, @NotNull TimeUnit timeUnit) {
+      checkNotNull(timeUnit, "timeUnit == null");
+      deadline = wheel.elapsedMillis() + Math.max(0, timeUnit.toMillis(delay));
+      wheel.submit(this);
+    }
+
+    /**
+     * Cancels the scheduled run of the task, if any.
+     */
+    public void cancel() {
+      if (deadline != CANCELED) {
+        deadline = CANCELED;
+        wheel.submit(this);
+      }
+    }
+
+    /**
+     * @return true if the task is scheduled to run
+     */
+    public boolean isScheduled() {
+      return deadline != CANCELED;
+    }
+
+    boolean compareAndSetDeadline(long expect, long update) {
+      return DEADLINE.compareAndSet(this, expect, update);
+    }
+  }
+
+  private static final class SharedHolder {
+    static final TimingWheel INSTANCE = new TimingWheel(DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, "Apollo timing wheel");
+  }
+}
@@ -0,0 +1,16 @@
+package com.apollographql.apollo.request;
+
+/**
+ * A collection of request headers that control how Apollo sends a request. They are consumed by the client and are not
+ * sent to the server.
+ */
+public final class ApolloRequestHeaders {
+  /**
+   * The operation should be sent on its own rather than batched with other operations, see {@code
+   * ApolloClient.Builder#httpBatching}.
+   */
+  public static final String DO_NOT_BATCH = "X-APOLLO-DO-NOT-BATCH";
+
+  private ApolloRequestHeaders() {
+  }
+}
@@ -0,0 +1,189 @@
+package com.apollographql.apollo.request;
+
+import okhttp3.HttpUrl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * What is known about the Automatic Persisted Queries of each server: whether the server supports them, which
+ * persisted query ids it has registered and which ones it reported missing. The auto persisted query interceptor uses
+ * it to skip the request without query document when it is known to fail, so that a server without APQ support or an
+ * unregistered query does not cost two round-trips on every call.
+ *
+ * A state can be shared by several clients. It is kept in memory unless a {@link Persister} is given, in which case the
+ * state of a server is loaded the first time it is needed and saved each time it changes, so that it survives process
+ * restarts.
+ */
+public final class AutoPersistedQueryState {
+  private final Persister persister;
+  private final ConcurrentMap<String, ServerState> servers = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an in memory state.
+   */
+  public AutoPersistedQueryState() {
+    this.persister = null;
+  }
+
+  /**
+   * @param persister loads and saves the state of each server
+   */
+  public AutoPersistedQueryState(@NotNull Persister persister) {
+    this.persister = checkNotNull(persister, "persister == null");
+  }
+
+  /**
+   * @return false if {@code serverUrl} is known not to support Automatic Persisted Queries
+   */
+  public boolean isSupported(@NotNull HttpUrl serverUrl) {
+    return !server(serverUrl).notSupported;
+  }
+
+  /**
+   * @return true if {@code serverUrl} is known to have registered the persisted query {@code operationId}
+   */
+  public boolean isRegistered(@NotNull HttpUrl serverUrl, @NotNull String operationId) {
+    return server(serverUrl).registeredIds.contains(operationId);
+  }
+
+  /**
+   * @return true if {@code serverUrl} reported the persisted query {@code operationId} as not found and has not
+   * registered it since
+   */
+  public boolean isMissing(@NotNull HttpUrl serverUrl, @NotNull String operationId) {
+    return server(serverUrl).missingIds.contains(operationId);
+  }
+
+  /**
+   * Records that {@code serverUrl} has executed the persisted query {@code operationId}.
+   */
+  public void onRegistered(@NotNull HttpUrl serverUrl, @NotNull String operationId) {
+    ServerState server = server(serverUrl);
+    if (server.registeredIds.contains(operationId) && !server.missingIds.contains(operationId)) {
+      return;
+    }
+    synchronized (server) {
+      boolean changed = server.registeredIds.add(operationId);
+      changed |= server.missingIds.remove(operationId);
+      if (changed) {
+        save(server);
+      }
+    }
+  }
+
+  /**
+   * Records that {@code serverUrl} did not find the persisted query {@code operationId}.
+   */
+  public void onMissing(@NotNull HttpUrl serverUrl, @NotNull String operationId) {
+    ServerState server = server(serverUrl);
+    synchronized (server) {
+      boolean changed = server.missingIds.add(operationId);
+      changed |= server.registeredIds.remove(operationId);
+      if (changed) {
+        save(server);
+      }
+    }
+  }
+
+  /**
+   * Records that {@code serverUrl} does not support Automatic Persisted Queries. Operations are then sent to it with
+   * their query document and without persisted query id until {@link #clear()} is called.
+   */
+  public void onNotSupported(@NotNull HttpUrl serverUrl) {
+    ServerState server = server(serverUrl);
+    synchronized (server) {
+      if (!server.notSupported) {
+        server.notSupported = true;
+        save(server);
+      }
+    }
+  }
+
+  /**
+   * Forgets everything known about the servers, including their persisted state.
+   */
+  public void clear() {
+    for (ServerState server : servers.values()) {
+      synchronized (server) {
+        server.notSupported = false;
+        server.registeredIds.clear();
+        server.missingIds.clear();
+        save(server);
+      }
+    }
+  }
+
+  private ServerState server(HttpUrl serverUrl) {
+    String url = checkNotNull(serverUrl, "serverUrl == null").toString();
+    ServerState server = servers.get(url);
+    if (server == null) {
+      ServerState newServer = new ServerState(url, persister != null ? persister.load(url) : null);
+      server = servers.putIfAbsent(url, newServer);
+      if (server == null) {
+        server = newServer;
+      }
+    }
+    return server;
+  }
+
+  private void save(ServerState server) {
+    if (persister != null) {
+      persister.save(server.url, new Snapshot(server.notSupported, server.registeredIds, server.missingIds));
+    }
+  }
+
+  private static final class ServerState {
+    final String url;
+    final Set<String> registeredIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    final Set<String> missingIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    volatile boolean notSupported;
+
+    ServerState(String url, Snapshot snapshot) {
+      this.url = url;
+      if (snapshot != null) {
+        notSupported = snapshot.notSupported;
+        registeredIds.addAll(snapshot.registeredIds);
+        missingIds.addAll(snapshot.missingIds);
+      }
+    }
+  }
+
+  /**
+   * The state of a server, as loaded and saved by a {@link Persister}.
+   */
+  public static final class Snapshot {
+    public final boolean notSupported;
+    public final Set<String> registeredIds;
+    public final Set<String> missingIds;
+
+    public Snapshot(boolean notSupported, @NotNull Set<String> registeredIds, @NotNull Set<String> missingIds) {
+      this.notSupported = notSupported;
+      this.registeredIds = Collections.unmodifiableSet(new LinkedHashSet<>(checkNotNull(registeredIds, "registeredIds == null")));
+      this.missingIds = Collections.unmodifiableSet(new LinkedHashSet<>(checkNotNull(missingIds, "missingIds == null")));
+    }
+  }
+
+  /**
+   * Stores the state of the servers, for instance in shared preferences or a file. Snapshots are saved on the thread
+   * of the response that changed them, so implementations should be fast or hand off the write.
+   */
+  public interface Persister {
+    /**
+     * @return the last snapshot saved for {@code serverUrl}, or null if none
+     */
+    @Nullable Snapshot load(@NotNull String serverUrl);
+
+    /**
+     * Replaces the snapshot of {@code serverUrl}.
+     */
+    void save(@NotNull String serverUrl, @NotNull Snapshot snapshot);
+  }
+}
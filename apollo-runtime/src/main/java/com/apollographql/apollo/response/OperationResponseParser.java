@@ -9,9 +9,11 @@ import com.apollographql.apollo.api.internal.json.BufferedSourceJsonReader;
 import com.apollographql.apollo.api.internal.json.ResponseJsonStreamReader;
 import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
 import com.apollographql.apollo.internal.field.MapFieldValueResolver;
+import com.apollographql.apollo.internal.response.ParallelNormalization;
 import com.apollographql.apollo.internal.response.RealResponseReader;
 import okio.BufferedSource;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -27,6 +29,7 @@ public final class OperationResponseParser<D extends Operation.Data, W> {
   final ResponseFieldMapper responseFieldMapper;
   final ScalarTypeAdapters scalarTypeAdapters;
   final ResponseNormalizer<Map<String, Object>> responseNormalizer;
+  final ParallelNormalization parallelNormalization;
 
   @SuppressWarnings("unchecked") public OperationResponseParser(Operation<D, W, ?> operation,
       ResponseFieldMapper responseFieldMapper, ScalarTypeAdapters scalarTypeAdapters) {
@@ -35,10 +38,20 @@ public final class OperationResponseParser<D extends Operation.Data, W> {
 
   public OperationResponseParser(Operation<D, W, ?> operation, ResponseFieldMapper responseFieldMapper,
       ScalarTypeAdapters scalarTypeAdapters, ResponseNormalizer<Map<String, Object>> responseNormalizer) {
+    this(operation, responseFieldMapper, scalarTypeAdapters, responseNormalizer, null);
+  }
+
+  /**
+   * @param parallelNormalization reads the large lists of the response in parallel, or null to read it sequentially
+   */
+  public OperationResponseParser(Operation<D, W, ?> operation, ResponseFieldMapper responseFieldMapper,
+      ScalarTypeAdapters scalarTypeAdapters, ResponseNormalizer<Map<String, Object>> responseNormalizer,
+      @Nullable ParallelNormalization parallelNormalization) {
     this.operation = operation;
     this.responseFieldMapper = responseFieldMapper;
     this.scalarTypeAdapters = scalarTypeAdapters;
     this.responseNormalizer = responseNormalizer;
+    this.parallelNormalization = parallelNormalization;
   }
 
   @SuppressWarnings("unchecked")
@@ -51,7 +64,8 @@ public final class OperationResponseParser<D extends Operation.Data, W> {
     Map<String, Object> buffer = (Map<String, Object>) payload.get("data");
     if (buffer != null) {
       RealResponseReader<Map<String, Object>> realResponseReader = new RealResponseReader<>(operation.variables(),
-          buffer, new MapFieldValueResolver(), scalarTypeAdapters, responseNormalizer);
+          buffer, new MapFieldValueResolver(), scalarTypeAdapters, responseNormalizer,
+          responseNormalizer.fieldPlan(operation.variables()), parallelNormalization);
       data = (D) responseFieldMapper.map(realResponseReader);
     }
 
@@ -93,7 +107,8 @@ public final class OperationResponseParser<D extends Operation.Data, W> {
             @Override public Object read(ResponseJsonStreamReader reader) throws IOException {
               Map<String, Object> buffer = reader.toMap();
               RealResponseReader<Map<String, Object>> realResponseReader = new RealResponseReader<>(
-                  operation.variables(), buffer, new MapFieldValueResolver(), scalarTypeAdapters, responseNormalizer);
+                  operation.variables(), buffer, new MapFieldValueResolver(), scalarTypeAdapters, responseNormalizer,
+                  responseNormalizer.fieldPlan(operation.variables()), parallelNormalization);
               return responseFieldMapper.map(realResponseReader);
             }
           });
@@ -0,0 +1,142 @@
+package com.apollographql.apollo.subscription;
+
+import com.apollographql.apollo.api.internal.json.JsonWriter;
+import com.apollographql.apollo.api.internal.json.Utils;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ByteString;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * A compact binary envelope for the {@code graphql-ws} messages, sent as binary frames. Each frame is made of:
+ * <ul>
+ * <li>the message type, one byte (see the {@code TYPE_*} constants)</li>
+ * <li>the length of the subscription id, one byte, followed by its UTF-8 bytes; zero for messages without id</li>
+ * <li>the payload, up to the end of the frame</li>
+ * </ul>
+ *
+ * Payloads are JSON, except for {@code start} whose payload is the length of the persisted query id (one byte) and
+ * the id, the length of the query document (four bytes, zero if not sent) and the document, then the variables as
+ * JSON. With automatic persisted subscriptions enabled, the query document is only sent when the server does not know
+ * the persisted query id, so that starting a subscription usually costs a few dozen bytes rather than the size of the
+ * whole document.
+ */
+public final class BinarySubscriptionMessageCodec implements SubscriptionMessageCodec {
+  public static final int TYPE_CONNECTION_INIT = 1;
+  public static final int TYPE_START = 2;
+  public static final int TYPE_STOP = 3;
+  public static final int TYPE_CONNECTION_TERMINATE = 4;
+  public static final int TYPE_CONNECTION_ACK = 11;
+  public static final int TYPE_CONNECTION_ERROR = 12;
+  public static final int TYPE_DATA = 13;
+  public static final int TYPE_ERROR = 14;
+  public static final int TYPE_COMPLETE = 15;
+  public static final int TYPE_CONNECTION_KEEP_ALIVE = 16;
+
+  private final String protocol;
+
+  /**
+   * @param protocol the name of the protocol the server expects in the {@code Sec-WebSocket-Protocol} header
+   */
+  public BinarySubscriptionMessageCodec(@NotNull String protocol) {
+    this.protocol = checkNotNull(protocol, "protocol == null");
+  }
+
+  @NotNull @Override public String protocol() {
+    return protocol;
+  }
+
+  @Override public boolean isBinary() {
+    return true;
+  }
+
+  @Override public void encode(@NotNull OperationClientMessage message, @NotNull BufferedSink sink) throws IOException {
+    checkNotNull(message, "message == null");
+    checkNotNull(sink, "sink == null");
+    if (message instanceof OperationClientMessage.Init) {
+      writeEnvelope(sink, TYPE_CONNECTION_INIT, null);
+      OperationClientMessage.Init init = (OperationClientMessage.Init) message;
+      if (!init.connectionParams.isEmpty()) {
+        JsonWriter writer = JsonWriter.of(sink);
+        Utils.writeToJson(init.connectionParams, writer);
+        writer.flush();
+      }
+    } else if (message instanceof OperationClientMessage.Start) {
+      OperationClientMessage.Start start = (OperationClientMessage.Start) message;
+      writeEnvelope(sink, TYPE_START, start.subscriptionId);
+      writeShortString(sink, start.subscription.operationId());
+      if (!start.autoPersistSubscription || start.sendSubscriptionDocument) {
+        ByteString document = ByteString.encodeUtf8(start.subscription.queryDocument());
+        sink.writeInt(document.size());
+        sink.write(document);
+      } else {
+        sink.writeInt(0);
+      }
+      sink.writeUtf8(start.subscription.variables().marshal(start.scalarTypeAdapters));
+    } else if (message instanceof OperationClientMessage.Stop) {
+      writeEnvelope(sink, TYPE_STOP, ((OperationClientMessage.Stop) message).subscriptionId);
+    } else if (message instanceof OperationClientMessage.Terminate) {
+      writeEnvelope(sink, TYPE_CONNECTION_TERMINATE, null);
+    } else {
+      throw new IOException("Unsupported message: " + message);
+    }
+    sink.flush();
+  }
+
+  @NotNull @Override public OperationServerMessage decode(@NotNull ByteString frame) {
+    checkNotNull(frame, "frame == null");
+    try {
+      Buffer buffer = new Buffer().write(frame);
+      int type = buffer.readByte() & 0xff;
+      int idLength = buffer.readByte() & 0xff;
+      String id = idLength > 0 ? buffer.readUtf8(idLength) : null;
+      ByteString payload = buffer.exhausted() ? null : buffer.readByteString();
+      switch (type) {
+        case TYPE_CONNECTION_ACK:
+          return new OperationServerMessage.ConnectionAcknowledge();
+
+        case TYPE_CONNECTION_ERROR:
+          return new OperationServerMessage.ConnectionError(OperationServerMessage.messagePayload(payload));
+
+        case TYPE_DATA:
+          return new OperationServerMessage.Data(id, payload != null ? payload : OperationServerMessage.EMPTY_PAYLOAD);
+
+        case TYPE_ERROR:
+          return new OperationServerMessage.Error(id, OperationServerMessage.messagePayload(payload));
+
+        case TYPE_COMPLETE:
+          return new OperationServerMessage.Complete(id);
+
+        case TYPE_CONNECTION_KEEP_ALIVE:
+          return new OperationServerMessage.ConnectionKeepAlive();
+
+        default:
+          return new OperationServerMessage.Unsupported(frame.hex());
+      }
+    } catch (Exception e) {
+      return new OperationServerMessage.Unsupported(frame.hex());
+    }
+  }
+
+  private static void writeEnvelope(BufferedSink sink, int type, String id) throws IOException {
+    sink.writeByte(type);
+    if (id == null) {
+      sink.writeByte(0);
+    } else {
+      writeShortString(sink, id);
+    }
+  }
+
+  private static void writeShortString(BufferedSink sink, String value) throws IOException {
+    ByteString bytes = ByteString.encodeUtf8(value);
+    if (bytes.size() > 0xff) {
+      throw new IOException("Value too long: " + value);
+    }
+    sink.writeByte(bytes.size());
+    sink.write(bytes);
+  }
+}
@@ -5,6 +5,7 @@ import com.apollographql.apollo.api.Subscription;
 import com.apollographql.apollo.api.internal.json.JsonWriter;
 import com.apollographql.apollo.api.internal.json.Utils;
 import okio.Buffer;
+import okio.BufferedSink;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
@@ -24,22 +25,26 @@ public abstract class OperationClientMessage {
   public String toJsonString() {
     try {
       Buffer buffer = new Buffer();
-      JsonWriter writer = JsonWriter.of(buffer);
-      writer.beginObject();
-      writeToJson(writer);
-      writer.endObject();
-      writer.close();
+      writeJson(buffer);
       return buffer.readUtf8();
     } catch (IOException e) {
       throw new RuntimeException("Failed to serialize to json", e);
     }
   }
 
+  void writeJson(BufferedSink sink) throws IOException {
+    JsonWriter writer = JsonWriter.of(sink);
+    writer.beginObject();
+    writeToJson(writer);
+    writer.endObject();
+    writer.flush();
+  }
+
   public abstract void writeToJson(@NotNull JsonWriter writer) throws IOException;
 
   public static final class Init extends OperationClientMessage {
     private static final String TYPE = "connection_init";
-    private final Map<String, Object> connectionParams;
+    public final Map<String, Object> connectionParams;
 
     public Init(@NotNull Map<String, Object> connectionParams) {
       this.connectionParams = checkNotNull(connectionParams, "connectionParams == null");
@@ -64,9 +69,8 @@ public abstract class OperationClientMessage {
     private static final String JSON_KEY_EXTENSIONS_PERSISTED_QUERY = "persistedQuery";
     private static final String JSON_KEY_EXTENSIONS_PERSISTED_QUERY_VERSION = "version";
     private static final String JSON_KEY_EXTENSIONS_PERSISTED_QUERY_HASH = "sha256Hash";
-    private final ScalarTypeAdapters scalarTypeAdapters;
-
     public final String subscriptionId;
+    public final ScalarTypeAdapters scalarTypeAdapters;
     public final Subscription<?, ?, ?> subscription;
     public final boolean autoPersistSubscription;
     public final boolean sendSubscriptionDocument;
@@ -5,12 +5,16 @@ import com.apollographql.apollo.api.internal.json.JsonReader;
 import com.apollographql.apollo.api.internal.json.ResponseJsonStreamReader;
 
 import java.io.IOException;
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import okio.Buffer;
+import okio.ByteString;
 
 import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
 import static java.util.Collections.unmodifiableMap;
@@ -20,6 +24,7 @@ public abstract class OperationServerMessage {
   static final String JSON_KEY_ID = "id";
   static final String JSON_KEY_TYPE = "type";
   static final String JSON_KEY_PAYLOAD = "payload";
+  static final ByteString EMPTY_PAYLOAD = ByteString.encodeUtf8("{}");
 
   OperationServerMessage() {
   }
@@ -27,33 +32,66 @@ public abstract class OperationServerMessage {
   @NotNull public static OperationServerMessage fromJsonString(@NotNull String json) {
     checkNotNull(json, "json == null");
     try {
-      Buffer buffer = new Buffer();
-      buffer.writeUtf8(json);
-      return OperationServerMessage.readFromJson(new BufferedSourceJsonReader(buffer));
+      return readFromJson(ByteString.encodeUtf8(json));
     } catch (Exception e) {
       return new Unsupported(json);
     }
   }
 
-  private static OperationServerMessage readFromJson(@NotNull JsonReader reader) throws IOException {
-    checkNotNull(reader, "reader == null");
+  /**
+   * Decodes a message from a raw frame. Only the envelope ({@code type} and {@code id}) is decoded eagerly: the
+   * payload of a {@link Data} message is kept as raw JSON so that it can be streamed to the response parser.
+   */
+  @NotNull public static OperationServerMessage fromJsonBytes(@NotNull ByteString json) {
+    checkNotNull(json, "json == null");
+    try {
+      return readFromJson(json);
+    } catch (Exception e) {
+      return new Unsupported(json.utf8());
+    }
+  }
+
+  private static OperationServerMessage readFromJson(ByteString json) throws IOException {
+    Buffer buffer = new Buffer().write(json);
+    long size = buffer.size();
+    JsonReader reader = new BufferedSourceJsonReader(buffer);
+
+    String id = null;
+    String type = null;
+    ByteString payload = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (JSON_KEY_ID.equals(name)) {
+        id = reader.peek() == JsonReader.Token.NULL ? reader.<String>nextNull() : reader.nextString();
+      } else if (JSON_KEY_TYPE.equals(name)) {
+        type = reader.peek() == JsonReader.Token.NULL ? reader.<String>nextNull() : reader.nextString();
+      } else if (JSON_KEY_PAYLOAD.equals(name) && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        // Peeking the object consumed its opening brace, skipping it consumes the closing one
+        long start = size - buffer.size() - 1;
+        reader.skipValue();
+        payload = json.substring((int) start, (int) (size - buffer.size()));
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
 
-    ResponseJsonStreamReader responseJsonStreamReader = new ResponseJsonStreamReader(reader);
-    Map<String, Object> messageData = responseJsonStreamReader.toMap();
-    String id = (String) messageData.get(JSON_KEY_ID);
-    String type = (String) messageData.get(JSON_KEY_TYPE);
+    if (type == null) {
+      throw new IOException("Unsupported message");
+    }
     switch (type) {
       case ConnectionError.TYPE:
-        return new ConnectionError(messagePayload(messageData));
+        return new ConnectionError(messagePayload(payload));
 
       case ConnectionAcknowledge.TYPE:
         return new ConnectionAcknowledge();
 
       case Data.TYPE:
-        return new Data(id, messagePayload(messageData));
+        return new Data(id, payload != null ? payload : EMPTY_PAYLOAD);
 
       case Error.TYPE:
-        return new Error(id, messagePayload(messageData));
+        return new Error(id, messagePayload(payload));
 
       case Complete.TYPE:
         return new Complete(id);
@@ -66,10 +104,12 @@ public abstract class OperationServerMessage {
     }
   }
 
-  @SuppressWarnings("unchecked")
-  private static Map<String, Object> messagePayload(Map<String, Object> messageData) {
-    Map<String, Object> messagePayload = (Map<String, Object>) messageData.get(JSON_KEY_PAYLOAD);
-    return messagePayload == null ? Collections.<String, Object>emptyMap() : unmodifiableMap(messagePayload);
+  static Map<String, Object> messagePayload(ByteString payload) throws IOException {
+    if (payload == null) {
+      return Collections.emptyMap();
+    }
+    JsonReader reader = new BufferedSourceJsonReader(new Buffer().write(payload));
+    return unmodifiableMap(new ResponseJsonStreamReader(reader).toMap());
   }
 
   public static final class ConnectionError extends OperationServerMessage {
@@ -91,11 +131,67 @@ public abstract class OperationServerMessage {
   public static final class Data extends OperationServerMessage {
     public static final String TYPE = "data";
     public final String id;
+    /**
+     * The decoded payload. If the message was decoded from a frame, the payload is decoded from {@link #rawPayload} the
+     * first time it is accessed.
+     */
     public final Map<String, Object> payload;
+    /**
+     * The payload as raw JSON if the message was decoded from a frame, {@code null} otherwise.
+     */
+    @Nullable public final ByteString rawPayload;
 
     public Data(String id, Map<String, Object> payload) {
       this.id = id;
       this.payload = payload;
+      this.rawPayload = null;
+    }
+
+    public Data(String id, @NotNull ByteString rawPayload) {
+      this.id = id;
+      this.rawPayload = checkNotNull(rawPayload, "rawPayload == null");
+      this.payload = new LazyPayload(rawPayload);
+    }
+  }
+
+  /**
+   * A payload decoded from its raw JSON the first time it is accessed, as most consumers only stream the raw JSON.
+   */
+  private static final class LazyPayload extends AbstractMap<String, Object> {
+    private final ByteString rawPayload;
+    private volatile Map<String, Object> decoded;
+
+    LazyPayload(ByteString rawPayload) {
+      this.rawPayload = rawPayload;
+    }
+
+    private Map<String, Object> decoded() {
+      Map<String, Object> decoded = this.decoded;
+      if (decoded == null) {
+        try {
+          decoded = messagePayload(rawPayload);
+        } catch (IOException e) {
+          throw new IllegalStateException("Failed to decode payload", e);
+        }
+        this.decoded = decoded;
+      }
+      return decoded;
+    }
+
+    @NotNull @Override public Set<Entry<String, Object>> entrySet() {
+      return decoded().entrySet();
+    }
+
+    @Override public Object get(Object key) {
+      return decoded().get(key);
+    }
+
+    @Override public boolean containsKey(Object key) {
+      return decoded().containsKey(key);
+    }
+
+    @Override public int size() {
+      return decoded().size();
     }
   }
 
@@ -0,0 +1,59 @@
+package com.apollographql.apollo.subscription;
+
+import okio.BufferedSink;
+import okio.ByteString;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Encodes the messages sent to the subscription server and decodes the ones it sends back, allowing a {@link
+ * SubscriptionTransport} to speak protocols other than <a href="https://github.com/apollographql/subscriptions-transport-ws/blob/master/PROTOCOL.md">graphql-ws</a>
+ * while the subscription manager keeps working with {@link OperationClientMessage}s and {@link
+ * OperationServerMessage}s.
+ */
+public interface SubscriptionMessageCodec {
+  /**
+   * The {@code graphql-ws} JSON envelope, sent as text frames.
+   */
+  SubscriptionMessageCodec GRAPHQL_WS = new GraphQlWs();
+
+  /**
+   * @return the name of the protocol, sent as the {@code Sec-WebSocket-Protocol} header when connecting
+   */
+  @NotNull String protocol();
+
+  /**
+   * @return true if messages are sent as binary frames, false if they are sent as UTF-8 text frames
+   */
+  boolean isBinary();
+
+  /**
+   * Encodes {@code message} as a single frame written to {@code sink}.
+   */
+  void encode(@NotNull OperationClientMessage message, @NotNull BufferedSink sink) throws IOException;
+
+  /**
+   * Decodes a frame received from the server. Frames that can not be decoded should be returned as {@link
+   * OperationServerMessage.Unsupported} messages.
+   */
+  @NotNull OperationServerMessage decode(@NotNull ByteString frame);
+
+  class GraphQlWs implements SubscriptionMessageCodec {
+    @NotNull @Override public String protocol() {
+      return "graphql-ws";
+    }
+
+    @Override public boolean isBinary() {
+      return false;
+    }
+
+    @Override public void encode(@NotNull OperationClientMessage message, @NotNull BufferedSink sink) throws IOException {
+      message.writeJson(sink);
+    }
+
+    @NotNull @Override public OperationServerMessage decode(@NotNull ByteString frame) {
+      return OperationServerMessage.fromJsonBytes(frame);
+    }
+  }
+}
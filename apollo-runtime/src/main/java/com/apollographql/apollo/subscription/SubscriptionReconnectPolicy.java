@@ -0,0 +1,90 @@
+package com.apollographql.apollo.subscription;
+
+import com.apollographql.apollo.exception.ApolloNetworkException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
+
+/**
+ * Decides whether and when the subscription manager reconnects to the subscription server after a transport failure.
+ * While reconnecting, active subscriptions are kept and started again with their original ids once the connection is
+ * acknowledged. When the policy gives up, the subscriptions are notified of the failure.
+ */
+public interface SubscriptionReconnectPolicy {
+  /**
+   * Policy that never reconnects.
+   */
+  SubscriptionReconnectPolicy NEVER = new SubscriptionReconnectPolicy() {
+    @Override public long reconnectDelayMillis(@NotNull Throwable error, int attempt) {
+      return -1;
+    }
+  };
+
+  /**
+   * @param error   the transport failure
+   * @param attempt the number of the reconnection attempt, starting at 1 for the first failure after the connection
+   *                was last acknowledged
+   * @return the delay in milliseconds before reconnecting, or a negative value to give up
+   */
+  long reconnectDelayMillis(@NotNull Throwable error, int attempt);
+
+  /**
+   * Exponential backoff with full jitter: the delay before an attempt is random between zero and the initial delay
+   * doubled for each previous attempt, up to the maximum delay. Spreading the delays avoids clients that lost their
+   * connection at the same time reconnecting all at once.
+   *
+   * Only {@link IOException}s and {@link ApolloNetworkException}s are retried, override {@link #isRetryable(Throwable)}
+   * to change this.
+   */
+  class ExponentialBackoff implements SubscriptionReconnectPolicy {
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxAttempts;
+    private final Random random;
+
+    /**
+     * @param initialDelay the maximum delay before the first attempt
+     * @param maxDelay     the maximum delay before any attempt
+     * @param timeUnit     time unit
+     * @param maxAttempts  the number of consecutive attempts after which to give up
+     */
+    public ExponentialBackoff(long initialDelay, long maxDelay, @NotNull TimeUnit timeUnit, int maxAttempts) {
+      this(initialDelay, maxDelay, timeUnit, maxAttempts, new Random());
+    }
+
+    ExponentialBackoff(long initialDelay, long maxDelay, TimeUnit timeUnit, int maxAttempts, Random random) {
+      checkNotNull(timeUnit, "timeUnit == null");
+      if (initialDelay <= 0) {
+        throw new IllegalArgumentException("initialDelay <= 0");
+      }
+      if (maxDelay < initialDelay) {
+        throw new IllegalArgumentException("maxDelay < initialDelay");
+      }
+      this.initialDelayMillis = timeUnit.toMillis(initialDelay);
+      this.maxDelayMillis = timeUnit.toMillis(maxDelay);
+      this.maxAttempts = maxAttempts;
+      this.random = random;
+    }
+
+    @Override public long reconnectDelayMillis(@NotNull Throwable error, int attempt) {
+      if (attempt > maxAttempts || !isRetryable(error)) {
+        return -1;
+      }
+      long ceiling = maxDelayMillis;
+      if (attempt - 1 < Long.numberOfLeadingZeros(initialDelayMillis) - 1) {
+        ceiling = Math.min(maxDelayMillis, initialDelayMillis << (attempt - 1));
+      }
+      synchronized (random) {
+        return (long) (random.nextDouble() * (ceiling + 1));
+      }
+    }
+
+    protected boolean isRetryable(@NotNull Throwable error) {
+      return error instanceof IOException || error instanceof ApolloNetworkException;
+    }
+  }
+}
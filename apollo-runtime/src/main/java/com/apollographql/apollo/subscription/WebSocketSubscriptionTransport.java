@@ -1,5 +1,6 @@
 package com.apollographql.apollo.subscription;
 
+import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -8,6 +9,8 @@ import org.jetbrains.annotations.NotNull;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.WebSocket;
+import okio.Buffer;
+import okio.ByteString;
 
 import static com.apollographql.apollo.api.internal.Utils.checkNotNull;
 
@@ -18,14 +21,16 @@ public final class WebSocketSubscriptionTransport implements SubscriptionTranspo
   private final Request webSocketRequest;
   private final WebSocket.Factory webSocketConnectionFactory;
   private final Callback callback;
+  private final SubscriptionMessageCodec codec;
   final AtomicReference<WebSocket> webSocket = new AtomicReference<>();
   final AtomicReference<WebSocketListener> webSocketListener = new AtomicReference<>();
 
   WebSocketSubscriptionTransport(Request webSocketRequest, WebSocket.Factory webSocketConnectionFactory,
-      Callback callback) {
+      Callback callback, SubscriptionMessageCodec codec) {
     this.webSocketRequest = webSocketRequest;
     this.webSocketConnectionFactory = webSocketConnectionFactory;
     this.callback = callback;
+    this.codec = codec;
   }
 
   @Override
@@ -42,7 +47,12 @@ public final class WebSocketSubscriptionTransport implements SubscriptionTranspo
     WebSocket socket = webSocket.getAndSet(null);
 
     if (socket != null) {
-      socket.close(1001, message.toJsonString());
+      if (codec.isBinary()) {
+        socket.send(encode(message));
+        socket.close(1001, null);
+      } else {
+        socket.close(1001, encode(message).utf8());
+      }
     }
 
     release();
@@ -54,15 +64,29 @@ public final class WebSocketSubscriptionTransport implements SubscriptionTranspo
     if (socket == null) {
       throw new IllegalStateException("Not connected");
     }
-    socket.send(message.toJsonString());
+    if (codec.isBinary()) {
+      socket.send(encode(message));
+    } else {
+      socket.send(encode(message).utf8());
+    }
+  }
+
+  private ByteString encode(OperationClientMessage message) {
+    try {
+      Buffer buffer = new Buffer();
+      codec.encode(message, buffer);
+      return buffer.readByteString();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to encode message", e);
+    }
   }
 
   void onOpen() {
     callback.onConnected();
   }
 
-  void onMessage(OperationServerMessage message) {
-    callback.onMessage(message);
+  void onMessage(ByteString frame) {
+    callback.onMessage(codec.decode(frame));
   }
 
   void onFailure(Throwable t) {
@@ -108,8 +132,15 @@ public final class WebSocketSubscriptionTransport implements SubscriptionTranspo
     public void onMessage(WebSocket webSocket, String text) {
       WebSocketSubscriptionTransport delegate = delegateRef.get();
       if (delegate != null) {
-        OperationServerMessage message = OperationServerMessage.fromJsonString(text);
-        delegate.onMessage(message);
+        delegate.onMessage(ByteString.encodeUtf8(text));
+      }
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, ByteString bytes) {
+      WebSocketSubscriptionTransport delegate = delegateRef.get();
+      if (delegate != null) {
+        delegate.onMessage(bytes);
       }
     }
 
@@ -145,11 +176,21 @@ public final class WebSocketSubscriptionTransport implements SubscriptionTranspo
   public static final class Factory implements SubscriptionTransport.Factory {
     private final Request webSocketRequest;
     private final WebSocket.Factory webSocketConnectionFactory;
+    private final SubscriptionMessageCodec codec;
 
     public Factory(@NotNull String webSocketUrl, @NotNull WebSocket.Factory webSocketConnectionFactory) {
+      this(webSocketUrl, webSocketConnectionFactory, SubscriptionMessageCodec.GRAPHQL_WS);
+    }
+
+    /**
+     * @param codec the codec of the messages exchanged with the server, see {@link BinarySubscriptionMessageCodec}
+     */
+    public Factory(@NotNull String webSocketUrl, @NotNull WebSocket.Factory webSocketConnectionFactory,
+        @NotNull SubscriptionMessageCodec codec) {
+      this.codec = checkNotNull(codec, "codec == null");
       this.webSocketRequest = new Request.Builder()
           .url(checkNotNull(webSocketUrl, "webSocketUrl == null"))
-          .addHeader("Sec-WebSocket-Protocol", "graphql-ws")
+          .addHeader("Sec-WebSocket-Protocol", codec.protocol())
           .addHeader("Cookie", "")
           .build();
       this.webSocketConnectionFactory = checkNotNull(webSocketConnectionFactory, "webSocketConnectionFactory == null");
@@ -158,7 +199,7 @@ public final class WebSocketSubscriptionTransport implements SubscriptionTranspo
     @Override
     public SubscriptionTransport create(@NotNull Callback callback) {
       checkNotNull(callback, "callback == null");
-      return new WebSocketSubscriptionTransport(webSocketRequest, webSocketConnectionFactory, callback);
+      return new WebSocketSubscriptionTransport(webSocketRequest, webSocketConnectionFactory, callback, codec);
     }
   }
 }
@@ -0,0 +1,115 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.ApolloPrefetch;
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.exception.ApolloException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ApolloPrefetchBatchTest {
+
+  @Test public void boundedConcurrency() {
+    List<FakePrefetch> prefetches = Arrays.asList(new FakePrefetch(), new FakePrefetch(), new FakePrefetch());
+    RecordingCallback callback = new RecordingCallback();
+    new ApolloPrefetchBatch(new ArrayList<ApolloPrefetch>(prefetches), 2, callback).enqueue();
+
+    assertThat(prefetches.get(0).callback).isNotNull();
+    assertThat(prefetches.get(1).callback).isNotNull();
+    assertThat(prefetches.get(2).callback).isNull();
+
+    prefetches.get(1).callback.onSuccess();
+    assertThat(prefetches.get(2).callback).isNotNull();
+
+    prefetches.get(0).callback.onSuccess();
+    prefetches.get(2).callback.onSuccess();
+    assertThat(callback.successes.get()).isEqualTo(1);
+    assertThat(callback.failure.get()).isNull();
+  }
+
+  @Test public void failureIsReportedOnceAllCompleted() {
+    List<FakePrefetch> prefetches = Arrays.asList(new FakePrefetch(), new FakePrefetch());
+    RecordingCallback callback = new RecordingCallback();
+    new ApolloPrefetchBatch(new ArrayList<ApolloPrefetch>(prefetches), 2, callback).enqueue();
+
+    ApolloException failure = new ApolloException("failure");
+    prefetches.get(0).callback.onFailure(failure);
+    assertThat(callback.failure.get()).isNull();
+
+    prefetches.get(1).callback.onSuccess();
+    assertThat(callback.failure.get()).isSameAs(failure);
+    assertThat(callback.successes.get()).isEqualTo(0);
+  }
+
+  @Test public void cancel() {
+    List<FakePrefetch> prefetches = Arrays.asList(new FakePrefetch(), new FakePrefetch());
+    RecordingCallback callback = new RecordingCallback();
+    ApolloPrefetchBatch batch = new ApolloPrefetchBatch(new ArrayList<ApolloPrefetch>(prefetches), 1, callback);
+    batch.enqueue();
+
+    batch.cancel();
+    assertThat(batch.isCanceled()).isTrue();
+    assertThat(prefetches.get(0).canceled).isTrue();
+
+    prefetches.get(0).callback.onSuccess();
+    assertThat(prefetches.get(1).callback).isNull();
+    assertThat(callback.successes.get()).isEqualTo(0);
+  }
+
+  @Test public void emptyBatch() {
+    RecordingCallback callback = new RecordingCallback();
+    new ApolloPrefetchBatch(new ArrayList<ApolloPrefetch>(), 1, callback).enqueue();
+
+    assertThat(callback.successes.get()).isEqualTo(1);
+  }
+
+  private static class RecordingCallback extends ApolloPrefetch.Callback {
+    final AtomicInteger successes = new AtomicInteger();
+    final AtomicReference<ApolloException> failure = new AtomicReference<>();
+
+    @Override public void onSuccess() {
+      successes.incrementAndGet();
+    }
+
+    @Override public void onFailure(@NotNull ApolloException e) {
+      failure.set(e);
+    }
+  }
+
+  private static class FakePrefetch implements ApolloPrefetch {
+    Callback callback;
+    boolean canceled;
+
+    @Override public void enqueue(@Nullable Callback callback) {
+      this.callback = callback;
+    }
+
+    @Override public ApolloPrefetch clone() {
+      return new FakePrefetch();
+    }
+
+    @NotNull @Override public ApolloPrefetch target(@NotNull Target target) {
+      return new FakePrefetch();
+    }
+
+    @NotNull @Override public Operation operation() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public void cancel() {
+      canceled = true;
+    }
+
+    @Override public boolean isCanceled() {
+      return canceled;
+    }
+  }
+}
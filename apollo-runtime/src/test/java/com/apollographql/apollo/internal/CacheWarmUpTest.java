@@ -0,0 +1,127 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.NormalizedCache;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.lru.LruNormalizedCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Arrays.asList;
+
+public class CacheWarmUpTest {
+  private final PersistentCache persistentCache = new PersistentCache();
+  private NormalizedCache memoryCache;
+  private RealApolloStore apolloStore;
+
+  @Before public void setUp() {
+    memoryCache = TestStores.lruCache().chain(persistentCache);
+    apolloStore = TestStores.store(memoryCache, 0);
+    persistentCache.add(Record.builder("QUERY_ROOT").addField("hero", new CacheReference("2001")).build());
+    persistentCache.add(Record.builder("2001").addField("name", "R2-D2")
+        .addField("friends", asList(new CacheReference("1000"), new CacheReference("1002"))).build());
+    persistentCache.add(Record.builder("1000").addField("name", "Luke Skywalker")
+        .addField("friends", asList(new CacheReference("2001"))).build());
+    persistentCache.add(Record.builder("1002").addField("name", "Han Solo").build());
+    persistentCache.add(Record.builder("1003").addField("name", "Leia Organa").build());
+  }
+
+  @Test
+  public void reachableRecordsAreLoadedLevelByLevel() {
+    int count = apolloStore.warmUp(Collections.singleton(CacheKeyResolver.ROOT_CACHE_KEY), 10).execute();
+
+    assertThat(count).isEqualTo(4);
+    assertThat(persistentCache.loadedBatches).containsExactly(asList("QUERY_ROOT"), asList("2001"),
+        asList("1000", "1002")).inOrder();
+    assertThat(memoryKeys()).containsExactly("QUERY_ROOT", "2001", "1000", "1002");
+
+    assertThat(apolloStore.read("1000", CacheHeaders.NONE)).isNotNull();
+    assertThat(persistentCache.loadedBatches).hasSize(3);
+  }
+
+  @Test
+  public void warmUpStopsAtMaxRecords() {
+    int count = apolloStore.warmUp(Collections.singleton(CacheKeyResolver.ROOT_CACHE_KEY), 3).execute();
+
+    assertThat(count).isEqualTo(3);
+    assertThat(persistentCache.loadedBatches).containsExactly(asList("QUERY_ROOT"), asList("2001"),
+        asList("1000")).inOrder();
+    assertThat(memoryKeys()).containsExactly("QUERY_ROOT", "2001", "1000");
+  }
+
+  @Test
+  public void recentRecordsAreLoaded() {
+    int count = apolloStore.warmUpRecentRecords(2).execute();
+
+    assertThat(count).isEqualTo(2);
+    assertThat(persistentCache.loadedBatches).containsExactly(asList("1003", "1002"));
+    assertThat(memoryKeys()).containsExactly("1003", "1002");
+  }
+
+  private Set<String> memoryKeys() {
+    return memoryCache.dump().get(LruNormalizedCache.class).keySet();
+  }
+
+  /**
+   * A persistent cache whose records are written in insertion order and that records the keys of its batched reads.
+   */
+  static class PersistentCache extends NormalizedCache {
+    final Map<String, Record> records = new LinkedHashMap<>();
+    final List<List<String>> loadedBatches = new ArrayList<>();
+
+    void add(Record record) {
+      records.put(record.key(), record);
+    }
+
+    @Nullable @Override public Record loadRecord(@NotNull String key, @NotNull CacheHeaders cacheHeaders) {
+      loadedBatches.add(Collections.singletonList(key));
+      return records.get(key);
+    }
+
+    @NotNull @Override public Collection<Record> loadRecords(@NotNull Collection<String> keys,
+        @NotNull CacheHeaders cacheHeaders) {
+      loadedBatches.add(new ArrayList<>(keys));
+      List<Record> loadedRecords = new ArrayList<>();
+      for (String key : keys) {
+        Record record = records.get(key);
+        if (record != null) {
+          loadedRecords.add(record.clone());
+        }
+      }
+      return loadedRecords;
+    }
+
+    @NotNull @Override public List<String> recentRecordKeys(int limit) {
+      List<String> keys = new ArrayList<>(records.keySet());
+      Collections.reverse(keys);
+      return keys.subList(0, Math.min(limit, keys.size()));
+    }
+
+    @NotNull @Override protected Set<String> performMerge(@NotNull Record apolloRecord,
+        @NotNull CacheHeaders cacheHeaders) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public void clearAll() {
+      records.clear();
+    }
+
+    @Override public boolean remove(@NotNull CacheKey cacheKey, boolean cascade) {
+      return records.remove(cacheKey.getKey()) != null;
+    }
+  }
+}
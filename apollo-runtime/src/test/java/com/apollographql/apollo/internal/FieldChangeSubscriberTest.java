@@ -0,0 +1,83 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.ApolloStore;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.FieldChange;
+import com.apollographql.apollo.cache.normalized.Record;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Arrays.asList;
+
+public class FieldChangeSubscriberTest {
+  private final List<Map<String, FieldChange>> publishedChanges = new ArrayList<>();
+  private final ApolloStore.FieldChangeSubscriber subscriber = new ApolloStore.FieldChangeSubscriber() {
+    @Override public void onCacheFieldsChanged(@NotNull Set<String> changedRecordKeys,
+        @NotNull Map<String, FieldChange> fieldChanges) {
+      publishedChanges.add(fieldChanges);
+    }
+  };
+  private RealApolloStore apolloStore;
+
+  @Before public void setUp() {
+    apolloStore = TestStores.lruStore();
+    apolloStore.merge(asList(
+        Record.builder("QUERY_ROOT").addField("hero", new CacheReference("2001")).build(),
+        Record.builder("2001").addField("name", "R2-D2").addField("likes", 1).build()
+    ), CacheHeaders.NONE);
+  }
+
+  @Test public void publishedKeysCarryTheirChanges() {
+    apolloStore.subscribeToFieldChanges(subscriber);
+
+    Set<String> changedKeys = apolloStore.merge(asList(
+        Record.builder("2001").addField("name", "R2-D2").addField("likes", 2).addField("height", 1.09).build(),
+        Record.builder("QUERY_ROOT").addField("hero", new CacheReference("1000")).build()
+    ), CacheHeaders.NONE);
+    apolloStore.publish(changedKeys);
+
+    assertThat(publishedChanges).hasSize(1);
+    Map<String, FieldChange> changes = publishedChanges.get(0);
+    assertThat(changes.keySet()).containsExactly("2001.likes", "2001.height", "QUERY_ROOT.hero");
+    FieldChange likes = changes.get("2001.likes");
+    assertThat(likes.recordKey()).isEqualTo("2001");
+    assertThat(likes.fieldKey()).isEqualTo("likes");
+    assertThat(likes.oldValue()).isEqualTo(1);
+    assertThat(likes.newValue()).isEqualTo(2);
+    assertThat(likes.isStructural()).isFalse();
+    assertThat(changes.get("2001.height").hadOldValue()).isFalse();
+    assertThat(changes.get("2001.height").isStructural()).isTrue();
+    assertThat(changes.get("QUERY_ROOT.hero").isStructural()).isTrue();
+  }
+
+  @Test public void changesMergedBeforePublishKeepTheOldestValue() {
+    apolloStore.subscribeToFieldChanges(subscriber);
+
+    apolloStore.merge(Record.builder("2001").addField("likes", 2).build(), CacheHeaders.NONE);
+    Set<String> changedKeys = apolloStore.merge(Record.builder("2001").addField("likes", 3).build(),
+        CacheHeaders.NONE);
+    apolloStore.publish(changedKeys);
+
+    FieldChange likes = publishedChanges.get(0).get("2001.likes");
+    assertThat(likes.oldValue()).isEqualTo(1);
+    assertThat(likes.newValue()).isEqualTo(3);
+  }
+
+  @Test public void changesAreOnlyRecordedWhileSubscribed() {
+    Set<String> changedKeys = apolloStore.merge(Record.builder("2001").addField("likes", 2).build(),
+        CacheHeaders.NONE);
+    apolloStore.subscribeToFieldChanges(subscriber);
+    apolloStore.publish(changedKeys);
+
+    assertThat(publishedChanges).hasSize(1);
+    assertThat(publishedChanges.get(0)).isEmpty();
+  }
+}
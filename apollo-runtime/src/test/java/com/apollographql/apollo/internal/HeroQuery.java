@@ -0,0 +1,138 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.api.OperationName;
+import com.apollographql.apollo.api.Response;
+import com.apollographql.apollo.api.ResponseField;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.InputFieldMarshaller;
+import com.apollographql.apollo.api.internal.InputFieldWriter;
+import com.apollographql.apollo.api.internal.ResponseFieldMapper;
+import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
+import com.apollographql.apollo.api.internal.ResponseReader;
+import com.apollographql.apollo.api.internal.UnmodifiableMapBuilder;
+import okio.BufferedSource;
+import okio.ByteString;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A query of the name of a hero, read as its data. Its operations other than reading are not supported.
+ */
+final class HeroQuery implements Operation<HeroQuery.Data, String, Operation.Variables> {
+  static final ResponseField HERO_FIELD = ResponseField.forObject("hero", "hero", null, true,
+      Collections.<ResponseField.Condition>emptyList());
+  static final ResponseField R2_FIELD = ResponseField.forObject("r2", "hero",
+      Collections.<String, Object>singletonMap("episode", new UnmodifiableMapBuilder<String, Object>(2)
+          .put("kind", "Variable")
+          .put("variableName", "episode")
+          .build()),
+      true, Collections.<ResponseField.Condition>emptyList());
+  static final ResponseField NAME_FIELD = ResponseField.forString("name", "name", null, false,
+      Collections.<ResponseField.Condition>emptyList());
+
+  private final ResponseField heroField;
+  private final String queryDocument;
+  private final Operation.Variables variables;
+
+  /**
+   * @return {@code query HeroQuery($episode: Episode) { hero { name } }}
+   */
+  static HeroQuery hero(String episode) {
+    return new HeroQuery(HERO_FIELD, "query HeroQuery($episode: Episode) { hero { name } }", episode);
+  }
+
+  /**
+   * @return {@code query HeroQuery($episode: Episode) { r2: hero(episode: $episode) { name } }}
+   */
+  static HeroQuery r2(String episode) {
+    return new HeroQuery(R2_FIELD, "query HeroQuery($episode: Episode) { r2: hero(episode: $episode) { name } }",
+        episode);
+  }
+
+  private HeroQuery(ResponseField heroField, String queryDocument, final String episode) {
+    this.heroField = heroField;
+    this.queryDocument = queryDocument;
+    this.variables = new Operation.Variables() {
+      @NotNull @Override public Map<String, Object> valueMap() {
+        return Collections.<String, Object>singletonMap("episode", episode);
+      }
+
+      @NotNull @Override public InputFieldMarshaller marshaller() {
+        return new InputFieldMarshaller() {
+          @Override public void marshal(@NotNull InputFieldWriter writer) throws IOException {
+            writer.writeString("episode", episode);
+          }
+        };
+      }
+    };
+  }
+
+  @NotNull @Override public String queryDocument() {
+    return queryDocument;
+  }
+
+  @NotNull @Override public Variables variables() {
+    return variables;
+  }
+
+  @NotNull @Override public ResponseFieldMapper<Data> responseFieldMapper() {
+    return new ResponseFieldMapper<Data>() {
+      @Override public Data map(@NotNull ResponseReader responseReader) {
+        return new Data(responseReader.readObject(heroField, new ResponseReader.ObjectReader<String>() {
+          @Override public String read(@NotNull ResponseReader reader) {
+            return reader.readString(NAME_FIELD);
+          }
+        }));
+      }
+    };
+  }
+
+  @Override public String wrapData(Data data) {
+    return data.heroName;
+  }
+
+  @NotNull @Override public OperationName name() {
+    return new OperationName() {
+      @Override public String name() {
+        return "HeroQuery";
+      }
+    };
+  }
+
+  @NotNull @Override public String operationId() {
+    return "HeroQuery";
+  }
+
+  @NotNull @Override public Response<String> parse(@NotNull BufferedSource source) {
+    throw new UnsupportedOperationException();
+  }
+
+  @NotNull @Override public Response<String> parse(@NotNull BufferedSource source,
+      @NotNull ScalarTypeAdapters scalarTypeAdapters) {
+    throw new UnsupportedOperationException();
+  }
+
+  @NotNull @Override public ByteString composeRequestBody(@NotNull ScalarTypeAdapters scalarTypeAdapters) {
+    throw new UnsupportedOperationException();
+  }
+
+  @NotNull @Override public ByteString composeRequestBody() {
+    throw new UnsupportedOperationException();
+  }
+
+  static final class Data implements Operation.Data {
+    final String heroName;
+
+    Data(String heroName) {
+      this.heroName = heroName;
+    }
+
+    @NotNull @Override public ResponseFieldMarshaller marshaller() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
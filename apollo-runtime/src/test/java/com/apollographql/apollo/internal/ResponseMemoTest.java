@@ -0,0 +1,95 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.api.Response;
+import com.apollographql.apollo.cache.ApolloCacheHeaders;
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.Record;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Arrays.asList;
+
+public class ResponseMemoTest {
+  private RealApolloStore apolloStore;
+
+  @Before public void setUp() {
+    apolloStore = TestStores.store(TestStores.lruCache(), 100);
+    apolloStore.merge(asList(
+        Record.builder("QUERY_ROOT").addField("hero", new CacheReference("2001")).build(),
+        Record.builder("2001").addField("name", "R2-D2").build(),
+        Record.builder("1000").addField("name", "Luke Skywalker").build()
+    ), CacheHeaders.NONE);
+  }
+
+  @Test
+  public void responseIsKeptUntilADependentKeyChanges() {
+    Response<String> response = read(HeroQuery.hero("JEDI"), CacheHeaders.NONE);
+    assertThat(response.getData()).isEqualTo("R2-D2");
+    assertThat(read(HeroQuery.hero("JEDI"), CacheHeaders.NONE)).isSameAs(response);
+
+    apolloStore.merge(Record.builder("1000").addField("name", "Luke").build(), CacheHeaders.NONE);
+    assertThat(read(HeroQuery.hero("JEDI"), CacheHeaders.NONE)).isSameAs(response);
+
+    apolloStore.merge(Record.builder("2001").addField("name", "Artoo").build(), CacheHeaders.NONE);
+    Response<String> updatedResponse = read(HeroQuery.hero("JEDI"), CacheHeaders.NONE);
+    assertThat(updatedResponse).isNotSameAs(response);
+    assertThat(updatedResponse.getData()).isEqualTo("Artoo");
+  }
+
+  @Test
+  public void responsesAreKeptPerVariables() {
+    Response<String> jediResponse = read(HeroQuery.hero("JEDI"), CacheHeaders.NONE);
+    Response<String> empireResponse = read(HeroQuery.hero("EMPIRE"), CacheHeaders.NONE);
+
+    assertThat(empireResponse).isNotSameAs(jediResponse);
+    assertThat(read(HeroQuery.hero("JEDI"), CacheHeaders.NONE)).isSameAs(jediResponse);
+    assertThat(read(HeroQuery.hero("EMPIRE"), CacheHeaders.NONE)).isSameAs(empireResponse);
+  }
+
+  @Test
+  public void readsWithCacheHeadersAreNotKept() {
+    CacheHeaders cacheHeaders = CacheHeaders.builder().addHeader(ApolloCacheHeaders.DO_NOT_STORE, "true").build();
+    Response<String> response = read(HeroQuery.hero("JEDI"), cacheHeaders);
+
+    assertThat(read(HeroQuery.hero("JEDI"), cacheHeaders)).isNotSameAs(response);
+    assertThat(read(HeroQuery.hero("JEDI"), CacheHeaders.NONE)).isNotSameAs(response);
+  }
+
+  @Test
+  public void leastRecentlyReadResponsesAreDroppedOverBudget() {
+    ResponseMemo memo = new ResponseMemo(5);
+    Response<String> jediResponse = response(HeroQuery.hero("JEDI"), "QUERY_ROOT.hero", "2001", "2001.name");
+    Response<String> empireResponse = response(HeroQuery.hero("EMPIRE"), "QUERY_ROOT.hero", "1000");
+    Response<String> newHopeResponse = response(HeroQuery.hero("NEWHOPE"), "QUERY_ROOT.hero", "1000");
+
+    memo.put("JEDI", jediResponse, memo.generation());
+    memo.put("EMPIRE", empireResponse, memo.generation());
+    assertThat(memo.<String>get("JEDI")).isSameAs(jediResponse);
+    memo.put("NEWHOPE", newHopeResponse, memo.generation());
+
+    assertThat(memo.<String>get("JEDI")).isSameAs(jediResponse);
+    assertThat(memo.<String>get("EMPIRE")).isNull();
+    assertThat(memo.<String>get("NEWHOPE")).isSameAs(newHopeResponse);
+
+    long generation = memo.generation();
+    memo.invalidate(new HashSet<>(asList("2001.name")));
+    assertThat(memo.<String>get("JEDI")).isNull();
+    assertThat(memo.<String>get("NEWHOPE")).isSameAs(newHopeResponse);
+
+    memo.put("EMPIRE", empireResponse, generation);
+    assertThat(memo.<String>get("EMPIRE")).isNull();
+  }
+
+  private Response<String> read(HeroQuery query, CacheHeaders cacheHeaders) {
+    return apolloStore.read(query, query.responseFieldMapper(), apolloStore.cacheResponseNormalizer(), cacheHeaders)
+        .execute();
+  }
+
+  private static Response<String> response(HeroQuery query, String... dependentKeys) {
+    return Response.<String>builder(query).data("").dependentKeys(new HashSet<>(asList(dependentKeys))).build();
+  }
+}
@@ -0,0 +1,51 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.api.Response;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.json.BufferedSourceJsonReader;
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.StreamingCacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.internal.StreamingResponseNormalizer;
+import okio.Buffer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class StreamingNormalizationTest {
+  private RealApolloStore apolloStore;
+
+  @Before public void setUp() {
+    apolloStore = TestStores.lruStore();
+  }
+
+  @Test
+  public void aliasedFieldWithArgumentsIsReadBackByItsQuery() throws IOException {
+    HeroQuery query = HeroQuery.r2("JEDI");
+    String json = "{\"data\": {\"r2\": {\"name\": \"R2-D2\"}}}";
+
+    new StreamingResponseNormalizer(StreamingCacheKeyResolver.DEFAULT, 10).normalizeResponse(
+        new BufferedSourceJsonReader(new Buffer().writeUtf8(json)), query.responseFieldMapper(), query.variables(),
+        new ScalarTypeAdapters(Collections.EMPTY_MAP), CacheKeyResolver.rootKeyForOperation(query),
+        new StreamingResponseNormalizer.RecordSink() {
+          @Override public void flush(@NotNull List<Record> records) {
+            apolloStore.merge(records, CacheHeaders.NONE);
+          }
+        });
+
+    assertThat(read(HeroQuery.r2("JEDI")).getData()).isEqualTo("R2-D2");
+    assertThat(read(HeroQuery.r2("EMPIRE")).getData()).isNull();
+  }
+
+  private Response<String> read(HeroQuery query) {
+    return apolloStore.read(query, query.responseFieldMapper(), apolloStore.cacheResponseNormalizer(),
+        CacheHeaders.NONE).execute();
+  }
+}
@@ -0,0 +1,123 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.api.internal.ApolloLogger;
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.ApolloStore;
+import com.apollographql.apollo.cache.normalized.Record;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.apollographql.apollo.internal.TestStores.IMMEDIATE_EXECUTOR;
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Collections.singletonList;
+
+public class SubscriptionCacheWriteBatcherTest {
+  private final List<Set<String>> publishedKeys = Collections.synchronizedList(new ArrayList<Set<String>>());
+  private final CountDownLatch publishLatch = new CountDownLatch(1);
+  private RealApolloStore apolloStore;
+
+  @Before public void setUp() {
+    apolloStore = TestStores.lruStore();
+    apolloStore.subscribe(new ApolloStore.RecordChangeSubscriber() {
+      @Override public void onCacheRecordsChanged(Set<String> changedRecordKeys) {
+        publishedKeys.add(changedRecordKeys);
+        publishLatch.countDown();
+      }
+    });
+  }
+
+  @Test public void flushesAfterMaxEvents() {
+    SubscriptionCacheWriteBatcher batcher = new SubscriptionCacheWriteBatcher(apolloStore, IMMEDIATE_EXECUTOR,
+        TimeUnit.HOURS.toMillis(1), 3, new ApolloLogger(null));
+
+    batcher.add(singletonList(Record.builder("price").addField("value", 1).build()));
+    batcher.add(singletonList(Record.builder("price").addField("value", 2).build()));
+    assertThat(publishedKeys).isEmpty();
+    assertThat(apolloStore.normalizedCache().loadRecord("price", CacheHeaders.NONE)).isNull();
+
+    batcher.add(singletonList(Record.builder("volume").addField("value", 10).build()));
+    assertThat(publishedKeys).hasSize(1);
+    assertThat(publishedKeys.get(0)).containsExactly("price.value", "volume.value");
+    assertThat(apolloStore.normalizedCache().loadRecord("price", CacheHeaders.NONE).field("value")).isEqualTo(2);
+  }
+
+  @Test public void flushesAfterWindow() throws Exception {
+    SubscriptionCacheWriteBatcher batcher = new SubscriptionCacheWriteBatcher(apolloStore, IMMEDIATE_EXECUTOR, 50, 100,
+        new ApolloLogger(null));
+
+    batcher.add(singletonList(Record.builder("price").addField("value", 1).build()));
+    batcher.add(singletonList(Record.builder("price").addField("value", 2).build()));
+
+    assertThat(publishLatch.await(3, TimeUnit.SECONDS)).isTrue();
+    assertThat(publishedKeys).hasSize(1);
+    assertThat(apolloStore.normalizedCache().loadRecord("price", CacheHeaders.NONE).field("value")).isEqualTo(2);
+  }
+
+  @Test public void batchesTakenByBothTriggersAreWrittenInOrder() throws Exception {
+    final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    final CountDownLatch firstWriteReleased = new CountDownLatch(1);
+    // Holds the first batch between the moment it is taken and the moment it is written
+    ApolloStore delayingStore = (ApolloStore) Proxy.newProxyInstance(ApolloStore.class.getClassLoader(),
+        new Class<?>[]{ApolloStore.class}, new InvocationHandler() {
+          @Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("writeTransaction") && firstWriteStarted.getCount() > 0) {
+              firstWriteStarted.countDown();
+              firstWriteReleased.await(200, TimeUnit.MILLISECONDS);
+            }
+            try {
+              return method.invoke(apolloStore, args);
+            } catch (InvocationTargetException e) {
+              throw e.getCause();
+            }
+          }
+        });
+    ExecutorService dispatcher = Executors.newCachedThreadPool();
+    SubscriptionCacheWriteBatcher batcher = new SubscriptionCacheWriteBatcher(delayingStore, dispatcher, 1, 2,
+        new ApolloLogger(null));
+
+    // The window elapses and the first batch is taken by the timer
+    batcher.add(singletonList(Record.builder("price").addField("value", 1).build()));
+    assertThat(firstWriteStarted.await(3, TimeUnit.SECONDS)).isTrue();
+    // The second batch is taken when it reaches max events, while the first one is not written yet
+    batcher.add(singletonList(Record.builder("price").addField("value", 2).build()));
+    batcher.add(singletonList(Record.builder("price").addField("value", 3).build()));
+    Thread.sleep(100);
+    firstWriteReleased.countDown();
+
+    dispatcher.shutdown();
+    assertThat(dispatcher.awaitTermination(3, TimeUnit.SECONDS)).isTrue();
+    assertThat(apolloStore.normalizedCache().loadRecord("price", CacheHeaders.NONE).field("value")).isEqualTo(3);
+  }
+
+  @Test public void dispatchFlushWritesPendingRecords() {
+    SubscriptionCacheWriteBatcher batcher = new SubscriptionCacheWriteBatcher(apolloStore, IMMEDIATE_EXECUTOR,
+        TimeUnit.HOURS.toMillis(1), 100, new ApolloLogger(null));
+
+    batcher.add(singletonList(Record.builder("price").addField("value", 1).build()));
+    batcher.dispatchFlush();
+
+    assertThat(publishedKeys).hasSize(1);
+    assertThat(apolloStore.normalizedCache().loadRecord("price", CacheHeaders.NONE).field("value")).isEqualTo(1);
+  }
+
+  @Test public void flushWithoutPendingRecordsDoesNothing() {
+    SubscriptionCacheWriteBatcher batcher = new SubscriptionCacheWriteBatcher(apolloStore, IMMEDIATE_EXECUTOR, 50, 100,
+        new ApolloLogger(null));
+
+    batcher.flush();
+    assertThat(publishedKeys).isEmpty();
+  }
+}
@@ -0,0 +1,46 @@
+package com.apollographql.apollo.internal;
+
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.ApolloLogger;
+import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.NormalizedCache;
+import com.apollographql.apollo.cache.normalized.RecordFieldJsonAdapter;
+import com.apollographql.apollo.cache.normalized.lru.EvictionPolicy;
+import com.apollographql.apollo.cache.normalized.lru.LruNormalizedCacheFactory;
+
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
+/**
+ * Stores of the tests of the store, running their operations on the calling thread.
+ */
+final class TestStores {
+  static final Executor IMMEDIATE_EXECUTOR = new Executor() {
+    @Override public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  static NormalizedCache lruCache() {
+    return new LruNormalizedCacheFactory(EvictionPolicy.NO_EVICTION).create(RecordFieldJsonAdapter.create());
+  }
+
+  static RealApolloStore lruStore() {
+    return store(lruCache(), 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  static RealApolloStore store(NormalizedCache normalizedCache, int memoizedDependentKeys) {
+    return new RealApolloStore(
+        normalizedCache,
+        CacheKeyResolver.DEFAULT,
+        new ScalarTypeAdapters(Collections.EMPTY_MAP),
+        IMMEDIATE_EXECUTOR,
+        new ApolloLogger(null),
+        memoizedDependentKeys
+    );
+  }
+
+  private TestStores() {
+  }
+}
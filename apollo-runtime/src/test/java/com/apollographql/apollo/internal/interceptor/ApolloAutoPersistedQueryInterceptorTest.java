@@ -10,6 +10,8 @@ import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
 import com.apollographql.apollo.cache.normalized.Record;
 import com.apollographql.apollo.interceptor.ApolloInterceptor;
 import com.apollographql.apollo.interceptor.ApolloInterceptorChain;
+import com.apollographql.apollo.request.AutoPersistedQueryState;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.Protocol;
 import okhttp3.Request;
@@ -24,7 +26,9 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Executor;
@@ -38,11 +42,14 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 public class ApolloAutoPersistedQueryInterceptorTest {
+  private final HttpUrl serverUrl = HttpUrl.get("https://localhost/");
+  private final AutoPersistedQueryState state = new AutoPersistedQueryState();
+
   private ApolloAutoPersistedQueryInterceptor interceptor =
-      new ApolloAutoPersistedQueryInterceptor(new ApolloLogger(null), false);
+      new ApolloAutoPersistedQueryInterceptor(new ApolloLogger(null), false, serverUrl, state);
 
   private ApolloAutoPersistedQueryInterceptor interceptorWithGetMethod =
-      new ApolloAutoPersistedQueryInterceptor(new ApolloLogger(null), true);
+      new ApolloAutoPersistedQueryInterceptor(new ApolloLogger(null), true, serverUrl, state);
 
   private ApolloInterceptor.InterceptorRequest request = ApolloInterceptor.InterceptorRequest.builder(new MockOperation())
       .autoPersistQueries(true)
@@ -261,6 +268,145 @@ public class ApolloAutoPersistedQueryInterceptorTest {
     assertThat(interceptorResponseArgumentCaptor.getValue().parsedResponse.get().hasErrors()).isFalse();
   }
 
+  @Test
+  public void notSupportedServerIsSentQueryDocumentOnly() {
+    ApolloInterceptorChainAdapter chain = new ApolloInterceptorChainAdapter() {
+      @Override
+      public void proceedAsync(@NotNull ApolloInterceptor.InterceptorRequest request, @NotNull Executor dispatcher,
+          @NotNull ApolloInterceptor.CallBack callBack) {
+        super.proceedAsync(request, dispatcher, callBack);
+        if (proceedAsyncInvocationCount == 1) {
+          callBack.onResponse(errorResponse("PersistedQueryNotSupported"));
+        } else {
+          callBack.onResponse(dataResponse());
+        }
+      }
+    };
+    interceptor.interceptAsync(request, chain, new TrampolineExecutor(), mock(ApolloInterceptor.CallBack.class));
+    assertThat(chain.proceedAsyncInvocationCount).isEqualTo(2);
+    assertThat(state.isSupported(serverUrl)).isFalse();
+
+    ApolloInterceptorChain nextChain = mock(ApolloInterceptorChain.class);
+    interceptor.interceptAsync(request, nextChain, new TrampolineExecutor(), mock(ApolloInterceptor.CallBack.class));
+
+    ArgumentCaptor<ApolloInterceptor.InterceptorRequest> requestArgumentCaptor =
+        ArgumentCaptor.forClass(ApolloInterceptor.InterceptorRequest.class);
+    verify(nextChain).proceedAsync(requestArgumentCaptor.capture(), any(Executor.class),
+        any(ApolloInterceptor.CallBack.class));
+    assertThat(requestArgumentCaptor.getValue().sendQueryDocument).isTrue();
+    assertThat(requestArgumentCaptor.getValue().autoPersistQueries).isFalse();
+  }
+
+  @Test
+  public void knownMissingQueryIsSentWithQueryDocument() {
+    state.onMissing(serverUrl, request.operation.operationId());
+    ApolloInterceptorChainAdapter chain = new ApolloInterceptorChainAdapter() {
+      @Override
+      public void proceedAsync(@NotNull ApolloInterceptor.InterceptorRequest request, @NotNull Executor dispatcher,
+          @NotNull ApolloInterceptor.CallBack callBack) {
+        super.proceedAsync(request, dispatcher, callBack);
+        assertThat(request.sendQueryDocument).isTrue();
+        assertThat(request.autoPersistQueries).isTrue();
+        callBack.onResponse(dataResponse());
+      }
+    };
+
+    interceptor.interceptAsync(request, chain, new TrampolineExecutor(), mock(ApolloInterceptor.CallBack.class));
+
+    assertThat(chain.proceedAsyncInvocationCount).isEqualTo(1);
+    assertThat(state.isMissing(serverUrl, request.operation.operationId())).isFalse();
+    assertThat(state.isRegistered(serverUrl, request.operation.operationId())).isTrue();
+  }
+
+  @Test
+  public void queryWithoutDocumentIsNotRegisteredOnPersistedQueryNotFound() {
+    MockOperation operation = new MockOperation() {
+      @Override public String queryDocument() {
+        return "";
+      }
+    };
+    ApolloInterceptorChainAdapter chain = new ApolloInterceptorChainAdapter() {
+      @Override
+      public void proceedAsync(@NotNull ApolloInterceptor.InterceptorRequest request, @NotNull Executor dispatcher,
+          @NotNull ApolloInterceptor.CallBack callBack) {
+        super.proceedAsync(request, dispatcher, callBack);
+        assertThat(request.sendQueryDocument).isFalse();
+        callBack.onResponse(errorResponse("PersistedQueryNotFound"));
+      }
+    };
+    ApolloInterceptor.CallBack callBack = mock(ApolloInterceptor.CallBack.class);
+
+    interceptor.interceptAsync(ApolloInterceptor.InterceptorRequest.builder(operation).autoPersistQueries(true).build(),
+        chain, new TrampolineExecutor(), callBack);
+
+    assertThat(chain.proceedAsyncInvocationCount).isEqualTo(1);
+    verify(callBack).onResponse(any(ApolloInterceptor.InterceptorResponse.class));
+    assertThat(state.isRegistered(serverUrl, operation.operationId())).isFalse();
+  }
+
+  @Test
+  public void hashOnlySuccessDoesNotRegisterQuery() {
+    ApolloInterceptorChainAdapter chain = new ApolloInterceptorChainAdapter() {
+      @Override
+      public void proceedAsync(@NotNull ApolloInterceptor.InterceptorRequest request, @NotNull Executor dispatcher,
+          @NotNull ApolloInterceptor.CallBack callBack) {
+        super.proceedAsync(request, dispatcher, callBack);
+        callBack.onResponse(dataResponse());
+      }
+    };
+
+    interceptor.interceptAsync(request, chain, new TrampolineExecutor(), mock(ApolloInterceptor.CallBack.class));
+
+    assertThat(chain.proceedAsyncInvocationCount).isEqualTo(1);
+    assertThat(state.isRegistered(serverUrl, request.operation.operationId())).isFalse();
+  }
+
+  @Test
+  public void stateIsLoadedAndSavedByPersister() {
+    final Map<String, AutoPersistedQueryState.Snapshot> snapshots = new HashMap<>();
+    snapshots.put(serverUrl.toString(), new AutoPersistedQueryState.Snapshot(false, Collections.singleton("registered"),
+        Collections.<String>emptySet()));
+    AutoPersistedQueryState persistedState = new AutoPersistedQueryState(new AutoPersistedQueryState.Persister() {
+      @Override public AutoPersistedQueryState.Snapshot load(@NotNull String serverUrl) {
+        return snapshots.get(serverUrl);
+      }
+
+      @Override public void save(@NotNull String serverUrl, @NotNull AutoPersistedQueryState.Snapshot snapshot) {
+        snapshots.put(serverUrl, snapshot);
+      }
+    });
+
+    assertThat(persistedState.isRegistered(serverUrl, "registered")).isTrue();
+    persistedState.onMissing(serverUrl, "registered");
+    persistedState.onNotSupported(serverUrl);
+
+    AutoPersistedQueryState.Snapshot snapshot = snapshots.get(serverUrl.toString());
+    assertThat(snapshot.notSupported).isTrue();
+    assertThat(snapshot.registeredIds).isEmpty();
+    assertThat(snapshot.missingIds).containsExactly("registered");
+  }
+
+  private ApolloInterceptor.InterceptorResponse errorResponse(String message) {
+    return new ApolloInterceptor.InterceptorResponse(
+        mockHttpResponse(),
+        com.apollographql.apollo.api.Response.<MockOperation.Data>builder(new MockOperation())
+            .errors(Collections.singletonList(
+                new Error(message, Collections.<Error.Location>emptyList(), Collections.<String, Object>emptyMap())))
+            .build(),
+        Collections.<Record>emptyList()
+    );
+  }
+
+  private ApolloInterceptor.InterceptorResponse dataResponse() {
+    return new ApolloInterceptor.InterceptorResponse(
+        mockHttpResponse(),
+        com.apollographql.apollo.api.Response.<MockOperation.Data>builder(new MockOperation())
+            .data(new MockOperation.Data())
+            .build(),
+        Collections.<Record>emptyList()
+    );
+  }
+
   private Response mockHttpResponse() {
     return new okhttp3.Response.Builder()
         .request(new Request.Builder()
@@ -274,9 +420,10 @@ public class ApolloAutoPersistedQueryInterceptorTest {
   }
 
   static class MockOperation implements Operation<MockOperation.Data, MockOperation.Data, Operation.Variables> {
+    final String operationId = UUID.randomUUID().toString();
 
     @Override public String queryDocument() {
-      throw new UnsupportedOperationException();
+      return "query MockOperation { name }";
     }
 
     @Override public Variables variables() {
@@ -300,7 +447,7 @@ public class ApolloAutoPersistedQueryInterceptorTest {
     }
 
     @NotNull @Override public String operationId() {
-      return UUID.randomUUID().toString();
+      return operationId;
     }
 
     static class Data implements Operation.Data {
@@ -0,0 +1,226 @@
+package com.apollographql.apollo.internal.interceptor;
+
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.api.OperationName;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.ApolloLogger;
+import com.apollographql.apollo.api.internal.ResponseFieldMapper;
+import com.apollographql.apollo.api.internal.ResponseFieldMarshaller;
+import com.apollographql.apollo.exception.ApolloException;
+import com.apollographql.apollo.interceptor.ApolloInterceptor;
+import com.apollographql.apollo.request.RequestHeaders;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.BufferedSource;
+import okio.ByteString;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ApolloHttpBatcherTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  private final Executor immediateExecutor = new Executor() {
+    @Override public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  @Test public void sendsOperationsInSingleRequest() throws Exception {
+    ApolloHttpBatcher batcher = newBatcher(TimeUnit.HOURS.toMillis(1), 2);
+    server.enqueue(new MockResponse().setBody("[{\"data\":{\"a\":1}}, {\"data\":{\"b\":[2]}}]"));
+
+    RecordingCallBack callBack1 = new RecordingCallBack();
+    RecordingCallBack callBack2 = new RecordingCallBack();
+    batcher.enqueue(request(new MockOperation("first")), callBack1, failingProceed());
+    batcher.enqueue(request(new MockOperation("second")), callBack2, failingProceed());
+
+    RecordedRequest recordedRequest = server.takeRequest(2, TimeUnit.SECONDS);
+    assertThat(recordedRequest.getBody().readUtf8()).isEqualTo("[{\"operationName\":\"first\"},{\"operationName\":\"second\"}]");
+    assertThat(callBack1.await()).isEqualTo("{\"data\":{\"a\":1}}");
+    assertThat(callBack2.await()).isEqualTo("{\"data\":{\"b\":[2]}}");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test public void singleOperationProceedsAlone() {
+    ApolloHttpBatcher batcher = newBatcher(TimeUnit.HOURS.toMillis(1), 2);
+    final AtomicBoolean proceeded = new AtomicBoolean();
+
+    batcher.enqueue(request(new MockOperation("first")), new RecordingCallBack(), new Runnable() {
+      @Override public void run() {
+        proceeded.set(true);
+      }
+    });
+    batcher.flush();
+
+    assertThat(proceeded.get()).isTrue();
+    assertThat(server.getRequestCount()).isEqualTo(0);
+  }
+
+  @Test public void nonArrayResponseIsDeliveredToEveryOperation() throws Exception {
+    ApolloHttpBatcher batcher = newBatcher(TimeUnit.HOURS.toMillis(1), 2);
+    server.enqueue(new MockResponse().setBody("{\"errors\":[{\"message\":\"Batching not supported\"}]}"));
+
+    RecordingCallBack callBack1 = new RecordingCallBack();
+    RecordingCallBack callBack2 = new RecordingCallBack();
+    batcher.enqueue(request(new MockOperation("first")), callBack1, failingProceed());
+    batcher.enqueue(request(new MockOperation("second")), callBack2, failingProceed());
+
+    assertThat(callBack1.await()).isEqualTo("{\"errors\":[{\"message\":\"Batching not supported\"}]}");
+    assertThat(callBack2.await()).isEqualTo("{\"errors\":[{\"message\":\"Batching not supported\"}]}");
+  }
+
+  @Test public void httpCallIsCanceledOnceEveryOperationIsCanceled() throws Exception {
+    final List<Call> calls = new ArrayList<>();
+    final OkHttpClient okHttpClient = new OkHttpClient();
+    Call.Factory callFactory = new Call.Factory() {
+      @NotNull @Override public Call newCall(@NotNull Request request) {
+        Call call = okHttpClient.newCall(request);
+        calls.add(call);
+        return call;
+      }
+    };
+    ApolloHttpBatcher batcher = new ApolloHttpBatcher(server.url("/"), callFactory, ScalarTypeAdapters.DEFAULT,
+        TimeUnit.HOURS.toMillis(1), 2, immediateExecutor, new ApolloLogger(null));
+    server.enqueue(new MockResponse().setBody("[]").setHeadersDelay(10, TimeUnit.SECONDS));
+
+    ApolloHttpBatcher.PendingOperation operation1 = batcher.enqueue(request(new MockOperation("first")),
+        new RecordingCallBack(), failingProceed());
+    ApolloHttpBatcher.PendingOperation operation2 = batcher.enqueue(request(new MockOperation("second")),
+        new RecordingCallBack(), failingProceed());
+    assertThat(calls).hasSize(1);
+
+    operation1.cancel();
+    assertThat(calls.get(0).isCanceled()).isFalse();
+    operation2.cancel();
+    assertThat(calls.get(0).isCanceled()).isTrue();
+  }
+
+  @Test public void requestHeadersPreventBatching() {
+    ApolloHttpBatcher batcher = newBatcher(TimeUnit.HOURS.toMillis(1), 2);
+
+    assertThat(batcher.canBatch(request(new MockOperation("first")))).isTrue();
+    assertThat(batcher.canBatch(ApolloInterceptor.InterceptorRequest.builder(new MockOperation("first"))
+        .requestHeaders(RequestHeaders.builder().addHeader("Authorization", "token").build())
+        .build())).isFalse();
+  }
+
+  private ApolloHttpBatcher newBatcher(long windowMillis, int maxBatchSize) {
+    return new ApolloHttpBatcher(server.url("/"), new OkHttpClient(), ScalarTypeAdapters.DEFAULT, windowMillis, maxBatchSize,
+        immediateExecutor, new ApolloLogger(null));
+  }
+
+  private static ApolloInterceptor.InterceptorRequest request(Operation operation) {
+    return ApolloInterceptor.InterceptorRequest.builder(operation).build();
+  }
+
+  private static Runnable failingProceed() {
+    return new Runnable() {
+      @Override public void run() {
+        throw new AssertionError("Operation should have been batched");
+      }
+    };
+  }
+
+  private static final class RecordingCallBack implements ApolloInterceptor.CallBack {
+    final CountDownLatch latch = new CountDownLatch(1);
+    volatile String body;
+
+    @Override public void onResponse(@NotNull ApolloInterceptor.InterceptorResponse response) {
+      try {
+        body = response.httpResponse.get().body().string();
+      } catch (IOException e) {
+        throw new AssertionError(e);
+      }
+      latch.countDown();
+    }
+
+    @Override public void onFetch(ApolloInterceptor.FetchSourceType sourceType) {
+    }
+
+    @Override public void onFailure(@NotNull ApolloException e) {
+      latch.countDown();
+    }
+
+    @Override public void onCompleted() {
+    }
+
+    String await() throws InterruptedException {
+      assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+      return body;
+    }
+  }
+
+  private static final class MockOperation implements Operation<MockOperation.Data, MockOperation.Data, Operation.Variables> {
+    final String name;
+
+    MockOperation(String name) {
+      this.name = name;
+    }
+
+    @Override public String queryDocument() {
+      return "";
+    }
+
+    @Override public Variables variables() {
+      return EMPTY_VARIABLES;
+    }
+
+    @Override public ResponseFieldMapper<Data> responseFieldMapper() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public Data wrapData(Data data) {
+      return data;
+    }
+
+    @NotNull @Override public OperationName name() {
+      return new OperationName() {
+        @Override public String name() {
+          return name;
+        }
+      };
+    }
+
+    @NotNull @Override public String operationId() {
+      return name;
+    }
+
+    @NotNull @Override public com.apollographql.apollo.api.Response<Data> parse(@NotNull BufferedSource source) {
+      throw new UnsupportedOperationException();
+    }
+
+    @NotNull @Override public com.apollographql.apollo.api.Response<Data> parse(@NotNull BufferedSource source,
+        @NotNull ScalarTypeAdapters scalarTypeAdapters) {
+      throw new UnsupportedOperationException();
+    }
+
+    @NotNull @Override public ByteString composeRequestBody(@NotNull ScalarTypeAdapters scalarTypeAdapters) {
+      return ByteString.encodeUtf8("{\"operationName\":\"" + name + "\"}");
+    }
+
+    @NotNull @Override public ByteString composeRequestBody() {
+      return composeRequestBody(ScalarTypeAdapters.DEFAULT);
+    }
+
+    static class Data implements Operation.Data {
+      @Override public ResponseFieldMarshaller marshaller() {
+        throw new UnsupportedOperationException();
+      }
+    }
+  }
+}
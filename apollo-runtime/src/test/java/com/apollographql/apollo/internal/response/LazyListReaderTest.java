@@ -0,0 +1,189 @@
+package com.apollographql.apollo.internal.response;
+
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.api.ResponseField;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.ResponseReader;
+import com.apollographql.apollo.cache.CacheHeaders;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.CacheKeyResolver;
+import com.apollographql.apollo.cache.normalized.CacheReference;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.internal.CacheFieldValueResolver;
+import com.apollographql.apollo.cache.normalized.internal.CacheKeyBuilder;
+import com.apollographql.apollo.cache.normalized.internal.ReadableStore;
+import com.apollographql.apollo.cache.normalized.internal.RealCacheKeyBuilder;
+import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
+import com.apollographql.apollo.internal.field.MapFieldValueResolver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.fail;
+
+public class LazyListReaderTest {
+  private static final ResponseField ITEMS_FIELD = ResponseField.forList("items", "items", null, true,
+      Collections.<ResponseField.Condition>emptyList());
+  private static final ResponseField NAME_FIELD = ResponseField.forString("name", "name", null, false,
+      Collections.<ResponseField.Condition>emptyList());
+  private static final ResponseField SHIP_FIELD = ResponseField.forObject("ship", "ship", null, true,
+      Collections.<ResponseField.Condition>emptyList());
+
+  private final AtomicInteger readCount = new AtomicInteger();
+
+  @Test
+  public void elementsAreReadOnFirstAccess() {
+    List<String> names = read(data(5), ResponseNormalizer.NO_OP_NORMALIZER);
+
+    assertThat(readCount.get()).isEqualTo(0);
+    assertThat(names).hasSize(5);
+    assertThat(names.get(3)).isEqualTo("name3");
+    assertThat(names.get(3)).isEqualTo("name3");
+    assertThat(readCount.get()).isEqualTo(1);
+    assertThat(names.get(2)).isNull();
+    assertThat(names).containsExactly("name0", "name1", null, "name3", "name4").inOrder();
+    assertThat(readCount.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void normalizedElementsAreReadForTheirRecordsAndAgainOnAccess() {
+    TestNormalizer normalizer = new TestNormalizer();
+    normalizer.willResolveRecord(CacheKey.from("QUERY_ROOT"));
+
+    List<String> names = read(data(5), normalizer);
+
+    assertThat(readCount.get()).isEqualTo(4);
+    assertThat(normalizer.records()).hasSize(5);
+    assertThat(names.get(3)).isEqualTo("name3");
+    assertThat(readCount.get()).isEqualTo(5);
+    assertThat(names).containsExactly("name0", "name1", null, "name3", "name4").inOrder();
+    assertThat(readCount.get()).isEqualTo(8);
+  }
+
+  @Test
+  public void cachedElementsAreReadOnAccessFromTheirRecordedValues() {
+    final Map<String, Record> records = new HashMap<>();
+    records.put("QUERY_ROOT", Record.builder("QUERY_ROOT")
+        .addField("items", asList(new CacheReference("1"), null, new CacheReference("3")))
+        .build());
+    records.put("1", Record.builder("1").addField("name", "name1").addField("ship", new CacheReference("ship1"))
+        .build());
+    records.put("3", Record.builder("3").addField("name", "name3").addField("ship", null).build());
+    records.put("ship1", Record.builder("ship1").addField("name", "X-wing").build());
+    ReadableStore store = new ReadableStore() {
+      @Override public Record read(@NotNull String key, @NotNull CacheHeaders cacheHeaders) {
+        return records.get(key);
+      }
+
+      @NotNull @Override public Collection<Record> read(@NotNull Collection<String> keys,
+          @NotNull CacheHeaders cacheHeaders) {
+        throw new UnsupportedOperationException();
+      }
+    };
+    ResponseNormalizer<Record> normalizer = new ResponseNormalizer<Record>() {
+      @NotNull @Override public CacheKey resolveCacheKey(@NotNull ResponseField field, @NotNull Record record) {
+        return CacheKey.from(record.key());
+      }
+
+      @NotNull @Override public CacheKeyBuilder cacheKeyBuilder() {
+        return new RealCacheKeyBuilder();
+      }
+    };
+    normalizer.willResolveRecord(CacheKey.from("QUERY_ROOT"));
+    RealResponseReader<Record> reader = new RealResponseReader<>(Operation.EMPTY_VARIABLES, records.get("QUERY_ROOT"),
+        new CacheFieldValueResolver(store, Operation.EMPTY_VARIABLES, CacheKeyResolver.DEFAULT, CacheHeaders.NONE,
+            new RealCacheKeyBuilder()), ScalarTypeAdapters.DEFAULT, normalizer);
+
+    List<String> items = reader.readLazyList(ITEMS_FIELD, new ResponseReader.ListReader<String>() {
+      @Override public String read(ResponseReader.ListItemReader listItemReader) {
+        return listItemReader.readObject(new ResponseReader.ObjectReader<String>() {
+          @Override public String read(ResponseReader reader) {
+            readCount.incrementAndGet();
+            String ship = reader.readObject(SHIP_FIELD, new ResponseReader.ObjectReader<String>() {
+              @Override public String read(ResponseReader reader) {
+                return reader.readString(NAME_FIELD);
+              }
+            });
+            return reader.readString(NAME_FIELD) + " " + ship;
+          }
+        });
+      }
+    });
+    // The elements are read from the values recorded within the read, not from the cache
+    records.clear();
+
+    assertThat(normalizer.dependentKeys()).containsAllOf("1.name", "1.ship", "ship1.name", "3.ship");
+    assertThat(readCount.get()).isEqualTo(2);
+    assertThat(items).containsExactly("name1 X-wing", null, "name3 null").inOrder();
+    assertThat(readCount.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void elementFailuresAreThrownOnAccess() {
+    List<Object> items = new ArrayList<>();
+    items.add(Collections.<String, Object>singletonMap("name", "name0"));
+    items.add(Collections.<String, Object>singletonMap("name", null));
+    List<String> names = read(Collections.<String, Object>singletonMap("items", items),
+        ResponseNormalizer.NO_OP_NORMALIZER);
+
+    assertThat(names.get(0)).isEqualTo("name0");
+    try {
+      names.get(1);
+      fail("expected IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).isEqualTo("Failed to read element 1 of the lazy list `items`");
+      assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  public void nullListIsReadAsNull() {
+    Map<String, Object> data = Collections.<String, Object>singletonMap("items", null);
+
+    assertThat(read(data, ResponseNormalizer.NO_OP_NORMALIZER)).isNull();
+  }
+
+  private static Map<String, Object> data(int size) {
+    List<Object> items = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      items.add(i == 2 ? null : Collections.<String, Object>singletonMap("name", "name" + i));
+    }
+    return Collections.<String, Object>singletonMap("items", items);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<String> read(Map<String, Object> data, ResponseNormalizer<Map<String, Object>> normalizer) {
+    RealResponseReader<Map<String, Object>> reader = new RealResponseReader<>(Operation.EMPTY_VARIABLES, data,
+        new MapFieldValueResolver(), ScalarTypeAdapters.DEFAULT, normalizer);
+    return reader.readLazyList(ITEMS_FIELD, new ResponseReader.ListReader<String>() {
+      @Override public String read(ResponseReader.ListItemReader listItemReader) {
+        return listItemReader.readObject(new ResponseReader.ObjectReader<String>() {
+          @Override public String read(ResponseReader reader) {
+            readCount.incrementAndGet();
+            return reader.readString(NAME_FIELD);
+          }
+        });
+      }
+    });
+  }
+
+  static class TestNormalizer extends ResponseNormalizer<Map<String, Object>> {
+    @NotNull @Override public CacheKey resolveCacheKey(@NotNull ResponseField field,
+        @NotNull Map<String, Object> record) {
+      return CacheKey.NO_KEY;
+    }
+
+    @NotNull @Override public CacheKeyBuilder cacheKeyBuilder() {
+      return new RealCacheKeyBuilder();
+    }
+  }
+}
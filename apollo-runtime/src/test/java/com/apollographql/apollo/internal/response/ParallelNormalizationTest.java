@@ -0,0 +1,145 @@
+package com.apollographql.apollo.internal.response;
+
+import com.apollographql.apollo.api.Operation;
+import com.apollographql.apollo.api.ResponseField;
+import com.apollographql.apollo.api.ScalarTypeAdapters;
+import com.apollographql.apollo.api.internal.ResponseReader;
+import com.apollographql.apollo.cache.normalized.CacheKey;
+import com.apollographql.apollo.cache.normalized.Record;
+import com.apollographql.apollo.cache.normalized.internal.CacheKeyBuilder;
+import com.apollographql.apollo.cache.normalized.internal.RealCacheKeyBuilder;
+import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
+import com.apollographql.apollo.internal.field.MapFieldValueResolver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ParallelNormalizationTest {
+  private static final ResponseField ITEMS_FIELD = ResponseField.forList("items", "items", null, false,
+      Collections.<ResponseField.Condition>emptyList());
+  private static final ResponseField ID_FIELD = ResponseField.forString("id", "id", null, true,
+      Collections.<ResponseField.Condition>emptyList());
+  private static final ResponseField NAME_FIELD = ResponseField.forString("name", "name", null, true,
+      Collections.<ResponseField.Condition>emptyList());
+  private static final ResponseField TAGS_FIELD = ResponseField.forList("tags", "tags", null, true,
+      Collections.<ResponseField.Condition>emptyList());
+
+  private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+  @After
+  public void tearDown() {
+    forkJoinPool.shutdownNow();
+  }
+
+  @Test
+  public void partitionedRecordsAreTheSameAsSequentialOnes() {
+    Map<String, Object> data = data(100);
+
+    TestNormalizer sequential = new TestNormalizer();
+    List<String> sequentialNames = read(data, sequential, null);
+    TestNormalizer parallel = new TestNormalizer();
+    List<String> parallelNames = read(data, parallel, new ParallelNormalization(forkJoinPool, 7, 10));
+
+    assertThat(parallelNames).isEqualTo(sequentialNames);
+    assertThat(recordsOf(parallel)).isEqualTo(recordsOf(sequential));
+    assertThat(parallel.dependentKeys()).isEqualTo(sequential.dependentKeys());
+  }
+
+  @Test
+  public void smallListsAreNotPartitioned() {
+    ParallelNormalization parallelNormalization = new ParallelNormalization(forkJoinPool, 10, 10);
+
+    assertThat(parallelNormalization.shouldPartition(10)).isFalse();
+    assertThat(parallelNormalization.shouldPartition(11)).isTrue();
+  }
+
+  @Test
+  public void recordsAreSplitInTransactionChunks() {
+    ParallelNormalization parallelNormalization = new ParallelNormalization(forkJoinPool, 10, 3);
+
+    assertThat(parallelNormalization.transactionChunks(Arrays.asList(1, 2, 3, 4, 5, 6, 7)))
+        .containsExactly(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Collections.singletonList(7))
+        .inOrder();
+    assertThat(parallelNormalization.transactionChunks(Collections.emptyList())).isEmpty();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void partitionSizeMustBePositive() {
+    new ParallelNormalization(forkJoinPool, 0, 10);
+  }
+
+  /**
+   * Items with an even index have an id, some of them shared by several items so that their records are merged across
+   * partitions, the others are stored under their path.
+   */
+  private static Map<String, Object> data(int size) {
+    List<Object> items = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      if (i % 13 == 0) {
+        items.add(null);
+        continue;
+      }
+      Map<String, Object> item = new LinkedHashMap<>();
+      if (i % 2 == 0) {
+        item.put("id", "item" + (i % 30));
+      }
+      item.put("name", "name" + i);
+      item.put("tags", Arrays.asList("tag" + i, "tag" + (i + 1)));
+      items.add(item);
+    }
+    return Collections.<String, Object>singletonMap("items", items);
+  }
+
+  private static List<String> read(Map<String, Object> data, TestNormalizer normalizer,
+      ParallelNormalization parallelNormalization) {
+    normalizer.willResolveRecord(CacheKey.from("QUERY_ROOT"));
+    RealResponseReader<Map<String, Object>> reader = new RealResponseReader<>(Operation.EMPTY_VARIABLES, data,
+        new MapFieldValueResolver(), ScalarTypeAdapters.DEFAULT, normalizer,
+        normalizer.fieldPlan(Operation.EMPTY_VARIABLES), parallelNormalization);
+    return reader.readList(ITEMS_FIELD, new ResponseReader.ListReader<String>() {
+      @Override public String read(ResponseReader.ListItemReader listItemReader) {
+        return listItemReader.readObject(new ResponseReader.ObjectReader<String>() {
+          @Override public String read(ResponseReader reader) {
+            reader.readString(ID_FIELD);
+            reader.readList(TAGS_FIELD, new ResponseReader.ListReader<String>() {
+              @Override public String read(ResponseReader.ListItemReader listItemReader) {
+                return listItemReader.readString();
+              }
+            });
+            return reader.readString(NAME_FIELD);
+          }
+        });
+      }
+    });
+  }
+
+  private static List<String> recordsOf(ResponseNormalizer<?> normalizer) {
+    List<String> records = new ArrayList<>();
+    for (Record record : normalizer.records()) {
+      records.add(record.key() + " " + record.fields());
+    }
+    return records;
+  }
+
+  static class TestNormalizer extends ResponseNormalizer<Map<String, Object>> {
+    @NotNull @Override public CacheKey resolveCacheKey(@NotNull ResponseField field,
+        @NotNull Map<String, Object> record) {
+      String id = (String) record.get("id");
+      return id != null ? CacheKey.from(id) : CacheKey.NO_KEY;
+    }
+
+    @NotNull @Override public CacheKeyBuilder cacheKeyBuilder() {
+      return new RealCacheKeyBuilder();
+    }
+  }
+}
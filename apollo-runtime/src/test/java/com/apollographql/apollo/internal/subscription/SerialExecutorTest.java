@@ -0,0 +1,69 @@
+package com.apollographql.apollo.internal.subscription;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class SerialExecutorTest {
+
+  @Test public void tasksRunInOrderOneAtATime() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      SerialExecutor executor = new SerialExecutor(pool);
+      final List<Integer> results = Collections.synchronizedList(new ArrayList<Integer>());
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger maxRunning = new AtomicInteger();
+      final CountDownLatch latch = new CountDownLatch(1000);
+      for (int i = 0; i < 1000; i++) {
+        final int value = i;
+        executor.execute(new Runnable() {
+          @Override public void run() {
+            maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()));
+            results.add(value);
+            running.decrementAndGet();
+            latch.countDown();
+          }
+        });
+      }
+
+      assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(maxRunning.get()).isEqualTo(1);
+      for (int i = 0; i < 1000; i++) {
+        assertThat(results.get(i)).isEqualTo(i);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test public void failingTaskDoesNotBlockNextTasks() throws Exception {
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      SerialExecutor executor = new SerialExecutor(pool);
+      final CountDownLatch latch = new CountDownLatch(1);
+      executor.execute(new Runnable() {
+        @Override public void run() {
+          throw new IllegalStateException("failure");
+        }
+      });
+      executor.execute(new Runnable() {
+        @Override public void run() {
+          latch.countDown();
+        }
+      });
+
+      assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
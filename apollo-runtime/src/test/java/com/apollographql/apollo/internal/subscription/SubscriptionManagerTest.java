@@ -13,12 +13,14 @@ import com.apollographql.apollo.api.internal.ResponseReader;
 import com.apollographql.apollo.api.internal.UnmodifiableMapBuilder;
 import com.apollographql.apollo.cache.normalized.ApolloStore;
 import com.apollographql.apollo.cache.normalized.internal.ResponseNormalizer;
+import com.apollographql.apollo.internal.util.TimingWheel;
 import com.apollographql.apollo.subscription.OnSubscriptionManagerStateChangeListener;
 import com.apollographql.apollo.subscription.OperationClientMessage;
 import com.apollographql.apollo.subscription.OperationServerMessage;
 import com.apollographql.apollo.subscription.SubscriptionConnectionParams;
 import com.apollographql.apollo.subscription.SubscriptionConnectionParamsProvider;
 import com.apollographql.apollo.subscription.SubscriptionManagerState;
+import com.apollographql.apollo.subscription.SubscriptionReconnectPolicy;
 import com.apollographql.apollo.subscription.SubscriptionTransport;
 import kotlin.jvm.functions.Function0;
 import okio.BufferedSource;
@@ -47,16 +49,26 @@ public class SubscriptionManagerTest {
 
   @Before public void setUp() {
     subscriptionTransportFactory = new MockSubscriptionTransportFactory();
-    subscriptionManager = new RealSubscriptionManager(new ScalarTypeAdapters(Collections.<ScalarType, CustomTypeAdapter<?>>emptyMap()),
+    subscriptionManager = newSubscriptionManager(SubscriptionReconnectPolicy.NEVER);
+    assertThat(subscriptionTransportFactory.subscriptionTransport).isNotNull();
+    assertThat(subscriptionManager.state).isEqualTo(SubscriptionManagerState.DISCONNECTED);
+  }
+
+  private RealSubscriptionManager newSubscriptionManager(SubscriptionReconnectPolicy reconnectPolicy) {
+    RealSubscriptionManager subscriptionManager = new RealSubscriptionManager(
+        new ScalarTypeAdapters(Collections.<ScalarType, CustomTypeAdapter<?>>emptyMap()),
         subscriptionTransportFactory, new SubscriptionConnectionParamsProvider.Const(new SubscriptionConnectionParams()),
         new MockExecutor(), connectionHeartbeatTimeoutMs, new Function0<ResponseNormalizer<Map<String, Object>>>() {
       @Override public ResponseNormalizer<Map<String, Object>> invoke() {
         return ApolloStore.NO_APOLLO_STORE.networkResponseNormalizer();
       }
-    }, false);
+    }, false, reconnectPolicy);
     subscriptionManager.addOnStateChangeListener(onStateChangeListener);
-    assertThat(subscriptionTransportFactory.subscriptionTransport).isNotNull();
-    assertThat(subscriptionManager.state).isEqualTo(SubscriptionManagerState.DISCONNECTED);
+    return subscriptionManager;
+  }
+
+  private UUID subscriptionId(Subscription<?, ?, ?> subscription) {
+    return subscriptionManager.subscriptionsByInstance.get(new RealSubscriptionManager.SubscriptionKey(subscription)).get(0).id;
   }
 
   @Test public void connecting() {
@@ -94,6 +106,17 @@ public class SubscriptionManagerTest {
     assertThat(subscriptionManager.timer.tasks).isEmpty();
   }
 
+  @Test public void subscriptionWithoutQueryDocumentIsSentById() {
+    MockSubscription subscription = new MockSubscription("MockSubscription1", "");
+    subscriptionManager.subscribe(subscription, new SubscriptionManagerCallbackAdapter<Operation.Data>());
+    subscriptionTransportFactory.callback.onConnected();
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.ConnectionAcknowledge());
+
+    OperationClientMessage.Start message = (OperationClientMessage.Start) subscriptionTransportFactory.subscriptionTransport.lastSentMessage;
+    assertThat(message.autoPersistSubscription).isTrue();
+    assertThat(message.sendSubscriptionDocument).isFalse();
+  }
+
   @Test public void disconnected() throws Exception {
     subscriptionManager.subscribe(subscription1, new SubscriptionManagerCallbackAdapter<Operation.Data>());
     subscriptionTransportFactory.callback.onConnected();
@@ -160,17 +183,71 @@ public class SubscriptionManagerTest {
     assertThat(subscriptionManager.subscriptions).isEmpty();
   }
 
+  @Test public void reconnectOnTransportFailure() throws Exception {
+    subscriptionManager = newSubscriptionManager(new SubscriptionReconnectPolicy() {
+      @Override public long reconnectDelayMillis(@NotNull Throwable error, int attempt) {
+        return attempt <= 2 ? 10 : -1;
+      }
+    });
+    SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback1 = new SubscriptionManagerCallbackAdapter<>();
+    subscriptionManager.subscribe(subscription1, subscriptionManagerCallback1);
+    final UUID subscriptionId = subscriptionManager.subscriptions.keySet().iterator().next();
+    subscriptionTransportFactory.callback.onConnected();
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.ConnectionAcknowledge());
+
+    subscriptionTransportFactory.callback.onFailure(new UnsupportedOperationException());
+    assertThat(subscriptionManagerCallback1.networkError).isNull();
+    assertThat(subscriptionManager.state).isEqualTo(SubscriptionManagerState.DISCONNECTED);
+    assertThat(subscriptionManager.subscriptions).hasSize(1);
+    assertThat(subscriptionManager.timer.tasks).containsKey(RealSubscriptionManager.RECONNECT_TIMER_TASK_ID);
+
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(1);
+    while (subscriptionManager.state != SubscriptionManagerState.CONNECTING && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(subscriptionManager.state).isEqualTo(SubscriptionManagerState.CONNECTING);
+    assertThat(subscriptionTransportFactory.subscriptionTransport.connected).isTrue();
+
+    subscriptionTransportFactory.callback.onConnected();
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.ConnectionAcknowledge());
+    assertThat(subscriptionManager.state).isEqualTo(SubscriptionManagerState.ACTIVE);
+    assertThat(subscriptionTransportFactory.subscriptionTransport.lastSentMessage).isInstanceOf(OperationClientMessage.Start.class);
+    assertThat(((OperationClientMessage.Start) subscriptionTransportFactory.subscriptionTransport.lastSentMessage).subscriptionId)
+        .isEqualTo(subscriptionId.toString());
+    assertThat(subscriptionManager.reconnectAttempt).isEqualTo(0);
+  }
+
+  @Test public void reconnectGivesUp() {
+    subscriptionManager = newSubscriptionManager(new SubscriptionReconnectPolicy() {
+      @Override public long reconnectDelayMillis(@NotNull Throwable error, int attempt) {
+        return attempt <= 1 ? TimeUnit.HOURS.toMillis(1) : -1;
+      }
+    });
+    SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback1 = new SubscriptionManagerCallbackAdapter<>();
+    subscriptionManager.subscribe(subscription1, subscriptionManagerCallback1);
+    subscriptionTransportFactory.callback.onConnected();
+
+    subscriptionTransportFactory.callback.onFailure(new UnsupportedOperationException());
+    assertThat(subscriptionManagerCallback1.networkError).isNull();
+
+    subscriptionManager.reconnect();
+    subscriptionTransportFactory.callback.onFailure(new UnsupportedOperationException());
+    assertThat(subscriptionManagerCallback1.networkError).isInstanceOf(UnsupportedOperationException.class);
+    assertThat(subscriptionManager.subscriptions).isEmpty();
+    assertThat(subscriptionManager.timer.tasks).doesNotContainKey(RealSubscriptionManager.RECONNECT_TIMER_TASK_ID);
+  }
+
   @Test public void unsubscribeOnComplete() {
     SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback1 = new SubscriptionManagerCallbackAdapter<>();
     subscriptionManager.subscribe(subscription1, subscriptionManagerCallback1);
     SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback2 = new SubscriptionManagerCallbackAdapter<>();
     subscriptionManager.subscribe(subscription2, subscriptionManagerCallback2);
 
-    final List<UUID> subscriptionIds = new ArrayList<>(subscriptionManager.subscriptions.keySet());
+    final UUID subscriptionId1 = subscriptionId(subscription1);
 
     subscriptionTransportFactory.callback.onConnected();
     subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.ConnectionAcknowledge());
-    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.Complete(subscriptionIds.get(0).toString()));
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.Complete(subscriptionId1.toString()));
     assertThat(subscriptionManagerCallback1.completed).isTrue();
 
     assertThat(subscriptionManager.subscriptions).hasSize(1);
@@ -183,11 +260,11 @@ public class SubscriptionManagerTest {
     SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback2 = new SubscriptionManagerCallbackAdapter<>();
     subscriptionManager.subscribe(subscription2, subscriptionManagerCallback2);
 
-    final List<UUID> subscriptionIds = new ArrayList<>(subscriptionManager.subscriptions.keySet());
+    final UUID subscriptionId1 = subscriptionId(subscription1);
 
     subscriptionTransportFactory.callback.onConnected();
     subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.ConnectionAcknowledge());
-    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.Error(subscriptionIds.get(0).toString(),
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.Error(subscriptionId1.toString(),
         new UnmodifiableMapBuilder<String, Object>().put("key1", "value1").put("key2", "value2").build()));
 
     assertThat(subscriptionManagerCallback1.error).isInstanceOf(ApolloSubscriptionServerException.class);
@@ -202,16 +279,31 @@ public class SubscriptionManagerTest {
     SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback1 = new SubscriptionManagerCallbackAdapter<>();
     subscriptionManager.subscribe(subscription1, subscriptionManagerCallback1);
 
-    final List<UUID> subscriptionIds = new ArrayList<>(subscriptionManager.subscriptions.keySet());
+    final UUID subscriptionId1 = subscriptionId(subscription1);
 
     subscriptionTransportFactory.callback.onConnected();
     subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.ConnectionAcknowledge());
-    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.Data(subscriptionIds.get(0).toString(),
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.Data(subscriptionId1.toString(),
         Collections.<String, Object>emptyMap()));
 
     assertThat(subscriptionManagerCallback1.response).isNotNull();
   }
 
+  @Test public void notifyOnRawData() {
+    SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback1 = new SubscriptionManagerCallbackAdapter<>();
+    subscriptionManager.subscribe(subscription1, subscriptionManagerCallback1);
+
+    final UUID subscriptionId1 = subscriptionId(subscription1);
+
+    subscriptionTransportFactory.callback.onConnected();
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.ConnectionAcknowledge());
+    subscriptionTransportFactory.callback.onMessage(OperationServerMessage.fromJsonBytes(ByteString.encodeUtf8(
+        "{\"type\":\"data\",\"id\":\"" + subscriptionId1 + "\",\"payload\":{\"data\":{}}}")));
+
+    assertThat(subscriptionManagerCallback1.response).isNotNull();
+    assertThat(subscriptionManagerCallback1.response.response.data()).isNotNull();
+  }
+
   @Test public void notifyOnConnected() {
     SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback1 = new SubscriptionManagerCallbackAdapter<>();
     subscriptionManager.subscribe(subscription1, subscriptionManagerCallback1);
@@ -229,6 +321,85 @@ public class SubscriptionManagerTest {
     assertThat(subscriptionManagerCallback2.error).isNull();
   }
 
+  @Test public void unsubscribeIndexedByInstance() {
+    subscriptionManager.subscribe(subscription1, new SubscriptionManagerCallbackAdapter<Operation.Data>());
+    subscriptionManager.subscribe(subscription2, new SubscriptionManagerCallbackAdapter<Operation.Data>());
+    subscriptionManager.subscribe(subscription1, new SubscriptionManagerCallbackAdapter<Operation.Data>());
+    // Both subscriptions of subscription1 share a server subscription
+    assertThat(subscriptionManager.subscriptions).hasSize(2);
+    assertThat(subscriptionManager.subscriptionsByInstance).hasSize(2);
+
+    subscriptionManager.unsubscribe(subscription1);
+    assertThat(subscriptionManager.subscriptions).hasSize(2);
+    assertThat(subscriptionManager.subscriptions).containsKey(subscriptionId(subscription1));
+
+    subscriptionManager.unsubscribe(subscription1);
+    assertThat(subscriptionManager.subscriptions).hasSize(1);
+    assertThat(subscriptionManager.subscriptionsByInstance).hasSize(1);
+    assertThat(subscriptionManager.subscriptions).containsKey(subscriptionId(subscription2));
+  }
+
+  @Test public void identicalSubscriptionsShareServerSubscription() {
+    SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback1 = new SubscriptionManagerCallbackAdapter<>();
+    subscriptionManager.subscribe(subscription1, subscriptionManagerCallback1);
+    subscriptionTransportFactory.callback.onConnected();
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.ConnectionAcknowledge());
+    assertThat(subscriptionTransportFactory.subscriptionTransport.lastSentMessage).isInstanceOf(OperationClientMessage.Start.class);
+
+    MockSubscription sameSubscription = new MockSubscription(subscription1.operationId);
+    SubscriptionManagerCallbackAdapter<Operation.Data> subscriptionManagerCallback2 = new SubscriptionManagerCallbackAdapter<>();
+    subscriptionTransportFactory.subscriptionTransport.lastSentMessage = null;
+    subscriptionManager.subscribe(sameSubscription, subscriptionManagerCallback2);
+    assertThat(subscriptionTransportFactory.subscriptionTransport.lastSentMessage).isNull();
+    assertThat(subscriptionManager.subscriptions).hasSize(1);
+
+    final UUID subscriptionId = subscriptionId(subscription1);
+    subscriptionTransportFactory.callback.onMessage(new OperationServerMessage.Data(subscriptionId.toString(),
+        Collections.<String, Object>emptyMap()));
+    assertThat(subscriptionManagerCallback1.response).isNotNull();
+    assertThat(subscriptionManagerCallback2.response).isNotNull();
+    assertThat(subscriptionManagerCallback2.response.response).isSameAs(subscriptionManagerCallback1.response.response);
+    assertThat(subscriptionManagerCallback1.response.claimCacheWrite()).isTrue();
+    assertThat(subscriptionManagerCallback2.response.claimCacheWrite()).isFalse();
+
+    subscriptionManager.unsubscribe(subscription1);
+    assertThat(subscriptionTransportFactory.subscriptionTransport.lastSentMessage).isNull();
+    assertThat(subscriptionManager.subscriptions).containsKey(subscriptionId);
+
+    subscriptionManager.unsubscribe(sameSubscription);
+    assertThat(subscriptionTransportFactory.subscriptionTransport.lastSentMessage).isInstanceOf(OperationClientMessage.Stop.class);
+    assertThat(subscriptionManager.subscriptions).isEmpty();
+    assertThat(subscriptionManager.subscriptionsByOperation).isEmpty();
+  }
+
+  @Test public void firedTimeoutKeepsRescheduledTask() {
+    RealSubscriptionManager.AutoReleaseTimer timer = new RealSubscriptionManager.AutoReleaseTimer();
+    Runnable task = new Runnable() {
+      @Override public void run() {
+      }
+    };
+    timer.schedule(1, task, TimeUnit.HOURS.toMillis(1));
+    TimingWheel.Timeout firedTimeout = timer.tasks.get(1);
+    firedTimeout.cancel();
+
+    // The task is replaced while its previous timeout is firing
+    timer.schedule(1, new Runnable() {
+      @Override public void run() {
+      }
+    }, TimeUnit.HOURS.toMillis(1));
+    TimingWheel.Timeout replacementTimeout = timer.tasks.get(1);
+    timer.onFired(1, firedTimeout);
+    assertThat(timer.tasks.get(1)).isSameAs(replacementTimeout);
+
+    // The same timeout is rescheduled while firing
+    timer.onFired(1, replacementTimeout);
+    assertThat(timer.tasks.get(1)).isSameAs(replacementTimeout);
+
+    timer.cancelTask(1);
+    assertThat(timer.tasks).isEmpty();
+    assertThat(replacementTimeout.isScheduled()).isFalse();
+  }
+
   @Test public void reconnectingAfterHeartbeatTimeout() throws Exception {
     subscriptionManager.subscribe(subscription1, new SubscriptionManagerCallbackAdapter<Operation.Data>());
 
@@ -403,13 +574,19 @@ public class SubscriptionManagerTest {
 
   private static final class MockSubscription implements Subscription<Operation.Data, Operation.Data, Operation.Variables> {
     final String operationId;
+    final String queryDocument;
 
     MockSubscription(String operationId) {
+      this(operationId, "subscription {\n  commentAdded(repoFullName: \"repo\") {\n    __typename\n    id\n    content\n  }\n}");
+    }
+
+    MockSubscription(String operationId, String queryDocument) {
       this.operationId = operationId;
+      this.queryDocument = queryDocument;
     }
 
     @Override public String queryDocument() {
-      return "subscription {\n  commentAdded(repoFullName: \"repo\") {\n    __typename\n    id\n    content\n  }\n}";
+      return queryDocument;
     }
 
     @Override public Variables variables() {
@@ -0,0 +1,99 @@
+package com.apollographql.apollo.internal.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class TimingWheelTest {
+  private final TimingWheel timingWheel = new TimingWheel(10, 8, "Test timing wheel");
+
+  @Test public void runsTaskAfterDelay() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    TimingWheel.Timeout timeout = timingWheel.newTimeout(new Runnable() {
+      @Override public void run() {
+        latch.countDown();
+      }
+    });
+
+    long start = System.nanoTime();
+    timeout.schedule(50, TimeUnit.MILLISECONDS);
+    assertThat(timeout.isScheduled()).isTrue();
+
+    assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(49L);
+    assertThat(timeout.isScheduled()).isFalse();
+  }
+
+  @Test public void rescheduleInPlace() throws Exception {
+    final AtomicInteger runs = new AtomicInteger();
+    final CountDownLatch latch = new CountDownLatch(1);
+    TimingWheel.Timeout timeout = timingWheel.newTimeout(new Runnable() {
+      @Override public void run() {
+        runs.incrementAndGet();
+        latch.countDown();
+      }
+    });
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 10; i++) {
+      timeout.schedule(100, TimeUnit.MILLISECONDS);
+      Thread.sleep(10);
+    }
+
+    assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(190L);
+    Thread.sleep(50);
+    assertThat(runs.get()).isEqualTo(1);
+  }
+
+  @Test public void rescheduleToEarlierDeadline() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    TimingWheel.Timeout timeout = timingWheel.newTimeout(new Runnable() {
+      @Override public void run() {
+        latch.countDown();
+      }
+    });
+
+    timeout.schedule(1, TimeUnit.HOURS);
+    Thread.sleep(10);
+    timeout.schedule(10, TimeUnit.MILLISECONDS);
+
+    assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test public void cancel() throws Exception {
+    final AtomicInteger runs = new AtomicInteger();
+    TimingWheel.Timeout timeout = timingWheel.newTimeout(new Runnable() {
+      @Override public void run() {
+        runs.incrementAndGet();
+      }
+    });
+
+    timeout.schedule(20, TimeUnit.MILLISECONDS);
+    timeout.cancel();
+    assertThat(timeout.isScheduled()).isFalse();
+
+    Thread.sleep(100);
+    assertThat(runs.get()).isEqualTo(0);
+  }
+
+  @Test public void scheduleAgainAfterRun() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(2);
+    final TimingWheel.Timeout[] timeout = new TimingWheel.Timeout[1];
+    timeout[0] = timingWheel.newTimeout(new Runnable() {
+      @Override public void run() {
+        latch.countDown();
+        if (latch.getCount() > 0) {
+          timeout[0].schedule(10, TimeUnit.MILLISECONDS);
+        }
+      }
+    });
+
+    timeout[0].schedule(10, TimeUnit.MILLISECONDS);
+    assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,34 @@
+package com.apollographql.apollo.subscription;
+
+import com.apollographql.apollo.exception.ApolloNetworkException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class SubscriptionReconnectPolicyTest {
+
+  @Test public void exponentialBackoffIsCapped() {
+    SubscriptionReconnectPolicy policy = new SubscriptionReconnectPolicy.ExponentialBackoff(100, 1000,
+        TimeUnit.MILLISECONDS, 100, new Random(42));
+
+    for (int attempt = 1; attempt <= 100; attempt++) {
+      long ceiling = Math.min(1000, attempt < 20 ? 100L << (attempt - 1) : Long.MAX_VALUE);
+      long delay = policy.reconnectDelayMillis(new IOException(), attempt);
+      assertThat(delay).isAtLeast(0L);
+      assertThat(delay).isAtMost(ceiling);
+    }
+  }
+
+  @Test public void exponentialBackoffGivesUp() {
+    SubscriptionReconnectPolicy policy = new SubscriptionReconnectPolicy.ExponentialBackoff(100, 1000,
+        TimeUnit.MILLISECONDS, 3);
+
+    assertThat(policy.reconnectDelayMillis(new ApolloNetworkException("failure"), 3)).isAtLeast(0L);
+    assertThat(policy.reconnectDelayMillis(new ApolloNetworkException("failure"), 4)).isLessThan(0L);
+    assertThat(policy.reconnectDelayMillis(new IllegalStateException(), 1)).isLessThan(0L);
+  }
+}
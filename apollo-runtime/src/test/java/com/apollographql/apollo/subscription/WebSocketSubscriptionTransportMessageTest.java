@@ -118,6 +118,24 @@ public class WebSocketSubscriptionTransportMessageTest {
         );
   }
 
+  @Test public void dataRawPayload() {
+    webSocketFactory.webSocket.listener.onMessage(webSocketFactory.webSocket, "{\"type\":\"data\",\"id\":\"subscriptionId\",\"payload\":{\"data\":{\"commentAdded\":{\"__typename\":\"Comment\",\"id\":10,\"content\":\"test10\"}}}}");
+    assertThat(((OperationServerMessage.Data) transportCallback.lastMessage).rawPayload.utf8())
+        .isEqualTo("{\"data\":{\"commentAdded\":{\"__typename\":\"Comment\",\"id\":10,\"content\":\"test10\"}}}");
+  }
+
+  @Test public void binaryData() {
+    webSocketFactory.webSocket.listener.onMessage(webSocketFactory.webSocket,
+        ByteString.encodeUtf8("{\"payload\": {\"data\":{\"value\":\"}\"}} , \"id\":\"subscriptionId\",\"type\":\"data\"}"));
+    assertThat(transportCallback.lastMessage).isInstanceOf(OperationServerMessage.Data.class);
+    assertThat(((OperationServerMessage.Data) transportCallback.lastMessage).id).isEqualTo("subscriptionId");
+    assertThat(((OperationServerMessage.Data) transportCallback.lastMessage).rawPayload.utf8())
+        .isEqualTo("{\"data\":{\"value\":\"}\"}}");
+
+    webSocketFactory.webSocket.listener.onMessage(webSocketFactory.webSocket, ByteString.encodeUtf8("{\"type\":\"complete\", \"id\":\"subscriptionId\"}"));
+    assertThat(transportCallback.lastMessage).isInstanceOf(OperationServerMessage.Complete.class);
+  }
+
   @Test public void connectionError() {
     webSocketFactory.webSocket.listener.onMessage(webSocketFactory.webSocket, "{\"type\":\"connection_error\",\"payload\":{\"message\":\"Connection Error\"}}");
     assertThat(transportCallback.lastMessage).isInstanceOf(OperationServerMessage.ConnectionError.class);
@@ -147,6 +165,36 @@ public class WebSocketSubscriptionTransportMessageTest {
     assertThat(((OperationServerMessage.Unsupported) transportCallback.lastMessage).rawMessage).isEqualTo("{\"type\":\"unsupported");
   }
 
+  @Test public void binaryCodec() {
+    MockWebSocketFactory binaryWebSocketFactory = new MockWebSocketFactory();
+    WebSocketSubscriptionTransport.Factory factory = new WebSocketSubscriptionTransport.Factory("wss://localhost/",
+        binaryWebSocketFactory, new BinarySubscriptionMessageCodec("graphql-binary"));
+    SubscriptionTransport transport = factory.create(transportCallback);
+    transport.connect();
+    MockWebSocket webSocket = binaryWebSocketFactory.webSocket;
+    assertThat(webSocket.request.header("Sec-WebSocket-Protocol")).isEqualTo("graphql-binary");
+
+    transport.send(new OperationClientMessage.Start("subscriptionId", new MockSubscription(),
+        new ScalarTypeAdapters(Collections.<ScalarType, CustomTypeAdapter<?>>emptyMap()), true, false));
+    assertThat(webSocket.lastSentBytes.hex()).isEqualTo("020e" + ByteString.encodeUtf8("subscriptionId").hex()
+        + "06" + ByteString.encodeUtf8("someId").hex() + "00000000" + ByteString.encodeUtf8("{}").hex());
+
+    transport.send(new OperationClientMessage.Stop("subscriptionId"));
+    assertThat(webSocket.lastSentBytes.hex()).isEqualTo("030e" + ByteString.encodeUtf8("subscriptionId").hex());
+
+    webSocket.listener.onMessage(webSocket, ByteString.decodeHex("0d02" + ByteString.encodeUtf8("id").hex()
+        + ByteString.encodeUtf8("{\"data\":{}}").hex()));
+    assertThat(transportCallback.lastMessage).isInstanceOf(OperationServerMessage.Data.class);
+    assertThat(((OperationServerMessage.Data) transportCallback.lastMessage).id).isEqualTo("id");
+    assertThat(((OperationServerMessage.Data) transportCallback.lastMessage).rawPayload.utf8()).isEqualTo("{\"data\":{}}");
+
+    webSocket.listener.onMessage(webSocket, ByteString.decodeHex("0b00"));
+    assertThat(transportCallback.lastMessage).isInstanceOf(OperationServerMessage.ConnectionAcknowledge.class);
+
+    webSocket.listener.onMessage(webSocket, ByteString.decodeHex("ff00"));
+    assertThat(transportCallback.lastMessage).isInstanceOf(OperationServerMessage.Unsupported.class);
+  }
+
   private static final class MockWebSocketFactory implements WebSocket.Factory {
     MockWebSocket webSocket;
 
@@ -162,6 +210,7 @@ public class WebSocketSubscriptionTransportMessageTest {
     final Request request;
     final WebSocketListener listener;
     String lastSentMessage;
+    ByteString lastSentBytes;
 
     MockWebSocket(Request request, WebSocketListener listener) {
       this.request = request;
@@ -189,7 +238,8 @@ public class WebSocketSubscriptionTransportMessageTest {
     }
 
     @Override public boolean send(@NotNull ByteString bytes) {
-      throw new UnsupportedOperationException();
+      lastSentBytes = bytes;
+      return true;
     }
 
     @Override public boolean close(int code, @Nullable String reason) {
@@ -104,7 +104,7 @@ public class WebSocketSubscriptionTransportTest {
 
       @Override public void onClosed() {
       }
-    });
+    }, SubscriptionMessageCodec.GRAPHQL_WS);
     subscriptionTransport.connect();
     webSocketFactory.webSocket.listener.onMessage(webSocketFactory.webSocket, "{\"type\":\"connection_ack\"}");
     webSocketFactory.webSocket.listener.onFailure(webSocketFactory.webSocket, new UnsupportedOperationException(), null);
@@ -132,7 +132,7 @@ public class WebSocketSubscriptionTransportTest {
       @Override public void onClosed() {
         callbackClosed.set(true);
       }
-    });
+    }, SubscriptionMessageCodec.GRAPHQL_WS);
     subscriptionTransport.connect();
     webSocketFactory.webSocket.listener.onClosed(webSocketFactory.webSocket, 1001, "");
 